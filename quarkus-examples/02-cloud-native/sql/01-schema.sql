@@ -11,10 +11,16 @@
 --- ALTER DEFAULT PRIVILEGES IN SCHEMA public GRANT ALL ON SEQUENCES TO banking;
 
 
--- Create sequence for transactions
+-- Create sequence for transactions; the increment matches the allocationSize of the
+-- pooled optimizer in Transaction, which hands out the 50 ids up to each value it fetches.
+-- This saves 49 of 50 round trips for ids, but every nextval reserves a whole block: the
+-- application's native inserts take ids from the optimizer or expand the drawn blocks
+-- instead of calling nextval per row, while the column default, for inserts made outside
+-- the application, leaves 49 ids unused per row.
 CREATE SEQUENCE IF NOT EXISTS transaction_id_seq
     START WITH 1
-    INCREMENT BY 1;
+    INCREMENT BY 50;
+ALTER SEQUENCE transaction_id_seq INCREMENT BY 50;
 
 -- Account table
 CREATE TABLE IF NOT EXISTS Account (
@@ -37,3 +43,15 @@ CREATE TABLE IF NOT EXISTS Transaction (
 CREATE INDEX IF NOT EXISTS idx_transaction_account ON Transaction(accountNumber);
 CREATE INDEX IF NOT EXISTS idx_transaction_timestamp ON Transaction(timestamp);
 
+
+-- Progress of incremental imports, one row per data file
+CREATE TABLE IF NOT EXISTS IngestWatermark (
+    source VARCHAR(1024) PRIMARY KEY,
+    section VARCHAR(20),
+    byteOffset BIGINT NOT NULL,
+    accounts BIGINT NOT NULL,
+    transactions BIGINT NOT NULL,
+    prefixHash BIGINT NOT NULL,
+    tailHash BIGINT NOT NULL,
+    updatedAt TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
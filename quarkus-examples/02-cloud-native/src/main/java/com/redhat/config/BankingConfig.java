@@ -3,12 +3,104 @@ package com.redhat.config;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithName;
 
+import java.util.OptionalInt;
+
 @ConfigMapping(prefix = "banking")
 public interface BankingConfig {
 
     @WithName("title")
     String title();
-    
+
     @WithName("data-load-example")
     String dataLoadExample();
+
+    @WithName("data-directory")
+    String dataDirectory();
+
+    @WithName("data-directory-pattern")
+    String dataDirectoryPattern();
+
+    @WithName("data-directory-parallelism")
+    int dataDirectoryParallelism();
+
+    @WithName("data-memory-mapped")
+    boolean dataMemoryMapped();
+
+    @WithName("data-parallelism")
+    OptionalInt dataParallelism();
+
+    @WithName("data-import-batch-size")
+    int dataImportBatchSize();
+
+    @WithName("data-stream-max-body-bytes")
+    long dataStreamMaxBodyBytes();
+
+    @WithName("data-checkpoint-items")
+    int dataCheckpointItems();
+
+    @WithName("data-dedup-memory-bytes")
+    long dataDedupMemoryBytes();
+
+    @WithName("data-dedup-bloom-bytes")
+    long dataDedupBloomBytes();
+
+    @WithName("data-cache-max-bytes")
+    long dataCacheMaxBytes();
+
+    @WithName("data-index-stride")
+    int dataIndexStride();
+
+    @WithName("data-reconcile-run-size")
+    int dataReconcileRunSize();
+
+    @WithName("data-reconcile-fetch-size")
+    int dataReconcileFetchSize();
+
+    @WithName("data-export-directory")
+    String dataExportDirectory();
+
+    @WithName("data-export-fetch-size")
+    int dataExportFetchSize();
+
+    @WithName("data-metrics-enabled")
+    boolean dataMetricsEnabled();
+
+    @WithName("transfer-max-attempts")
+    int transferMaxAttempts();
+
+    @WithName("transfer-retry-backoff-millis")
+    long transferRetryBackoffMillis();
+
+    @WithName("transfer-retry-max-backoff-millis")
+    long transferRetryMaxBackoffMillis();
+
+    @WithName("operations-batch-max-size")
+    int operationsBatchMaxSize();
+
+    @WithName("operations-chunk-size")
+    int operationsChunkSize();
+
+    @WithName("operations-max-attempts")
+    int operationsMaxAttempts();
+
+    @WithName("operations-retry-backoff-millis")
+    long operationsRetryBackoffMillis();
+
+    @WithName("operations-retry-max-backoff-millis")
+    long operationsRetryMaxBackoffMillis();
+
+    @WithName("group-commit-enabled")
+    boolean groupCommitEnabled();
+
+    @WithName("group-commit-window-micros")
+    long groupCommitWindowMicros();
+
+    @WithName("group-commit-max-batch-size")
+    int groupCommitMaxBatchSize();
+
+    @WithName("group-commit-threads")
+    int groupCommitThreads();
+
+    @WithName("group-commit-timeout-millis")
+    long groupCommitTimeoutMillis();
 }
@@ -0,0 +1,34 @@
+package com.redhat.data;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+
+/**
+ * Account number and balance, the two columns compared by {@link BalanceReconciler}.
+ */
+public record AccountBalance(String accountNumber, BigDecimal balance) {
+
+    /**
+     * Orders by account number in Unicode code point order, which is the byte order of the
+     * UTF-8 encoding and therefore the order of PostgreSQL's {@code "C"} collation.
+     * {@link String#compareTo} compares UTF-16 units and differs from it for characters
+     * outside the basic multilingual plane.
+     */
+    public static final Comparator<AccountBalance> ORDER =
+            (a, b) -> compareCodePoints(a.accountNumber(), b.accountNumber());
+
+    public static int compareCodePoints(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            char x = a.charAt(i);
+            char y = b.charAt(i);
+            if (x != y) {
+                if (Character.isSurrogate(x) || Character.isSurrogate(y)) {
+                    return Integer.compare(a.codePointAt(i), b.codePointAt(i));
+                }
+                return x - y;
+            }
+        }
+        return a.length() - b.length();
+    }
+}
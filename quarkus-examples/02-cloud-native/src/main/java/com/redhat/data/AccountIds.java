@@ -0,0 +1,89 @@
+package com.redhat.data;
+
+import java.util.Arrays;
+
+/**
+ * Interns account numbers into dense slots. Lookups take the parser's character buffer
+ * directly, so a {@link String} is only created the first time an account is seen.
+ */
+public class AccountIds {
+
+    private int[] table = new int[1024];
+    private int[] hashes = new int[512];
+    private String[] names = new String[512];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public String name(int slot) {
+        return names[slot];
+    }
+
+    public int slot(String name) {
+        return slot(name.toCharArray(), 0, name.length());
+    }
+
+    public int slot(char[] chars, int offset, int length) {
+        int hash = hash(chars, offset, length);
+        int mask = table.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            int entry = table[i];
+            if (entry == 0) {
+                return insert(i, hash, new String(chars, offset, length));
+            }
+            int slot = entry - 1;
+            if (hashes[slot] == hash && equals(names[slot], chars, offset, length)) {
+                return slot;
+            }
+        }
+    }
+
+    private int insert(int index, int hash, String name) {
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+        int slot = size++;
+        names[slot] = name;
+        hashes[slot] = hash;
+        table[index] = slot + 1;
+        if (size * 2 > table.length) {
+            rehash();
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        int mask = table.length - 1;
+        for (int slot = 0; slot < size; slot++) {
+            int i = hashes[slot] & mask;
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = slot + 1;
+        }
+    }
+
+    private static int hash(char[] chars, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equals(String name, char[] chars, int offset, int length) {
+        if (name.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (name.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
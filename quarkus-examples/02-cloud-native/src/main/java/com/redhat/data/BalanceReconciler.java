@@ -0,0 +1,135 @@
+package com.redhat.data;
+
+import com.redhat.rest.dto.BalanceMismatch;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Merge join of two account streams that are both sorted in {@link AccountBalance#ORDER}:
+ * the accounts of the data-load file and the accounts stored in the database. Yields only the
+ * accounts that differ, so it holds one entry of each side at a time.
+ * <p>
+ * Balances are compared numerically, {@code 10.5} matches {@code 10.50}. When the file lists an
+ * account more than once the first entry counts, as it does for the import, and the others
+ * are only counted as {@link #duplicates()}.
+ */
+public class BalanceReconciler implements Iterator<BalanceMismatch> {
+
+    private final Iterator<AccountBalance> file;
+    private final Iterator<AccountBalance> database;
+
+    private AccountBalance fileHead;
+    private AccountBalance databaseHead;
+    private String lastFileAccount;
+    private BalanceMismatch next;
+
+    private long matched;
+    private long balanceMismatches;
+    private long missingInDatabase;
+    private long missingInFile;
+    private long duplicates;
+
+    public BalanceReconciler(Iterator<AccountBalance> file, Iterator<AccountBalance> database) {
+        this.file = file;
+        this.database = database;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            if (fileHead == null) {
+                fileHead = nextFileEntry();
+            }
+            if (databaseHead == null && database.hasNext()) {
+                databaseHead = database.next();
+            }
+            if (fileHead == null && databaseHead == null) {
+                return false;
+            }
+            next = step();
+        }
+        return true;
+    }
+
+    @Override
+    public BalanceMismatch next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        BalanceMismatch mismatch = next;
+        next = null;
+        return mismatch;
+    }
+
+    private BalanceMismatch step() {
+        int order = fileHead == null ? 1
+                : databaseHead == null ? -1
+                : AccountBalance.ORDER.compare(fileHead, databaseHead);
+        if (order < 0) {
+            missingInDatabase++;
+            BalanceMismatch mismatch = new BalanceMismatch(
+                    fileHead.accountNumber(), BalanceMismatch.MISSING_IN_DATABASE, fileHead.balance(), null);
+            fileHead = null;
+            return mismatch;
+        }
+        if (order > 0) {
+            missingInFile++;
+            BalanceMismatch mismatch = new BalanceMismatch(
+                    databaseHead.accountNumber(), BalanceMismatch.MISSING_IN_FILE, null, databaseHead.balance());
+            databaseHead = null;
+            return mismatch;
+        }
+        BalanceMismatch mismatch = null;
+        if (sameBalance(fileHead, databaseHead)) {
+            matched++;
+        } else {
+            balanceMismatches++;
+            mismatch = new BalanceMismatch(
+                    fileHead.accountNumber(), BalanceMismatch.BALANCE, fileHead.balance(), databaseHead.balance());
+        }
+        fileHead = null;
+        databaseHead = null;
+        return mismatch;
+    }
+
+    private AccountBalance nextFileEntry() {
+        while (file.hasNext()) {
+            AccountBalance entry = file.next();
+            if (entry.accountNumber().equals(lastFileAccount)) {
+                duplicates++;
+                continue;
+            }
+            lastFileAccount = entry.accountNumber();
+            return entry;
+        }
+        return null;
+    }
+
+    private static boolean sameBalance(AccountBalance a, AccountBalance b) {
+        if (a.balance() == null || b.balance() == null) {
+            return a.balance() == b.balance();
+        }
+        return a.balance().compareTo(b.balance()) == 0;
+    }
+
+    public long matched() {
+        return matched;
+    }
+
+    public long balanceMismatches() {
+        return balanceMismatches;
+    }
+
+    public long missingInDatabase() {
+        return missingInDatabase;
+    }
+
+    public long missingInFile() {
+        return missingInFile;
+    }
+
+    public long duplicates() {
+        return duplicates;
+    }
+}
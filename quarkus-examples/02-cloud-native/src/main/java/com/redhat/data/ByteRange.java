@@ -0,0 +1,66 @@
+package com.redhat.data;
+
+/**
+ * One inclusive byte range of an HTTP {@code Range: bytes=} request, resolved against the size
+ * of the representation.
+ */
+public record ByteRange(long start, long end) {
+
+    /**
+     * Result for a syntactically valid range that selects nothing, answered with 416.
+     */
+    public static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+    /**
+     * Resolves {@code header} against {@code size}. Returns {@code null} when the whole
+     * representation is to be sent: without a header, for other units or malformed values, and
+     * for several ranges, which RFC 9110 allows a server to ignore.
+     */
+    public static ByteRange parse(String header, long size) {
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).strip();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).strip();
+            String last = spec.substring(dash + 1).strip();
+            if (first.isEmpty()) {
+                if (last.isEmpty()) {
+                    return null;
+                }
+                long suffix = Long.parseLong(last);
+                if (suffix < 0) {
+                    return null;
+                }
+                return suffix == 0 || size == 0 ? UNSATISFIABLE : new ByteRange(Math.max(size - suffix, 0), size - 1);
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            return start >= size ? UNSATISFIABLE : new ByteRange(start, Math.min(end, size - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public boolean isSatisfiable() {
+        return start >= 0;
+    }
+
+    public long length() {
+        return end - start + 1;
+    }
+
+    /**
+     * {@code Content-Range} value of this range within {@code size} bytes.
+     */
+    public String contentRange(long size) {
+        return isSatisfiable() ? "bytes " + start + "-" + end + "/" + size : "bytes */" + size;
+    }
+}
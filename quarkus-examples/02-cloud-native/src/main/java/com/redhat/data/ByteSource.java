@@ -0,0 +1,77 @@
+package com.redhat.data;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Random-access view of a data-load file. Reads are positional, so a single source can be
+ * shared by several threads.
+ */
+public interface ByteSource extends Closeable {
+
+    long size();
+
+    void read(long position, byte[] target, int offset, int length) throws IOException;
+
+    static ByteSource of(Path path) throws IOException {
+        return new FileSource(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    static ByteSource of(byte[] bytes) {
+        return new ArraySource(bytes);
+    }
+
+    record FileSource(FileChannel channel) implements ByteSource {
+
+        @Override
+        public long size() {
+            try {
+                return channel.size();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void read(long position, byte[] target, int offset, int length) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(target, offset, length);
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position() - offset);
+                if (read < 0) {
+                    throw new EOFException("Unexpected end of file at " + (position + buffer.position() - offset));
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    record ArraySource(byte[] bytes) implements ByteSource {
+
+        @Override
+        public long size() {
+            return bytes.length;
+        }
+
+        @Override
+        public void read(long position, byte[] target, int offset, int length) throws IOException {
+            if (position + length > bytes.length) {
+                throw new EOFException("Unexpected end of data at " + bytes.length);
+            }
+            System.arraycopy(bytes, (int) position, target, offset, length);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
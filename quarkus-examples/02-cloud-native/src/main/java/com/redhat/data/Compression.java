@@ -0,0 +1,95 @@
+package com.redhat.data;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compression of a data-load file, derived from its name. Compressed files are always
+ * decoded as a stream, so they are never inflated in memory as a whole.
+ */
+public enum Compression {
+
+    NONE("", null),
+    GZIP(".gz", "gzip"),
+    ZSTD(".zst", "zstd");
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final String suffix;
+    private final String encoding;
+
+    Compression(String suffix, String encoding) {
+        this.suffix = suffix;
+        this.encoding = encoding;
+    }
+
+    public static Compression of(String location) {
+        if (location.endsWith(GZIP.suffix)) {
+            return GZIP;
+        }
+        if (location.endsWith(ZSTD.suffix)) {
+            return ZSTD;
+        }
+        return NONE;
+    }
+
+    public String suffix() {
+        return suffix;
+    }
+
+    /**
+     * The HTTP {@code Content-Encoding} token of this compression, {@code null} for {@link #NONE}.
+     */
+    public String encoding() {
+        return encoding;
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header value allows the content coding
+     * {@code encoding}; a coding listed with {@code q=0} is refused.
+     */
+    public static boolean accepts(String acceptEncoding, String encoding) {
+        if (encoding == null || acceptEncoding == null) {
+            return false;
+        }
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase(encoding)) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    public InputStream decode(InputStream in) throws IOException {
+        return switch (this) {
+            case NONE -> in;
+            case GZIP -> new GZIPInputStream(in, BUFFER_SIZE);
+            case ZSTD -> new BufferedInputStream(new ZstdInputStream(in), BUFFER_SIZE);
+        };
+    }
+
+    public OutputStream encode(OutputStream out) throws IOException {
+        return switch (this) {
+            case NONE -> out;
+            case GZIP -> new GZIPOutputStream(out, BUFFER_SIZE);
+            case ZSTD -> new ZstdOutputStream(out);
+        };
+    }
+
+    public byte[] encode(byte[] bytes) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 8);
+        try (OutputStream out = encode(buffer)) {
+            out.write(bytes);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,336 @@
+package com.redhat.data;
+
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.TransactionData;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Decodes a CSV feed of accounts or transactions, in the shape of
+ * {@code src/test/resources/accounts.csv}, into the same {@link DataItem}s as the JSON readers.
+ * <p>
+ * The first line that is not blank or a comment is the header. Its column names decide what
+ * the file holds: {@code accountNumber}, {@code ownerId} and {@code balance} (also spelled
+ * {@code initialBalance} or {@code initalBalance}) for accounts, {@code accountNumber},
+ * {@code type}, {@code amount} and {@code description} for transactions. Columns may come in
+ * any order; unknown ones are ignored. Fields follow RFC 4180: they may be quoted, with
+ * {@code ""} for a quote, and quoted fields may span lines. Lines starting with {@code #} are
+ * comments. An empty unquoted field is {@code null}, a quoted one the empty string.
+ * <p>
+ * Bytes are scanned in place and copied once into one reused field buffer; decimals are parsed
+ * from that buffer straight into an unscaled {@code long} and a scale, and repeated transaction
+ * types share one string. Lines may be split across chunks anywhere.
+ */
+public final class CsvDataDecoder implements DataDecoder {
+
+    static final int MAX_FIELD_BYTES = 1 << 20;
+
+    private static final byte DELIMITER = ',';
+    private static final byte QUOTE = '"';
+    private static final byte COMMENT = '#';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final int MAX_CACHED_TYPES = 16;
+
+    private enum Column {
+        ACCOUNT_NUMBER, OWNER_ID, BALANCE, TYPE, AMOUNT, DESCRIPTION, IGNORED
+    }
+
+    private byte[] field = new byte[128];
+    private int fieldLength;
+    private boolean quoted;
+    private boolean inQuotes;
+    private boolean afterQuote;
+    private boolean comment;
+    private boolean skipLf;
+    private boolean lineStarted;
+    private int column;
+    private long line = 1;
+
+    private List<String> header = new ArrayList<>();
+    private Column[] columns;
+    private boolean transactions;
+
+    private String accountNumber;
+    private String ownerId;
+    private String type;
+    private String description;
+    private BigDecimal balance;
+    private BigDecimal amount;
+
+    private final List<byte[]> typeBytes = new ArrayList<>();
+    private final List<String> types = new ArrayList<>();
+
+    private long items;
+
+    @Override
+    public void feed(byte[] bytes, int offset, int length, Consumer<DataItem> sink) throws IOException {
+        int end = offset + length;
+        int i = offset;
+        while (i < end) {
+            byte b = bytes[i];
+            if (skipLf) {
+                skipLf = false;
+                if (b == LF) {
+                    i++;
+                    continue;
+                }
+            }
+            if (comment) {
+                while (i < end && bytes[i] != LF && bytes[i] != CR) {
+                    i++;
+                }
+                if (i < end) {
+                    comment = false;
+                    skipLf = bytes[i] == CR;
+                    line++;
+                    i++;
+                }
+                continue;
+            }
+            if (inQuotes) {
+                if (!afterQuote) {
+                    int start = i;
+                    while (i < end && bytes[i] != QUOTE) {
+                        i++;
+                    }
+                    append(bytes, start, i - start);
+                    if (i < end) {
+                        afterQuote = true;
+                        i++;
+                    }
+                    continue;
+                }
+                afterQuote = false;
+                if (b == QUOTE) {
+                    append(bytes, i, 1);
+                    i++;
+                    continue;
+                }
+                inQuotes = false;
+            }
+            if (b == DELIMITER) {
+                endField();
+                lineStarted = true;
+                i++;
+            } else if (b == LF || b == CR) {
+                if (lineStarted || fieldLength > 0) {
+                    endLine(sink);
+                } else {
+                    line++;
+                }
+                skipLf = b == CR;
+                i++;
+            } else if (quoted) {
+                throw new IOException("Unexpected '" + (char) b + "' after a quoted field on line " + line);
+            } else if (b == QUOTE && fieldLength == 0) {
+                quoted = true;
+                inQuotes = true;
+                lineStarted = true;
+                i++;
+            } else if (b == COMMENT && !lineStarted && fieldLength == 0) {
+                comment = true;
+                i++;
+            } else {
+                int start = i;
+                while (i < end && (b = bytes[i]) != DELIMITER && b != LF && b != CR) {
+                    i++;
+                }
+                append(bytes, start, i - start);
+                lineStarted = true;
+            }
+        }
+    }
+
+    @Override
+    public void end(Consumer<DataItem> sink) throws IOException {
+        if (inQuotes && !afterQuote) {
+            throw new IOException("Unterminated quoted field on line " + line);
+        }
+        inQuotes = false;
+        afterQuote = false;
+        if (lineStarted || fieldLength > 0) {
+            endLine(sink);
+        }
+        if (columns == null) {
+            throw new IOException("CSV input has no header line");
+        }
+    }
+
+    @Override
+    public long items() {
+        return items;
+    }
+
+    @Override
+    public void close() {
+        field = null;
+    }
+
+    private void append(byte[] bytes, int offset, int length) throws IOException {
+        if (fieldLength + length > field.length) {
+            if (fieldLength + length > MAX_FIELD_BYTES) {
+                throw new IOException("Field on line " + line + " is longer than " + MAX_FIELD_BYTES + " bytes");
+            }
+            field = Arrays.copyOf(field, Math.max(field.length * 2, fieldLength + length));
+        }
+        System.arraycopy(bytes, offset, field, fieldLength, length);
+        fieldLength += length;
+    }
+
+    private void endField() throws IOException {
+        if (columns == null) {
+            header.add(new String(field, 0, fieldLength, StandardCharsets.UTF_8));
+        } else {
+            switch (column < columns.length ? columns[column] : Column.IGNORED) {
+                case ACCOUNT_NUMBER -> accountNumber = string();
+                case OWNER_ID -> ownerId = string();
+                case BALANCE -> balance = decimal();
+                case TYPE -> type = cachedType();
+                case AMOUNT -> amount = decimal();
+                case DESCRIPTION -> description = string();
+                case IGNORED -> {
+                }
+            }
+        }
+        column++;
+        fieldLength = 0;
+        quoted = false;
+    }
+
+    private void endLine(Consumer<DataItem> sink) throws IOException {
+        endField();
+        if (columns == null) {
+            columns = resolve(header);
+            header = null;
+        } else {
+            items++;
+            sink.accept(transactions
+                    ? new TransactionData(accountNumber, type, amount, description)
+                    : new AccountData(accountNumber, ownerId, balance));
+            accountNumber = null;
+            ownerId = null;
+            type = null;
+            description = null;
+            balance = null;
+            amount = null;
+        }
+        column = 0;
+        lineStarted = false;
+        line++;
+    }
+
+    private Column[] resolve(List<String> names) throws IOException {
+        Column[] resolved = new Column[names.size()];
+        boolean accountColumns = false;
+        boolean transactionColumns = false;
+        boolean accountNumberColumn = false;
+        for (int i = 0; i < resolved.length; i++) {
+            resolved[i] = switch (names.get(i).strip().toLowerCase(Locale.ROOT)) {
+                case "accountnumber" -> Column.ACCOUNT_NUMBER;
+                case "ownerid" -> Column.OWNER_ID;
+                case "balance", "initialbalance", "initalbalance" -> Column.BALANCE;
+                case "type" -> Column.TYPE;
+                case "amount" -> Column.AMOUNT;
+                case "description" -> Column.DESCRIPTION;
+                default -> Column.IGNORED;
+            };
+            accountNumberColumn |= resolved[i] == Column.ACCOUNT_NUMBER;
+            accountColumns |= resolved[i] == Column.OWNER_ID || resolved[i] == Column.BALANCE;
+            transactionColumns |= resolved[i] == Column.TYPE || resolved[i] == Column.AMOUNT;
+        }
+        if (!accountNumberColumn) {
+            throw new IOException("CSV header on line " + line + " has no accountNumber column: " + names);
+        }
+        if (accountColumns && transactionColumns) {
+            throw new IOException("CSV header on line " + line + " mixes account and transaction columns: " + names);
+        }
+        transactions = transactionColumns;
+        return resolved;
+    }
+
+    private String string() {
+        if (fieldLength == 0 && !quoted) {
+            return null;
+        }
+        return new String(field, 0, fieldLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Transaction types repeat on almost every line, so their strings are kept and matched
+     * against the field bytes instead of being decoded again.
+     */
+    private String cachedType() {
+        if (fieldLength == 0 && !quoted) {
+            return null;
+        }
+        for (int i = 0; i < typeBytes.size(); i++) {
+            byte[] cached = typeBytes.get(i);
+            if (Arrays.equals(cached, 0, cached.length, field, 0, fieldLength)) {
+                return types.get(i);
+            }
+        }
+        String value = string();
+        if (types.size() < MAX_CACHED_TYPES) {
+            typeBytes.add(Arrays.copyOf(field, fieldLength));
+            types.add(value);
+        }
+        return value;
+    }
+
+    /**
+     * Parses a plain decimal such as {@code -1234.50} without building a string; exponents and
+     * values beyond 18 digits fall back to {@link BigDecimal#BigDecimal(String)}.
+     */
+    private BigDecimal decimal() throws IOException {
+        if (fieldLength == 0) {
+            return null;
+        }
+        int i = 0;
+        boolean negative = field[0] == '-';
+        if (negative || field[0] == '+') {
+            i = 1;
+        }
+        long unscaled = 0;
+        int scale = -1;
+        int digits = 0;
+        for (; i < fieldLength; i++) {
+            byte c = field[i];
+            if (c >= '0' && c <= '9') {
+                if (digits == 18) {
+                    return slowDecimal();
+                }
+                unscaled = unscaled * 10 + (c - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return slowDecimal();
+            }
+        }
+        if (digits == 0) {
+            return slowDecimal();
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
+    private BigDecimal slowDecimal() throws IOException {
+        String value = new String(field, 0, fieldLength, StandardCharsets.UTF_8);
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid decimal '" + value + "' on line " + line, e);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.redhat.data;
+
+import com.redhat.rest.dto.DataLoadResponse;
+import com.redhat.rest.dto.DataReadStats;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.zip.CRC32C;
+
+/**
+ * In-memory cache of parsed data-load files and their serialized JSON, keyed by location.
+ * <p>
+ * Filesystem entries are validated against the file's modification time and size on every
+ * lookup and are additionally dropped by a {@link WatchService} as soon as the file or its
+ * snapshot changes, so memory is released without waiting for the next request. Classpath
+ * resources never change and are only evicted for space. Entries are evicted least recently
+ * used first once their estimated heap weight exceeds the budget; concurrent misses for the
+ * same location share a single load.
+ */
+@Slf4j
+public class DataCache implements Closeable {
+
+    @FunctionalInterface
+    public interface Loader {
+        Entry load(String location) throws IOException;
+    }
+
+    /**
+     * A cached file: the parsed data, its JSON, and optionally the JSON pre-encoded with the
+     * file's own {@code Content-Encoding} so it can be served compressed without per-request work.
+     * {@code stats} describes the read that loaded it, if it was measured.
+     */
+    public record Entry(DataLoadResponse data, byte[] json, String source, String encoding, byte[] encoded, String etag,
+                        DataReadStats stats) {
+
+        public Entry(DataLoadResponse data, byte[] json, String source) {
+            this(data, json, source, null, null);
+        }
+
+        public Entry(DataLoadResponse data, byte[] json, String source, String encoding, byte[] encoded) {
+            this(data, json, source, encoding, encoded, etagOf(json), null);
+        }
+
+        public Entry withStats(DataReadStats stats) {
+            return new Entry(data, json, source, encoding, encoded, etag, stats);
+        }
+
+        /**
+         * Estimated heap footprint: the serialized bytes plus the object graph they were
+         * produced from, which is roughly twice the size of its JSON.
+         */
+        public long weight() {
+            return json.length * 3L + (encoded == null ? 0 : encoded.length);
+        }
+
+        /**
+         * Whether the entry has a pre-encoded body acceptable under {@code acceptEncoding}.
+         */
+        public boolean isEncodedFor(String acceptEncoding) {
+            return Compression.accepts(acceptEncoding, encoding);
+        }
+
+        /**
+         * Strong validator of the representation served with {@code contentEncoding}; encoded
+         * bodies get their own tag, as RFC 9110 requires for different representations.
+         */
+        public String etag(String contentEncoding) {
+            return contentEncoding == null ? etag : etag + "-" + contentEncoding;
+        }
+
+        /**
+         * Whether an {@code If-None-Match} header value matches this entry. Weak validators
+         * are compared by their opaque tag, as RFC 9110 requires for this header.
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals("\"" + etag + "\"")
+                        || (encoding != null && tag.equals("\"" + etag(encoding) + "\""))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String etagOf(byte[] json) {
+            CRC32C crc = new CRC32C();
+            crc.update(json);
+            return Long.toHexString(json.length) + "-" + Long.toHexString(crc.getValue());
+        }
+    }
+
+    public record Lookup(Entry entry, boolean hit) {
+    }
+
+    private record Fingerprint(long modified, long size) {
+    }
+
+    private record Node(Entry entry, Fingerprint fingerprint, Path path) {
+    }
+
+    private final long maxBytes;
+    private final Loader loader;
+    private final LinkedHashMap<String, Node> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+    private final Set<Path> watched = new HashSet<>();
+    private long weight;
+    private WatchService watchService;
+
+    public DataCache(long maxBytes, Loader loader) {
+        this.maxBytes = maxBytes;
+        this.loader = loader;
+    }
+
+    public Lookup get(String location) throws IOException {
+        Path path = filePath(location);
+        Fingerprint fingerprint = fingerprint(path);
+        synchronized (this) {
+            Node node = entries.get(location);
+            if (node != null && Objects.equals(node.fingerprint(), fingerprint)) {
+                return new Lookup(node.entry(), true);
+            }
+        }
+
+        CompletableFuture<Entry> future = new CompletableFuture<>();
+        CompletableFuture<Entry> inFlight = loading.putIfAbsent(location, future);
+        if (inFlight != null) {
+            return new Lookup(await(inFlight), false);
+        }
+        try {
+            Entry entry = loader.load(location);
+            put(location, new Node(entry, fingerprint, path));
+            future.complete(entry);
+            return new Lookup(entry, false);
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(location, future);
+        }
+    }
+
+    public synchronized void invalidate(String location) {
+        Node node = entries.remove(location);
+        if (node != null) {
+            weight -= node.entry().weight();
+            log.info("Invalidated cached data for {}", location);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return weight;
+    }
+
+    private void put(String location, Node node) {
+        long entryWeight = node.entry().weight();
+        synchronized (this) {
+            invalidate(location);
+            if (entryWeight > maxBytes) {
+                log.debug("Not caching {}: {} bytes exceed the {} byte budget", location, entryWeight, maxBytes);
+                return;
+            }
+            entries.put(location, node);
+            weight += entryWeight;
+            Iterator<Map.Entry<String, Node>> eldest = entries.entrySet().iterator();
+            while (weight > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Node> evicted = eldest.next();
+                if (!evicted.getKey().equals(location)) {
+                    weight -= evicted.getValue().entry().weight();
+                    eldest.remove();
+                    log.info("Evicted cached data for {}", evicted.getKey());
+                }
+            }
+        }
+        if (node.path() != null) {
+            watch(node.path().getParent());
+        }
+    }
+
+    private synchronized void watch(Path directory) {
+        if (directory == null || watched.contains(directory)) {
+            return;
+        }
+        try {
+            if (watchService == null) {
+                watchService = FileSystems.getDefault().newWatchService();
+                Thread.ofPlatform().daemon().name("data-cache-watcher").start(this::processEvents);
+            }
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            watched.add(directory);
+        } catch (IOException e) {
+            log.warn("Cannot watch {}, cached entries are validated per request only", directory, e);
+        }
+    }
+
+    private void processEvents() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        invalidateWhere(path -> directory.equals(path.getParent()));
+                    } else {
+                        Path changed = directory.resolve((Path) event.context());
+                        invalidateWhere(path -> path.equals(changed) || SnapshotFormat.siblingOf(path).equals(changed));
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Data cache watcher stopped");
+        }
+    }
+
+    private synchronized void invalidateWhere(Predicate<Path> changed) {
+        entries.entrySet().stream()
+                .filter(entry -> entry.getValue().path() != null && changed.test(entry.getValue().path()))
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(this::invalidate);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        entries.clear();
+        weight = 0;
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private static Path filePath(String location) {
+        Path path = Paths.get(location).toAbsolutePath().normalize();
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    private static Fingerprint fingerprint(Path path) throws IOException {
+        if (path == null) {
+            return null;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return new Fingerprint(attributes.lastModifiedTime().toMillis(), attributes.size());
+    }
+
+    private static Entry await(CompletableFuture<Entry> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new UncheckedIOException(new IOException(e.getCause()));
+        }
+    }
+}
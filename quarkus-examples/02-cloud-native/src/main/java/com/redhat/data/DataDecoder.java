@@ -0,0 +1,78 @@
+package com.redhat.data;
+
+import com.redhat.rest.dto.DataItem;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Push-based decoder of a data-load source that arrives in chunks. Implementations keep only
+ * the state of the element being decoded, so chunks may be split anywhere.
+ */
+public interface DataDecoder extends Closeable {
+
+    /**
+     * Decodes {@code length} bytes and emits the items they complete. The bytes are not
+     * referenced after the call returns.
+     */
+    void feed(byte[] bytes, int offset, int length, Consumer<DataItem> sink) throws IOException;
+
+    /**
+     * Signals the end of the input and emits what remains.
+     *
+     * @throws IOException if the input is incomplete
+     */
+    void end(Consumer<DataItem> sink) throws IOException;
+
+    long items();
+
+    /**
+     * Pulls {@code in} through {@code decoder} one buffer at a time; closing the stream closes
+     * both.
+     */
+    static DataItemStream stream(InputStream in, DataDecoder decoder) {
+        return new DataItemStream() {
+            private final byte[] buffer = new byte[1 << 16];
+            private final ArrayDeque<DataItem> decoded = new ArrayDeque<>();
+            private boolean ended;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    while (decoded.isEmpty() && !ended) {
+                        int read = in.read(buffer);
+                        if (read < 0) {
+                            ended = true;
+                            decoder.end(decoded::add);
+                        } else {
+                            decoder.feed(buffer, 0, read, decoded::add);
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return !decoded.isEmpty();
+            }
+
+            @Override
+            public DataItem next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return decoded.poll();
+            }
+
+            @Override
+            public void close() throws IOException {
+                try (in) {
+                    decoder.close();
+                }
+            }
+        };
+    }
+}
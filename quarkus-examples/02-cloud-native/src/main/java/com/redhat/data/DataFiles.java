@@ -0,0 +1,223 @@
+package com.redhat.data;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.config.BankingConfig;
+import com.redhat.exception.DataFileNotFoundException;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Resolves data-load files either from the filesystem (e.g. the {@code /app/data} PVC)
+ * or, as a fallback, from the application classpath.
+ */
+@ApplicationScoped
+public class DataFiles {
+
+    @Inject
+    BankingConfig bankingConfig;
+
+    public String configuredLocation() {
+        return bankingConfig.dataLoadExample();
+    }
+
+    /**
+     * Regular files of the configured data directory whose names match the configured glob,
+     * sorted by name.
+     */
+    public List<Path> discover() throws IOException {
+        Path directory = Paths.get(bankingConfig.dataDirectory());
+        if (!Files.isDirectory(directory)) {
+            throw DataFileNotFoundException.builder().location(directory.toString()).build();
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, bankingConfig.dataDirectoryPattern())) {
+            for (Path entry : entries) {
+                if (Files.isRegularFile(entry)) {
+                    files.add(entry);
+                }
+            }
+        }
+        files.sort(null);
+        return files;
+    }
+
+    public JsonParser createParser(ObjectMapper mapper, String location) throws IOException {
+        return mapper.getFactory().createParser(open(location));
+    }
+
+    /**
+     * Opens the items of the given location, preferring an up-to-date binary snapshot
+     * sibling over re-parsing the JSON.
+     */
+    public DataItemStream openItems(ObjectMapper mapper, String location) throws IOException {
+        return openItems(mapper, location, DataItemFilter.NONE);
+    }
+
+    /**
+     * Opens the items of the given location that match {@code filter}. The JSON reader applies
+     * the filter while parsing; snapshot rows and CSV lines are filtered after decoding.
+     */
+    public DataItemStream openItems(ObjectMapper mapper, String location, DataItemFilter filter) throws IOException {
+        return openItems(mapper, location, filter, DataReadRecorder.NONE);
+    }
+
+    /**
+     * Like {@link #openItems(ObjectMapper, String, DataItemFilter)}, measured by {@code recorder}.
+     */
+    public DataItemStream openItems(ObjectMapper mapper, String location, DataItemFilter filter,
+                                    DataReadRecorder recorder) throws IOException {
+        Optional<Path> snapshot = snapshotOf(location);
+        if (snapshot.isPresent()) {
+            return recorder.record(DataItemStream.filter(new SnapshotReader(recorder.count(isMemoryMapped(snapshot.get().toString())
+                    ? new MappedFileInputStream(snapshot.get())
+                    : Files.newInputStream(snapshot.get()))), filter));
+        }
+        return parse(mapper, location, filter, recorder);
+    }
+
+    public DataItemStream parse(ObjectMapper mapper, String location, DataItemFilter filter) throws IOException {
+        return parse(mapper, location, filter, DataReadRecorder.NONE);
+    }
+
+    /**
+     * Parses the given location itself, ignoring any snapshot: {@code .csv} files, also
+     * compressed, with {@link CsvDataDecoder}, everything else as JSON.
+     */
+    public DataItemStream parse(ObjectMapper mapper, String location, DataItemFilter filter,
+                                DataReadRecorder recorder) throws IOException {
+        if (isCsv(location)) {
+            return recorder.record(DataItemStream.filter(DataDecoder.stream(open(location, recorder), new CsvDataDecoder()), filter));
+        }
+        return recorder.record(new DataItemReader(mapper.getFactory().createParser(open(location, recorder)), filter));
+    }
+
+    public static boolean isCsv(String location) {
+        String name = location.substring(0, location.length() - Compression.of(location).suffix().length());
+        return name.toLowerCase(Locale.ROOT).endsWith(".csv");
+    }
+
+    /**
+     * The {@code .bin} sibling of a filesystem data file, if it exists and was written from
+     * the file as it is now: same size and modification time.
+     */
+    public Optional<Path> snapshotOf(String location) throws IOException {
+        Path path = Paths.get(location);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        Path snapshot = SnapshotFormat.siblingOf(path);
+        if (Files.isRegularFile(snapshot) && SnapshotFormat.isSnapshotOf(snapshot, Files.size(path),
+                Files.getLastModifiedTime(path).toMillis())) {
+            return Optional.of(snapshot);
+        }
+        return Optional.empty();
+    }
+
+    public String describeSource(String location) throws IOException {
+        if (snapshotOf(location).isPresent()) {
+            return "SNAPSHOT";
+        }
+        String source = isMemoryMapped(location) ? "MMAP" : "STREAM";
+        Compression compression = Compression.of(location);
+        return compression == Compression.NONE ? source : source + "_" + compression.name();
+    }
+
+    /**
+     * Derives a sibling file name, replacing a {@code .json} extension and any compression
+     * suffix: {@code data.json.gz} maps to {@code data.idx} for {@code .idx}.
+     */
+    public static Path siblingOf(Path path, String extension) {
+        String name = path.getFileName().toString();
+        name = name.substring(0, name.length() - Compression.of(name).suffix().length());
+        String base = name.endsWith(".json") ? name.substring(0, name.length() - ".json".length()) : name;
+        return path.resolveSibling(base + extension);
+    }
+
+    public boolean isMemoryMapped(String location) {
+        return bankingConfig.dataMemoryMapped() && Files.isRegularFile(Paths.get(location));
+    }
+
+    /**
+     * Opens the given location for positional reads. Classpath resources and compressed files
+     * are loaded into memory, decompressed.
+     */
+    public ByteSource openByteSource(String location) throws IOException {
+        Path path = Paths.get(location);
+        if (Files.isRegularFile(path) && Compression.of(location) == Compression.NONE) {
+            return ByteSource.of(path);
+        }
+        try (InputStream inputStream = open(location)) {
+            return ByteSource.of(inputStream.readAllBytes());
+        }
+    }
+
+    /**
+     * The representation of the given location to send unparsed; see {@link RawFile}.
+     */
+    public RawFile raw(String location, String acceptEncoding) throws IOException {
+        Path path = Paths.get(location);
+        if (Files.isRegularFile(path)) {
+            return RawFile.of(path, acceptEncoding);
+        }
+        try (InputStream inputStream = openRaw(location)) {
+            return RawFile.of(location, inputStream.readAllBytes());
+        }
+    }
+
+    public InputStream openConfigured() throws IOException {
+        return open(configuredLocation());
+    }
+
+    /**
+     * Opens the given location. Files on the filesystem are memory-mapped unless
+     * {@code banking.data-memory-mapped} is disabled; classpath resources are streamed.
+     * {@code .gz} and {@code .zst} files are decompressed while they are read.
+     */
+    public InputStream open(String location) throws IOException {
+        return open(location, DataReadRecorder.NONE);
+    }
+
+    /**
+     * Like {@link #open(String)}, with the reads from storage counted by {@code recorder}.
+     */
+    public InputStream open(String location, DataReadRecorder recorder) throws IOException {
+        InputStream raw = recorder.count(openRaw(location));
+        try {
+            return Compression.of(location).decode(raw);
+        } catch (IOException | RuntimeException e) {
+            raw.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the given location without decompressing it.
+     */
+    public InputStream openRaw(String location) throws IOException {
+        Path path = Paths.get(location);
+        if (isMemoryMapped(location)) {
+            return new MappedFileInputStream(path);
+        }
+        if (Files.exists(path)) {
+            return Files.newInputStream(path);
+        }
+
+        InputStream inputStream = getClass().getClassLoader().getResourceAsStream(location);
+        if (inputStream == null) {
+            throw DataFileNotFoundException.builder().location(location).build();
+        }
+        return inputStream;
+    }
+}
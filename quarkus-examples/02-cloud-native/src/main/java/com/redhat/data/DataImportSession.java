@@ -0,0 +1,373 @@
+package com.redhat.data;
+
+import com.redhat.model.Transaction;
+import com.redhat.model.TransactionType;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataImportResponse;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.TransactionData;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams {@link DataItem}s into the Account and Transaction tables through temporary
+ * staging tables. Rows are loaded with PostgreSQL {@code COPY FROM STDIN} when the driver
+ * supports it, otherwise with JDBC batches, and merged with a single set-based
+ * {@code INSERT ... SELECT} per table so duplicates and orphan transactions are rejected
+ * by the database instead of aborting the load. Items the columns cannot hold as they are,
+ * such as amounts with more than two decimal places, and elements that could not be read at
+ * all, see {@link #reject(MalformedItemException)}, are rejected before staging.
+ * <p>
+ * Transactions get ids from {@code transaction_id_seq} ascending in file order. Like the pooled
+ * optimizer of {@link Transaction}, the merge takes each value drawn as the block of
+ * {@link Transaction#ID_ALLOCATION_SIZE} ids ending at it, so it draws one value per block of
+ * rows, plus one because the first value of a new sequence stands for itself only. The ids
+ * are sorted and paired with the rows by position, so the order does not depend on the order
+ * in which the database evaluates {@code nextval}.
+ */
+@Slf4j
+public class DataImportSession implements AutoCloseable {
+
+    public static final String MODE_COPY = "COPY";
+    public static final String MODE_BATCH = "BATCH";
+
+    private static final int MAX_REPORTED_REJECTS = 100;
+    private static final int MAX_VARCHAR = 255;
+    private static final int MAX_SCALE = 2;
+    private static final int MAX_INTEGER_DIGITS = 17;
+
+    private static final String CREATE_ACCOUNT_STAGING = """
+            CREATE TEMP TABLE account_import (
+                ord BIGINT GENERATED ALWAYS AS IDENTITY,
+                accountNumber VARCHAR(255),
+                ownerId VARCHAR(255),
+                balance NUMERIC(19,2)
+            ) ON COMMIT DROP""";
+
+    private static final String CREATE_TRANSACTION_STAGING = """
+            CREATE TEMP TABLE transaction_import (
+                ord BIGINT GENERATED ALWAYS AS IDENTITY,
+                accountNumber VARCHAR(255),
+                type VARCHAR(50),
+                amount NUMERIC(19,2),
+                description VARCHAR(255)
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_ACCOUNTS = "COPY account_import (accountNumber, ownerId, balance) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_TRANSACTIONS = "COPY transaction_import (accountNumber, type, amount, description) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String INSERT_ACCOUNT_STAGING = "INSERT INTO account_import (accountNumber, ownerId, balance) VALUES (?, ?, ?)";
+    private static final String INSERT_TRANSACTION_STAGING = "INSERT INTO transaction_import (accountNumber, type, amount, description) VALUES (?, ?, ?, ?)";
+
+    private static final String MERGE_ACCOUNTS = """
+            INSERT INTO Account (accountNumber, ownerId, balance)
+            SELECT DISTINCT ON (accountNumber) accountNumber, ownerId, balance
+            FROM account_import
+            ORDER BY accountNumber, ord
+            ON CONFLICT (accountNumber) DO NOTHING""";
+
+    private static final String MERGE_TRANSACTIONS = """
+            WITH staged AS (
+                SELECT s.accountNumber, s.type, s.amount, s.description, row_number() OVER (ORDER BY s.ord) AS n
+                FROM transaction_import s
+                WHERE EXISTS (SELECT 1 FROM Account a WHERE a.accountNumber = s.accountNumber)
+            ), blocks AS (
+                SELECT nextval('transaction_id_seq') AS last
+                FROM generate_series(1, (SELECT (count(*) + %1$d - 1) / %1$d + 1 FROM staged HAVING count(*) > 0))
+            ), ids AS (
+                SELECT id, row_number() OVER (ORDER BY id) AS n
+                FROM (SELECT last - offset_in_block AS id FROM blocks, generate_series(0, %1$d - 1) offset_in_block) drawn
+                WHERE id > 0
+            )
+            INSERT INTO Transaction (transactionId, accountNumber, type, amount, timestamp, description)
+            SELECT ids.id, staged.accountNumber, staged.type, staged.amount, CURRENT_TIMESTAMP, staged.description
+            FROM staged JOIN ids USING (n)""".formatted(Transaction.ID_ALLOCATION_SIZE);
+
+    private final Connection connection;
+    private final PGConnection pgConnection;
+    private final int batchSize;
+    private final long startNanos = System.nanoTime();
+
+    private final StringBuilder row = new StringBuilder(256);
+    private PGCopyOutputStream copy;
+    private String copyTarget;
+
+    private PreparedStatement accountBatch;
+    private PreparedStatement transactionBatch;
+    private int pendingAccounts;
+    private int pendingTransactions;
+
+    private long accountsStaged;
+    private long transactionsStaged;
+    private long accountsInvalid;
+    private long transactionsInvalid;
+    private final List<String> rejects = new ArrayList<>();
+
+    public DataImportSession(Connection connection, int batchSize) throws SQLException {
+        this.connection = connection;
+        this.batchSize = batchSize;
+        this.pgConnection = unwrapPg(connection);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_ACCOUNT_STAGING);
+            statement.execute(CREATE_TRANSACTION_STAGING);
+        }
+    }
+
+    public String mode() {
+        return pgConnection != null ? MODE_COPY : MODE_BATCH;
+    }
+
+    public void accept(DataItem item) throws SQLException, IOException {
+        switch (item) {
+            case AccountData account -> acceptAccount(account);
+            case TransactionData transaction -> acceptTransaction(transaction);
+        }
+    }
+
+    private void acceptAccount(AccountData account) throws SQLException, IOException {
+        String error = validate(account);
+        if (error != null) {
+            reject("accounts", accountsStaged + accountsInvalid, error);
+            accountsInvalid++;
+            return;
+        }
+
+        if (pgConnection != null) {
+            row.setLength(0);
+            appendCsv(row, account.accountNumber()).append(',');
+            appendCsv(row, account.ownerId()).append(',');
+            row.append(account.balance().toPlainString()).append('\n');
+            writeCopyRow(COPY_ACCOUNTS);
+        } else {
+            if (accountBatch == null) {
+                accountBatch = connection.prepareStatement(INSERT_ACCOUNT_STAGING);
+            }
+            accountBatch.setString(1, account.accountNumber());
+            accountBatch.setString(2, account.ownerId());
+            accountBatch.setBigDecimal(3, account.balance());
+            accountBatch.addBatch();
+            if (++pendingAccounts >= batchSize) {
+                accountBatch.executeBatch();
+                pendingAccounts = 0;
+            }
+        }
+        accountsStaged++;
+    }
+
+    private void acceptTransaction(TransactionData transaction) throws SQLException, IOException {
+        String error = validate(transaction);
+        if (error != null) {
+            reject("transactions", transactionsStaged + transactionsInvalid, error);
+            transactionsInvalid++;
+            return;
+        }
+
+        if (pgConnection != null) {
+            row.setLength(0);
+            appendCsv(row, transaction.accountNumber()).append(',');
+            appendCsv(row, transaction.type()).append(',');
+            row.append(transaction.amount().toPlainString()).append(',');
+            appendCsv(row, transaction.description()).append('\n');
+            writeCopyRow(COPY_TRANSACTIONS);
+        } else {
+            if (transactionBatch == null) {
+                transactionBatch = connection.prepareStatement(INSERT_TRANSACTION_STAGING);
+            }
+            transactionBatch.setString(1, transaction.accountNumber());
+            transactionBatch.setString(2, transaction.type());
+            transactionBatch.setBigDecimal(3, transaction.amount());
+            transactionBatch.setString(4, transaction.description());
+            transactionBatch.addBatch();
+            if (++pendingTransactions >= batchSize) {
+                transactionBatch.executeBatch();
+                pendingTransactions = 0;
+            }
+        }
+        transactionsStaged++;
+    }
+
+    /**
+     * Counts an element that could not be read as a rejected account or transaction.
+     */
+    public void reject(MalformedItemException malformed) {
+        if (Watermark.ACCOUNTS.equals(malformed.section())) {
+            reject("accounts", accountsStaged + accountsInvalid, malformed.reason());
+            accountsInvalid++;
+        } else {
+            reject("transactions", transactionsStaged + transactionsInvalid, malformed.reason());
+            transactionsInvalid++;
+        }
+    }
+
+    /**
+     * Flushes the staging tables into Account and Transaction and reports the counts.
+     * The caller owns the surrounding database transaction.
+     */
+    public DataImportResponse finish() throws SQLException, IOException {
+        endCopy();
+        if (accountBatch != null && pendingAccounts > 0) {
+            accountBatch.executeBatch();
+        }
+        if (transactionBatch != null && pendingTransactions > 0) {
+            transactionBatch.executeBatch();
+        }
+
+        long accountsImported;
+        long transactionsImported;
+        try (Statement statement = connection.createStatement()) {
+            accountsImported = statement.executeLargeUpdate(MERGE_ACCOUNTS);
+            transactionsImported = statement.executeLargeUpdate(MERGE_TRANSACTIONS);
+        }
+
+        long accountsRejected = accountsInvalid + (accountsStaged - accountsImported);
+        long transactionsRejected = transactionsInvalid + (transactionsStaged - transactionsImported);
+        long durationMs = Math.max((System.nanoTime() - startNanos) / 1_000_000, 1);
+        long rows = accountsStaged + transactionsStaged + accountsInvalid + transactionsInvalid;
+
+        log.info("Imported {} accounts and {} transactions ({} / {} rejected) in {} ms using {}",
+                accountsImported, transactionsImported, accountsRejected, transactionsRejected, durationMs, mode());
+
+        return new DataImportResponse(mode(), accountsImported, transactionsImported,
+                accountsRejected, transactionsRejected, durationMs, rows * 1000 / durationMs, List.copyOf(rejects), null);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (copy != null && copy.isActive()) {
+            try {
+                copy.cancelCopy();
+            } catch (SQLException e) {
+                log.warn("Could not cancel COPY to {}", copyTarget, e);
+            }
+        }
+        if (accountBatch != null) {
+            accountBatch.close();
+        }
+        if (transactionBatch != null) {
+            transactionBatch.close();
+        }
+    }
+
+    private void writeCopyRow(String target) throws SQLException, IOException {
+        if (!target.equals(copyTarget)) {
+            endCopy();
+            copy = new PGCopyOutputStream(pgConnection, target, 1 << 16);
+            copyTarget = target;
+        }
+        copy.write(row.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void endCopy() throws SQLException {
+        if (copy != null) {
+            copy.endCopy();
+            copy = null;
+            copyTarget = null;
+        }
+    }
+
+    private void reject(String array, long index, String error) {
+        if (rejects.size() < MAX_REPORTED_REJECTS) {
+            rejects.add(String.format("%s[%d]: %s", array, index, error));
+        }
+    }
+
+    static String validate(AccountData account) {
+        if (isBlank(account.accountNumber()) || account.accountNumber().length() > MAX_VARCHAR) {
+            return "accountNumber must be non-blank and at most 255 characters";
+        }
+        if (isBlank(account.ownerId()) || account.ownerId().length() > MAX_VARCHAR) {
+            return "ownerId must be non-blank and at most 255 characters";
+        }
+        return validateDecimal("balance", account.balance());
+    }
+
+    static String validate(TransactionData transaction) {
+        if (isBlank(transaction.accountNumber()) || transaction.accountNumber().length() > MAX_VARCHAR) {
+            return "accountNumber must be non-blank and at most 255 characters";
+        }
+        if (!isTransactionType(transaction.type())) {
+            return "type must be one of DEPOSIT, WITHDRAW, TRANSFER_IN, TRANSFER_OUT";
+        }
+        String invalidAmount = validateDecimal("amount", transaction.amount());
+        if (invalidAmount != null) {
+            return invalidAmount;
+        }
+        if (transaction.description() != null && transaction.description().length() > MAX_VARCHAR) {
+            return "description must be at most 255 characters";
+        }
+        return null;
+    }
+
+    /**
+     * Why {@code value} does not fit the {@code NUMERIC(19,2)} columns unchanged, or
+     * {@code null}: more decimal places would be rounded away and more digits would fail the
+     * whole load.
+     */
+    private static String validateDecimal(String field, BigDecimal value) {
+        if (value == null || value.signum() < 0) {
+            return field + " must be greater than or equal to 0";
+        }
+        BigDecimal stripped = value.stripTrailingZeros();
+        if (stripped.scale() > MAX_SCALE) {
+            return field + " must have at most two decimal places";
+        }
+        if (stripped.precision() - stripped.scale() > MAX_INTEGER_DIGITS) {
+            return field + " must have at most " + MAX_INTEGER_DIGITS + " digits before the decimal point";
+        }
+        return null;
+    }
+
+    private static boolean isTransactionType(String type) {
+        if (type == null) {
+            return false;
+        }
+        for (TransactionType candidate : TransactionType.values()) {
+            if (candidate.name().equals(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static StringBuilder appendCsv(StringBuilder sb, String value) {
+        if (value == null) {
+            return sb;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                sb.append('"');
+            }
+            sb.append(c);
+        }
+        return sb.append('"');
+    }
+
+    private static PGConnection unwrapPg(Connection connection) {
+        try {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                return connection.unwrap(PGConnection.class);
+            }
+        } catch (SQLException e) {
+            log.debug("COPY not available, falling back to JDBC batches", e);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,202 @@
+package com.redhat.data;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Sparse byte-offset index over a data-load file: the start offset of every
+ * {@code stride}-th element of {@code accounts} and {@code transactions}. Reading element
+ * {@code n} costs one seek plus skipping at most {@code stride - 1} elements.
+ * <p>
+ * The index remembers the size and modification time of the file it was built from, and is
+ * persisted next to it as a {@code .idx} sibling:
+ * <pre>
+ * MAGIC VERSION sourceSize:i64 sourceModified:i64 stride:i32
+ * accounts:i64 transactions:i64 accountSlots:i32 offset:i64* transactionSlots:i32 offset:i64*
+ * </pre>
+ */
+public record DataIndex(long sourceSize, long sourceModified, int stride,
+                        long accounts, long transactions,
+                        long[] accountOffsets, long[] transactionOffsets) {
+
+    public static final String EXTENSION = ".idx";
+
+    private static final byte[] MAGIC = {'B', 'N', 'K', 'I'};
+    private static final int VERSION = 1;
+    private static final byte[] ARRAY_START = {'['};
+
+    /**
+     * Scans {@code source} once and records every {@code stride}-th element boundary.
+     */
+    public static DataIndex build(ByteSource source, int stride, long sourceModified) throws IOException {
+        Builder builder = new Builder(stride);
+        builder.scanner.run(source);
+        return builder.build(source.size(), sourceModified);
+    }
+
+    /**
+     * Like {@link #build(ByteSource, int, long)} for a sequential stream of the decoded file;
+     * offsets refer to the decoded bytes, {@code sourceSize} to the file on disk.
+     */
+    public static DataIndex build(InputStream in, long sourceSize, int stride, long sourceModified) throws IOException {
+        Builder builder = new Builder(stride);
+        builder.scanner.run(in);
+        return builder.build(sourceSize, sourceModified);
+    }
+
+    private static final class Builder {
+        private final int stride;
+        private final List<Long> accountOffsets = new ArrayList<>();
+        private final List<Long> transactionOffsets = new ArrayList<>();
+        private final long[] counts = new long[2];
+        private final ElementScanner scanner;
+
+        Builder(int stride) {
+            this.stride = stride;
+            this.scanner = new ElementScanner(Long.MAX_VALUE).onElement((type, index, start, end) -> {
+                int slot = type == AccountData.class ? 0 : 1;
+                if (index % stride == 0) {
+                    (slot == 0 ? accountOffsets : transactionOffsets).add(start);
+                }
+                counts[slot] = index + 1;
+            });
+        }
+
+        DataIndex build(long sourceSize, long sourceModified) {
+            return new DataIndex(sourceSize, sourceModified, stride, counts[0], counts[1],
+                    accountOffsets.stream().mapToLong(Long::longValue).toArray(),
+                    transactionOffsets.stream().mapToLong(Long::longValue).toArray());
+        }
+    }
+
+    /**
+     * {@code data.json}, {@code data.json.gz} and {@code data.json.zst} map to {@code data.idx};
+     * any other name gets {@code .idx} appended.
+     */
+    public static Path siblingOf(Path path) {
+        return DataFiles.siblingOf(path, EXTENSION);
+    }
+
+    public boolean matches(long size, long modified) {
+        return sourceSize == size && sourceModified == modified;
+    }
+
+    public long count(Class<? extends DataItem> type) {
+        return type == AccountData.class ? accounts : transactions;
+    }
+
+    /**
+     * Byte offset of the nearest indexed element at or before element {@code index}.
+     */
+    public long seekOffset(Class<? extends DataItem> type, long index) {
+        return (type == AccountData.class ? accountOffsets : transactionOffsets)[(int) (index / stride)];
+    }
+
+    /**
+     * Elements to skip after seeking to {@link #seekOffset} to arrive at element {@code index}.
+     */
+    public int skipCount(long index) {
+        return (int) (index % stride);
+    }
+
+    /**
+     * Reads up to {@code limit} elements of {@code type} starting at element {@code offset}
+     * from {@code in}, a stream positioned at the start of the indexed file.
+     */
+    public <T extends DataItem> List<T> read(ObjectMapper mapper, InputStream in, Class<T> type,
+                                             long offset, int limit) throws IOException {
+        List<T> items = new ArrayList<>(Math.min(limit, 1024));
+        if (offset >= count(type)) {
+            return items;
+        }
+        in.skipNBytes(seekOffset(type, offset));
+        // the elements after the seek point read as an array whose end is the real closing bracket
+        try (JsonParser parser = mapper.getFactory().createParser(
+                new SequenceInputStream(new ByteArrayInputStream(ARRAY_START), in))) {
+            parser.nextToken();
+            for (int skipped = 0; skipped < skipCount(offset); skipped++) {
+                parser.nextToken();
+                parser.skipChildren();
+            }
+            while (items.size() < limit && parser.nextToken() == JsonToken.START_OBJECT) {
+                items.add(parser.readValueAs(type));
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Writes the index atomically: to a temporary file first, then moved into place.
+     */
+    public void write(Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.write(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(sourceSize);
+                out.writeLong(sourceModified);
+                out.writeInt(stride);
+                out.writeLong(accounts);
+                out.writeLong(transactions);
+                writeOffsets(out, accountOffsets);
+                writeOffsets(out, transactionOffsets);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads a persisted index; empty if the file is missing or not an index of this version.
+     */
+    public static Optional<DataIndex> read(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC) || in.readInt() != VERSION) {
+                return Optional.empty();
+            }
+            return Optional.of(new DataIndex(in.readLong(), in.readLong(), in.readInt(), in.readLong(), in.readLong(),
+                    readOffsets(in), readOffsets(in)));
+        }
+    }
+
+    private static void writeOffsets(DataOutputStream out, long[] offsets) throws IOException {
+        out.writeInt(offsets.length);
+        for (long offset : offsets) {
+            out.writeLong(offset);
+        }
+    }
+
+    private static long[] readOffsets(DataInputStream in) throws IOException {
+        long[] offsets = new long[in.readInt()];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = in.readLong();
+        }
+        return offsets;
+    }
+}
@@ -0,0 +1,127 @@
+package com.redhat.data;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.TransactionData;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Push-based counterpart of {@link DataItemReader} for bodies that arrive in chunks. Each chunk
+ * is fed to Jackson's non-blocking parser and every element of {@code accounts} or
+ * {@code transactions} that it completes is bound and handed to the sink. Neither the document
+ * nor a chunk is kept once it has been fed; only the tokens of the element being parsed are
+ * buffered.
+ */
+public class DataItemDecoder implements DataDecoder {
+
+    private final ObjectMapper mapper;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private boolean started;
+    private Class<? extends DataItem> fieldType;
+    private Class<? extends DataItem> arrayType;
+    private TokenBuffer element;
+    private int elementDepth;
+    private int skipDepth;
+    private boolean finished;
+    private long items;
+
+    public DataItemDecoder(ObjectMapper mapper) throws IOException {
+        this.mapper = mapper;
+        this.parser = mapper.getFactory().createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    @Override
+    public void feed(byte[] bytes, int offset, int length, Consumer<DataItem> sink) throws IOException {
+        if (length == 0) {
+            return;
+        }
+        feeder.feedInput(bytes, offset, offset + length);
+        drain(sink);
+    }
+
+    @Override
+    public void end(Consumer<DataItem> sink) throws IOException {
+        feeder.endOfInput();
+        drain(sink);
+        if (!finished) {
+            throw new IOException("Unexpected end of input after " + items + " items");
+        }
+    }
+
+    @Override
+    public long items() {
+        return items;
+    }
+
+    private void drain(Consumer<DataItem> sink) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (finished) {
+                throw new IOException("Unexpected content after the data-load document");
+            }
+            if (element != null) {
+                element.copyCurrentEvent(parser);
+                elementDepth += nesting(token);
+                if (elementDepth == 0) {
+                    items++;
+                    try (JsonParser buffered = element.asParser(mapper)) {
+                        sink.accept(mapper.readValue(buffered, arrayType));
+                    }
+                    element = null;
+                }
+            } else if (skipDepth > 0) {
+                skipDepth += nesting(token);
+            } else if (!started) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IOException("Expected a data-load object but found " + token);
+                }
+                started = true;
+            } else if (arrayType != null) {
+                if (token == JsonToken.END_ARRAY) {
+                    arrayType = null;
+                } else if (token == JsonToken.START_OBJECT) {
+                    element = new TokenBuffer(parser);
+                    element.copyCurrentEvent(parser);
+                    elementDepth = 1;
+                } else {
+                    skipDepth = nesting(token);
+                }
+            } else if (token == JsonToken.FIELD_NAME) {
+                fieldType = switch (parser.currentName()) {
+                    case "accounts" -> AccountData.class;
+                    case "transactions" -> TransactionData.class;
+                    default -> null;
+                };
+            } else if (token == JsonToken.END_OBJECT) {
+                finished = true;
+            } else if (token == JsonToken.START_ARRAY && fieldType != null) {
+                arrayType = fieldType;
+            } else {
+                skipDepth = nesting(token);
+            }
+        }
+    }
+
+    private static int nesting(JsonToken token) {
+        return switch (token) {
+            case START_OBJECT, START_ARRAY -> 1;
+            case END_OBJECT, END_ARRAY -> -1;
+            default -> 0;
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
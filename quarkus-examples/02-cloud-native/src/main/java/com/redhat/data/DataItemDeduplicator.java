@@ -0,0 +1,234 @@
+package com.redhat.data;
+
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.DeduplicationStats;
+import com.redhat.rest.dto.TransactionData;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+/**
+ * Drops items identical to one seen before, within one file or across all streams wrapped by
+ * the same deduplicator. Each item is reduced to a 64-bit fingerprint of its type and fields,
+ * amounts compared by value, and only fingerprints are kept, in a {@link FingerprintSet}. Two
+ * different items share a fingerprint with a probability of about n^2/2^65 for n items, so
+ * a false duplicate is negligible even for billions of items.
+ * <p>
+ * Thread-safe, so streams of several files may be deduplicated against each other
+ * concurrently. Streams loaded in transactions that may roll back go through a
+ * {@link #newScope() scope} each, whose items only count as seen once it is committed.
+ */
+public final class DataItemDeduplicator implements Closeable {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long memoryBytes;
+    private final long bloomBytes;
+    private final Path directory;
+    private final FingerprintSet fingerprints;
+    private long accountsDuplicate;
+    private long transactionsDuplicate;
+
+    public DataItemDeduplicator(long memoryBytes, long bloomBytes, Path directory) {
+        this.memoryBytes = memoryBytes;
+        this.bloomBytes = bloomBytes;
+        this.directory = directory;
+        this.fingerprints = new FingerprintSet(memoryBytes, bloomBytes, directory);
+    }
+
+    /**
+     * Whether an identical item has been seen before; records {@code item} otherwise.
+     */
+    public synchronized boolean isDuplicate(DataItem item) throws IOException {
+        if (fingerprints.add(fingerprint(item))) {
+            return false;
+        }
+        if (item instanceof AccountData) {
+            accountsDuplicate++;
+        } else {
+            transactionsDuplicate++;
+        }
+        return true;
+    }
+
+    /**
+     * Passes on the items of {@code stream} that are not duplicates; closing the returned
+     * stream closes {@code stream}.
+     */
+    public DataItemStream wrap(DataItemStream stream) {
+        return wrap(stream, this::isDuplicate);
+    }
+
+    /**
+     * Starts deduplicating the items of one transaction, with their own memory budget.
+     */
+    public Scope newScope() {
+        return new Scope();
+    }
+
+    private static DataItemStream wrap(DataItemStream stream, DuplicateCheck check) {
+        return new DataItemStream() {
+            private DataItem next;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    while (next == null && stream.hasNext()) {
+                        DataItem item = stream.next();
+                        if (!check.isDuplicate(item)) {
+                            next = item;
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return next != null;
+            }
+
+            @Override
+            public DataItem next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                DataItem item = next;
+                next = null;
+                return item;
+            }
+
+            @Override
+            public void close() throws IOException {
+                stream.close();
+            }
+        };
+    }
+
+    public synchronized DeduplicationStats stats() {
+        return new DeduplicationStats(accountsDuplicate, transactionsDuplicate, fingerprints.size(),
+                fingerprints.memoryBytes(), fingerprints.diskBytes(), fingerprints.spills());
+    }
+
+    /**
+     * 64-bit FNV-1a over the item's type and fields, finished with the MurmurHash3 mixer so
+     * that every bit depends on the whole input.
+     */
+    public static long fingerprint(DataItem item) {
+        long hash = FNV_OFFSET_BASIS;
+        if (item instanceof AccountData account) {
+            hash = mix(hash, 'A');
+            hash = field(hash, account.accountNumber());
+            hash = field(hash, account.ownerId());
+            hash = field(hash, account.balance());
+        } else if (item instanceof TransactionData transaction) {
+            hash = mix(hash, 'T');
+            hash = field(hash, transaction.accountNumber());
+            hash = field(hash, transaction.type());
+            hash = field(hash, transaction.amount());
+            hash = field(hash, transaction.description());
+        } else {
+            throw new IllegalArgumentException("Unknown item type " + item.getClass().getName());
+        }
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static long field(long hash, BigDecimal value) {
+        return field(hash, value != null ? value.stripTrailingZeros().toPlainString() : null);
+    }
+
+    /**
+     * Hashes the characters followed by the length, so that adjacent fields cannot trade
+     * characters; {@code null} hashes differently from the empty string.
+     */
+    private static long field(long hash, String value) {
+        if (value == null) {
+            return mix(mix(hash, 0xFFFF), 0xFFFF);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = mix(hash, value.charAt(i));
+        }
+        hash = mix(hash, value.length() & 0xFFFF);
+        return mix(hash, value.length() >>> 16);
+    }
+
+    private static long mix(long hash, int value) {
+        hash = (hash ^ (value & 0xFF)) * FNV_PRIME;
+        return (hash ^ (value >>> 8 & 0xFF)) * FNV_PRIME;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        fingerprints.close();
+    }
+
+    /**
+     * Items of one transaction. They are dropped if identical to a committed item or to an
+     * earlier one of the scope, but are only added to the committed items by
+     * {@link #commit()}: a file whose transaction rolls back leaves nothing behind that would
+     * drop its items from other files. The price is that two scopes open at the same time
+     * both keep an item they share. Used by one thread at a time.
+     */
+    public final class Scope implements Closeable {
+
+        private final FingerprintSet pending = new FingerprintSet(memoryBytes, bloomBytes, directory);
+        private long accounts;
+        private long transactions;
+
+        public boolean isDuplicate(DataItem item) throws IOException {
+            long fingerprint = fingerprint(item);
+            boolean committed;
+            synchronized (DataItemDeduplicator.this) {
+                committed = fingerprints.contains(fingerprint);
+            }
+            if (!committed && pending.add(fingerprint)) {
+                return false;
+            }
+            if (item instanceof AccountData) {
+                accounts++;
+            } else {
+                transactions++;
+            }
+            return true;
+        }
+
+        /**
+         * Passes on the items of {@code stream} that are not duplicates; closing the returned
+         * stream closes {@code stream}.
+         */
+        public DataItemStream wrap(DataItemStream stream) {
+            return DataItemDeduplicator.wrap(stream, this::isDuplicate);
+        }
+
+        /**
+         * Adds the items of the scope to the committed ones, once their transaction has
+         * committed.
+         */
+        public void commit() throws IOException {
+            synchronized (DataItemDeduplicator.this) {
+                pending.moveTo(fingerprints);
+                accountsDuplicate += accounts;
+                transactionsDuplicate += transactions;
+            }
+            accounts = 0;
+            transactions = 0;
+        }
+
+        /**
+         * Deletes the scope's temporary files; items not committed are forgotten.
+         */
+        @Override
+        public void close() throws IOException {
+            pending.close();
+        }
+    }
+
+    private interface DuplicateCheck {
+        boolean isDuplicate(DataItem item) throws IOException;
+    }
+}
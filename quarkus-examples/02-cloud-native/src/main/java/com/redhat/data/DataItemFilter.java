@@ -0,0 +1,145 @@
+package com.redhat.data;
+
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.TransactionData;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Selection and projection applied while data items are read.
+ * <p>
+ * {@code accountNumber} matches accounts and transactions alike; {@code type} and
+ * {@code minAmount} only describe transactions, so setting either excludes accounts.
+ * {@code fields} names the properties to keep, {@code null} keeps all of them; properties
+ * that are not kept are never materialized by {@link DataItemReader} and come back as
+ * {@code null}. {@code accountsOnly} excludes transactions, so their array is never parsed,
+ * and {@code transactionsOnly} likewise excludes accounts.
+ */
+public record DataItemFilter(String accountNumber, String type, BigDecimal minAmount, Set<String> fields,
+                             boolean accountsOnly, boolean transactionsOnly) {
+
+    public static final DataItemFilter NONE = new DataItemFilter(null, null, null, null, false, false);
+
+    /**
+     * Every account, whole.
+     */
+    public static final DataItemFilter ACCOUNTS = new DataItemFilter(null, null, null, null, true, false);
+
+    /**
+     * Every transaction, whole.
+     */
+    public static final DataItemFilter TRANSACTIONS = new DataItemFilter(null, null, null, null, false, true);
+
+    public static final String ACCOUNT_NUMBER = "accountNumber";
+    public static final String OWNER_ID = "ownerId";
+    public static final String BALANCE = "balance";
+    public static final String TYPE = "type";
+    public static final String AMOUNT = "amount";
+    public static final String DESCRIPTION = "description";
+
+    public static final Set<String> FIELDS = Set.of(ACCOUNT_NUMBER, OWNER_ID, BALANCE, TYPE, AMOUNT, DESCRIPTION);
+
+    /**
+     * Builds a filter from request parameters; {@code fields} is a comma-separated list.
+     *
+     * @throws IllegalArgumentException if {@code fields} names an unknown property
+     */
+    public static DataItemFilter of(String accountNumber, String type, BigDecimal minAmount, String fields) {
+        Set<String> projection = null;
+        if (fields != null && !fields.isBlank()) {
+            projection = new LinkedHashSet<>();
+            for (String field : Arrays.stream(fields.split(",")).map(String::trim).filter(f -> !f.isEmpty()).toList()) {
+                if (!FIELDS.contains(field)) {
+                    throw new IllegalArgumentException("Unknown field '" + field + "', expected one of " + FIELDS);
+                }
+                projection.add(field);
+            }
+        }
+        return new DataItemFilter(accountNumber, type, minAmount, projection, false, false);
+    }
+
+    /**
+     * Selects every account, keeping only the given properties.
+     */
+    public static DataItemFilter accounts(String... fields) {
+        return new DataItemFilter(null, null, null, new LinkedHashSet<>(Arrays.asList(fields)), true, false);
+    }
+
+    public boolean isEmpty() {
+        return accountNumber == null && !selectsTransactionsOnly() && !accountsOnly && fields == null;
+    }
+
+    public boolean selectsTransactionsOnly() {
+        return transactionsOnly || type != null || minAmount != null;
+    }
+
+    public boolean projects(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * Whether a property has to be read, either to be returned or to be tested.
+     */
+    public boolean needs(String field) {
+        return projects(field)
+                || (ACCOUNT_NUMBER.equals(field) && accountNumber != null)
+                || (TYPE.equals(field) && type != null)
+                || (AMOUNT.equals(field) && minAmount != null);
+    }
+
+    public boolean acceptsAccountNumber(String value) {
+        return accountNumber == null || accountNumber.equals(value);
+    }
+
+    public boolean acceptsType(String value) {
+        return type == null || type.equals(value);
+    }
+
+    public boolean acceptsAmount(BigDecimal value) {
+        return minAmount == null || (value != null && value.compareTo(minAmount) >= 0);
+    }
+
+    public boolean accepts(DataItem item) {
+        return switch (item) {
+            case AccountData account -> !selectsTransactionsOnly() && acceptsAccountNumber(account.accountNumber());
+            case TransactionData transaction -> !accountsOnly && acceptsAccountNumber(transaction.accountNumber())
+                    && acceptsType(transaction.type())
+                    && acceptsAmount(transaction.amount());
+        };
+    }
+
+    public AccountData project(String accountNumber, String ownerId, BigDecimal balance) {
+        return new AccountData(
+                projects(ACCOUNT_NUMBER) ? accountNumber : null,
+                projects(OWNER_ID) ? ownerId : null,
+                projects(BALANCE) ? balance : null);
+    }
+
+    public TransactionData project(String accountNumber, String type, BigDecimal amount, String description) {
+        return new TransactionData(
+                projects(ACCOUNT_NUMBER) ? accountNumber : null,
+                projects(TYPE) ? type : null,
+                projects(AMOUNT) ? amount : null,
+                projects(DESCRIPTION) ? description : null);
+    }
+
+    /**
+     * Filters and projects an already bound item; returns {@code null} if it does not match.
+     */
+    public DataItem apply(DataItem item) {
+        if (!accepts(item)) {
+            return null;
+        }
+        if (fields == null) {
+            return item;
+        }
+        return switch (item) {
+            case AccountData a -> project(a.accountNumber(), a.ownerId(), a.balance());
+            case TransactionData t -> project(t.accountNumber(), t.type(), t.amount(), t.description());
+        };
+    }
+}
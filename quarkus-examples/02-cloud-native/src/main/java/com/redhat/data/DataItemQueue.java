@@ -0,0 +1,114 @@
+package com.redhat.data;
+
+import com.redhat.rest.dto.DataItem;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Hands items from a producer that must not block, such as an event loop decoding a request
+ * body, to a consumer thread that pulls them as a {@link DataItemStream}. The producer stops
+ * reading its source once {@link #isFull()} and registers a resume callback with
+ * {@link #onDrained(Runnable)}; the consumer runs it when the queue has emptied down to half its
+ * capacity. The queue itself never rejects an item, so it may exceed its capacity by the items
+ * of the chunk that was being decoded.
+ */
+public class DataItemQueue implements DataItemStream {
+
+    private static final Object END = new Object();
+
+    private final LinkedBlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private final int capacity;
+    private Runnable drained;
+    private Object next;
+    private volatile boolean closed;
+
+    public DataItemQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds an item; ignored once the consumer has closed the stream.
+     */
+    public void add(DataItem item) {
+        if (!closed) {
+            queue.add(item);
+        }
+    }
+
+    public void complete() {
+        queue.add(END);
+    }
+
+    /**
+     * Makes the consumer's next {@link #hasNext()} fail with {@code failure}.
+     */
+    public void fail(Throwable failure) {
+        queue.add(failure);
+    }
+
+    public boolean isFull() {
+        return queue.size() >= capacity;
+    }
+
+    /**
+     * Registers {@code callback} to run once, from the consumer thread, when the queue has
+     * drained to half its capacity. Runs it immediately if that has already happened.
+     */
+    public void onDrained(Runnable callback) {
+        synchronized (this) {
+            if (queue.size() > capacity / 2) {
+                drained = callback;
+                return;
+            }
+        }
+        callback.run();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for items", e);
+            }
+            signalDrained();
+        }
+        if (next instanceof Throwable failure) {
+            throw new IllegalStateException("Reading items failed: " + failure.getMessage(), failure);
+        }
+        return next != END;
+    }
+
+    @Override
+    public DataItem next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        DataItem item = (DataItem) next;
+        next = null;
+        return item;
+    }
+
+    private void signalDrained() {
+        Runnable callback;
+        synchronized (this) {
+            if (drained == null || queue.size() > capacity / 2) {
+                return;
+            }
+            callback = drained;
+            drained = null;
+        }
+        callback.run();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        queue.clear();
+        signalDrained();
+    }
+}
@@ -0,0 +1,282 @@
+package com.redhat.data;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.TransactionData;
+import io.smallrye.mutiny.Multi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+
+/**
+ * Pull-based, single-pass reader over a data-load document. Walks the top-level object once
+ * and yields {@link AccountData} for every element of {@code accounts} and
+ * {@link TransactionData} for every element of {@code transactions}, in document order.
+ * Any other top-level field is skipped without being bound.
+ * <p>
+ * With a non-empty {@link DataItemFilter} elements are read token by token instead: properties
+ * that are neither tested nor projected are skipped without being materialized, the rest of an
+ * element is skipped with {@link JsonParser#skipChildren()} as soon as one property fails the
+ * filter, and the {@code accounts} or {@code transactions} array is skipped whole when none of
+ * its elements can match.
+ * <p>
+ * An element that is valid JSON but cannot be bound, such as a balance that is not a number,
+ * is skipped and reported with a {@link MalformedItemException} from {@link #hasNext()}; reading
+ * may go on after it. Syntax errors end the stream.
+ */
+public class DataItemReader implements DataItemStream {
+
+    private final JsonParser parser;
+    private final DataItemFilter filter;
+    private Class<? extends DataItem> arrayType;
+    private DataItem next;
+    private long nextEnd;
+    private long itemEnd;
+    private boolean finished;
+
+    public DataItemReader(JsonParser parser) {
+        this(parser, DataItemFilter.NONE);
+    }
+
+    public DataItemReader(JsonParser parser, DataItemFilter filter) {
+        this.parser = parser;
+        this.filter = filter;
+    }
+
+    public static DataItemReader open(ObjectMapper mapper, InputStream inputStream) throws IOException {
+        return new DataItemReader(mapper.getFactory().createParser(inputStream));
+    }
+
+    /**
+     * Lazily opens the parser once per subscription and emits items only as downstream
+     * requests them; see {@link DataItemStream#multi(Callable)}.
+     */
+    public static Multi<DataItem> stream(Callable<JsonParser> parsers) {
+        return DataItemStream.multi(() -> new DataItemReader(parsers.call()));
+    }
+
+    public static Multi<DataItem> stream(ObjectMapper mapper, Callable<InputStream> source) {
+        return stream(() -> mapper.getFactory().createParser(source.call()));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        try {
+            next = advance();
+            nextEnd = parser.currentLocation().getByteOffset();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        finished = next == null;
+        return next != null;
+    }
+
+    @Override
+    public DataItem next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        DataItem item = next;
+        next = null;
+        itemEnd = nextEnd;
+        return item;
+    }
+
+    /**
+     * Byte offset in the input just past the item last returned by {@link #next()}.
+     */
+    public long itemEnd() {
+        return itemEnd;
+    }
+
+    private DataItem advance() throws IOException {
+        while (true) {
+            if (arrayType != null) {
+                JsonStreamContext array = parser.getParsingContext();
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.END_ARRAY) {
+                    arrayType = null;
+                    continue;
+                }
+                if (token == null) {
+                    throw new IOException("Unexpected end of input inside array");
+                }
+                DataItem item;
+                try {
+                    if (filter.isEmpty()) {
+                        return parser.readValueAs(arrayType);
+                    }
+                    item = token == JsonToken.START_OBJECT ? readFiltered() : skipValue();
+                } catch (DatabindException e) {
+                    throw malformed(array, e);
+                } catch (NumberFormatException e) {
+                    throw malformed(array, new IOException("Invalid number: " + e.getMessage(), e));
+                }
+                if (item != null) {
+                    return item;
+                }
+                continue;
+            }
+
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return null;
+            }
+            if (token == JsonToken.FIELD_NAME) {
+                Class<? extends DataItem> type = arrayTypeOf(parser.currentName());
+                if ((type == AccountData.class && filter.selectsTransactionsOnly())
+                        || (type == TransactionData.class && filter.accountsOnly())) {
+                    type = null;
+                }
+                if (parser.nextToken() == JsonToken.START_ARRAY && type != null) {
+                    arrayType = type;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private DataItem readFiltered() throws IOException {
+        boolean account = arrayType == AccountData.class;
+        String accountNumber = null;
+        String ownerId = null;
+        String type = null;
+        String description = null;
+        BigDecimal amount = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case DataItemFilter.ACCOUNT_NUMBER -> {
+                    if (!filter.needs(field)) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    accountNumber = parser.getValueAsString();
+                    if (!filter.acceptsAccountNumber(accountNumber)) {
+                        return skipRemainingFields();
+                    }
+                }
+                case DataItemFilter.OWNER_ID -> {
+                    if (account && filter.needs(field)) {
+                        ownerId = parser.getValueAsString();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case DataItemFilter.BALANCE -> {
+                    if (account && filter.needs(field)) {
+                        amount = decimalValue();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case DataItemFilter.TYPE -> {
+                    if (account || !filter.needs(field)) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    type = parser.getValueAsString();
+                    if (!filter.acceptsType(type)) {
+                        return skipRemainingFields();
+                    }
+                }
+                case DataItemFilter.AMOUNT -> {
+                    if (account || !filter.needs(field)) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    amount = decimalValue();
+                    if (!filter.acceptsAmount(amount)) {
+                        return skipRemainingFields();
+                    }
+                }
+                case DataItemFilter.DESCRIPTION -> {
+                    if (!account && filter.needs(field)) {
+                        description = parser.getValueAsString();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (!filter.acceptsAccountNumber(accountNumber)) {
+            return null;
+        }
+        if (account) {
+            return filter.project(accountNumber, ownerId, amount);
+        }
+        if (!filter.acceptsType(type) || !filter.acceptsAmount(amount)) {
+            return null;
+        }
+        return filter.project(accountNumber, type, amount, description);
+    }
+
+    private BigDecimal decimalValue() throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NULL -> null;
+            case VALUE_STRING -> new BigDecimal(parser.getText().trim());
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getDecimalValue();
+            default -> throw new NumberFormatException(parser.currentToken() + " is not a number");
+        };
+    }
+
+    /**
+     * Skips the rest of the element that failed to bind, up to the {@code array} it is in.
+     */
+    private MalformedItemException malformed(JsonStreamContext array, IOException cause) throws IOException {
+        while (parser.getParsingContext() != array) {
+            if (parser.nextToken() == null) {
+                throw new IOException("Unexpected end of input inside array");
+            }
+        }
+        return new MalformedItemException(arrayType == AccountData.class ? Watermark.ACCOUNTS : Watermark.TRANSACTIONS, cause);
+    }
+
+    private DataItem skipRemainingFields() throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private DataItem skipValue() throws IOException {
+        parser.skipChildren();
+        return null;
+    }
+
+    private static Class<? extends DataItem> arrayTypeOf(String fieldName) {
+        if ("accounts".equals(fieldName)) {
+            return AccountData.class;
+        }
+        if ("transactions".equals(fieldName)) {
+            return TransactionData.class;
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,215 @@
+package com.redhat.data;
+
+import com.redhat.rest.dto.DataItem;
+import io.smallrye.mutiny.Multi;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closeable, pull-based sequence of {@link DataItem}s read from a data-load source.
+ */
+public interface DataItemStream extends Iterator<DataItem>, Closeable {
+
+    /**
+     * Lazily opens the source once per subscription and emits items only as downstream
+     * requests them. The source is closed on completion, failure or cancellation.
+     */
+    static Multi<DataItem> multi(Callable<? extends DataItemStream> opener) {
+        return Multi.createFrom().<DataItemStream, DataItem>resource(
+                        () -> openUnchecked(opener),
+                        stream -> Multi.createFrom().iterable(() -> stream))
+                .withFinalizer(DataItemStream::closeUnchecked);
+    }
+
+    /**
+     * Like {@link #multi(Callable)}, but emits lists of up to {@code size} items. The source is
+     * read on a thread of its own, and only for batches downstream has requested, so at most one
+     * batch is buffered ahead of demand. A batch is emitted once it is full or {@code maxDelay}
+     * after its first item, even while the source is still blocked reading the next one, so slow
+     * sources still deliver promptly.
+     */
+    static Multi<List<DataItem>> batches(Callable<? extends DataItemStream> opener, int size, Duration maxDelay) {
+        return Multi.createFrom().<BatchReader, List<DataItem>>resource(
+                        () -> new BatchReader(openUnchecked(opener), size, maxDelay.toNanos()),
+                        reader -> Multi.createBy().repeating().supplier(reader::next).until(List::isEmpty))
+                .withFinalizer(BatchReader::close);
+    }
+
+    /**
+     * Applies {@code filter} to an already binding stream, for sources that cannot push it
+     * down themselves.
+     */
+    static DataItemStream filter(DataItemStream stream, DataItemFilter filter) {
+        if (filter.isEmpty()) {
+            return stream;
+        }
+        return new DataItemStream() {
+            private DataItem next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && stream.hasNext()) {
+                    next = filter.apply(stream.next());
+                }
+                return next != null;
+            }
+
+            @Override
+            public DataItem next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                DataItem item = next;
+                next = null;
+                return item;
+            }
+
+            @Override
+            public void close() throws IOException {
+                stream.close();
+            }
+        };
+    }
+
+    private static DataItemStream openUnchecked(Callable<? extends DataItemStream> opener) {
+        try {
+            return opener.call();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void closeUnchecked(DataItemStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a stream on a producer thread into a queue that {@link #next()} drains with a timed
+     * poll. The producer reads only as many items as the requested batches may hold.
+     */
+    final class BatchReader {
+        private static final Object END = new Object();
+
+        private final LinkedBlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+        private final DataItemStream stream;
+        private final int size;
+        private final long maxDelayNanos;
+        private final Thread producer;
+        private long allowed;
+        private long taken;
+        private boolean closed;
+        private boolean ended;
+
+        BatchReader(DataItemStream stream, int size, long maxDelayNanos) {
+            this.stream = stream;
+            this.size = size;
+            this.maxDelayNanos = maxDelayNanos;
+            this.producer = Thread.ofPlatform().name("data-item-batches").daemon().start(this::produce);
+        }
+
+        /**
+         * Returns the next batch, or an empty list once the stream has ended.
+         */
+        List<DataItem> next() {
+            if (ended) {
+                return List.of();
+            }
+            synchronized (this) {
+                allowed = taken + size;
+                notifyAll();
+            }
+            List<DataItem> batch = new ArrayList<>(Math.min(size, 1024));
+            try {
+                Object next = queue.take();
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (next != END) {
+                    batch.add(item(next));
+                    if (batch.size() == size) {
+                        break;
+                    }
+                    next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                }
+                ended = next == END;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for items", e);
+            }
+            synchronized (this) {
+                taken += batch.size();
+            }
+            return batch;
+        }
+
+        private static DataItem item(Object next) {
+            if (next instanceof RuntimeException failure) {
+                throw failure;
+            }
+            if (next instanceof Throwable failure) {
+                throw new IllegalStateException("Reading items failed: " + failure.getMessage(), failure);
+            }
+            return (DataItem) next;
+        }
+
+        private void produce() {
+            try {
+                long produced = 0;
+                while (awaitAllowance(produced)) {
+                    if (!stream.hasNext()) {
+                        queue.add(END);
+                        return;
+                    }
+                    queue.add(stream.next());
+                    produced++;
+                }
+            } catch (Throwable e) {
+                queue.add(e);
+            }
+        }
+
+        private synchronized boolean awaitAllowance(long produced) throws InterruptedException {
+            while (!closed && produced >= allowed) {
+                wait();
+            }
+            return !closed;
+        }
+
+        /**
+         * Stops the producer, waits for it to finish the item it may be reading and closes the
+         * stream.
+         */
+        void close() {
+            synchronized (this) {
+                closed = true;
+                notifyAll();
+            }
+            producer.interrupt();
+            try {
+                producer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            closeUnchecked(stream);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.redhat.data;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.TransactionData;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Writes a data-load document, {@code {"accounts":[...],"transactions":[...]}}, one element at a
+ * time through a streaming {@link JsonGenerator}, so memory does not depend on the number of
+ * elements. Accounts must all be written before the first transaction; {@code null} fields are
+ * left out like {@link AccountData} and {@link TransactionData} do.
+ * <p>
+ * Only {@link #finish()} ends the document: closing the writer before it leaves the arrays
+ * open, so a reader of an export that failed half way gets a parse error instead of a
+ * well-formed but truncated document.
+ */
+public final class DataLoadWriter implements Closeable {
+
+    private final JsonGenerator generator;
+    private String section;
+    private long accounts;
+    private long transactions;
+
+    public DataLoadWriter(JsonGenerator generator) throws IOException {
+        this.generator = generator;
+        generator.enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        generator.writeStartObject();
+    }
+
+    public void writeAccount(String accountNumber, String ownerId, BigDecimal balance) throws IOException {
+        if (Watermark.TRANSACTIONS.equals(section)) {
+            throw new IllegalStateException("Accounts must be written before transactions");
+        }
+        enter(Watermark.ACCOUNTS);
+        generator.writeStartObject();
+        writeString("accountNumber", accountNumber);
+        writeString("ownerId", ownerId);
+        writeNumber("balance", balance);
+        generator.writeEndObject();
+        accounts++;
+    }
+
+    public void writeTransaction(String accountNumber, String type, BigDecimal amount, String description) throws IOException {
+        enter(Watermark.TRANSACTIONS);
+        generator.writeStartObject();
+        writeString("accountNumber", accountNumber);
+        writeString("type", type);
+        writeNumber("amount", amount);
+        writeString("description", description);
+        generator.writeEndObject();
+        transactions++;
+    }
+
+    public void write(DataItem item) throws IOException {
+        if (item instanceof AccountData account) {
+            writeAccount(account.accountNumber(), account.ownerId(), account.balance());
+        } else if (item instanceof TransactionData transaction) {
+            writeTransaction(transaction.accountNumber(), transaction.type(), transaction.amount(), transaction.description());
+        } else {
+            throw new IllegalArgumentException("Unknown item type " + item.getClass().getName());
+        }
+    }
+
+    /**
+     * Closes the open array, writes the missing ones empty and ends the document.
+     */
+    public void finish() throws IOException {
+        enter(Watermark.TRANSACTIONS);
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    public long accounts() {
+        return accounts;
+    }
+
+    public long transactions() {
+        return transactions;
+    }
+
+    private void enter(String name) throws IOException {
+        if (name.equals(section)) {
+            return;
+        }
+        if (section != null) {
+            generator.writeEndArray();
+        } else if (name.equals(Watermark.TRANSACTIONS)) {
+            generator.writeArrayFieldStart(Watermark.ACCOUNTS);
+            generator.writeEndArray();
+        }
+        generator.writeArrayFieldStart(name);
+        section = name;
+    }
+
+    private void writeString(String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+
+    private void writeNumber(String name, BigDecimal value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
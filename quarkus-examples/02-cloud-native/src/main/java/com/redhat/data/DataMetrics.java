@@ -0,0 +1,134 @@
+package com.redhat.data;
+
+import com.redhat.config.BankingConfig;
+import com.redhat.rest.dto.DataReadStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jdk.jfr.FlightRecorder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Totals of all data reads per operation since startup, fed by the {@link DataReadRecorder}s
+ * it hands out. Each read is also recorded as a {@link DataReadEvent}, and the totals as a
+ * periodic {@link DataThroughputEvent}, when a flight recording is running.
+ */
+@Slf4j
+@ApplicationScoped
+public class DataMetrics {
+
+    @Inject
+    BankingConfig bankingConfig;
+
+    private final Map<String, Totals> totals = new ConcurrentSkipListMap<>();
+    private final Runnable throughputHook = this::emitThroughput;
+
+    @PostConstruct
+    void init() {
+        FlightRecorder.addPeriodicEvent(DataThroughputEvent.class, throughputHook);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        FlightRecorder.removePeriodicEvent(throughputHook);
+    }
+
+    /**
+     * Recorder for one read of {@code location}, or {@link DataReadRecorder#NONE} when
+     * {@code banking.data-metrics-enabled} is off.
+     */
+    public DataReadRecorder recorder(String operation, String location) {
+        return recorder(operation, location, sample -> {
+        });
+    }
+
+    /**
+     * Like {@link #recorder(String, String)}, also handing the totals of this read to
+     * {@code onRead} when it ends.
+     */
+    public DataReadRecorder recorder(String operation, String location, Consumer<DataReadRecorder.Sample> onRead) {
+        if (!bankingConfig.dataMetricsEnabled()) {
+            return DataReadRecorder.NONE;
+        }
+        Totals operationTotals = totals.computeIfAbsent(operation, key -> new Totals());
+        return new DataReadRecorder(operation, location, sample -> {
+            operationTotals.add(sample);
+            onRead.accept(sample);
+            if (log.isDebugEnabled()) {
+                log.debug("Read {}: {}", location, sample.toStats(operation, 1));
+            }
+        });
+    }
+
+    /**
+     * Totals per operation, ordered by operation.
+     */
+    public List<DataReadStats> totals() {
+        List<DataReadStats> stats = new ArrayList<>(totals.size());
+        totals.forEach((operation, operationTotals) -> stats.add(operationTotals.sample().toStats(operation, operationTotals.reads.sum())));
+        return stats;
+    }
+
+    private void emitThroughput() {
+        totals.forEach((operation, operationTotals) -> {
+            DataReadRecorder.Sample sample = operationTotals.sample();
+            DataThroughputEvent event = new DataThroughputEvent();
+            event.operation = operation;
+            event.reads = operationTotals.reads.sum();
+            event.items = sample.items();
+            event.bytesRead = sample.bytesRead();
+            event.ioTime = sample.ioNanos();
+            event.parseTime = sample.parseNanos();
+            event.downstreamTime = sample.downstreamNanos();
+            event.allocated = sample.allocatedBytes();
+            event.commit();
+        });
+    }
+
+    private static final class Totals {
+        final LongAdder reads = new LongAdder();
+        final LongAdder accounts = new LongAdder();
+        final LongAdder transactions = new LongAdder();
+        final LongAdder bytesRead = new LongAdder();
+        final LongAdder durationNanos = new LongAdder();
+        final LongAdder ioNanos = new LongAdder();
+        final LongAdder producerNanos = new LongAdder();
+        final LongAdder accountNanos = new LongAdder();
+        final LongAdder transactionNanos = new LongAdder();
+        final LongAdder downstreamNanos = new LongAdder();
+        final LongAdder allocatedBytes = new LongAdder();
+        volatile boolean allocationUnknown;
+
+        void add(DataReadRecorder.Sample sample) {
+            reads.increment();
+            accounts.add(sample.accounts());
+            transactions.add(sample.transactions());
+            bytesRead.add(sample.bytesRead());
+            durationNanos.add(sample.durationNanos());
+            ioNanos.add(sample.ioNanos());
+            producerNanos.add(sample.producerNanos());
+            accountNanos.add(sample.accountNanos());
+            transactionNanos.add(sample.transactionNanos());
+            downstreamNanos.add(sample.downstreamNanos());
+            if (sample.allocatedBytes() < 0) {
+                allocationUnknown = true;
+            } else {
+                allocatedBytes.add(sample.allocatedBytes());
+            }
+        }
+
+        DataReadRecorder.Sample sample() {
+            return new DataReadRecorder.Sample(accounts.sum(), transactions.sum(), bytesRead.sum(), durationNanos.sum(),
+                    ioNanos.sum(), producerNanos.sum(), accountNanos.sum(), transactionNanos.sum(), downstreamNanos.sum(),
+                    allocationUnknown ? -1 : allocatedBytes.sum());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.redhat.data;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for one read of a data-load file, from opening it to closing it. Its duration
+ * splits into {@link #ioTime}, {@link #parseTime} and {@link #downstreamTime}; whichever
+ * dominates tells whether the disk, the parser or the consumer held the read up.
+ */
+@Name("com.redhat.data.DataRead")
+@Label("Data Read")
+@Category({"Banking", "Data"})
+@Description("One read of a data-load file")
+@StackTrace(false)
+public class DataReadEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Location")
+    String location;
+
+    @Label("Accounts")
+    long accounts;
+
+    @Label("Transactions")
+    long transactions;
+
+    @Label("Bytes Read")
+    @Description("Bytes read from storage, before decompression")
+    @DataAmount
+    long bytesRead;
+
+    @Label("I/O Time")
+    @Description("Time spent reading from storage")
+    @Timespan
+    long ioTime;
+
+    @Label("Parse Time")
+    @Description("Time spent decompressing, parsing and binding items")
+    @Timespan
+    long parseTime;
+
+    @Label("Account Parse Time")
+    @Timespan
+    long accountParseTime;
+
+    @Label("Transaction Parse Time")
+    @Timespan
+    long transactionParseTime;
+
+    @Label("Downstream Time")
+    @Description("Time between items spent by the consumer or waiting for its demand")
+    @Timespan
+    long downstreamTime;
+
+    @Label("Allocated")
+    @Description("Bytes allocated while producing items, -1 if not supported")
+    @DataAmount
+    long allocated;
+}
@@ -0,0 +1,309 @@
+package com.redhat.data;
+
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.DataReadStats;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Measures one read of a data-load file: the storage stream is wrapped by {@link #count} and
+ * the item stream by {@link #record}, and the totals are reported once the item stream is
+ * closed, as a {@link DataReadEvent} and to the consumer given on creation.
+ * <p>
+ * Bytes and time read from storage, and the item counts, are exact. Time inside the item
+ * stream is producer time: reads from storage, and everything else, decompression, parsing
+ * and binding, which is attributed to the type of the item it produced. It is measured for
+ * the first {@link #ALWAYS_SAMPLED} items and then for every {@link #SAMPLE_INTERVAL}th, and
+ * extrapolated to the rest; the remainder of the read's duration belongs to the consumer.
+ * Allocation is the current thread's allocation inside the sampled calls, so it is correct
+ * even when successive calls come from different threads. One read is used by one thread at a
+ * time, as an iterator is.
+ */
+public final class DataReadRecorder {
+
+    /**
+     * Recorder that wraps nothing and reports nothing.
+     */
+    public static final DataReadRecorder NONE = new DataReadRecorder(null, null, null);
+
+    /**
+     * Every this many items one is timed; reading the clock and the allocation counter around
+     * every call would cost more than parsing a small item.
+     */
+    static final int SAMPLE_INTERVAL = 16;
+    /**
+     * Items timed before sampling starts, so that small reads are measured exactly. Their time
+     * is kept apart from the samples, as it includes warm-up that should not be extrapolated.
+     */
+    static final int ALWAYS_SAMPLED = 64;
+
+    private static final int ACCOUNT = 0;
+    private static final int TRANSACTION = 1;
+
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private final String operation;
+    private final String location;
+    private final Consumer<Sample> onFinish;
+    private final DataReadEvent event = new DataReadEvent();
+    private final long startNanos = System.nanoTime();
+    private final long[] counts = new long[2];
+    private final long[] exactCounts = new long[2];
+    private final long[] exactNanos = new long[2];
+    private final long[] sampledCounts = new long[2];
+    private final long[] sampledNanos = new long[2];
+
+    private long bytesRead;
+    private long ioNanos;
+    private long exactAllocatedBytes;
+    private long sampledAllocatedBytes;
+    private long pendingNanos;
+    private long pendingAllocatedBytes;
+    private long allocationStart;
+    private long windowStart;
+    private boolean sampling = true;
+    private boolean finished;
+
+    public DataReadRecorder(String operation, String location, Consumer<Sample> onFinish) {
+        this.operation = operation;
+        this.location = location;
+        this.onFinish = onFinish;
+        event.begin();
+    }
+
+    /**
+     * Counts the bytes and time of reads from {@code in}, which should be the storage stream
+     * before any decompression.
+     */
+    public InputStream count(InputStream in) {
+        if (this == NONE) {
+            return in;
+        }
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                long start = System.nanoTime();
+                int b = super.read();
+                ioNanos += System.nanoTime() - start;
+                if (b >= 0) {
+                    bytesRead++;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) throws IOException {
+                long start = System.nanoTime();
+                int read = super.read(bytes, offset, length);
+                ioNanos += System.nanoTime() - start;
+                if (read > 0) {
+                    bytesRead += read;
+                }
+                return read;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long skipped = super.skip(n);
+                bytesRead += skipped;
+                return skipped;
+            }
+        };
+    }
+
+    /**
+     * Times {@code stream} and reports the read when it is closed.
+     */
+    public DataItemStream record(DataItemStream stream) {
+        if (this == NONE) {
+            return stream;
+        }
+        return new DataItemStream() {
+            @Override
+            public boolean hasNext() {
+                if (!sampling) {
+                    return stream.hasNext();
+                }
+                startWindow();
+                boolean hasNext = false;
+                try {
+                    hasNext = stream.hasNext();
+                    return hasNext;
+                } finally {
+                    if (!hasNext) {
+                        endWindow();
+                    }
+                }
+            }
+
+            @Override
+            public DataItem next() {
+                DataItem item;
+                if (!sampling) {
+                    item = stream.next();
+                    count(item, false);
+                    return item;
+                }
+                startWindow();
+                try {
+                    item = stream.next();
+                } finally {
+                    endWindow();
+                }
+                count(item, true);
+                return item;
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    stream.close();
+                } finally {
+                    finish();
+                }
+            }
+        };
+    }
+
+    private void count(DataItem item, boolean sampled) {
+        int type = item instanceof AccountData ? ACCOUNT : TRANSACTION;
+        long items = counts[ACCOUNT] + counts[TRANSACTION];
+        counts[type]++;
+        if (sampled) {
+            if (items < ALWAYS_SAMPLED) {
+                exactCounts[type]++;
+                exactNanos[type] += pendingNanos;
+                exactAllocatedBytes += pendingAllocatedBytes;
+            } else {
+                sampledCounts[type]++;
+                sampledNanos[type] += pendingNanos;
+                sampledAllocatedBytes += pendingAllocatedBytes;
+            }
+            pendingNanos = 0;
+            pendingAllocatedBytes = 0;
+        }
+        items++;
+        sampling = items < ALWAYS_SAMPLED || (items & (SAMPLE_INTERVAL - 1)) == 0;
+    }
+
+    /**
+     * Starts timing the current item, unless {@code hasNext()} already did: iterators call it
+     * right before {@code next()}, so one window covers both and the clock is read only twice.
+     */
+    private void startWindow() {
+        if (windowStart == 0) {
+            allocationStart = allocated();
+            windowStart = System.nanoTime();
+        }
+    }
+
+    private void endWindow() {
+        pendingNanos += System.nanoTime() - windowStart;
+        windowStart = 0;
+        if (allocationStart >= 0) {
+            pendingAllocatedBytes += allocated() - allocationStart;
+        }
+    }
+
+    private void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        long durationNanos = System.nanoTime() - startNanos;
+        long accountNanos = typeNanos(ACCOUNT);
+        long transactionNanos = typeNanos(TRANSACTION);
+        long producerNanos = accountNanos + transactionNanos + pendingNanos;
+        long items = counts[ACCOUNT] + counts[TRANSACTION];
+        long exactItems = exactCounts[ACCOUNT] + exactCounts[TRANSACTION];
+        long allocatedBytes = exactAllocatedBytes + estimate(sampledAllocatedBytes,
+                sampledCounts[ACCOUNT] + sampledCounts[TRANSACTION], items - exactItems);
+        Sample sample = new Sample(counts[ACCOUNT], counts[TRANSACTION], bytesRead, durationNanos, ioNanos, producerNanos,
+                accountNanos, transactionNanos, Math.max(0, durationNanos - producerNanos),
+                THREADS != null ? allocatedBytes : -1);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.location = location;
+            event.accounts = sample.accounts;
+            event.transactions = sample.transactions;
+            event.bytesRead = sample.bytesRead;
+            event.ioTime = sample.ioNanos;
+            event.parseTime = sample.parseNanos();
+            event.accountParseTime = sample.accountNanos;
+            event.transactionParseTime = sample.transactionNanos;
+            event.downstreamTime = sample.downstreamNanos;
+            event.allocated = sample.allocatedBytes;
+            event.commit();
+        }
+        onFinish.accept(sample);
+    }
+
+    /**
+     * Exact time of the first items of {@code type}, plus the sampled time of the others
+     * extrapolated to all of them.
+     */
+    private long typeNanos(int type) {
+        return exactNanos[type] + estimate(sampledNanos[type], sampledCounts[type], counts[type] - exactCounts[type]);
+    }
+
+    private static long estimate(long sampledTotal, long sampled, long count) {
+        return sampled > 0 ? (long) ((double) sampledTotal * count / sampled) : 0;
+    }
+
+    private static long allocated() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                    && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads;
+            }
+        } catch (RuntimeException | LinkageError e) {
+            // not available in this runtime, allocation is reported as unknown
+        }
+        return null;
+    }
+
+    /**
+     * Raw totals of one or more reads. {@code producerNanos} is all time inside the item
+     * stream, I/O included; {@code allocatedBytes} is {@code -1} where it cannot be measured.
+     */
+    public record Sample(long accounts, long transactions, long bytesRead, long durationNanos, long ioNanos,
+                         long producerNanos, long accountNanos, long transactionNanos, long downstreamNanos,
+                         long allocatedBytes) {
+
+        public long items() {
+            return accounts + transactions;
+        }
+
+        /**
+         * Producer time not spent reading from storage; reads done while opening the stream
+         * can make the I/O time exceed the producer time.
+         */
+        public long parseNanos() {
+            return Math.max(0, producerNanos - ioNanos);
+        }
+
+        public DataReadStats toStats(String operation, long reads) {
+            long busyNanos = Math.max(producerNanos, ioNanos);
+            return new DataReadStats(operation, reads, accounts, transactions, bytesRead,
+                    TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                    TimeUnit.NANOSECONDS.toMillis(ioNanos),
+                    TimeUnit.NANOSECONDS.toMillis(parseNanos()),
+                    TimeUnit.NANOSECONDS.toMillis(downstreamNanos),
+                    accounts > 0 ? accountNanos / accounts : 0,
+                    transactions > 0 ? transactionNanos / transactions : 0,
+                    busyNanos > 0 ? (long) (items() * 1e9 / busyNanos) : 0,
+                    allocatedBytes >= 0 ? (items() > 0 ? allocatedBytes / items() : 0) : null);
+        }
+    }
+}
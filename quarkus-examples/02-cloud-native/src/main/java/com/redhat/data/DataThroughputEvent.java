@@ -0,0 +1,53 @@
+package com.redhat.data;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Periodic JFR event with the totals of one operation since startup, emitted by
+ * {@link DataMetrics}. Consecutive events give the throughput over each period.
+ */
+@Name("com.redhat.data.DataThroughput")
+@Label("Data Throughput")
+@Category({"Banking", "Data"})
+@Description("Totals of all data reads of one operation since startup")
+@Period("10 s")
+@StackTrace(false)
+public class DataThroughputEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Reads")
+    long reads;
+
+    @Label("Items")
+    long items;
+
+    @Label("Bytes Read")
+    @DataAmount
+    long bytesRead;
+
+    @Label("I/O Time")
+    @Timespan
+    long ioTime;
+
+    @Label("Parse Time")
+    @Timespan
+    long parseTime;
+
+    @Label("Downstream Time")
+    @Timespan
+    long downstreamTime;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocated;
+}
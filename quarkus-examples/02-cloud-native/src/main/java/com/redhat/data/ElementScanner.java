@@ -0,0 +1,198 @@
+package com.redhat.data;
+
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.TransactionData;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds element boundaries inside the top-level {@code accounts} and {@code transactions}
+ * arrays with a byte-level scan that only tracks nesting depth and string/escape state, which
+ * is far cheaper than tokenizing. Consecutive elements are grouped into {@link Chunk}s of
+ * roughly {@code chunkBytes} so each chunk can be parsed independently.
+ */
+public class ElementScanner {
+
+    /**
+     * Byte range {@code [start, end)} covering {@code count} consecutive elements of one array.
+     * The range starts at the first byte of the first element and ends after the last one;
+     * separators in between are included.
+     */
+    public record Chunk(Class<? extends DataItem> type, long start, long end, int count) {
+        public int length() {
+            return (int) (end - start);
+        }
+    }
+
+    /**
+     * Receives every element boundary found by the scan, in document order.
+     */
+    public interface ElementListener {
+        void element(Class<? extends DataItem> type, long index, long start, long end);
+    }
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int MAX_KEY_LENGTH = 32;
+
+    private final long chunkBytes;
+    private final List<Chunk> chunks = new ArrayList<>();
+    private ElementListener listener;
+
+    private int depth;
+    private boolean inString;
+    private boolean escape;
+    private boolean capturingKey;
+    private final StringBuilder key = new StringBuilder(MAX_KEY_LENGTH);
+    private String lastKey;
+
+    private Class<? extends DataItem> arrayType;
+    private long elementIndex;
+    private long elementStart = -1;
+    private long chunkStart = -1;
+    private long chunkEnd;
+    private int chunkCount;
+
+    public ElementScanner(long chunkBytes) {
+        this.chunkBytes = chunkBytes;
+    }
+
+    public static List<Chunk> scan(ByteSource source, long chunkBytes) throws IOException {
+        return new ElementScanner(chunkBytes).run(source);
+    }
+
+    public ElementScanner onElement(ElementListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    public List<Chunk> run(ByteSource source) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long size = source.size();
+        for (long position = 0; position < size; position += BUFFER_SIZE) {
+            int length = (int) Math.min(BUFFER_SIZE, size - position);
+            source.read(position, buffer, 0, length);
+            for (int i = 0; i < length; i++) {
+                accept(buffer[i], position + i);
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Scans a sequential stream, e.g. a decompressing one, for sources without random access.
+     */
+    public List<Chunk> run(InputStream in) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long position = 0;
+        int length;
+        while ((length = in.read(buffer)) > 0) {
+            for (int i = 0; i < length; i++) {
+                accept(buffer[i], position + i);
+            }
+            position += length;
+        }
+        return chunks;
+    }
+
+    private void accept(byte b, long position) {
+        if (inString) {
+            if (escape) {
+                escape = false;
+            } else if (b == '\\') {
+                escape = true;
+            } else if (b == '"') {
+                inString = false;
+                if (capturingKey) {
+                    capturingKey = false;
+                    lastKey = key.toString();
+                }
+            } else if (capturingKey && key.length() < MAX_KEY_LENGTH) {
+                key.append((char) b);
+            }
+            return;
+        }
+
+        switch (b) {
+            case '"' -> {
+                inString = true;
+                if (arrayType == null && depth == 1) {
+                    capturingKey = true;
+                    key.setLength(0);
+                } else {
+                    startElement(position);
+                }
+            }
+            case '{', '[' -> {
+                if (b == '[' && arrayType == null && depth == 1) {
+                    arrayType = arrayTypeOf(lastKey);
+                    elementIndex = 0;
+                } else {
+                    startElement(position);
+                }
+                depth++;
+            }
+            case '}', ']' -> {
+                if (arrayType != null && depth == 2) {
+                    endElement(position);
+                    flushChunk();
+                    arrayType = null;
+                    depth--;
+                } else {
+                    depth--;
+                    endElement(position + 1);
+                }
+            }
+            case ',' -> endElement(position);
+            case ' ', '\t', '\n', '\r', ':' -> {
+            }
+            default -> startElement(position);
+        }
+    }
+
+    private void startElement(long position) {
+        if (arrayType != null && depth == 2 && elementStart < 0) {
+            elementStart = position;
+        }
+    }
+
+    private void endElement(long end) {
+        if (arrayType == null || depth != 2 || elementStart < 0) {
+            return;
+        }
+        if (listener != null) {
+            listener.element(arrayType, elementIndex, elementStart, end);
+        }
+        elementIndex++;
+        if (chunkStart < 0) {
+            chunkStart = elementStart;
+        }
+        chunkEnd = end;
+        chunkCount++;
+        elementStart = -1;
+        if (chunkEnd - chunkStart >= chunkBytes) {
+            flushChunk();
+        }
+    }
+
+    private void flushChunk() {
+        if (chunkCount > 0) {
+            chunks.add(new Chunk(arrayType, chunkStart, chunkEnd, chunkCount));
+        }
+        chunkStart = -1;
+        chunkCount = 0;
+    }
+
+    private static Class<? extends DataItem> arrayTypeOf(String fieldName) {
+        if ("accounts".equals(fieldName)) {
+            return AccountData.class;
+        }
+        if ("transactions".equals(fieldName)) {
+            return TransactionData.class;
+        }
+        return null;
+    }
+}
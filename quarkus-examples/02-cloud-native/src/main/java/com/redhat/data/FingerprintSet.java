@@ -0,0 +1,341 @@
+package com.redhat.data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Set of 64-bit fingerprints that stays within a memory budget.
+ * <p>
+ * Fingerprints are kept in a {@link LongHashSet} until its table would grow past
+ * {@code memoryBytes}. The table is then spilled: sorted in place and written to a run file,
+ * and every fingerprint is added to a Bloom filter in a memory-mapped temporary file of
+ * {@code bloomBytes}, left to the page cache. A fingerprint missing from the table is looked up
+ * on disk only when the Bloom filter reports it, by a binary search over each run, so the
+ * exact check costs disk reads only for duplicates and the filter's false positives. Runs are
+ * merged into one once there are more than {@link #MAX_RUNS}.
+ * <p>
+ * Not thread-safe. Temporary files are deleted on {@link #close()}.
+ */
+public final class FingerprintSet implements Closeable {
+
+    static final int MAX_RUNS = 8;
+    static final int HASH_FUNCTIONS = 7;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long SEGMENT_BYTES = 1L << 30;
+
+    private final long memoryBudget;
+    private final long bloomBytes;
+    private final Path directory;
+    private final LongHashSet memory = new LongHashSet();
+    private final List<Run> runs = new ArrayList<>();
+    private final ByteBuffer probe = ByteBuffer.allocate(Long.BYTES);
+
+    private BloomFilter bloom;
+    private long size;
+    private long peakMemoryBytes;
+    private long spills;
+
+    /**
+     * @param memoryBytes largest table kept in memory
+     * @param bloomBytes  size of the Bloom filter file, rounded up to a power of two
+     * @param directory   where the Bloom filter and the runs are written
+     */
+    public FingerprintSet(long memoryBytes, long bloomBytes, Path directory) {
+        this.memoryBudget = memoryBytes;
+        this.bloomBytes = Long.highestOneBit(Math.max(bloomBytes, 8) * 2 - 1);
+        this.directory = directory;
+    }
+
+    /**
+     * @return whether {@code fingerprint} was not in the set yet
+     */
+    public boolean add(long fingerprint) throws IOException {
+        if (contains(fingerprint)) {
+            return false;
+        }
+        if (memory.isAtCapacity() && memory.memoryBytes() * 2 > memoryBudget && memory.size() > 0) {
+            spill();
+        }
+        memory.add(fingerprint);
+        peakMemoryBytes = Math.max(peakMemoryBytes, memory.memoryBytes());
+        size++;
+        return true;
+    }
+
+    public boolean contains(long fingerprint) throws IOException {
+        return memory.contains(fingerprint)
+                || (bloom != null && bloom.mightContain(fingerprint) && onDisk(fingerprint));
+    }
+
+    /**
+     * Adds every fingerprint to {@code target}, emptying the in-memory table on the way; this
+     * set is only fit for {@link #close()} afterwards.
+     */
+    public void moveTo(FingerprintSet target) throws IOException {
+        try {
+            memory.drainSorted(fingerprint -> {
+                try {
+                    target.add(fingerprint);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        for (Run run : runs) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run.file), BUFFER_SIZE))) {
+                for (long i = 0; i < run.count; i++) {
+                    target.add(in.readLong());
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of distinct fingerprints added.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Largest in-memory table so far.
+     */
+    public long memoryBytes() {
+        return peakMemoryBytes;
+    }
+
+    /**
+     * Bytes of the Bloom filter and runs on disk.
+     */
+    public long diskBytes() {
+        long bytes = bloom != null ? bloomBytes : 0;
+        for (Run run : runs) {
+            bytes += run.count * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    /**
+     * Number of times the table was spilled to disk.
+     */
+    public long spills() {
+        return spills;
+    }
+
+    private void spill() throws IOException {
+        if (bloom == null) {
+            bloom = new BloomFilter(Files.createTempFile(directory, "dedup-", ".bloom"), bloomBytes);
+        }
+        Path file = Files.createTempFile(directory, "dedup-", ".run");
+        long[] count = new long[1];
+        try (DataOutputStream out = output(file)) {
+            memory.drainSorted(fingerprint -> {
+                try {
+                    out.writeLong(fingerprint);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                bloom.add(fingerprint);
+                count[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(file);
+            throw e.getCause();
+        }
+        runs.add(new Run(file, count[0]));
+        spills++;
+        if (runs.size() > MAX_RUNS) {
+            mergeRuns();
+        }
+    }
+
+    private boolean onDisk(long fingerprint) throws IOException {
+        for (Run run : runs) {
+            long low = 0;
+            long high = run.count - 1;
+            while (low <= high) {
+                long middle = (low + high) >>> 1;
+                long value = read(run.channel, middle * Long.BYTES);
+                if (value < fingerprint) {
+                    low = middle + 1;
+                } else if (value > fingerprint) {
+                    high = middle - 1;
+                } else {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private long read(FileChannel channel, long position) throws IOException {
+        probe.clear();
+        while (probe.hasRemaining()) {
+            if (channel.read(probe, position + probe.position()) < 0) {
+                throw new EOFException("Run ended at " + position);
+            }
+        }
+        return probe.getLong(0);
+    }
+
+    /**
+     * Replaces all runs by one, merging their sorted fingerprints with a heap.
+     */
+    private void mergeRuns() throws IOException {
+        Path file = Files.createTempFile(directory, "dedup-", ".run");
+        long count = 0;
+        List<DataInputStream> inputs = new ArrayList<>(runs.size());
+        try (DataOutputStream out = output(file)) {
+            PriorityQueue<long[]> heap = new PriorityQueue<>(runs.size(), (a, b) -> Long.compare(a[0], b[0]));
+            for (Run run : runs) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run.file), BUFFER_SIZE));
+                inputs.add(in);
+                if (run.count > 0) {
+                    heap.add(new long[]{in.readLong(), inputs.size() - 1, run.count - 1});
+                }
+            }
+            while (!heap.isEmpty()) {
+                long[] head = heap.poll();
+                out.writeLong(head[0]);
+                count++;
+                if (head[2] > 0) {
+                    head[0] = inputs.get((int) head[1]).readLong();
+                    head[2]--;
+                    heap.add(head);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        } finally {
+            for (DataInputStream in : inputs) {
+                in.close();
+            }
+        }
+        for (Run run : runs) {
+            run.delete();
+        }
+        runs.clear();
+        runs.add(new Run(file, count));
+    }
+
+    private static DataOutputStream output(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (Run run : runs) {
+            try {
+                run.delete();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        runs.clear();
+        if (bloom != null) {
+            try {
+                bloom.delete();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        memory.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Sorted fingerprints spilled to {@code file}, read by position for binary searches.
+     */
+    private static final class Run {
+        final Path file;
+        final long count;
+        final FileChannel channel;
+
+        Run(Path file, long count) throws IOException {
+            this.file = file;
+            this.count = count;
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        }
+
+        void delete() throws IOException {
+            try {
+                channel.close();
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Bloom filter over a memory-mapped file, mapped in segments so it may exceed 2 GB. The
+     * {@link #HASH_FUNCTIONS} bit positions are derived from the two halves of the fingerprint
+     * by double hashing.
+     */
+    private static final class BloomFilter {
+        final Path file;
+        final long bitMask;
+        final MappedByteBuffer[] segments;
+
+        BloomFilter(Path file, long bytes) throws IOException {
+            this.file = file;
+            this.bitMask = bytes * 8 - 1;
+            this.segments = new MappedByteBuffer[(int) ((bytes + SEGMENT_BYTES - 1) / SEGMENT_BYTES)];
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                for (int i = 0; i < segments.length; i++) {
+                    long start = i * SEGMENT_BYTES;
+                    segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, start, Math.min(SEGMENT_BYTES, bytes - start));
+                }
+            }
+        }
+
+        void add(long fingerprint) {
+            long h1 = fingerprint;
+            long h2 = Long.rotateLeft(fingerprint, 32) | 1;
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                long bit = (h1 + i * h2) & bitMask;
+                MappedByteBuffer segment = segments[(int) ((bit >>> 3) / SEGMENT_BYTES)];
+                int index = (int) ((bit >>> 3) % SEGMENT_BYTES);
+                segment.put(index, (byte) (segment.get(index) | 1 << (bit & 7)));
+            }
+        }
+
+        boolean mightContain(long fingerprint) {
+            long h1 = fingerprint;
+            long h2 = Long.rotateLeft(fingerprint, 32) | 1;
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                long bit = (h1 + i * h2) & bitMask;
+                MappedByteBuffer segment = segments[(int) ((bit >>> 3) / SEGMENT_BYTES)];
+                if ((segment.get((int) ((bit >>> 3) % SEGMENT_BYTES)) & 1 << (bit & 7)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void delete() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package com.redhat.data;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.redhat.model.TransactionType;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.TransactionData;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Single-pass ledger replay over a data-load document. Accounts are interned into dense
+ * slots by {@link AccountIds} and every total is a {@code long} number of cents in a
+ * per-slot array, so memory grows with the number of distinct accounts and the token walk
+ * allocates nothing per transaction.
+ * <p>
+ * Ending balance = opening balance + deposits - withdrawals + transfers in - transfers out,
+ * where the opening balance is the one listed in {@code accounts} (zero for accounts that
+ * only appear in transactions). Elements that fail the import validation rules are counted
+ * as rejected and left out of every total, and their account number gets no slot.
+ */
+public class LedgerSummary {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final char[][] TYPE_NAMES = Arrays.stream(TYPES).map(type -> type.name().toCharArray()).toArray(char[][]::new);
+    private static final int INITIAL_CAPACITY = 512;
+
+    /**
+     * Longest token parsed without {@link BigDecimal}: up to 16 digits, times 100, cannot
+     * overflow a {@code long}.
+     */
+    private static final int MAX_FAST_CENTS_LENGTH = 16;
+
+    private final AccountIds ids = new AccountIds();
+    private long[] opening = new long[INITIAL_CAPACITY];
+    private boolean[] listed = new boolean[INITIAL_CAPACITY];
+    private int[] transactionCounts = new int[INITIAL_CAPACITY];
+    private long[][] totals = new long[TYPES.length][INITIAL_CAPACITY];
+
+    private long transactions;
+    private long rejected;
+
+    private char[] accountNumber = new char[64];
+    private int accountNumberLength;
+
+    public void readJson(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object at the start of the data file");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            boolean accounts = "accounts".equals(field);
+            if (token != JsonToken.START_ARRAY || !(accounts || "transactions".equals(field))) {
+                parser.skipChildren();
+                continue;
+            }
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IOException("Unexpected end of input inside array");
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    rejected++;
+                } else if (accounts) {
+                    readAccount(parser);
+                } else {
+                    readTransaction(parser);
+                }
+            }
+        }
+    }
+
+    private void readAccount(JsonParser parser) throws IOException {
+        accountNumberLength = 0;
+        long balance = -1;
+        boolean owner = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            if (!isScalar(value)) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case "accountNumber" -> readAccountNumber(parser);
+                case "ownerId" -> owner = value == JsonToken.VALUE_STRING && !parser.getText().isBlank();
+                case "balance" -> balance = cents(parser);
+                default -> {
+                }
+            }
+        }
+        if (accountNumberLength == 0 || !owner || balance < 0) {
+            rejected++;
+            return;
+        }
+        int slot = accountNumberSlot();
+        opening[slot] = balance;
+        listed[slot] = true;
+    }
+
+    private void readTransaction(JsonParser parser) throws IOException {
+        accountNumberLength = 0;
+        int type = -1;
+        long amount = -1;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            if (!isScalar(value)) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case "accountNumber" -> readAccountNumber(parser);
+                case "type" -> type = typeOf(parser);
+                case "amount" -> amount = cents(parser);
+                default -> {
+                }
+            }
+        }
+        if (accountNumberLength == 0 || type < 0 || amount < 0) {
+            rejected++;
+            return;
+        }
+        int slot = accountNumberSlot();
+        totals[type][slot] += amount;
+        transactionCounts[slot]++;
+        transactions++;
+    }
+
+    /**
+     * Replays items that are already bound, such as the lines of a CSV file, validated like
+     * the elements of {@link #readJson}.
+     */
+    public void read(DataItemStream items) {
+        while (items.hasNext()) {
+            switch (items.next()) {
+                case AccountData account -> readAccount(account);
+                case TransactionData transaction -> readTransaction(transaction);
+            }
+        }
+    }
+
+    private void readAccount(AccountData account) {
+        long balance = cents(account.balance());
+        if (isEmpty(account.accountNumber()) || account.ownerId() == null || account.ownerId().isBlank() || balance < 0) {
+            rejected++;
+            return;
+        }
+        account(account.accountNumber(), balance);
+    }
+
+    private void readTransaction(TransactionData transaction) {
+        int type = typeOf(transaction.type());
+        long amount = cents(transaction.amount());
+        if (isEmpty(transaction.accountNumber()) || type < 0 || amount < 0) {
+            rejected++;
+            return;
+        }
+        transaction(transaction.accountNumber(), TYPES[type], amount);
+    }
+
+    public void account(String accountNumber, long balanceCents) {
+        int slot = slot(accountNumber);
+        opening[slot] = balanceCents;
+        listed[slot] = true;
+    }
+
+    public void transaction(String accountNumber, TransactionType type, long amountCents) {
+        int slot = slot(accountNumber);
+        totals[type.ordinal()][slot] += amountCents;
+        transactionCounts[slot]++;
+        transactions++;
+    }
+
+    public int accounts() {
+        return ids.size();
+    }
+
+    public long transactions() {
+        return transactions;
+    }
+
+    public long rejected() {
+        return rejected;
+    }
+
+    public String accountNumber(int slot) {
+        return ids.name(slot);
+    }
+
+    public boolean isListed(int slot) {
+        return listed[slot];
+    }
+
+    public long openingCents(int slot) {
+        return opening[slot];
+    }
+
+    public int transactionCount(int slot) {
+        return transactionCounts[slot];
+    }
+
+    public long totalCents(int slot, TransactionType type) {
+        return totals[type.ordinal()][slot];
+    }
+
+    public long totalCents(TransactionType type) {
+        long total = 0;
+        long[] column = totals[type.ordinal()];
+        for (int slot = 0; slot < ids.size(); slot++) {
+            total += column[slot];
+        }
+        return total;
+    }
+
+    public long endingCents(int slot) {
+        return opening[slot]
+                + totals[TransactionType.DEPOSIT.ordinal()][slot]
+                - totals[TransactionType.WITHDRAW.ordinal()][slot]
+                + totals[TransactionType.TRANSFER_IN.ordinal()][slot]
+                - totals[TransactionType.TRANSFER_OUT.ordinal()][slot];
+    }
+
+    /**
+     * Slots of the {@code n} highest ending balances, highest first.
+     */
+    public int[] topByEndingBalance(int n) {
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(n, 1), (a, b) -> Long.compare(endingCents(a), endingCents(b)));
+        for (int slot = 0; slot < ids.size(); slot++) {
+            if (heap.size() < n) {
+                heap.add(slot);
+            } else if (n > 0 && endingCents(slot) > endingCents(heap.peek())) {
+                heap.poll();
+                heap.add(slot);
+            }
+        }
+        int[] top = new int[heap.size()];
+        for (int i = top.length - 1; i >= 0; i--) {
+            top[i] = heap.poll();
+        }
+        return top;
+    }
+
+    /**
+     * Equal-width histogram of ending balances: {@code buckets} counts over
+     * {@code [min, min + buckets * width)}, with the bounds returned by {@link #histogramBounds}.
+     */
+    public long[] histogram(int buckets) {
+        long[] counts = new long[buckets];
+        if (ids.size() == 0) {
+            return counts;
+        }
+        long[] bounds = histogramBounds(buckets);
+        for (int slot = 0; slot < ids.size(); slot++) {
+            counts[(int) Math.min(buckets - 1, (endingCents(slot) - bounds[0]) / bounds[1])]++;
+        }
+        return counts;
+    }
+
+    /**
+     * {@code {min, width}} in cents of the histogram returned by {@link #histogram}.
+     */
+    public long[] histogramBounds(int buckets) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int slot = 0; slot < ids.size(); slot++) {
+            long ending = endingCents(slot);
+            min = Math.min(min, ending);
+            max = Math.max(max, ending);
+        }
+        if (ids.size() == 0) {
+            return new long[]{0, 1};
+        }
+        return new long[]{min, Math.max(1, (max - min) / buckets + 1)};
+    }
+
+    private int slot(String accountNumber) {
+        int slot = ids.slot(accountNumber);
+        ensureCapacity(slot + 1);
+        return slot;
+    }
+
+    /**
+     * Keeps the account number of the element being read, in a reused buffer, until the
+     * element turns out valid; empty if it is not a non-empty string.
+     */
+    private void readAccountNumber(JsonParser parser) throws IOException {
+        accountNumberLength = 0;
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            return;
+        }
+        int length = parser.getTextLength();
+        if (length > accountNumber.length) {
+            accountNumber = new char[Math.max(length, accountNumber.length * 2)];
+        }
+        System.arraycopy(parser.getTextCharacters(), parser.getTextOffset(), accountNumber, 0, length);
+        accountNumberLength = length;
+    }
+
+    private int accountNumberSlot() {
+        int slot = ids.slot(accountNumber, 0, accountNumberLength);
+        ensureCapacity(slot + 1);
+        return slot;
+    }
+
+    private static int typeOf(String name) {
+        for (int type = 0; type < TYPES.length; type++) {
+            if (TYPES[type].name().equals(name)) {
+                return type;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    private static int typeOf(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            return -1;
+        }
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        for (int type = 0; type < TYPE_NAMES.length; type++) {
+            if (Arrays.equals(TYPE_NAMES[type], 0, TYPE_NAMES[type].length, chars, offset, offset + length)) {
+                return type;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses a number or numeric string token into cents, rounding half-even beyond two
+     * decimals. Plain decimals are parsed straight from the token characters; anything else
+     * (exponents, very large values) goes through {@link BigDecimal}. Returns -1 for values
+     * that are not numbers; negative amounts are invalid for the ledger anyway.
+     */
+    static long cents(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_STRING) {
+            return -1;
+        }
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int end = offset + parser.getTextLength();
+        long units = 0;
+        long fraction = 0;
+        int decimals = -1;
+        int i = offset;
+        if (i < end && chars[i] == '-') {
+            return -1;
+        }
+        if (i == end || end - offset > MAX_FAST_CENTS_LENGTH) {
+            return slowCents(chars, offset, end - offset);
+        }
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c >= '0' && c <= '9') {
+                if (decimals < 0) {
+                    units = units * 10 + (c - '0');
+                } else if (decimals < 2) {
+                    fraction = fraction * 10 + (c - '0');
+                    decimals++;
+                } else {
+                    return slowCents(chars, offset, end - offset);
+                }
+            } else if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else {
+                return slowCents(chars, offset, end - offset);
+            }
+        }
+        if (decimals < 1) {
+            fraction *= 100;
+        } else if (decimals == 1) {
+            fraction *= 10;
+        }
+        return units * 100 + fraction;
+    }
+
+    private static long slowCents(char[] chars, int offset, int length) {
+        try {
+            return cents(new BigDecimal(new String(chars, offset, length).trim()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static long cents(BigDecimal value) {
+        if (value == null || value.signum() < 0) {
+            return -1;
+        }
+        try {
+            return value.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            return -1;
+        }
+    }
+
+    private static boolean isScalar(JsonToken token) {
+        return token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= opening.length) {
+            return;
+        }
+        int grown = Math.max(capacity, opening.length * 2);
+        opening = Arrays.copyOf(opening, grown);
+        listed = Arrays.copyOf(listed, grown);
+        transactionCounts = Arrays.copyOf(transactionCounts, grown);
+        for (int type = 0; type < totals.length; type++) {
+            totals[type] = Arrays.copyOf(totals[type], grown);
+        }
+    }
+}
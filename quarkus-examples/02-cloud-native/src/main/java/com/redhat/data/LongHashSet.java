@@ -0,0 +1,141 @@
+package com.redhat.data;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Set of primitive {@code long}s in one open-addressing table with linear probing: eight bytes
+ * per slot, no boxing and no per-entry objects. The table is kept at most half full and
+ * doubles when that load is reached; {@code 0} marks a free slot and is tracked separately.
+ */
+public final class LongHashSet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] table;
+    private int mask;
+    private int size;
+    private boolean containsZero;
+
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongHashSet(int expected) {
+        allocate(Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(expected, 1) * 2 - 1) << 1));
+    }
+
+    /**
+     * @return whether {@code value} was not in the set yet
+     */
+    public boolean add(long value) {
+        if (value == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int slot = slot(value);
+        while (table[slot] != 0) {
+            if (table[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+        if (++size > table.length / 2) {
+            rehash(table.length * 2);
+        }
+        return true;
+    }
+
+    public boolean contains(long value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        int slot = slot(value);
+        while (table[slot] != 0) {
+            if (table[slot] == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Bytes held by the table.
+     */
+    public long memoryBytes() {
+        return table.length * (long) Long.BYTES;
+    }
+
+    /**
+     * Whether the next new value makes the table double.
+     */
+    public boolean isAtCapacity() {
+        return size + 1 > table.length / 2;
+    }
+
+    /**
+     * Hands all values to {@code sink} in ascending signed order and empties the set. Sorts the
+     * table in place, so no second array is allocated; the table keeps its capacity.
+     */
+    public void drainSorted(LongConsumer sink) {
+        int count = 0;
+        for (long value : table) {
+            if (value != 0) {
+                table[count++] = value;
+            }
+        }
+        Arrays.sort(table, 0, count);
+        boolean zeroPending = containsZero;
+        for (int i = 0; i < count; i++) {
+            if (zeroPending && table[i] > 0) {
+                sink.accept(0);
+                zeroPending = false;
+            }
+            sink.accept(table[i]);
+        }
+        if (zeroPending) {
+            sink.accept(0);
+        }
+        clear();
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0);
+        size = 0;
+        containsZero = false;
+    }
+
+    private int slot(long value) {
+        long mixed = value * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = table;
+        allocate(capacity);
+        for (long value : old) {
+            if (value != 0) {
+                int slot = slot(value);
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = value;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        mask = capacity - 1;
+    }
+}
@@ -0,0 +1,42 @@
+package com.redhat.data;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Thrown while reading a data-load document for an element that is well-formed JSON but not
+ * an item, such as an account whose balance is not a number. The element has been skipped,
+ * so the stream can be read on; consumers that do not expect it fail as for any other
+ * unreadable input.
+ */
+public class MalformedItemException extends UncheckedIOException {
+
+    private final String section;
+    private final String reason;
+
+    public MalformedItemException(String section, IOException cause) {
+        super(section + " element is malformed: " + reasonOf(cause), cause);
+        this.section = section;
+        this.reason = reasonOf(cause);
+    }
+
+    /**
+     * {@code accounts} or {@code transactions}.
+     */
+    public String section() {
+        return section;
+    }
+
+    /**
+     * What is wrong with the element, without the parser location.
+     */
+    public String reason() {
+        return reason;
+    }
+
+    private static String reasonOf(IOException cause) {
+        return cause instanceof JsonProcessingException json ? json.getOriginalMessage() : cause.getMessage();
+    }
+}
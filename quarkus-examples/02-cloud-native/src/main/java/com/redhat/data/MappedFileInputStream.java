@@ -0,0 +1,104 @@
+package com.redhat.data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link InputStream} over a memory-mapped file. The file is mapped in read-only windows, so
+ * files larger than 2 GB work, and reads are bulk copies straight from the page cache into
+ * the caller's buffer: no {@code read()} system calls and no intermediate stream buffers.
+ */
+public class MappedFileInputStream extends InputStream {
+
+    static final long DEFAULT_WINDOW_SIZE = 256L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+    private long windowStart;
+    private MappedByteBuffer window;
+
+    public MappedFileInputStream(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    public MappedFileInputStream(Path path, long windowSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureWindow()) {
+            return -1;
+        }
+        return window.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureWindow()) {
+            return -1;
+        }
+        int n = Math.min(len, window.remaining());
+        window.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long target = Math.min(position() + Math.max(n, 0), size);
+        long skipped = target - position();
+        seek(target);
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, size - position());
+    }
+
+    public long position() {
+        return window == null ? windowStart : windowStart + window.position();
+    }
+
+    /**
+     * Moves the read position to an absolute byte offset, remapping only if it falls
+     * outside the current window.
+     */
+    public void seek(long offset) throws IOException {
+        if (window != null && offset >= windowStart && offset <= windowStart + window.limit()) {
+            window.position((int) (offset - windowStart));
+            return;
+        }
+        window = null;
+        windowStart = offset;
+    }
+
+    private boolean ensureWindow() throws IOException {
+        if (window != null && window.hasRemaining()) {
+            return true;
+        }
+        long next = window == null ? windowStart : windowStart + window.limit();
+        if (next >= size) {
+            return false;
+        }
+        windowStart = next;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, next, Math.min(windowSize, size - next));
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
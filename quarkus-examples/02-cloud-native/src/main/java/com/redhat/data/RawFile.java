@@ -0,0 +1,94 @@
+package com.redhat.data;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+
+/**
+ * The representation of a data file sent as is by {@code /api/data/raw}: either a file to be
+ * transferred straight from the page cache, or the bytes of a classpath resource.
+ * <p>
+ * For an uncompressed file, a {@code .zst} or {@code .gz} sibling that is not older than the
+ * file is preferred when the client accepts that content coding, so it is compressed once
+ * ahead of time instead of per request. A file that is itself compressed is sent with its
+ * coding, or as an opaque {@code application/gzip} or {@code application/zstd} download to
+ * clients that do not accept it.
+ *
+ * @param path         file to send, {@code null} for a resource
+ * @param bytes        resource content, {@code null} for a file
+ * @param lastModified modification time in milliseconds, {@code -1} if unknown
+ * @param etag         strong validator, distinct per content coding
+ * @param encoding     {@code Content-Encoding}, {@code null} for none
+ * @param negotiated   whether the representation depends on {@code Accept-Encoding}
+ */
+public record RawFile(Path path, byte[] bytes, long size, long lastModified, String etag, String contentType,
+                      String encoding, boolean negotiated) {
+
+    private static final Compression[] PRECOMPRESSED = {Compression.ZSTD, Compression.GZIP};
+
+    public static RawFile of(Path file, String acceptEncoding) throws IOException {
+        String name = file.getFileName().toString();
+        Compression compression = Compression.of(name);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        if (compression != Compression.NONE) {
+            boolean accepted = Compression.accepts(acceptEncoding, compression.encoding());
+            return file(file, lastModified, accepted ? contentType(name) : "application/" + compression.encoding(),
+                    accepted ? compression.encoding() : null, true);
+        }
+        boolean negotiated = false;
+        for (Compression candidate : PRECOMPRESSED) {
+            Path sibling = file.resolveSibling(name + candidate.suffix());
+            if (Files.isRegularFile(sibling) && Files.getLastModifiedTime(sibling).toMillis() >= lastModified) {
+                negotiated = true;
+                if (Compression.accepts(acceptEncoding, candidate.encoding())) {
+                    return file(sibling, Files.getLastModifiedTime(sibling).toMillis(), contentType(name),
+                            candidate.encoding(), true);
+                }
+            }
+        }
+        return file(file, lastModified, contentType(name), null, negotiated);
+    }
+
+    public static RawFile of(String name, byte[] bytes) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        String etag = Long.toHexString(bytes.length) + "-" + Long.toHexString(crc.getValue());
+        return new RawFile(null, bytes, bytes.length, -1, etag, contentType(name), null, false);
+    }
+
+    private static RawFile file(Path path, long lastModified, String contentType, String encoding, boolean negotiated)
+            throws IOException {
+        long size = Files.size(path);
+        String etag = Long.toHexString(size) + "-" + Long.toHexString(lastModified) + (encoding == null ? "" : "-" + encoding);
+        return new RawFile(path, null, size, lastModified, etag, contentType, encoding, negotiated);
+    }
+
+    private static String contentType(String name) {
+        return DataFiles.isCsv(name) ? "text/csv" : "application/json";
+    }
+
+    /**
+     * Whether an {@code If-None-Match} value names this representation; weak tags match by
+     * their opaque value.
+     */
+    public boolean matches(String entityTags) {
+        if (entityTags == null) {
+            return false;
+        }
+        for (String candidate : entityTags.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(quotedEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String quotedEtag() {
+        return "\"" + etag + "\"";
+    }
+}
@@ -0,0 +1,251 @@
+package com.redhat.data;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Binary, block-columnar snapshot of a data-load file.
+ *
+ * <pre>
+ * file   := MAGIC VERSION sourceSize:i64 sourceModified:i64 block* END
+ * block  := type:u8 rows:i32 length:i32 payload[length]
+ * payload:= dictionary columns
+ * dictionary := (count &lt;&lt; 1 | reset):varint string*
+ *               (entries appended to the file-wide dictionary, emptied first if reset is 1)
+ * string := (len + 1):varint utf8[len]        (0 encodes null)
+ * ref    := (id + 1):varint                   (dictionary reference, 0 encodes null)
+ * decimal column := flags:u8 scale:zigzag-varint nulls:bitmap? scales:zigzag-varint*?
+ *                   (unscaled:zigzag-varint | unscaled:(len:varint twos-complement[len]))*
+ *                   (flags bit 0: null bitmap present, bit 1: per-row scales present,
+ *                    bit 2: unscaled values as bytes, for values beyond 64 bits)
+ *
+ * accounts     columns: accountNumber:ref* ownerId:string* balance:decimal
+ * transactions columns: accountNumber:ref* type:ref* amount:decimal description:ref*
+ * </pre>
+ *
+ * Blocks hold at most {@link #BLOCK_ROWS} rows of one kind and appear in document order. The
+ * dictionary is reset once it holds {@link #MAX_DICTIONARY_ENTRIES} entries, so neither side
+ * keeps more than that plus one block's worth. {@code sourceSize} and {@code sourceModified}
+ * describe the file the snapshot was written from, {@code -1} if none, see
+ * {@link #isSnapshotOf}. All integers are big-endian.
+ */
+public final class SnapshotFormat {
+
+    public static final byte[] MAGIC = {'B', 'N', 'K', 'S'};
+    public static final int VERSION = 2;
+    public static final int BLOCK_ROWS = 64 * 1024;
+    public static final int MAX_DICTIONARY_ENTRIES = 1 << 18;
+
+    public static final byte END = 0;
+    public static final byte ACCOUNTS = 1;
+    public static final byte TRANSACTIONS = 2;
+
+    public static final String EXTENSION = ".bin";
+
+    private static final int DECIMAL_NULLS = 1;
+    private static final int DECIMAL_SCALES = 2;
+    private static final int DECIMAL_BYTES = 4;
+
+    private SnapshotFormat() {
+    }
+
+    /**
+     * {@code data.json}, {@code data.json.gz} and {@code data.json.zst} map to {@code data.bin};
+     * any other name gets {@code .bin} appended.
+     */
+    public static Path siblingOf(Path path) {
+        return DataFiles.siblingOf(path, EXTENSION);
+    }
+
+    /**
+     * Whether {@code snapshot} is a snapshot of this version written from a source of exactly
+     * {@code sourceSize} bytes last modified at {@code sourceModified}; {@code false} as well
+     * if it cannot be read.
+     */
+    public static boolean isSnapshotOf(Path snapshot, long sourceSize, long sourceModified) {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(snapshot))) {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            return Arrays.equals(magic, MAGIC) && in.readInt() == VERSION
+                    && in.readLong() == sourceSize && in.readLong() == sourceModified;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Growable byte buffer with the varint encodings used by the format.
+     */
+    static final class Encoder {
+        byte[] bytes = new byte[1 << 16];
+        int length;
+
+        void reset() {
+            length = 0;
+        }
+
+        void u8(int value) {
+            ensure(1);
+            bytes[length++] = (byte) value;
+        }
+
+        void bytes(byte[] value, int offset, int count) {
+            ensure(count);
+            System.arraycopy(value, offset, bytes, length, count);
+            length += count;
+        }
+
+        void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        void zigzag(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        void string(String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length + 1L);
+            bytes(utf8, 0, utf8.length);
+        }
+
+        void decimals(BigDecimal[] values, int rows) {
+            Integer scale = null;
+            boolean nulls = false;
+            boolean mixed = false;
+            boolean big = false;
+            for (int i = 0; i < rows; i++) {
+                if (values[i] == null) {
+                    nulls = true;
+                    continue;
+                }
+                if (scale == null) {
+                    scale = values[i].scale();
+                } else if (values[i].scale() != scale) {
+                    mixed = true;
+                }
+                big |= values[i].unscaledValue().bitLength() > 63;
+            }
+            u8((nulls ? DECIMAL_NULLS : 0) | (mixed ? DECIMAL_SCALES : 0) | (big ? DECIMAL_BYTES : 0));
+            zigzag(scale == null ? 0 : scale);
+            if (nulls) {
+                byte[] bitmap = new byte[(rows + 7) / 8];
+                for (int i = 0; i < rows; i++) {
+                    if (values[i] == null) {
+                        bitmap[i >> 3] |= (byte) (1 << (i & 7));
+                    }
+                }
+                bytes(bitmap, 0, bitmap.length);
+            }
+            if (mixed) {
+                for (int i = 0; i < rows; i++) {
+                    zigzag(values[i] == null ? 0 : values[i].scale());
+                }
+            }
+            for (int i = 0; i < rows; i++) {
+                if (values[i] == null) {
+                    continue;
+                }
+                if (big) {
+                    byte[] unscaled = values[i].unscaledValue().toByteArray();
+                    varint(unscaled.length);
+                    bytes(unscaled, 0, unscaled.length);
+                } else {
+                    zigzag(values[i].unscaledValue().longValue());
+                }
+            }
+        }
+
+        private void ensure(int count) {
+            if (length + count > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + count));
+            }
+        }
+    }
+
+    /**
+     * Cursor over a block payload.
+     */
+    static final class Decoder {
+        byte[] bytes = new byte[1 << 16];
+        int position;
+        private int[] scales = new int[0];
+
+        int u8() {
+            return bytes[position++] & 0xFF;
+        }
+
+        long varint() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        long zigzag() {
+            long value = varint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String string() {
+            int length = (int) varint() - 1;
+            if (length < 0) {
+                return null;
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        void decimals(BigDecimal[] target, int rows) {
+            int flags = u8();
+            int scale = (int) zigzag();
+            int bitmap = position;
+            if ((flags & DECIMAL_NULLS) != 0) {
+                position += (rows + 7) / 8;
+            }
+            if ((flags & DECIMAL_SCALES) != 0) {
+                if (scales.length < rows) {
+                    scales = new int[rows];
+                }
+                for (int i = 0; i < rows; i++) {
+                    scales[i] = (int) zigzag();
+                }
+            }
+            for (int i = 0; i < rows; i++) {
+                if ((flags & DECIMAL_NULLS) != 0 && (bytes[bitmap + (i >> 3)] & (1 << (i & 7))) != 0) {
+                    target[i] = null;
+                    continue;
+                }
+                int rowScale = (flags & DECIMAL_SCALES) != 0 ? scales[i] : scale;
+                if ((flags & DECIMAL_BYTES) != 0) {
+                    int length = (int) varint();
+                    target[i] = new BigDecimal(new BigInteger(bytes, position, length), rowScale);
+                    position += length;
+                } else {
+                    target[i] = BigDecimal.valueOf(zigzag(), rowScale);
+                }
+            }
+        }
+    }
+}
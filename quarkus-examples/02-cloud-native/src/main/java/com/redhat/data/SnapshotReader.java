@@ -0,0 +1,148 @@
+package com.redhat.data;
+
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.TransactionData;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a {@link SnapshotFormat} file block by block. Each block is decoded into reusable
+ * column arrays; dictionary strings are decoded once per file and shared by every row that
+ * references them, so per-item allocation is limited to the record and its decimal.
+ */
+public class SnapshotReader implements DataItemStream {
+
+    private final DataInputStream in;
+    private final SnapshotFormat.Decoder decoder = new SnapshotFormat.Decoder();
+    private final List<String> dictionary = new ArrayList<>();
+
+    private byte blockType;
+    private int rows;
+    private int row;
+    private boolean finished;
+
+    private int[] accountRefs = new int[0];
+    private int[] typeRefs = new int[0];
+    private int[] descriptionRefs = new int[0];
+    private String[] ownerIds = new String[0];
+    private BigDecimal[] decimals = new BigDecimal[0];
+
+    public SnapshotReader(InputStream inputStream) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(inputStream, 1 << 16));
+        byte[] magic = new byte[SnapshotFormat.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, SnapshotFormat.MAGIC)) {
+            throw new IOException("Not a data snapshot");
+        }
+        int version = in.readInt();
+        if (version != SnapshotFormat.VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        in.readLong();
+        in.readLong();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (row < rows) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        try {
+            return readBlock();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public DataItem next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int i = row++;
+        if (blockType == SnapshotFormat.ACCOUNTS) {
+            return new AccountData(lookup(accountRefs[i]), ownerIds[i], decimals[i]);
+        }
+        return new TransactionData(lookup(accountRefs[i]), lookup(typeRefs[i]), decimals[i], lookup(descriptionRefs[i]));
+    }
+
+    private boolean readBlock() throws IOException {
+        blockType = in.readByte();
+        if (blockType == SnapshotFormat.END) {
+            finished = true;
+            rows = 0;
+            return false;
+        }
+        rows = in.readInt();
+        int length = in.readInt();
+        if (decoder.bytes.length < length) {
+            decoder.bytes = new byte[length];
+        }
+        in.readFully(decoder.bytes, 0, length);
+        decoder.position = 0;
+        row = 0;
+        ensureCapacity(rows);
+
+        long header = decoder.varint();
+        if ((header & 1) != 0) {
+            dictionary.clear();
+        }
+        long entries = header >>> 1;
+        for (long e = 0; e < entries; e++) {
+            dictionary.add(decoder.string());
+        }
+
+        readRefs(accountRefs);
+        if (blockType == SnapshotFormat.ACCOUNTS) {
+            for (int i = 0; i < rows; i++) {
+                ownerIds[i] = decoder.string();
+            }
+            decoder.decimals(decimals, rows);
+        } else if (blockType == SnapshotFormat.TRANSACTIONS) {
+            readRefs(typeRefs);
+            decoder.decimals(decimals, rows);
+            readRefs(descriptionRefs);
+        } else {
+            throw new IOException("Unknown snapshot block type " + blockType);
+        }
+        return rows > 0 || hasNext();
+    }
+
+    private void readRefs(int[] target) {
+        for (int i = 0; i < rows; i++) {
+            target[i] = (int) decoder.varint();
+        }
+    }
+
+    private String lookup(int ref) {
+        return ref == 0 ? null : dictionary.get(ref - 1);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (accountRefs.length < capacity) {
+            accountRefs = new int[capacity];
+            typeRefs = new int[capacity];
+            descriptionRefs = new int[capacity];
+            ownerIds = new String[capacity];
+            decimals = new BigDecimal[capacity];
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
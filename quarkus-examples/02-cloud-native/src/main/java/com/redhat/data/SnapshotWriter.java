@@ -0,0 +1,168 @@
+package com.redhat.data;
+
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.TransactionData;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes {@link DataItem}s in the {@link SnapshotFormat}. Items are buffered per kind up to
+ * one block and the string dictionary is reset once it reaches
+ * {@link SnapshotFormat#MAX_DICTIONARY_ENTRIES}, so memory stays bounded regardless of the
+ * input size.
+ */
+public class SnapshotWriter implements Closeable {
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> newEntries = new ArrayList<>();
+    private final SnapshotFormat.Encoder columns = new SnapshotFormat.Encoder();
+    private final SnapshotFormat.Encoder payload = new SnapshotFormat.Encoder();
+
+    private final List<AccountData> accounts = new ArrayList<>();
+    private final List<TransactionData> transactions = new ArrayList<>();
+    private final BigDecimal[] decimals = new BigDecimal[SnapshotFormat.BLOCK_ROWS];
+    private boolean resetDictionary;
+
+    /**
+     * Writes a snapshot that is not tied to a source file.
+     */
+    public SnapshotWriter(OutputStream outputStream) throws IOException {
+        this(outputStream, -1, -1);
+    }
+
+    /**
+     * Writes a snapshot of a file of {@code sourceSize} bytes last modified at
+     * {@code sourceModified}, both taken before the file is read.
+     */
+    public SnapshotWriter(OutputStream outputStream, long sourceSize, long sourceModified) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(outputStream, 1 << 16));
+        out.write(SnapshotFormat.MAGIC);
+        out.writeInt(SnapshotFormat.VERSION);
+        out.writeLong(sourceSize);
+        out.writeLong(sourceModified);
+    }
+
+    public void write(DataItem item) throws IOException {
+        switch (item) {
+            case AccountData account -> {
+                if (!transactions.isEmpty()) {
+                    flushTransactions();
+                }
+                accounts.add(account);
+                if (accounts.size() == SnapshotFormat.BLOCK_ROWS) {
+                    flushAccounts();
+                }
+            }
+            case TransactionData transaction -> {
+                if (!accounts.isEmpty()) {
+                    flushAccounts();
+                }
+                transactions.add(transaction);
+                if (transactions.size() == SnapshotFormat.BLOCK_ROWS) {
+                    flushTransactions();
+                }
+            }
+        }
+    }
+
+    private void flushAccounts() throws IOException {
+        int rows = accounts.size();
+        startBlock();
+        for (AccountData account : accounts) {
+            ref(account.accountNumber());
+        }
+        for (AccountData account : accounts) {
+            columns.string(account.ownerId());
+        }
+        for (int i = 0; i < rows; i++) {
+            decimals[i] = accounts.get(i).balance();
+        }
+        columns.decimals(decimals, rows);
+        writeBlock(SnapshotFormat.ACCOUNTS, rows);
+        accounts.clear();
+    }
+
+    private void flushTransactions() throws IOException {
+        int rows = transactions.size();
+        startBlock();
+        for (TransactionData transaction : transactions) {
+            ref(transaction.accountNumber());
+        }
+        for (TransactionData transaction : transactions) {
+            ref(transaction.type());
+        }
+        for (int i = 0; i < rows; i++) {
+            decimals[i] = transactions.get(i).amount();
+        }
+        columns.decimals(decimals, rows);
+        for (TransactionData transaction : transactions) {
+            ref(transaction.description());
+        }
+        writeBlock(SnapshotFormat.TRANSACTIONS, rows);
+        transactions.clear();
+    }
+
+    private void startBlock() {
+        columns.reset();
+        if (dictionary.size() >= SnapshotFormat.MAX_DICTIONARY_ENTRIES) {
+            dictionary.clear();
+            resetDictionary = true;
+        }
+    }
+
+    private void ref(String value) {
+        if (value == null) {
+            columns.varint(0);
+            return;
+        }
+        Integer id = dictionary.get(value);
+        if (id == null) {
+            id = dictionary.size();
+            dictionary.put(value, id);
+            newEntries.add(value);
+        }
+        columns.varint(id + 1L);
+    }
+
+    private void writeBlock(byte type, int rows) throws IOException {
+        payload.reset();
+        payload.varint((long) newEntries.size() << 1 | (resetDictionary ? 1 : 0));
+        resetDictionary = false;
+        for (String entry : newEntries) {
+            payload.string(entry);
+        }
+        newEntries.clear();
+        payload.bytes(columns.bytes, 0, columns.length);
+
+        out.writeByte(type);
+        out.writeInt(rows);
+        out.writeInt(payload.length);
+        out.write(payload.bytes, 0, payload.length);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!accounts.isEmpty()) {
+                flushAccounts();
+            }
+            if (!transactions.isEmpty()) {
+                flushTransactions();
+            }
+            out.writeByte(SnapshotFormat.END);
+        } finally {
+            out.close();
+        }
+    }
+}
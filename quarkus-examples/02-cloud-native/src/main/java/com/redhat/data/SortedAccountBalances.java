@@ -0,0 +1,243 @@
+package com.redhat.data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * External merge sort of {@link AccountBalance}s in {@link AccountBalance#ORDER}.
+ * <p>
+ * Input is cut into runs of at most {@code runSize} entries that are sorted in memory. When the
+ * input fits into one run it is returned directly; otherwise every run is spilled to a temporary
+ * file and the runs are merged lazily with a heap, {@link #MAX_FAN_IN} at a time, so memory is
+ * bounded by the run size and not by the input. The sort is stable: equal account numbers come
+ * out in input order. Temporary files are deleted on {@link #close()}.
+ */
+public final class SortedAccountBalances implements Iterator<AccountBalance>, Closeable {
+
+    static final int MAX_FAN_IN = 64;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final List<Path> files;
+    private final List<Run> open = new ArrayList<>();
+    private final Iterator<AccountBalance> sorted;
+
+    private SortedAccountBalances(List<Path> files, Iterator<AccountBalance> sorted, List<Run> open) {
+        this.files = files;
+        this.sorted = sorted;
+        this.open.addAll(open);
+    }
+
+    /**
+     * Consumes {@code input} and returns its entries sorted; runs are spilled to
+     * {@code directory}.
+     */
+    public static SortedAccountBalances sort(Iterator<AccountBalance> input, int runSize, Path directory) throws IOException {
+        if (runSize < 1) {
+            throw new IllegalArgumentException("runSize must be positive");
+        }
+        List<Path> files = new ArrayList<>();
+        try {
+            List<AccountBalance> buffer = new ArrayList<>(Math.min(runSize, 1 << 16));
+            while (input.hasNext()) {
+                buffer.add(input.next());
+                if (buffer.size() == runSize && input.hasNext()) {
+                    files.add(spill(buffer, directory));
+                    buffer.clear();
+                }
+            }
+            if (files.isEmpty()) {
+                buffer.sort(AccountBalance.ORDER);
+                return new SortedAccountBalances(files, buffer.iterator(), List.of());
+            }
+            files.add(spill(buffer, directory));
+            buffer.clear();
+
+            while (files.size() > MAX_FAN_IN) {
+                List<Path> group = List.copyOf(files.subList(0, MAX_FAN_IN));
+                Path merged = Files.createTempFile(directory, "reconcile-", ".run");
+                files.add(MAX_FAN_IN, merged);
+                mergeInto(group, merged);
+                files.subList(0, MAX_FAN_IN).clear();
+                for (Path file : group) {
+                    Files.delete(file);
+                }
+            }
+            List<Run> runs = openRuns(files);
+            return new SortedAccountBalances(files, new Merge(runs), runs);
+        } catch (IOException | RuntimeException e) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Number of spilled runs being merged, {@code 0} when the input was sorted in memory.
+     */
+    public int runs() {
+        return open.size();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return sorted.hasNext();
+    }
+
+    @Override
+    public AccountBalance next() {
+        return sorted.next();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            closeAll(open);
+        } finally {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static Path spill(List<AccountBalance> buffer, Path directory) throws IOException {
+        buffer.sort(AccountBalance.ORDER);
+        Path file = Files.createTempFile(directory, "reconcile-", ".run");
+        try (DataOutputStream out = output(file)) {
+            for (AccountBalance entry : buffer) {
+                write(out, entry);
+            }
+        }
+        return file;
+    }
+
+    private static void mergeInto(List<Path> group, Path target) throws IOException {
+        List<Run> runs = openRuns(group);
+        try (DataOutputStream out = output(target)) {
+            Merge merge = new Merge(runs);
+            while (merge.hasNext()) {
+                write(out, merge.next());
+            }
+        } finally {
+            closeAll(runs);
+        }
+    }
+
+    private static DataOutputStream output(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+    }
+
+    private static void write(DataOutputStream out, AccountBalance entry) throws IOException {
+        out.writeBoolean(true);
+        out.writeUTF(entry.accountNumber());
+        out.writeBoolean(entry.balance() != null);
+        if (entry.balance() != null) {
+            out.writeUTF(entry.balance().toString());
+        }
+    }
+
+    private static List<Run> openRuns(List<Path> files) throws IOException {
+        List<Run> runs = new ArrayList<>(files.size());
+        try {
+            for (Path file : files) {
+                runs.add(new Run(file, runs.size()));
+            }
+        } catch (IOException e) {
+            closeAll(runs);
+            throw e;
+        }
+        return runs;
+    }
+
+    private static void closeAll(List<Run> runs) throws IOException {
+        IOException failure = null;
+        for (Run run : runs) {
+            try {
+                run.in.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Sequential reader over one spilled run; {@code index} breaks ties so that runs written
+     * earlier win and the merge stays stable.
+     */
+    private static final class Run {
+        final DataInputStream in;
+        final int index;
+        AccountBalance head;
+
+        Run(Path file, int index) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+            this.index = index;
+        }
+
+        boolean advance() throws IOException {
+            if (in.read() <= 0) {
+                head = null;
+                return false;
+            }
+            String accountNumber = in.readUTF();
+            BigDecimal balance = in.readBoolean() ? new BigDecimal(in.readUTF()) : null;
+            head = new AccountBalance(accountNumber, balance);
+            return true;
+        }
+    }
+
+    private static final class Merge implements Iterator<AccountBalance> {
+        private final PriorityQueue<Run> heap;
+
+        Merge(List<Run> runs) throws IOException {
+            heap = new PriorityQueue<>(Math.max(runs.size(), 1), (a, b) -> {
+                int order = AccountBalance.ORDER.compare(a.head, b.head);
+                return order != 0 ? order : Integer.compare(a.index, b.index);
+            });
+            for (Run run : runs) {
+                if (run.advance()) {
+                    heap.add(run);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heap.isEmpty();
+        }
+
+        @Override
+        public AccountBalance next() {
+            Run run = heap.poll();
+            if (run == null) {
+                throw new NoSuchElementException();
+            }
+            AccountBalance entry = run.head;
+            try {
+                if (run.advance()) {
+                    heap.add(run);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.redhat.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * How far a data-load file has been ingested: the byte offset just past the last ingested
+ * element, the number of accounts and transactions before it, the array that element belongs
+ * to, and FNV-1a hashes of the whole prefix and of its last {@link #TAIL_BYTES} bytes.
+ * <p>
+ * A file that only grows by elements appended to its last array keeps its prefix, so ingest
+ * can continue from the offset. The tail hash checks that cheaply on every run; the prefix
+ * hash is extended over each delta as it is ingested and re-checked only on request, since
+ * that reads the whole prefix again.
+ * <p>
+ * Watermarks are stored in the {@code IngestWatermark} table, so a checkpoint commits
+ * atomically with the rows it covers. A checkpoint only replaces the watermark it started
+ * from, see {@link #replace}, so of two imports of the same file racing over the same delta
+ * only one commits it.
+ */
+public record Watermark(String source, String section, long offset, long accounts, long transactions,
+                        long prefixHash, long tailHash) {
+
+    public static final String ACCOUNTS = "accounts";
+    public static final String TRANSACTIONS = "transactions";
+
+    public static final int TAIL_BYTES = 4096;
+
+    static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final String SELECT = """
+            SELECT section, byteOffset, accounts, transactions, prefixHash, tailHash
+            FROM IngestWatermark WHERE source = ?""";
+
+    private static final String INSERT = """
+            INSERT INTO IngestWatermark (section, byteOffset, accounts, transactions, prefixHash, tailHash, source, updatedAt)
+            VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+            ON CONFLICT (source) DO NOTHING""";
+
+    private static final String UPDATE = """
+            UPDATE IngestWatermark SET section = ?, byteOffset = ?, accounts = ?, transactions = ?, prefixHash = ?,
+                tailHash = ?, updatedAt = CURRENT_TIMESTAMP
+            WHERE source = ? AND byteOffset = ?""";
+
+    /**
+     * Watermark of a file nothing has been ingested from.
+     */
+    public static Watermark start(String source) {
+        return new Watermark(source, null, 0, 0, 0, FNV_OFFSET_BASIS, FNV_OFFSET_BASIS);
+    }
+
+    /**
+     * Whether {@code file} still starts with the ingested prefix. Only the tail is hashed
+     * unless {@code full} is set.
+     */
+    public boolean matches(FileChannel file, boolean full) throws IOException {
+        if (file.size() < offset) {
+            return false;
+        }
+        long tailStart = Math.max(0, offset - TAIL_BYTES);
+        if (hash(file, tailStart, offset, FNV_OFFSET_BASIS) != tailHash) {
+            return false;
+        }
+        return !full || hash(file, 0, offset, FNV_OFFSET_BASIS) == prefixHash;
+    }
+
+    /**
+     * Moves the watermark to {@code newOffset}, hashing only the bytes in between and the new
+     * tail.
+     */
+    public Watermark advance(FileChannel file, long newOffset, String newSection, long newAccounts,
+                             long newTransactions) throws IOException {
+        long newPrefixHash = hash(file, offset, newOffset, prefixHash);
+        long newTailHash = hash(file, Math.max(0, newOffset - TAIL_BYTES), newOffset, FNV_OFFSET_BASIS);
+        return new Watermark(source, newSection, newOffset, newAccounts, newTransactions, newPrefixHash, newTailHash);
+    }
+
+    /**
+     * Document to parse for the rest of the file. Past the start it is prefixed with an opening
+     * of the current array and one empty placeholder element, so that the remaining bytes,
+     * which begin with the separator of the next element, form a valid document again. The
+     * first item read from it is that placeholder and must be skipped, see
+     * {@link #hasPlaceholder()}; offsets read from it are shifted by {@link #shift()}. Closing
+     * the stream leaves {@code file} open.
+     */
+    public InputStream resume(FileChannel file) throws IOException {
+        file.position(offset);
+        InputStream rest = new FilterInputStream(Channels.newInputStream(file)) {
+            @Override
+            public void close() {
+                // the parser closes its input at the end; the channel stays open for advance()
+            }
+        };
+        if (!hasPlaceholder()) {
+            return rest;
+        }
+        return new SequenceInputStream(new ByteArrayInputStream(prefix()), rest);
+    }
+
+    public boolean hasPlaceholder() {
+        return offset > 0;
+    }
+
+    /**
+     * Difference between an offset in the file and the same position in {@link #resume}.
+     */
+    public long shift() {
+        return hasPlaceholder() ? offset - prefix().length : 0;
+    }
+
+    private byte[] prefix() {
+        return ("{\"" + section + "\":[{}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static Optional<Watermark> load(Connection connection, String source) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SELECT)) {
+            statement.setString(1, source);
+            try (ResultSet row = statement.executeQuery()) {
+                if (!row.next()) {
+                    return Optional.empty();
+                }
+                return Optional.of(new Watermark(source, row.getString(1), row.getLong(2), row.getLong(3),
+                        row.getLong(4), row.getLong(5), row.getLong(6)));
+            }
+        }
+    }
+
+    /**
+     * Stores this watermark in place of the stored one at {@code expectedOffset}, or as the
+     * first one of its source if {@code expectedOffset} is negative. A concurrent transaction
+     * replacing the same watermark makes this one wait for it and then find nothing to
+     * replace.
+     *
+     * @return {@code false}, with nothing stored, if the stored watermark is not the expected
+     * one
+     */
+    public boolean replace(Connection connection, long expectedOffset) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(expectedOffset < 0 ? INSERT : UPDATE)) {
+            statement.setString(1, section);
+            statement.setLong(2, offset);
+            statement.setLong(3, accounts);
+            statement.setLong(4, transactions);
+            statement.setLong(5, prefixHash);
+            statement.setLong(6, tailHash);
+            statement.setString(7, source);
+            if (expectedOffset >= 0) {
+                statement.setLong(8, expectedOffset);
+            }
+            return statement.executeUpdate() == 1;
+        }
+    }
+
+    /**
+     * Continues an FNV-1a hash over {@code [from, to)} of {@code file} without moving its
+     * position.
+     */
+    static long hash(FileChannel file, long from, long to, long hash) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(1 << 16, Math.max(to - from, 1)));
+        long position = from;
+        while (position < to) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), to - position));
+            int read = file.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("File ended at " + position + " before " + to);
+            }
+            byte[] bytes = buffer.array();
+            for (int i = 0; i < read; i++) {
+                hash = (hash ^ (bytes[i] & 0xFF)) * FNV_PRIME;
+            }
+            position += read;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,15 @@
+package com.redhat.exception;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@EqualsAndHashCode(callSuper = false)
+@Data
+@Builder
+public class DataFileNotFoundException extends RuntimeException {
+    private String location;
+    public DataFileNotFoundException(String location) {
+        super(String.format("File not found: %s", location));
+    }
+}
@@ -0,0 +1,16 @@
+package com.redhat.exception;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@EqualsAndHashCode(callSuper = false)
+@Data
+@Builder
+public class InvalidOperationException extends RuntimeException {
+    private String reason;
+    public InvalidOperationException(String reason) {
+        super(reason);
+        this.reason = reason;
+    }
+}
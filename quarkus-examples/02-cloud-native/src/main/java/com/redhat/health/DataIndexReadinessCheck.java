@@ -0,0 +1,37 @@
+package com.redhat.health;
+
+import com.redhat.service.DataIndexService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports the pod ready only once the data-load file has been indexed, so paging requests
+ * are never routed to an instance that would have to block on the initial scan.
+ */
+@Readiness
+@ApplicationScoped
+public class DataIndexReadinessCheck implements HealthCheck {
+
+    @Inject
+    DataIndexService dataIndexService;
+
+    @Override
+    public HealthCheckResponse call() {
+        HealthCheckResponseBuilder response = HealthCheckResponse.named("data-index");
+        if (!dataIndexService.isIndexed()) {
+            return response.down().withData("state", "INDEXING").build();
+        }
+        return dataIndexService.current()
+                .map(index -> response.up()
+                        .withData("state", "READY")
+                        .withData("accounts", index.accounts())
+                        .withData("transactions", index.transactions())
+                        .withData("stride", index.stride()))
+                .orElseGet(() -> response.up().withData("state", "FAILED"))
+                .build();
+    }
+}
@@ -17,12 +17,18 @@ import java.time.LocalDateTime;
 @Builder
 public class Transaction {
 
+    /**
+     * Ids reserved per value fetched from {@code transaction_id_seq}: the pooled optimizer hands
+     * out the block of this many ids ending at each value.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
     @SequenceGenerator(
             name = "transaction_seq",
             sequenceName = "transaction_id_seq",
-            allocationSize = 1,
+            allocationSize = ID_ALLOCATION_SIZE,
             initialValue = 1
     )
     private Long transactionId;
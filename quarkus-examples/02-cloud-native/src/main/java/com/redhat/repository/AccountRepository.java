@@ -1,12 +1,158 @@
 package com.redhat.repository;
 
 import com.redhat.model.Account;
+import com.redhat.model.Transaction;
+import com.redhat.model.TransactionType;
+import jakarta.data.page.CursoredPage;
+import jakarta.data.page.PageRequest;
 import jakarta.data.repository.CrudRepository;
+import jakarta.data.repository.Find;
+import jakarta.data.repository.OrderBy;
 import jakarta.data.repository.Query;
 import jakarta.data.repository.Repository;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends CrudRepository<Account, String> {
+
     @Query("SELECT COUNT(a) FROM Account a WHERE a.accountNumber = :id")
     Long countByAccountNumber(String id);
+
+    /**
+     * Accounts in account number order, a page at a time. Pages after the first start after
+     * the cursor of the previous one ({@code WHERE accountNumber > ?}) instead of skipping
+     * rows, so every page costs the same however deep it is.
+     */
+    @Find
+    @OrderBy("accountNumber")
+    CursoredPage<Account> findPage(PageRequest pageRequest);
+
+    StatelessSession session();
+
+    /**
+     * Adds {@code amount} to the balance and records a transaction of {@code type}, in one
+     * round trip.
+     *
+     * @return the updated account, or empty if it does not exist
+     */
+    default Optional<Account> credit(String accountNumber, BigDecimal amount, TransactionType type, String description) {
+        return applyTransaction(accountNumber, amount, amount, type, description);
+    }
+
+    /**
+     * Subtracts {@code amount} from the balance if it is at least {@code amount} and records a
+     * transaction of {@code type}, in one round trip.
+     *
+     * @return the updated account, or empty if it does not exist or its balance is too low
+     */
+    default Optional<Account> debit(String accountNumber, BigDecimal amount, TransactionType type, String description) {
+        return applyTransaction(accountNumber, amount.negate(), amount, type, description);
+    }
+
+    /**
+     * Takes a transaction id from the pooled optimizer that also numbers persisted
+     * {@link Transaction}s. A native insert drawing {@code nextval} itself would use up a whole
+     * block of {@code allocationSize} ids for its one row.
+     */
+    default long nextTransactionId() {
+        SharedSessionContractImplementor session = session().unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(Transaction.class).getGenerator();
+        return (Long) generator.generate(session, null, null, EventType.INSERT);
+    }
+
+    /**
+     * Adds {@code delta} to the balance, unless that would make it negative, and records the
+     * transaction in the same statement. The row lock is held only while the statement runs,
+     * and concurrent updates apply to the latest balance instead of overwriting each other.
+     */
+    private Optional<Account> applyTransaction(String accountNumber, BigDecimal delta, BigDecimal amount,
+                                               TransactionType type, String description) {
+        String sql = """
+                WITH updated AS (
+                    UPDATE Account SET balance = balance + :delta
+                    WHERE accountNumber = :accountNumber AND balance + :delta >= 0
+                    RETURNING accountNumber, balance, ownerId
+                ), recorded AS (
+                    INSERT INTO Transaction (transactionId, accountNumber, type, amount, timestamp, description)
+                    SELECT :transactionId, accountNumber, :type, :amount, CURRENT_TIMESTAMP, :description
+                    FROM updated
+                )
+                SELECT accountNumber, balance, ownerId FROM updated""";
+        List<Object[]> rows = session().createNativeQuery(sql, Object[].class)
+                .setParameter("delta", delta)
+                .setParameter("accountNumber", accountNumber)
+                .setParameter("transactionId", nextTransactionId())
+                .setParameter("type", type.name())
+                .setParameter("amount", amount)
+                .setParameter("description", description)
+                .getResultList();
+        return rows.stream().findFirst().map(row -> Account.builder()
+                .accountNumber((String) row[0])
+                .balance((BigDecimal) row[1])
+                .ownerId((String) row[2])
+                .build());
+    }
+
+    /**
+     * Moves {@code amount} from {@code source} to {@code target} and records the
+     * {@code TRANSFER_OUT} and {@code TRANSFER_IN} transactions, in one round trip. Both rows
+     * are locked first, in account number order, so that opposite transfers between the same
+     * accounts queue behind each other instead of deadlocking; the debit is made only if both
+     * accounts exist and the source has the amount. The accounts must differ.
+     */
+    default TransferOutcome transfer(String source, String target, BigDecimal amount) {
+        String sql = """
+                WITH locked AS (
+                    SELECT accountNumber, balance FROM Account
+                    WHERE accountNumber IN (:source, :target)
+                    ORDER BY accountNumber
+                    FOR UPDATE
+                ), debited AS (
+                    UPDATE Account a SET balance = a.balance - :amount
+                    FROM locked l
+                    WHERE a.accountNumber = :source AND l.accountNumber = :source AND l.balance >= :amount
+                      AND (SELECT COUNT(*) FROM locked) = 2
+                    RETURNING a.accountNumber
+                ), credited AS (
+                    UPDATE Account a SET balance = a.balance + :amount
+                    FROM debited
+                    WHERE a.accountNumber = :target
+                    RETURNING a.accountNumber
+                ), recorded AS (
+                    INSERT INTO Transaction (transactionId, accountNumber, type, amount, timestamp, description)
+                    SELECT :outId, :source, :outType, :amount, CURRENT_TIMESTAMP, :outDescription
+                    FROM credited
+                    UNION ALL
+                    SELECT :inId, :target, :inType, :amount, CURRENT_TIMESTAMP, :inDescription
+                    FROM credited
+                )
+                SELECT (SELECT COUNT(*) FROM locked), (SELECT COUNT(*) FROM credited)""";
+        Object[] row = session().createNativeQuery(sql, Object[].class)
+                .setParameter("source", source)
+                .setParameter("target", target)
+                .setParameter("amount", amount)
+                .setParameter("outId", nextTransactionId())
+                .setParameter("inId", nextTransactionId())
+                .setParameter("outType", TransactionType.TRANSFER_OUT.name())
+                .setParameter("inType", TransactionType.TRANSFER_IN.name())
+                .setParameter("outDescription", "Transfer to " + target)
+                .setParameter("inDescription", "Transfer from " + source)
+                .getSingleResult();
+        return new TransferOutcome(((Number) row[0]).intValue(), ((Number) row[1]).intValue() > 0);
+    }
+
+    /**
+     * Result of {@link #transfer}: how many of the two accounts exist, and whether the money
+     * moved.
+     */
+    record TransferOutcome(int accountsFound, boolean transferred) {
+    }
 }
@@ -1,19 +1,47 @@
 package com.redhat.rest;
 
 import com.redhat.config.BankingConfig;
+import com.redhat.data.DataCache;
+import com.redhat.data.DataFiles;
+import com.redhat.data.DataItemFilter;
+import com.redhat.data.DataItemStream;
+import com.redhat.data.DataMetrics;
+import com.redhat.exception.DataFileNotFoundException;
 import com.redhat.model.Account;
 import com.redhat.rest.dto.AccountRequest;
 import com.redhat.rest.dto.TransactionResponse;
 import com.redhat.rest.dto.TransferRequest;
+import com.redhat.service.AccountPage;
 import com.redhat.service.BankingService;
+import com.redhat.service.BatchOperationService;
+import com.redhat.service.CachedDataReader;
+import com.redhat.service.DataExportService;
+import com.redhat.service.DataIndexService;
+import com.redhat.service.DataSummaryService;
+import com.redhat.service.DataImportService;
+import com.redhat.service.DeltaImportService;
+import com.redhat.service.DirectoryIngestService;
+import com.redhat.service.DirectoryJob;
+import com.redhat.service.GroupCommitExecutor;
+import com.redhat.service.ParallelDataReader;
+import com.redhat.service.ReconciliationService;
+import com.redhat.service.SnapshotService;
 import io.smallrye.common.annotation.NonBlocking;
 import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.vertx.core.http.HttpServerResponse;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.UriInfo;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
@@ -23,22 +51,36 @@ import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+import org.jboss.resteasy.reactive.common.util.RestMediaType;
 
 import io.smallrye.mutiny.Multi;
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.BalanceMismatch;
+import com.redhat.rest.dto.BatchOperationsResponse;
+import com.redhat.rest.dto.DataExportResponse;
+import com.redhat.rest.dto.DataImportResponse;
 import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.DataItemView;
 import com.redhat.rest.dto.DataLoadResponse;
+import com.redhat.rest.dto.DataPageResponse;
+import com.redhat.rest.dto.DataReadStats;
+import com.redhat.rest.dto.DataSummaryResponse;
+import com.redhat.rest.dto.DeduplicationStats;
+import com.redhat.rest.dto.DeltaImportResponse;
+import com.redhat.rest.dto.DirectoryJobResponse;
+import com.redhat.rest.dto.GroupCommitStats;
+import com.redhat.rest.dto.OperationRequest;
+import com.redhat.rest.dto.SnapshotResponse;
 import com.redhat.rest.dto.TransactionData;
 
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.List;
 
 @Path("/api")
@@ -48,12 +90,62 @@ import java.util.List;
 @Slf4j
 public class BankingRestResource {
 
+    private static final int MAX_BATCH_SIZE = 10_000;
+    private static final int MAX_PAGE_SIZE = 1_000;
+    private static final String READ_REACTIVE = "read-reactive";
+    private static final String READ_REACTIVE_BATCHES = "read-reactive-batches";
+
     @Inject
     protected BankingService bankingService;
 
     @Inject
     BankingConfig bankingConfig;
 
+    @Inject
+    DataFiles dataFiles;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    DataImportService dataImportService;
+
+    @Inject
+    ParallelDataReader parallelDataReader;
+
+    @Inject
+    SnapshotService snapshotService;
+
+    @Inject
+    CachedDataReader cachedDataReader;
+
+    @Inject
+    DataIndexService dataIndexService;
+
+    @Inject
+    DataSummaryService dataSummaryService;
+
+    @Inject
+    ReconciliationService reconciliationService;
+
+    @Inject
+    DirectoryIngestService directoryIngestService;
+
+    @Inject
+    DeltaImportService deltaImportService;
+
+    @Inject
+    DataExportService dataExportService;
+
+    @Inject
+    DataMetrics dataMetrics;
+
+    @Inject
+    BatchOperationService batchOperationService;
+
+    @Inject
+    GroupCommitExecutor groupCommitExecutor;
+
     @POST
     @Path("/accounts")
     @Operation(summary = "Create account", description = "Creates a new bank account")
@@ -67,13 +159,31 @@ public class BankingRestResource {
 
     @GET
     @Path("/accounts")
-    @Operation(summary = "List accounts", description = "Retrieves all bank accounts")
+    @Operation(summary = "List accounts",
+            description = "Retrieves accounts in account number order, a page at a time. When more accounts follow, the "
+                    + "X-Next-Cursor header holds the cursor to pass as after, and the Link header the URL of the next page. "
+                    + "Pages are found by key, so every page is as fast as the first.")
     @APIResponse(responseCode = "200", description = "Accounts retrieved successfully",
             content = @Content(schema = @Schema(implementation = Account.class),
                     examples = {@ExampleObject(name = "AccountList", summary = "List of accounts",
                             value = "[{\"accountNumber\":\"ACC001\",\"balance\":1000.00,\"ownerId\":\"OWNER123\"},{\"accountNumber\":\"ACC002\",\"balance\":500.00,\"ownerId\":\"OWNER456\"}]")}))
-    public Response listAccounts() {
-        return Response.status(Response.Status.OK).entity(bankingService.getAllAccounts()).build();
+    @APIResponse(responseCode = "400", description = "Invalid cursor or limit")
+    public Response listAccounts(
+            @Parameter(description = "Cursor returned in X-Next-Cursor by the previous page, absent for the first page")
+            @QueryParam("after") String after,
+            @Parameter(description = "Maximum number of accounts", example = "100")
+            @QueryParam("limit") @DefaultValue("100") @Min(1) @Max(MAX_PAGE_SIZE) int limit,
+            @Context UriInfo uriInfo) {
+        AccountPage page = bankingService.getAccounts(after, limit);
+        Response.ResponseBuilder response = Response.ok(page.items());
+        if (page.next() != null) {
+            response.header("X-Next-Cursor", page.next())
+                    .link(uriInfo.getRequestUriBuilder()
+                            .replaceQueryParam("after", page.next())
+                            .replaceQueryParam("limit", limit)
+                            .build(), "next");
+        }
+        return response.build();
     }
 
     @POST
@@ -132,6 +242,41 @@ public class BankingRestResource {
         return Response.ok().build();
     }
 
+    @POST
+    @Path("/operations/batch")
+    @Operation(summary = "Post a batch of operations",
+            description = "Applies deposits, withdrawals and transfers in request order, a chunk of them per database transaction. "
+                    + "Each operation succeeds or is rejected on its own; a chunk whose transaction fails is reported as FAILED "
+                    + "without affecting committed chunks. The response lists one result per operation.")
+    @APIResponse(responseCode = "200", description = "Batch processed, see the status of each operation",
+            content = @Content(schema = @Schema(implementation = BatchOperationsResponse.class)))
+    @APIResponse(responseCode = "400", description = "No operations, or more than allowed per batch")
+    public Response batchOperations(
+            @RequestBody(description = "Operations to apply", required = true,
+                    content = @Content(examples = {@ExampleObject(name = "Batch", summary = "A deposit, a withdrawal and a transfer",
+                            value = "[{\"type\":\"DEPOSIT\",\"accountNumber\":\"ACC001\",\"amount\":250.00},"
+                                    + "{\"type\":\"WITHDRAW\",\"accountNumber\":\"ACC002\",\"amount\":20.00},"
+                                    + "{\"type\":\"TRANSFER\",\"accountNumber\":\"ACC001\",\"toAccountNumber\":\"ACC002\",\"amount\":150.00}]")}))
+            List<OperationRequest> operations) {
+        BatchOperationsResponse response = batchOperationService.execute(operations);
+        return Response.ok(response)
+                .header("X-Applied-Count", response.applied())
+                .header("X-Rejected-Count", response.rejected())
+                .header("X-Failed-Count", response.failed())
+                .build();
+    }
+
+    @GET
+    @Path("/operations/group-commit")
+    @Operation(summary = "Group commit statistics",
+            description = "Settings of the group commit of single deposits, withdrawals and transfers, with histograms "
+                    + "of operations per transaction and of per-operation latency since startup, to tune the window")
+    @APIResponse(responseCode = "200", description = "Group commit statistics",
+            content = @Content(schema = @Schema(implementation = GroupCommitStats.class)))
+    public GroupCommitStats groupCommitStats() {
+        return groupCommitExecutor.stats();
+    }
+
     @GET
     @Path("/accounts/{accountNumber}/balance")
     @Operation(summary = "Get balance", description = "Retrieves the current account balance")
@@ -178,59 +323,264 @@ public class BankingRestResource {
     @Path("/data/read-traditional")
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(summary = "Read file traditionally", 
-               description = "Reads entire file into memory, deserializes all objects at once (blocking I/O)")
+               description = "Reads entire file into memory, deserializes all objects at once (blocking I/O). The parsed file is cached until it changes.")
     @APIResponse(responseCode = "200", description = "File read successfully")
+    @APIResponse(responseCode = "304", description = "File unchanged since the ETag sent in If-None-Match")
+    @APIResponse(responseCode = "404", description = "File not found")
     @APIResponse(responseCode = "500", description = "Read failed")
-    public Response readFileTraditional() {
+    public Response readFileTraditional(@HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+                                        @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
         try {
             long startTime = System.currentTimeMillis();
-            String filePath = bankingConfig.dataLoadExample();
-            
-            java.nio.file.Path path = Paths.get(filePath);
-            InputStream inputStream;
-            
-            if (Files.exists(path)) {
-                inputStream = new FileInputStream(path.toFile());
-            } else {
-                inputStream = getClass().getClassLoader().getResourceAsStream(filePath);
-                if (inputStream == null) {
-                    return Response.status(Response.Status.NOT_FOUND)
-                            .entity("File not found: " + filePath)
-                            .build();
+            DataCache.Lookup lookup = cachedDataReader.read(dataFiles.configuredLocation());
+            DataCache.Entry entry = lookup.entry();
+            long duration = System.currentTimeMillis() - startTime;
+
+            String contentEncoding = entry.isEncodedFor(acceptEncoding) ? entry.encoding() : null;
+            Response.ResponseBuilder response = entry.matches(ifNoneMatch)
+                    ? Response.notModified()
+                    : Response.ok(contentEncoding != null ? entry.encoded() : entry.json());
+            if (entry.encoding() != null) {
+                response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            response
+                    .encoding(contentEncoding)
+                    .tag(new EntityTag(entry.etag(contentEncoding)))
+                    .header("X-Read-Time-Ms", duration)
+                    .header("X-Accounts-Count", entry.data().accounts().size())
+                    .header("X-Transactions-Count", entry.data().transactions().size())
+                    .header("X-Read-Mode", "BLOCKING")
+                    .header("X-Read-Source", entry.source())
+                    .header("X-Cache", lookup.hit() ? "HIT" : "MISS");
+            if (!lookup.hit() && entry.stats() != null) {
+                DataReadStats stats = entry.stats();
+                response.header("X-Bytes-Read", stats.bytesRead())
+                        .header("X-IO-Time-Ms", stats.ioMs())
+                        .header("X-Parse-Time-Ms", stats.parseMs())
+                        .header("X-Items-Per-Second", stats.itemsPerSecond());
+                if (stats.allocatedBytesPerItem() != null) {
+                    response.header("X-Allocated-Bytes-Per-Item", stats.allocatedBytesPerItem());
                 }
             }
-            
-            List<AccountData> accounts = new java.util.ArrayList<>();
-            List<TransactionData> transactions = new java.util.ArrayList<>();
-            
-            ObjectMapper mapper = new ObjectMapper();
-            try (JsonParser parser = mapper.getFactory().createParser(inputStream)) {
-                while (parser.nextToken() != null) {
-                    if (parser.getCurrentToken() == JsonToken.FIELD_NAME) {
-                        String fieldName = parser.currentName();
-                        parser.nextToken();
-                        
-                        if ("accounts".equals(fieldName)) {
-                            while (parser.nextToken() != JsonToken.END_ARRAY) {
-                                accounts.add(parser.readValueAs(AccountData.class));
-                            }
-                        } else if ("transactions".equals(fieldName)) {
-                            while (parser.nextToken() != JsonToken.END_ARRAY) {
-                                transactions.add(parser.readValueAs(TransactionData.class));
-                            }
+            return response.build();
+        } catch (DataFileNotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(e.getMessage())
+                    .build();
+        } catch (Exception e) {
+            log.error("Error reading file", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("Read failed: " + e.getMessage())
+                    .build();
+        }
+    }
+
+    @GET
+    @Path("/data/metrics")
+    @Operation(summary = "Data read metrics",
+            description = "Totals per kind of read since startup: bytes read, items per second, time spent on storage, parsing and the consumer, "
+                    + "parse time per item type and allocation per item. Each read is also recorded as a com.redhat.data.DataRead JFR event. "
+                    + "Empty unless banking.data-metrics-enabled is set.")
+    @NonBlocking
+    public List<DataReadStats> dataMetrics() {
+        return dataMetrics.totals();
+    }
+
+    @GET
+    @Path("/data/read-reactive")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Read data reactively",
+            description = "Streams all accounts then transactions incrementally using streaming parser. "
+                    + "Filters and projection are applied while parsing, so skipped elements are never deserialized.")
+    @APIResponse(responseCode = "400", description = "Unknown field in fields")
+    public Multi<Object> readDataReactive(
+            @Parameter(description = "Only items of this account", example = "ACC20001")
+            @QueryParam("accountNumber") String accountNumber,
+            @Parameter(description = "Only transactions of this type; excludes accounts", example = "DEPOSIT")
+            @QueryParam("type") String type,
+            @Parameter(description = "Only transactions with at least this amount; excludes accounts", example = "100.00")
+            @QueryParam("minAmount") BigDecimal minAmount,
+            @Parameter(description = "Comma-separated properties to return, others are omitted", example = "accountNumber,amount")
+            @QueryParam("fields") String fields) {
+        DataItemFilter filter = dataItemFilter(accountNumber, type, minAmount, fields);
+        String location = dataFiles.configuredLocation();
+        return DataItemStream.multi(() -> dataFiles.openItems(objectMapper, location, filter,
+                        dataMetrics.recorder(READ_REACTIVE, location)))
+                .map(item -> view(filter, item))
+                .onFailure().invoke(e -> log.error("Error streaming data", e))
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+    }
+
+    @GET
+    @Path("/data/read-reactive")
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.TEXT_PLAIN)
+    @Operation(summary = "Read data reactively as NDJSON",
+            description = "Streams one JSON item per line. Items are pulled in batches of up to batchSize on downstream demand "
+                    + "and each batch is written at once, at most batchMillis after its first item was read.")
+    @APIResponse(responseCode = "400", description = "Invalid filter or batch parameters")
+    public Multi<String> readDataNdjson(
+            @Parameter(description = "Only items of this account", example = "ACC20001")
+            @QueryParam("accountNumber") String accountNumber,
+            @Parameter(description = "Only transactions of this type; excludes accounts", example = "DEPOSIT")
+            @QueryParam("type") String type,
+            @Parameter(description = "Only transactions with at least this amount; excludes accounts", example = "100.00")
+            @QueryParam("minAmount") BigDecimal minAmount,
+            @Parameter(description = "Comma-separated properties to return, others are omitted", example = "accountNumber,amount")
+            @QueryParam("fields") String fields,
+            @Parameter(description = "Maximum items per write", example = "500")
+            @QueryParam("batchSize") @DefaultValue("1") @Min(1) @Max(MAX_BATCH_SIZE) int batchSize,
+            @Parameter(description = "Maximum time in milliseconds an item waits for its batch to fill", example = "100")
+            @QueryParam("batchMillis") @DefaultValue("100") @Min(1) long batchMillis) {
+        ObjectWriter writer = objectMapper.writer();
+        DataItemFilter filter = dataItemFilter(accountNumber, type, minAmount, fields);
+        return readBatches(filter, batchSize, batchMillis)
+                .map(batch -> {
+                    StringBuilder lines = new StringBuilder();
+                    for (DataItem item : batch) {
+                        if (!lines.isEmpty()) {
+                            lines.append('\n');
                         }
+                        lines.append(writeJson(writer, view(filter, item)));
                     }
-                }
-            }
-            
-            DataLoadResponse data = new DataLoadResponse(accounts, transactions);
+                    return lines.toString();
+                });
+    }
+
+    @GET
+    @Path("/data/read-reactive")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.TEXT_PLAIN)
+    @Operation(summary = "Read data reactively as server-sent events",
+            description = "Sends one item per event, or with batchSize > 1 a JSON array of up to batchSize items per event. "
+                    + "Batches are pulled on downstream demand and sent at most batchMillis after their first item was read.")
+    @APIResponse(responseCode = "400", description = "Invalid filter or batch parameters")
+    public Multi<String> readDataEvents(
+            @Parameter(description = "Only items of this account", example = "ACC20001")
+            @QueryParam("accountNumber") String accountNumber,
+            @Parameter(description = "Only transactions of this type; excludes accounts", example = "DEPOSIT")
+            @QueryParam("type") String type,
+            @Parameter(description = "Only transactions with at least this amount; excludes accounts", example = "100.00")
+            @QueryParam("minAmount") BigDecimal minAmount,
+            @Parameter(description = "Comma-separated properties to return, others are omitted", example = "accountNumber,amount")
+            @QueryParam("fields") String fields,
+            @Parameter(description = "Maximum items per event", example = "500")
+            @QueryParam("batchSize") @DefaultValue("1") @Min(1) @Max(MAX_BATCH_SIZE) int batchSize,
+            @Parameter(description = "Maximum time in milliseconds an item waits for its batch to fill", example = "100")
+            @QueryParam("batchMillis") @DefaultValue("100") @Min(1) long batchMillis) {
+        ObjectWriter writer = objectMapper.writer();
+        DataItemFilter filter = dataItemFilter(accountNumber, type, minAmount, fields);
+        return readBatches(filter, batchSize, batchMillis)
+                .map(batch -> writeJson(writer, batchSize == 1 ? view(filter, batch.get(0))
+                        : batch.stream().map(item -> view(filter, item)).toList()));
+    }
+
+    @GET
+    @Path("/data/accounts")
+    @Operation(summary = "Page through data-load accounts",
+            description = "Seeks to the nearest indexed element of the accounts array and parses only the requested window")
+    @APIResponse(responseCode = "200", description = "Page read successfully")
+    @APIResponse(responseCode = "400", description = "Invalid offset or limit, or the data file is CSV")
+    @APIResponse(responseCode = "404", description = "File not found")
+    public Response readAccountsPage(
+            @Parameter(description = "Index of the first account", example = "0")
+            @QueryParam("offset") @DefaultValue("0") @Min(0) long offset,
+            @Parameter(description = "Maximum number of accounts", example = "100")
+            @QueryParam("limit") @DefaultValue("100") @Min(1) @Max(MAX_PAGE_SIZE) int limit) throws IOException {
+        return pageResponse(AccountData.class, offset, limit);
+    }
+
+    @GET
+    @Path("/data/transactions")
+    @Operation(summary = "Page through data-load transactions",
+            description = "Seeks to the nearest indexed element of the transactions array and parses only the requested window")
+    @APIResponse(responseCode = "200", description = "Page read successfully")
+    @APIResponse(responseCode = "400", description = "Invalid offset or limit, or the data file is CSV")
+    @APIResponse(responseCode = "404", description = "File not found")
+    public Response readTransactionsPage(
+            @Parameter(description = "Index of the first transaction", example = "0")
+            @QueryParam("offset") @DefaultValue("0") @Min(0) long offset,
+            @Parameter(description = "Maximum number of transactions", example = "100")
+            @QueryParam("limit") @DefaultValue("100") @Min(1) @Max(MAX_PAGE_SIZE) int limit) throws IOException {
+        return pageResponse(TransactionData.class, offset, limit);
+    }
+
+    @GET
+    @Path("/data/summary")
+    @Operation(summary = "Summarize data-load file",
+            description = "Streams the file once and replays the ledger: per-account deposit, withdraw and transfer totals, "
+                    + "ending balances, the top accounts by ending balance and a balance histogram")
+    @APIResponse(responseCode = "200", description = "Summary computed",
+            content = @Content(schema = @Schema(implementation = DataSummaryResponse.class)))
+    @APIResponse(responseCode = "400", description = "Invalid top or buckets")
+    @APIResponse(responseCode = "404", description = "File not found")
+    public Response summarizeData(
+            @Parameter(description = "Number of accounts with the highest ending balance", example = "10")
+            @QueryParam("top") @DefaultValue("10") @Min(0) @Max(MAX_PAGE_SIZE) int top,
+            @Parameter(description = "Number of histogram buckets", example = "10")
+            @QueryParam("buckets") @DefaultValue("10") @Min(1) @Max(1000) int buckets,
+            @Parameter(description = "Include every account's ledger", example = "false")
+            @QueryParam("details") @DefaultValue("false") boolean details) throws IOException {
+        DataSummaryResponse summary = dataSummaryService.summarize(top, buckets, details);
+        return Response.ok(summary)
+                .header("X-Read-Time-Ms", summary.durationMs())
+                .header("X-Accounts-Count", summary.accounts())
+                .header("X-Transactions-Count", summary.transactions())
+                .build();
+    }
+
+    @GET
+    @Path("/data/reconcile")
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.TEXT_PLAIN)
+    @Operation(summary = "Reconcile file balances with the database",
+            description = "Sorts the accounts of the data-load file externally, merge-joins them with the account table in "
+                    + "account-number order and streams one JSON line per account whose balance differs or that exists on one side only")
+    @APIResponse(responseCode = "200", description = "Mismatches streamed",
+            content = @Content(schema = @Schema(implementation = BalanceMismatch.class)))
+    @APIResponse(responseCode = "404", description = "File not found")
+    public Multi<String> reconcileData() {
+        ObjectWriter writer = objectMapper.writer();
+        return reconciliationService.reconcile()
+                .map(mismatch -> writeJson(writer, mismatch))
+                .onFailure().invoke(e -> log.error("Error reconciling data", e))
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+    }
+
+    @GET
+    @Path("/data/read-parallel")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Read file in parallel",
+            description = "Splits the accounts and transactions arrays into byte ranges and deserializes them on a fork-join pool. "
+                    + "On a single processor or for files under 4 MiB the file is read sequentially instead, as X-Read-Mode reports.")
+    @APIResponse(responseCode = "200", description = "File read successfully")
+    @APIResponse(responseCode = "400", description = "Data file is CSV")
+    @APIResponse(responseCode = "404", description = "File not found")
+    @APIResponse(responseCode = "500", description = "Read failed")
+    public Response readFileParallel(
+            @Parameter(description = "Keep document order; false returns chunks in completion order", example = "true")
+            @QueryParam("ordered") @DefaultValue("true") boolean ordered) {
+        try {
+            long startTime = System.currentTimeMillis();
+            String location = dataFiles.configuredLocation();
+            boolean split = parallelDataReader.splits(location);
+            DataLoadResponse data = split
+                    ? parallelDataReader.read(location, ordered)
+                    : parallelDataReader.readSequentially(location);
             long duration = System.currentTimeMillis() - startTime;
-            
+
             return Response.ok(data)
                     .header("X-Read-Time-Ms", duration)
                     .header("X-Accounts-Count", data.accounts().size())
                     .header("X-Transactions-Count", data.transactions().size())
-                    .header("X-Read-Mode", "BLOCKING")
+                    .header("X-Read-Mode", !split ? "SEQUENTIAL" : ordered ? "PARALLEL" : "PARALLEL_UNORDERED")
+                    .header("X-Parallelism", split ? parallelDataReader.parallelism() : 1)
+                    .build();
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (DataFileNotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(e.getMessage())
                     .build();
         } catch (Exception e) {
             log.error("Error reading file", e);
@@ -240,56 +590,212 @@ public class BankingRestResource {
         }
     }
 
-    @GET
-    @Path("/data/read-reactive")
-    @Produces(MediaType.APPLICATION_JSON)
-    @Operation(summary = "Read data reactively",
-            description = "Streams all accounts then transactions incrementally using streaming parser")
-    public Multi<DataItem> readDataReactive() {
-        Multi<DataItem> accounts = streamJsonArray("accounts", AccountData.class).map(a -> (DataItem) a);
-        Multi<DataItem> transactions = streamJsonArray("transactions", TransactionData.class).map(t -> (DataItem) t);
-        
-        return Multi.createBy().concatenating().streams(accounts, transactions);
+    @POST
+    @Path("/data/snapshot")
+    @Operation(summary = "Create binary snapshot",
+            description = "Converts the data-load file into a compact columnar .bin sibling that the data endpoints read instead of the JSON while it is up to date")
+    @APIResponse(responseCode = "200", description = "Snapshot written",
+            content = @Content(schema = @Schema(implementation = SnapshotResponse.class)))
+    @APIResponse(responseCode = "400", description = "Data file is not on the filesystem")
+    @APIResponse(responseCode = "404", description = "File not found")
+    public Response createSnapshot() throws IOException {
+        return Response.ok(snapshotService.convert(dataFiles.configuredLocation())).build();
     }
 
-    private <T> Multi<T> streamJsonArray(String fieldName, Class<T> targetClass) {
-        String filePath = bankingConfig.dataLoadExample();
-
-        return Multi.createFrom().<T>emitter(emitter -> {
+    @GET
+    @Path("/data/export")
+    @Operation(summary = "Export database",
+            description = "Streams all accounts, then all transactions, from one consistent database snapshot in the data-load format, "
+                    + "so the output can be imported again. Rows are read through database cursors and written as they arrive. "
+                    + "If the export fails after the response has started, the connection is reset rather than the document ended.")
+    @APIResponse(responseCode = "200", description = "Data-load document",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = DataLoadResponse.class)))
+    public Response exportData(@Context HttpServerResponse httpResponse) {
+        StreamingOutput body = out -> {
             try {
-                java.nio.file.Path path = Paths.get(filePath);
-                InputStream inputStream = Files.exists(path)
-                        ? new FileInputStream(path.toFile())
-                        : getClass().getClassLoader().getResourceAsStream(filePath);
-
-                if (inputStream == null) {
-                    emitter.fail(new IOException("File not found: " + filePath));
-                    return;
-                }
-
-                ObjectMapper mapper = new ObjectMapper();
-                try (JsonParser parser = mapper.getFactory().createParser(inputStream)) {
-                    while (parser.nextToken() != null) {
-                        if (parser.getCurrentToken() == JsonToken.FIELD_NAME && fieldName.equals(parser.currentName())) {
-                            parser.nextToken();
-
-                            while (parser.nextToken() != JsonToken.END_ARRAY) {
-                                if (emitter.isCancelled()) {
-                                    return;
-                                }
-                                T item = parser.readValueAs(targetClass);
-                                emitter.emit(item);
-                            }
-                            break;
-                        }
-                    }
-                    emitter.complete();
+                dataExportService.export(out);
+            } catch (IOException | RuntimeException e) {
+                if (httpResponse.headWritten()) {
+                    log.error("Export failed after the response started, resetting the connection", e);
+                    httpResponse.reset();
                 }
-            } catch (Exception e) {
-                log.error("Error streaming {}", fieldName, e);
-                emitter.fail(e);
+                throw e;
             }
-        }).runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+        };
+        return Response.ok(body, MediaType.APPLICATION_JSON_TYPE).build();
     }
 
+    @POST
+    @Path("/data/export")
+    @Operation(summary = "Export database to a file",
+            description = "Writes the export of GET /api/data/export to the export directory, compressed when the name ends in .gz or .zst")
+    @APIResponse(responseCode = "200", description = "Export written",
+            content = @Content(schema = @Schema(implementation = DataExportResponse.class)))
+    @APIResponse(responseCode = "400", description = "Invalid file name")
+    public Response exportDataToFile(
+            @Parameter(description = "File name in the export directory; defaults to a timestamped name", example = "export.json.zst")
+            @QueryParam("file") String file) throws IOException {
+        DataExportResponse result = dataExportService.exportToFile(file);
+        return Response.ok(result)
+                .header("X-Accounts-Count", result.accountsExported())
+                .header("X-Transactions-Count", result.transactionsExported())
+                .build();
+    }
+
+    @POST
+    @Path("/data/import")
+    @Operation(summary = "Import data file",
+            description = "Streams the accounts and transactions of the data-load file into the database using PostgreSQL COPY, or JDBC batches when COPY is not available. "
+                    + "With dedup, items identical to an earlier one are dropped by 64-bit fingerprint before loading.")
+    @APIResponse(responseCode = "200", description = "Import finished",
+            content = @Content(schema = @Schema(implementation = DataImportResponse.class),
+                    examples = {@ExampleObject(name = "ImportResult", summary = "Import summary",
+                            value = "{\"mode\":\"COPY\",\"accountsImported\":5,\"transactionsImported\":8,\"accountsRejected\":0,\"transactionsRejected\":0,\"durationMs\":42,\"rowsPerSecond\":309,\"rejects\":[]}")}))
+    @APIResponse(responseCode = "404", description = "File not found")
+    public Response importData(
+            @Parameter(description = "Skip accounts and transactions identical to an earlier one in the file", example = "false")
+            @QueryParam("dedup") @DefaultValue("false") boolean dedup) {
+        DataImportResponse result = dataImportService.importConfigured(dedup);
+        Response.ResponseBuilder response = Response.ok(result)
+                .header("X-Import-Mode", result.mode())
+                .header("X-Accounts-Count", result.accountsImported())
+                .header("X-Transactions-Count", result.transactionsImported());
+        DeduplicationStats duplicates = result.duplicates();
+        if (duplicates != null) {
+            response.header("X-Duplicate-Accounts", duplicates.accountsDuplicate())
+                    .header("X-Duplicate-Transactions", duplicates.transactionsDuplicate())
+                    .header("X-Dedup-Memory-Bytes", duplicates.memoryBytes())
+                    .header("X-Dedup-Disk-Bytes", duplicates.diskBytes());
+        }
+        return response.build();
+    }
+
+    @POST
+    @Path("/data/import/delta")
+    @Operation(summary = "Import what was appended to the data file",
+            description = "Resumes from the file's stored watermark and imports only the elements after it, committing a checkpoint "
+                    + "every data-checkpoint-items items. A failed run continues from its last checkpoint on the next call.")
+    @APIResponse(responseCode = "200", description = "Import finished",
+            content = @Content(schema = @Schema(implementation = DeltaImportResponse.class)))
+    @APIResponse(responseCode = "400", description = "Data file is CSV, compressed or not on the filesystem")
+    @APIResponse(responseCode = "409", description = "The already imported part of the file has changed, or another import of it ran at the same time")
+    public Response importDelta(
+            @Parameter(description = "Start over from the beginning of the file", example = "false")
+            @QueryParam("reset") @DefaultValue("false") boolean reset,
+            @Parameter(description = "Hash the whole imported prefix instead of only its last bytes", example = "false")
+            @QueryParam("verify") @DefaultValue("false") boolean verify) {
+        DeltaImportResponse result = deltaImportService.importDelta(reset, verify);
+        return Response.ok(result)
+                .header("X-Resumed-From", result.resumedFrom())
+                .header("X-Accounts-Count", result.imported().accountsImported())
+                .header("X-Transactions-Count", result.imported().transactionsImported())
+                .build();
+    }
+
+    @GET
+    @Path("/data/directory/read")
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.TEXT_PLAIN)
+    @Operation(summary = "Read all data files of the data directory",
+            description = "Discovers the matching files of the data directory and streams their items as one NDJSON stream. "
+                    + "Several files are read concurrently, so items of different files interleave; a file that fails is skipped "
+                    + "and reported in the job progress.")
+    @APIResponse(responseCode = "400", description = "Unknown field in fields")
+    @APIResponse(responseCode = "404", description = "Data directory not found")
+    public Multi<String> readDirectory(
+            @Parameter(description = "Only items of this account", example = "ACC20001")
+            @QueryParam("accountNumber") String accountNumber,
+            @Parameter(description = "Only transactions of this type; excludes accounts", example = "DEPOSIT")
+            @QueryParam("type") String type,
+            @Parameter(description = "Only transactions with at least this amount; excludes accounts", example = "100.00")
+            @QueryParam("minAmount") BigDecimal minAmount,
+            @Parameter(description = "Comma-separated properties to return, others are omitted", example = "accountNumber,amount")
+            @QueryParam("fields") String fields) throws IOException {
+        ObjectWriter writer = objectMapper.writer();
+        DataItemFilter filter = dataItemFilter(accountNumber, type, minAmount, fields);
+        return directoryIngestService.read(filter)
+                .map(item -> writeJson(writer, view(filter, item)));
+    }
+
+    @POST
+    @Path("/data/directory/import")
+    @Operation(summary = "Import all data files of the data directory",
+            description = "Starts importing every matching file of the data directory, several at once: first the accounts of every file, "
+                    + "each file in its own transaction, then their transactions likewise. "
+                    + "Returns immediately; follow the job to see per-file progress and throughput.")
+    @APIResponse(responseCode = "202", description = "Import started",
+            content = @Content(schema = @Schema(implementation = DirectoryJobResponse.class)))
+    @APIResponse(responseCode = "404", description = "Data directory not found")
+    @APIResponse(responseCode = "409", description = "A directory import is still running")
+    public Response importDirectory(
+            @Parameter(description = "Skip accounts and transactions identical to an earlier one in any file of the directory", example = "false")
+            @QueryParam("dedup") @DefaultValue("false") boolean dedup) throws IOException {
+        DirectoryJob job = directoryIngestService.startImport(dedup);
+        return Response.accepted(job.toResponse())
+                .header(HttpHeaders.LOCATION, "/api/data/directory/jobs/" + job.id())
+                .build();
+    }
+
+    @GET
+    @Path("/data/directory/jobs")
+    @Operation(summary = "List recent directory jobs",
+            description = "Per-file progress and throughput of the most recent directory reads and imports, newest first")
+    public List<DirectoryJobResponse> listDirectoryJobs() {
+        return directoryIngestService.jobs().stream().map(DirectoryJob::toResponse).toList();
+    }
+
+    @GET
+    @Path("/data/directory/jobs/{id}")
+    @Operation(summary = "Get directory job progress")
+    @APIResponse(responseCode = "200", description = "Job found",
+            content = @Content(schema = @Schema(implementation = DirectoryJobResponse.class)))
+    @APIResponse(responseCode = "404", description = "Unknown or expired job")
+    public DirectoryJobResponse getDirectoryJob(
+            @Parameter(description = "Job id", required = true, example = "1")
+            @PathParam("id") long id) {
+        return directoryIngestService.job(id)
+                .map(DirectoryJob::toResponse)
+                .orElseThrow(() -> new NotFoundException("Directory job " + id + " not found"));
+    }
+
+    private static DataItemFilter dataItemFilter(String accountNumber, String type, BigDecimal minAmount, String fields) {
+        try {
+            return DataItemFilter.of(accountNumber, type, minAmount, fields);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
+    /**
+     * {@code item} as written to the client: with a {@code fields} projection only the
+     * requested properties, otherwise all of them.
+     */
+    private static Object view(DataItemFilter filter, DataItem item) {
+        return filter.fields() == null ? item : DataItemView.of(item);
+    }
+
+    private Response pageResponse(Class<? extends DataItem> type, long offset, int limit) throws IOException {
+        long startTime = System.currentTimeMillis();
+        DataPageResponse<? extends DataItem> page = dataIndexService.page(type, offset, limit);
+        return Response.ok(page)
+                .header("X-Read-Time-Ms", System.currentTimeMillis() - startTime)
+                .header("X-Total-Count", page.total())
+                .build();
+    }
+
+    private Multi<List<DataItem>> readBatches(DataItemFilter filter, int batchSize, long batchMillis) {
+        String location = dataFiles.configuredLocation();
+        return DataItemStream.batches(() -> dataFiles.openItems(objectMapper, location, filter,
+                        dataMetrics.recorder(READ_REACTIVE_BATCHES, location)), batchSize, Duration.ofMillis(batchMillis))
+                .onFailure().invoke(e -> log.error("Error streaming data", e))
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+    }
+
+    private static String writeJson(ObjectWriter writer, Object value) {
+        try {
+            return writer.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
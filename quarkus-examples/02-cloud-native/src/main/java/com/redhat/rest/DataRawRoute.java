@@ -0,0 +1,176 @@
+package com.redhat.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.data.ByteRange;
+import com.redhat.data.DataFiles;
+import com.redhat.data.RawFile;
+import com.redhat.exception.DataFileNotFoundException;
+import com.redhat.rest.dto.ErrorResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * {@code GET|HEAD /api/data/raw}: the configured data file exactly as stored, without parsing.
+ * Files are handed to {@link HttpServerResponse#sendFile(String, long, long)}, which lets the
+ * kernel copy them from the page cache to the socket ({@code sendfile} through Netty's
+ * {@code FileRegion}), so serving costs almost no CPU or heap however large the file is.
+ * <p>
+ * Supports single {@code Range} requests with {@code If-Range}, {@code ETag} and
+ * {@code Last-Modified} validators, and a precompressed sibling chosen by
+ * {@code Accept-Encoding}, see {@link RawFile}. Served by a Vert.x route so that the transfer
+ * bypasses the REST layer's entity writers.
+ */
+@Slf4j
+@ApplicationScoped
+public class DataRawRoute {
+
+    public static final String PATH = "/api/data/raw";
+
+    @Inject
+    DataFiles dataFiles;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    void init(@Observes Router router) {
+        router.route(HttpMethod.GET, PATH).blockingHandler(this::handle, false);
+        router.route(HttpMethod.HEAD, PATH).blockingHandler(this::handle, false);
+    }
+
+    void handle(RoutingContext ctx) {
+        HttpServerRequest request = ctx.request();
+        HttpServerResponse response = ctx.response();
+        String location = dataFiles.configuredLocation();
+        RawFile file;
+        try {
+            file = dataFiles.raw(location, request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        } catch (DataFileNotFoundException e) {
+            error(ctx, Response.Status.NOT_FOUND, e.getMessage());
+            return;
+        } catch (IOException e) {
+            log.error("Error opening {}", location, e);
+            error(ctx, Response.Status.INTERNAL_SERVER_ERROR, "Read failed: " + e.getMessage());
+            return;
+        }
+
+        response.putHeader(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .putHeader(HttpHeaders.ETAG, file.quotedEtag())
+                .putHeader(HttpHeaders.CONTENT_TYPE, file.contentType());
+        if (file.lastModified() >= 0) {
+            response.putHeader(HttpHeaders.LAST_MODIFIED, httpDate(file.lastModified()));
+        }
+        if (file.encoding() != null) {
+            response.putHeader(HttpHeaders.CONTENT_ENCODING, file.encoding());
+        }
+        if (file.negotiated()) {
+            response.putHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        if (isNotModified(request, file)) {
+            response.setStatusCode(Response.Status.NOT_MODIFIED.getStatusCode()).end();
+            return;
+        }
+
+        long offset = 0;
+        long length = file.size();
+        ByteRange range = request.method() == HttpMethod.GET ? range(request, file) : null;
+        if (range != null) {
+            response.putHeader(HttpHeaders.CONTENT_RANGE, range.contentRange(file.size()));
+            if (!range.isSatisfiable()) {
+                response.setStatusCode(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE.getStatusCode()).end();
+                return;
+            }
+            response.setStatusCode(Response.Status.PARTIAL_CONTENT.getStatusCode());
+            offset = range.start();
+            length = range.length();
+        }
+
+        if (request.method() == HttpMethod.HEAD) {
+            response.putHeader(HttpHeaders.CONTENT_LENGTH, Long.toString(length)).end();
+        } else if (file.path() != null) {
+            response.sendFile(file.path().toString(), offset, length).onFailure(e ->
+                    log.warn("Sending {} failed: {}", file.path(), e.getMessage()));
+        } else {
+            response.end(Buffer.buffer().appendBytes(file.bytes(), (int) offset, (int) length));
+        }
+    }
+
+    /**
+     * {@code If-None-Match} wins over {@code If-Modified-Since}, as RFC 9110 requires.
+     */
+    private static boolean isNotModified(HttpServerRequest request, RawFile file) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return file.matches(ifNoneMatch);
+        }
+        Instant ifModifiedSince = parseHttpDate(request.getHeader(HttpHeaders.IF_MODIFIED_SINCE));
+        return ifModifiedSince != null && file.lastModified() >= 0
+                && file.lastModified() / 1000 <= ifModifiedSince.getEpochSecond();
+    }
+
+    /**
+     * The requested range, or {@code null} to send everything: also when {@code If-Range}
+     * names another version, compared strongly as RFC 9110 requires.
+     */
+    private static ByteRange range(HttpServerRequest request, RawFile file) {
+        String ifRange = request.getHeader(HttpHeaderNames.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(file.quotedEtag())) {
+            Instant date = parseHttpDate(ifRange);
+            if (date == null || file.lastModified() < 0 || file.lastModified() / 1000 != date.getEpochSecond()) {
+                return null;
+            }
+        }
+        return ByteRange.parse(request.getHeader(HttpHeaderNames.RANGE), file.size());
+    }
+
+    private static String httpDate(long millis) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(millis).atOffset(ZoneOffset.UTC));
+    }
+
+    private static Instant parseHttpDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private void error(RoutingContext ctx, Response.Status status, String message) {
+        ErrorResponse body = ErrorResponse.builder()
+                .status(status.getStatusCode())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(PATH)
+                .build();
+        try {
+            ctx.response().setStatusCode(status.getStatusCode())
+                    .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                    .end(objectMapper.writeValueAsString(body));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
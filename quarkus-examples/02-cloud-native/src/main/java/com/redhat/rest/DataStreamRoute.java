@@ -0,0 +1,327 @@
+package com.redhat.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.redhat.config.BankingConfig;
+import com.redhat.data.CsvDataDecoder;
+import com.redhat.data.DataDecoder;
+import com.redhat.data.DataItemDecoder;
+import com.redhat.data.DataItemQueue;
+import com.redhat.rest.dto.DataImportResponse;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.ErrorResponse;
+import com.redhat.service.DataImportService;
+import io.quarkus.vertx.http.runtime.RouteConstants;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.jboss.resteasy.reactive.common.util.RestMediaType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * {@code POST /api/data/stream}: decodes a data-load document from the request body while it
+ * arrives. The body is consumed as Vert.x buffers and fed to {@link DataItemDecoder}, or to
+ * {@link CsvDataDecoder} for {@code text/csv} bodies, so it is never held in memory or written
+ * to disk; reading pauses whenever the consumer falls behind.
+ * <ul>
+ *     <li>{@code mode=items} (default) streams the decoded items back as NDJSON.</li>
+ *     <li>{@code mode=import} imports them in one transaction and answers with the
+ *     {@link DataImportResponse}.</li>
+ * </ul>
+ * Served by a Vert.x route rather than a REST resource method, which would read the whole body
+ * before the method runs.
+ * <p>
+ * Uploads may be far larger than {@code quarkus.http.limits.max-body-size}, which still bounds
+ * every other route. This route runs just before the global limit is enforced and applies
+ * {@code banking.data-stream-max-body-bytes} instead: a declared {@code Content-Length} over it
+ * is refused with 413 before anything is read, and a chunked body that grows past it is
+ * answered with 413, or reset once the response has started.
+ */
+@Slf4j
+@ApplicationScoped
+public class DataStreamRoute {
+
+    public static final String PATH = "/api/data/stream";
+
+    static final String MODE_ITEMS = "items";
+    static final String MODE_IMPORT = "import";
+    static final String TEXT_CSV = "text/csv";
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    DataImportService dataImportService;
+
+    @Inject
+    BankingConfig bankingConfig;
+
+    void init(@Observes Router router) {
+        router.post(PATH).order(RouteConstants.ROUTE_ORDER_UPLOAD_LIMIT - 1).handler(this::handle);
+    }
+
+    void handle(RoutingContext ctx) {
+        long maxBodyBytes = bankingConfig.dataStreamMaxBodyBytes();
+        String contentLength = ctx.request().getHeader(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength != null && parseLength(contentLength) > maxBodyBytes) {
+            ctx.response().putHeader(HttpHeaders.CONNECTION, "close");
+            error(ctx, Response.Status.REQUEST_ENTITY_TOO_LARGE, tooLarge(maxBodyBytes));
+            return;
+        }
+        String mode = ctx.queryParams().get("mode");
+        DataDecoder decoder;
+        try {
+            decoder = isCsv(ctx.request().getHeader(HttpHeaders.CONTENT_TYPE))
+                    ? new CsvDataDecoder()
+                    : new DataItemDecoder(objectMapper);
+        } catch (IOException e) {
+            error(ctx, Response.Status.INTERNAL_SERVER_ERROR, e.getMessage());
+            return;
+        }
+        if (mode == null || MODE_ITEMS.equals(mode)) {
+            streamItems(ctx, decoder);
+        } else if (MODE_IMPORT.equals(mode)) {
+            importItems(ctx, decoder);
+        } else {
+            error(ctx, Response.Status.BAD_REQUEST, "Unknown mode '" + mode + "', expected items or import");
+        }
+    }
+
+    private void streamItems(RoutingContext ctx, DataDecoder decoder) {
+        HttpServerRequest request = ctx.request();
+        HttpServerResponse response = ctx.response();
+        ObjectWriter writer = objectMapper.writer();
+        response.setChunked(true).putHeader(HttpHeaders.CONTENT_TYPE, RestMediaType.APPLICATION_NDJSON);
+        Consumer<DataItem> sink = item -> response.write(Buffer.buffer(line(writer, item)));
+        AtomicBoolean failed = new AtomicBoolean();
+        BodyLimit limit = new BodyLimit(bankingConfig.dataStreamMaxBodyBytes());
+
+        request.handler(buffer -> {
+            if (failed.get()) {
+                return;
+            }
+            if (limit.exceededBy(buffer)) {
+                failed.set(true);
+                tooLarge(ctx, limit);
+                return;
+            }
+            try {
+                decoder.feed(buffer.getBytes(), 0, buffer.length(), sink);
+            } catch (IOException | RuntimeException e) {
+                failed.set(true);
+                fail(ctx, e);
+                return;
+            }
+            if (response.writeQueueFull()) {
+                request.pause();
+                response.drainHandler(v -> request.resume());
+            }
+        });
+        request.endHandler(v -> {
+            if (failed.get()) {
+                return;
+            }
+            try {
+                decoder.end(sink);
+                log.info("Streamed {} items from upload", decoder.items());
+                response.end();
+            } catch (IOException | RuntimeException e) {
+                fail(ctx, e);
+            }
+        });
+        request.exceptionHandler(e -> log.warn("Upload aborted after {} items: {}", decoder.items(), e.getMessage()));
+    }
+
+    private void importItems(RoutingContext ctx, DataDecoder decoder) {
+        HttpServerRequest request = ctx.request();
+        Context context = ctx.vertx().getOrCreateContext();
+        DataItemQueue queue = new DataItemQueue(bankingConfig.dataImportBatchSize());
+        AtomicReference<Throwable> decodeFailure = new AtomicReference<>();
+        BodyLimit limit = new BodyLimit(bankingConfig.dataStreamMaxBodyBytes());
+
+        CompletableFuture.supplyAsync(() -> {
+                    try (queue) {
+                        return dataImportService.importItems("upload", queue, () -> {
+                        });
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, Infrastructure.getDefaultWorkerPool())
+                .whenComplete((result, failure) -> context.runOnContext(v -> {
+                    if (failure == null) {
+                        ctx.response().putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                                .end(json(result));
+                    } else if (limit.exceeded()) {
+                        tooLarge(ctx, limit);
+                    } else if (decodeFailure.get() != null) {
+                        error(ctx, Response.Status.BAD_REQUEST, "Invalid data-load document: " + decodeFailure.get().getMessage());
+                    } else {
+                        log.error("Import of upload failed", failure);
+                        error(ctx, Response.Status.INTERNAL_SERVER_ERROR, "Import failed: " + failure.getMessage());
+                    }
+                }));
+
+        request.handler(buffer -> {
+            if (decodeFailure.get() != null) {
+                return;
+            }
+            if (limit.exceededBy(buffer)) {
+                IllegalStateException e = new IllegalStateException(tooLarge(limit.maxBytes()));
+                decodeFailure.set(e);
+                queue.fail(e);
+                return;
+            }
+            try {
+                decoder.feed(buffer.getBytes(), 0, buffer.length(), queue::add);
+            } catch (IOException | RuntimeException e) {
+                decodeFailure.set(e);
+                queue.fail(e);
+                return;
+            }
+            if (queue.isFull()) {
+                request.pause();
+                queue.onDrained(() -> context.runOnContext(v -> request.resume()));
+            }
+        });
+        request.endHandler(v -> {
+            if (decodeFailure.get() != null) {
+                return;
+            }
+            try {
+                decoder.end(queue::add);
+                queue.complete();
+            } catch (IOException | RuntimeException e) {
+                decodeFailure.set(e);
+                queue.fail(e);
+            }
+        });
+        request.exceptionHandler(queue::fail);
+    }
+
+    private static long parseLength(String contentLength) {
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static String tooLarge(long maxBodyBytes) {
+        return "Upload larger than " + maxBodyBytes + " bytes";
+    }
+
+    /**
+     * Refuses the rest of an upload that grew past its limit: with 413 while nothing has been
+     * sent yet, otherwise by resetting the stream like {@link #fail}.
+     */
+    private void tooLarge(RoutingContext ctx, BodyLimit limit) {
+        log.warn("Upload refused after {} bytes: {}", limit.bytes(), tooLarge(limit.maxBytes()));
+        if (!ctx.response().headWritten()) {
+            ctx.response().putHeader(HttpHeaders.CONNECTION, "close");
+            error(ctx, Response.Status.REQUEST_ENTITY_TOO_LARGE, tooLarge(limit.maxBytes()));
+        } else if (!ctx.response().ended()) {
+            ctx.response().reset();
+        }
+    }
+
+    private static boolean isCsv(String contentType) {
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(TEXT_CSV);
+    }
+
+    /**
+     * Reports a decoding failure: as a 400 while nothing has been sent yet, otherwise by
+     * resetting the stream so the client cannot mistake the truncated output for a complete one.
+     */
+    private void fail(RoutingContext ctx, Throwable failure) {
+        if (!ctx.response().headWritten()) {
+            error(ctx, Response.Status.BAD_REQUEST, "Invalid data-load document: " + failure.getMessage());
+        } else if (!ctx.response().ended()) {
+            log.warn("Aborting item stream: {}", failure.getMessage());
+            ctx.response().reset();
+        }
+    }
+
+    private void error(RoutingContext ctx, Response.Status status, String message) {
+        if (ctx.response().ended()) {
+            return;
+        }
+        ErrorResponse body = ErrorResponse.builder()
+                .status(status.getStatusCode())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(PATH)
+                .build();
+        ctx.response().setStatusCode(status.getStatusCode())
+                .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                .end(json(body));
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Bytes of one upload received so far, against its limit; only touched on the request's
+     * event loop.
+     */
+    private static final class BodyLimit {
+
+        private final long maxBytes;
+        private long bytes;
+
+        BodyLimit(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        boolean exceededBy(Buffer buffer) {
+            bytes += buffer.length();
+            return exceeded();
+        }
+
+        boolean exceeded() {
+            return bytes > maxBytes;
+        }
+
+        long bytes() {
+            return bytes;
+        }
+
+        long maxBytes() {
+            return maxBytes;
+        }
+    }
+
+    private static byte[] line(ObjectWriter writer, DataItem item) {
+        try {
+            byte[] json = writer.writeValueAsBytes(item);
+            byte[] line = new byte[json.length + 1];
+            System.arraycopy(json, 0, line, 0, json.length);
+            line[json.length] = '\n';
+            return line;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
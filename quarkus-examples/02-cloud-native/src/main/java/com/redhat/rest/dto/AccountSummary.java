@@ -0,0 +1,38 @@
+package com.redhat.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@RegisterForReflection
+@Schema(description = "Replayed ledger of one account in the data-load file")
+public record AccountSummary(
+        @Schema(description = "Account number", examples = "ACC20001")
+        String accountNumber,
+
+        @Schema(description = "Balance listed in the accounts array, 0 if the account only appears in transactions", examples = "5731.48")
+        BigDecimal openingBalance,
+
+        @Schema(description = "Sum of DEPOSIT amounts", examples = "1000.00")
+        BigDecimal deposits,
+
+        @Schema(description = "Sum of WITHDRAW amounts", examples = "200.00")
+        BigDecimal withdrawals,
+
+        @Schema(description = "Sum of TRANSFER_IN amounts", examples = "0.00")
+        BigDecimal transfersIn,
+
+        @Schema(description = "Sum of TRANSFER_OUT amounts", examples = "0.00")
+        BigDecimal transfersOut,
+
+        @Schema(description = "Opening balance plus deposits and transfers in, minus withdrawals and transfers out", examples = "6531.48")
+        BigDecimal endingBalance,
+
+        @Schema(description = "Number of valid transactions", examples = "2")
+        int transactions,
+
+        @Schema(description = "Whether the account is listed in the accounts array")
+        boolean listed
+) {
+}
@@ -0,0 +1,20 @@
+package com.redhat.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@RegisterForReflection
+@Schema(description = "Histogram bucket of replayed ending balances, [from, to)")
+public record BalanceBucket(
+        @Schema(description = "Inclusive lower bound", examples = "0.00")
+        BigDecimal from,
+
+        @Schema(description = "Exclusive upper bound", examples = "10000.00")
+        BigDecimal to,
+
+        @Schema(description = "Number of accounts in the bucket", examples = "1234")
+        long accounts
+) {
+}
@@ -0,0 +1,26 @@
+package com.redhat.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@RegisterForReflection
+@Schema(description = "Account whose balance in the data-load file differs from the database")
+public record BalanceMismatch(
+        @Schema(description = "Account number", examples = "ACC10001")
+        String accountNumber,
+
+        @Schema(description = "Kind of difference", enumeration = {BalanceMismatch.BALANCE, BalanceMismatch.MISSING_IN_DATABASE, BalanceMismatch.MISSING_IN_FILE})
+        String status,
+
+        @Schema(description = "Balance listed in the file, null if the file has no such account", examples = "1500.00")
+        BigDecimal fileBalance,
+
+        @Schema(description = "Balance stored in the database, null if the database has no such account", examples = "1450.00")
+        BigDecimal databaseBalance
+) {
+    public static final String BALANCE = "BALANCE";
+    public static final String MISSING_IN_DATABASE = "MISSING_IN_DATABASE";
+    public static final String MISSING_IN_FILE = "MISSING_IN_FILE";
+}
@@ -0,0 +1,32 @@
+package com.redhat.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.List;
+
+@RegisterForReflection
+@Schema(description = "Result of a batch of operations")
+public record BatchOperationsResponse(
+        @Schema(description = "Operations applied and committed", examples = "998")
+        int applied,
+
+        @Schema(description = "Operations rejected without effect", examples = "2")
+        int rejected,
+
+        @Schema(description = "Operations not committed because their transaction failed", examples = "0")
+        int failed,
+
+        @Schema(description = "Database transactions used", examples = "1")
+        int transactions,
+
+        @Schema(description = "Total duration in milliseconds", examples = "35")
+        long durationMs,
+
+        @Schema(description = "Operations processed per second", examples = "28571")
+        long operationsPerSecond,
+
+        @Schema(description = "One result per operation, in request order")
+        List<OperationResult> results
+) {
+}
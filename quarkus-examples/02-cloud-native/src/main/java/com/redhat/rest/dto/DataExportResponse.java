@@ -0,0 +1,24 @@
+package com.redhat.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@RegisterForReflection
+@Schema(description = "Result of exporting the database as a data-load file")
+public record DataExportResponse(
+        @Schema(description = "Path of the written file", examples = "/app/data/export/export-20260101-120000.json")
+        String path,
+
+        @Schema(description = "Accounts written", examples = "5")
+        long accountsExported,
+
+        @Schema(description = "Transactions written", examples = "8")
+        long transactionsExported,
+
+        @Schema(description = "Size of the written file in bytes", examples = "1234")
+        long bytes,
+
+        @Schema(description = "Export time in milliseconds", examples = "42")
+        long durationMs
+) {
+}
@@ -0,0 +1,60 @@
+package com.redhat.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RegisterForReflection
+@Schema(description = "Result of a bulk data import")
+public record DataImportResponse(
+        @Schema(description = "Load strategy used: COPY or BATCH")
+        String mode,
+
+        @Schema(description = "Accounts inserted into the Account table")
+        long accountsImported,
+
+        @Schema(description = "Transactions inserted into the Transaction table")
+        long transactionsImported,
+
+        @Schema(description = "Accounts rejected by validation or because they already exist")
+        long accountsRejected,
+
+        @Schema(description = "Transactions rejected by validation or because their account does not exist")
+        long transactionsRejected,
+
+        @Schema(description = "Total import duration in milliseconds")
+        long durationMs,
+
+        @Schema(description = "Rows processed per second")
+        long rowsPerSecond,
+
+        @Schema(description = "First validation errors found, if any")
+        List<String> rejects,
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @Schema(description = "Duplicates dropped before loading, only when deduplication was requested")
+        DeduplicationStats duplicates
+) {
+
+    /**
+     * Sum of this result and {@code other}, of another part of the same import.
+     */
+    public DataImportResponse plus(DataImportResponse other) {
+        long totalMs = durationMs + other.durationMs;
+        long rows = (rowsPerSecond * durationMs + other.rowsPerSecond * other.durationMs) / 1000;
+        List<String> allRejects = new ArrayList<>(rejects);
+        allRejects.addAll(other.rejects);
+        return new DataImportResponse(mode, accountsImported + other.accountsImported,
+                transactionsImported + other.transactionsImported, accountsRejected + other.accountsRejected,
+                transactionsRejected + other.transactionsRejected, totalMs,
+                totalMs > 0 ? rows * 1000 / totalMs : 0, List.copyOf(allRejects), duplicates);
+    }
+
+    public DataImportResponse withDuplicates(DeduplicationStats duplicates) {
+        return new DataImportResponse(mode, accountsImported, transactionsImported, accountsRejected,
+                transactionsRejected, durationMs, rowsPerSecond, rejects, duplicates);
+    }
+}
@@ -0,0 +1,31 @@
+package com.redhat.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * An account or transaction read with a {@code fields} projection: only the requested
+ * properties are written, where {@link AccountData} and {@link TransactionData} always write
+ * all of theirs.
+ */
+@RegisterForReflection
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Account or transaction with only the requested fields")
+public record DataItemView(
+        String accountNumber,
+        String ownerId,
+        BigDecimal balance,
+        String type,
+        BigDecimal amount,
+        String description
+) {
+    public static DataItemView of(DataItem item) {
+        return switch (item) {
+            case AccountData a -> new DataItemView(a.accountNumber(), a.ownerId(), a.balance(), null, null, null);
+            case TransactionData t -> new DataItemView(t.accountNumber(), null, null, t.type(), t.amount(), t.description());
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.redhat.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.List;
+
+@RegisterForReflection
+@Schema(description = "A window of accounts or transactions read from the data-load file")
+public record DataPageResponse<T extends DataItem>(
+        @Schema(description = "Index of the first returned item", examples = "0")
+        long offset,
+
+        @Schema(description = "Requested maximum number of items", examples = "100")
+        int limit,
+
+        @Schema(description = "Total number of items of this kind in the file", examples = "100000")
+        long total,
+
+        @Schema(description = "Items in document order")
+        List<T> items
+) {
+}
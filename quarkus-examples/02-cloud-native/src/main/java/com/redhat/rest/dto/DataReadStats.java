@@ -0,0 +1,50 @@
+package com.redhat.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@RegisterForReflection
+@Schema(description = "Where the time of data reads went: storage, parser or consumer")
+public record DataReadStats(
+        @Schema(description = "Kind of read", examples = "read-reactive")
+        String operation,
+
+        @Schema(description = "Number of reads covered", examples = "1")
+        long reads,
+
+        @Schema(description = "Accounts produced", examples = "5")
+        long accounts,
+
+        @Schema(description = "Transactions produced", examples = "8")
+        long transactions,
+
+        @Schema(description = "Bytes read from storage, before decompression", examples = "2048")
+        long bytesRead,
+
+        @Schema(description = "Time from opening the file to closing it, in milliseconds", examples = "40")
+        long durationMs,
+
+        @Schema(description = "Time spent reading from storage, in milliseconds", examples = "2")
+        long ioMs,
+
+        @Schema(description = "Time spent decompressing, parsing and binding, in milliseconds", examples = "10")
+        long parseMs,
+
+        @Schema(description = "Time between items spent by the consumer or waiting for its demand, in milliseconds", examples = "28")
+        long downstreamMs,
+
+        @Schema(description = "Average parse time per account in nanoseconds", examples = "900")
+        long accountParseNanos,
+
+        @Schema(description = "Average parse time per transaction in nanoseconds", examples = "1100")
+        long transactionParseNanos,
+
+        @Schema(description = "Items produced per second of I/O and parse time", examples = "1000000")
+        long itemsPerSecond,
+
+        @Schema(description = "Bytes allocated per item while producing it; absent where the JVM cannot measure it", examples = "400")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Long allocatedBytesPerItem
+) {
+}
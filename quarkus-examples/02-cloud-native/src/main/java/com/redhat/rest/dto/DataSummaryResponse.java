@@ -0,0 +1,45 @@
+package com.redhat.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@RegisterForReflection
+@Schema(description = "Totals and replayed balances computed in one pass over the data-load file")
+public record DataSummaryResponse(
+        @Schema(description = "Distinct accounts in accounts or transactions", examples = "10000")
+        long accounts,
+
+        @Schema(description = "Valid transactions", examples = "20000")
+        long transactions,
+
+        @Schema(description = "Elements that failed validation and were left out", examples = "0")
+        long rejected,
+
+        @Schema(description = "Sum of all DEPOSIT amounts")
+        BigDecimal totalDeposits,
+
+        @Schema(description = "Sum of all WITHDRAW amounts")
+        BigDecimal totalWithdrawals,
+
+        @Schema(description = "Sum of all TRANSFER_IN amounts")
+        BigDecimal totalTransfersIn,
+
+        @Schema(description = "Sum of all TRANSFER_OUT amounts")
+        BigDecimal totalTransfersOut,
+
+        @Schema(description = "Accounts with the highest replayed ending balance, highest first")
+        List<AccountSummary> topBalances,
+
+        @Schema(description = "Equal-width histogram of replayed ending balances")
+        List<BalanceBucket> balanceHistogram,
+
+        @Schema(description = "Every account's ledger, only when details=true")
+        List<AccountSummary> accountSummaries,
+
+        @Schema(description = "Time spent reading and aggregating in milliseconds", examples = "250")
+        long durationMs
+) {
+}
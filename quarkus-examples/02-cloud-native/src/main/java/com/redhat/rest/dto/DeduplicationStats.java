@@ -0,0 +1,27 @@
+package com.redhat.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@RegisterForReflection
+@Schema(description = "Duplicates dropped while loading and what finding them cost")
+public record DeduplicationStats(
+        @Schema(description = "Accounts dropped because an identical account was seen before", examples = "120")
+        long accountsDuplicate,
+
+        @Schema(description = "Transactions dropped because an identical transaction was seen before", examples = "3400")
+        long transactionsDuplicate,
+
+        @Schema(description = "Distinct items fingerprinted", examples = "1500000")
+        long fingerprints,
+
+        @Schema(description = "Largest in-memory fingerprint table in bytes", examples = "33554432")
+        long memoryBytes,
+
+        @Schema(description = "Bytes of the Bloom filter and spilled fingerprints on disk, 0 if nothing was spilled", examples = "0")
+        long diskBytes,
+
+        @Schema(description = "Times the in-memory table was spilled to disk", examples = "0")
+        long spills
+) {
+}
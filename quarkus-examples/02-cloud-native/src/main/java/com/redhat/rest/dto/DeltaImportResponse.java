@@ -0,0 +1,30 @@
+package com.redhat.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@RegisterForReflection
+@Schema(description = "Result of an incremental import that resumed from the stored watermark")
+public record DeltaImportResponse(
+        @Schema(description = "Data file", examples = "/app/data/data-load.json")
+        String source,
+
+        @Schema(description = "Byte offset the import resumed from, 0 for a first or reset import", examples = "104857600")
+        long resumedFrom,
+
+        @Schema(description = "Byte offset of the new watermark", examples = "115343360")
+        long offset,
+
+        @Schema(description = "Accounts before the new watermark", examples = "50000")
+        long accounts,
+
+        @Schema(description = "Transactions before the new watermark", examples = "1250000")
+        long transactions,
+
+        @Schema(description = "Checkpoints committed by this run", examples = "3")
+        int checkpoints,
+
+        @Schema(description = "Rows imported and rejected by this run")
+        DataImportResponse imported
+) {
+}
@@ -0,0 +1,44 @@
+package com.redhat.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+@RegisterForReflection
+@Schema(description = "Read or import of every data file of the data directory")
+public record DirectoryJobResponse(
+        @Schema(description = "Job id", examples = "3")
+        long id,
+
+        @Schema(description = "READ or IMPORT", examples = "IMPORT")
+        String mode,
+
+        @Schema(description = "Directory the files were discovered in", examples = "/app/data")
+        String directory,
+
+        @Schema(description = "Maximum number of files processed at once", examples = "4")
+        int parallelism,
+
+        @Schema(description = "Start of the job")
+        Instant startedAt,
+
+        @Schema(description = "RUNNING, DONE, or FAILED when at least one file failed", examples = "RUNNING")
+        String status,
+
+        @Schema(description = "Files finished, successfully or not", examples = "12")
+        long filesFinished,
+
+        @Schema(description = "Items read from all files so far", examples = "1500000")
+        long items,
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @Schema(description = "Duplicates dropped across all files, only when deduplication was requested")
+        DeduplicationStats duplicates,
+
+        @Schema(description = "Per-file progress, in discovery order")
+        List<FileProgress> files
+) {
+}
@@ -0,0 +1,38 @@
+package com.redhat.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@RegisterForReflection
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Progress of one file of a directory job")
+public record FileProgress(
+        @Schema(description = "File path", examples = "/app/data/shard-0001.json.gz")
+        String path,
+
+        @Schema(description = "File size in bytes", examples = "52428800")
+        long sizeBytes,
+
+        @Schema(description = "PENDING, RUNNING, DONE or FAILED", examples = "RUNNING")
+        String status,
+
+        @Schema(description = "Items read so far", examples = "125000")
+        long items,
+
+        @Schema(description = "Time spent on the file so far in milliseconds", examples = "850")
+        long durationMs,
+
+        @Schema(description = "Items read per second", examples = "147058")
+        long itemsPerSecond,
+
+        @Schema(description = "File bytes processed per second, once the file is done", examples = "61680941")
+        Long bytesPerSecond,
+
+        @Schema(description = "Import result of the file, for import jobs")
+        DataImportResponse result,
+
+        @Schema(description = "Failure message of a failed file")
+        String error
+) {
+}
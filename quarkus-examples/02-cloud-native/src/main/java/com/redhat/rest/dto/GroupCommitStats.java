@@ -0,0 +1,30 @@
+package com.redhat.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@RegisterForReflection
+@Schema(description = "Group commit settings and what it has done since startup")
+public record GroupCommitStats(
+        @Schema(description = "Whether single deposits, withdrawals and transfers are grouped", examples = "true")
+        boolean enabled,
+
+        @Schema(description = "Longest time an operation waits for others to join its transaction, in microseconds", examples = "2000")
+        long windowMicros,
+
+        @Schema(description = "Most operations per transaction", examples = "256")
+        int maxBatchSize,
+
+        @Schema(description = "Transactions committed or failed", examples = "120")
+        long batches,
+
+        @Schema(description = "Operations handed to those transactions", examples = "9600")
+        long operations,
+
+        @Schema(description = "Operations per transaction")
+        HistogramStats batchSize,
+
+        @Schema(description = "Time from submitting an operation to its result, in microseconds")
+        HistogramStats latencyMicros
+) {
+}
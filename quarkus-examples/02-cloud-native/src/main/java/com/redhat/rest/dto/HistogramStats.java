@@ -0,0 +1,43 @@
+package com.redhat.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.List;
+
+@RegisterForReflection
+@Schema(description = "Distribution of recorded values, in power-of-two buckets")
+public record HistogramStats(
+        @Schema(description = "Values recorded", examples = "1200")
+        long count,
+
+        @Schema(description = "Mean value", examples = "14")
+        long mean,
+
+        @Schema(description = "Median, as the upper bound of its bucket", examples = "15")
+        long p50,
+
+        @Schema(description = "90th percentile, as the upper bound of its bucket", examples = "31")
+        long p90,
+
+        @Schema(description = "99th percentile, as the upper bound of its bucket", examples = "63")
+        long p99,
+
+        @Schema(description = "Largest value recorded", examples = "57")
+        long max,
+
+        @Schema(description = "Non-empty buckets, in increasing order")
+        List<Bucket> buckets
+) {
+
+    @RegisterForReflection
+    @Schema(description = "Values up to an upper bound, above the previous bucket's")
+    public record Bucket(
+            @Schema(description = "Largest value counted in this bucket", examples = "15")
+            long le,
+
+            @Schema(description = "Values in this bucket", examples = "800")
+            long count
+    ) {
+    }
+}
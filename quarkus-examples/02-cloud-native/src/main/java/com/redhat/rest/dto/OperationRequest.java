@@ -0,0 +1,28 @@
+package com.redhat.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@RegisterForReflection
+@Schema(description = "One posting of a batch: a deposit, a withdrawal or a transfer")
+public record OperationRequest(
+        @Schema(description = "Kind of operation", required = true,
+                enumeration = {OperationRequest.DEPOSIT, OperationRequest.WITHDRAW, OperationRequest.TRANSFER})
+        String type,
+
+        @Schema(description = "Account credited by a deposit, debited by a withdrawal, or source of a transfer",
+                required = true, examples = "ACC001")
+        String accountNumber,
+
+        @Schema(description = "Target account of a transfer, ignored otherwise", examples = "ACC002")
+        String toAccountNumber,
+
+        @Schema(description = "Amount, with at most two decimal places", minimum = "0.01", required = true, examples = "25.00")
+        BigDecimal amount
+) {
+    public static final String DEPOSIT = "DEPOSIT";
+    public static final String WITHDRAW = "WITHDRAW";
+    public static final String TRANSFER = "TRANSFER";
+}
@@ -0,0 +1,43 @@
+package com.redhat.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@RegisterForReflection
+@Schema(description = "Outcome of one operation of a batch")
+public record OperationResult(
+        @Schema(description = "Position of the operation in the request, from 0", examples = "0")
+        int index,
+
+        @Schema(description = "APPLIED and committed; REJECTED because it was invalid or the balance was too low, with no effect; "
+                + "FAILED because the transaction it was part of could not be committed, with no effect",
+                enumeration = {OperationResult.APPLIED, OperationResult.REJECTED, OperationResult.FAILED})
+        String status,
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @Schema(description = "Balance of accountNumber after the operation, when applied", examples = "1225.00")
+        BigDecimal balance,
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @Schema(description = "Why the operation was rejected or failed", examples = "Insufficient balance")
+        String error
+) {
+    public static final String APPLIED = "APPLIED";
+    public static final String REJECTED = "REJECTED";
+    public static final String FAILED = "FAILED";
+
+    public static OperationResult applied(int index, BigDecimal balance) {
+        return new OperationResult(index, APPLIED, balance, null);
+    }
+
+    public static OperationResult rejected(int index, String error) {
+        return new OperationResult(index, REJECTED, null, error);
+    }
+
+    public static OperationResult failed(int index, String error) {
+        return new OperationResult(index, FAILED, null, error);
+    }
+}
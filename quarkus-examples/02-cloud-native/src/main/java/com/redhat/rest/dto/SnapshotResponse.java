@@ -0,0 +1,24 @@
+package com.redhat.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@RegisterForReflection
+@Schema(description = "Result of converting a data file into a binary snapshot")
+public record SnapshotResponse(
+        @Schema(description = "Path of the written snapshot")
+        String path,
+
+        @Schema(description = "Accounts and transactions written")
+        long items,
+
+        @Schema(description = "Size of the source JSON file in bytes")
+        long sourceBytes,
+
+        @Schema(description = "Size of the snapshot in bytes")
+        long snapshotBytes,
+
+        @Schema(description = "Conversion time in milliseconds")
+        long durationMs
+) {
+}
@@ -6,7 +6,9 @@ import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import com.redhat.exception.AccountAlreadyExistsException;
 import com.redhat.exception.AccountNotFoundException;
+import com.redhat.exception.DataFileNotFoundException;
 import com.redhat.exception.InsufficientBalanceException;
+import com.redhat.exception.InvalidOperationException;
 import com.redhat.rest.dto.ErrorResponse;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Context;
@@ -111,7 +113,17 @@ public class GlobalExceptionMapper implements ExceptionMapper<Exception> {
                     .build();
         }
         
-        if (exception instanceof InsufficientBalanceException) {
+        if (exception instanceof DataFileNotFoundException) {
+            return ErrorResponse.builder()
+                    .timestamp(LocalDateTime.now())
+                    .status(Response.Status.NOT_FOUND.getStatusCode())
+                    .error("Not Found")
+                    .message(exception.getMessage())
+                    .path(path)
+                    .build();
+        }
+
+        if (exception instanceof InsufficientBalanceException || exception instanceof InvalidOperationException) {
             return ErrorResponse.builder()
                     .timestamp(LocalDateTime.now())
                     .status(Response.Status.BAD_REQUEST.getStatusCode())
@@ -0,0 +1,12 @@
+package com.redhat.service;
+
+import com.redhat.model.Account;
+
+import java.util.List;
+
+/**
+ * One page of {@link BankingService#getAccounts}: accounts in account number order, and the
+ * opaque cursor of the following page, {@code null} on the last one.
+ */
+public record AccountPage(List<Account> items, String next) {
+}
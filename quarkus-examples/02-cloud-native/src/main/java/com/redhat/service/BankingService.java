@@ -14,6 +14,8 @@ public interface BankingService {
 
     List<Account> getAllAccounts();
 
+    AccountPage getAccounts(String after, int limit);
+
     Account createAccount(@NotEmpty String accountNumber, @NotEmpty String ownerId, @NotNull @PositiveOrZero BigDecimal initialBalance);
 
     Account deposit(@NotEmpty String accountNumber, @DecimalMin("0.01") BigDecimal amount);
@@ -1,18 +1,24 @@
 package com.redhat.service;
 
+import com.redhat.config.BankingConfig;
 import com.redhat.exception.AccountAlreadyExistsException;
 import com.redhat.exception.AccountNotFoundException;
 import com.redhat.exception.InsufficientBalanceException;
+import com.redhat.exception.InvalidOperationException;
 import com.redhat.model.Account;
 import com.redhat.model.Transaction;
 import com.redhat.model.TransactionType;
 import com.redhat.repository.AccountRepository;
 import com.redhat.repository.TransactionRepository;
-import jakarta.data.Order;
-import jakarta.data.Sort;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.data.page.CursoredPage;
 import jakarta.data.page.PageRequest;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionManager;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotEmpty;
@@ -21,20 +27,63 @@ import jakarta.validation.constraints.PositiveOrZero;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 
 @Slf4j
 @ApplicationScoped
 public class BankingServiceBase implements BankingService {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
     @Inject
     AccountRepository accountRepository;
 
     @Inject
     TransactionRepository transactionRepository;
 
+    @Inject
+    BankingConfig bankingConfig;
+
+    @Inject
+    GroupCommitExecutor groupCommitExecutor;
+
+    @Inject
+    TransactionManager transactionManager;
+
+    private TransactionRetry transferRetry;
+
+    @PostConstruct
+    void init() {
+        transferRetry = new TransactionRetry(bankingConfig.transferMaxAttempts(),
+                bankingConfig.transferRetryBackoffMillis(), bankingConfig.transferRetryMaxBackoffMillis());
+    }
+
+    /**
+     * The first 100 accounts only; use {@link #getAccounts} to read them all.
+     */
     public List<Account> getAllAccounts() {
-        return accountRepository.findAll(PageRequest.ofSize(100), Order.by(Sort.asc("accountNumber"))).content();
+        return getAccounts(null, DEFAULT_PAGE_SIZE).items();
+    }
+
+    /**
+     * Up to {@code limit} accounts in account number order, starting after the cursor
+     * {@code after} returned with the previous page, or at the first account when it is
+     * {@code null}. Cursors are keys rather than offsets, see {@link AccountRepository#findPage},
+     * and no total is counted, so reading page 100,000 costs as much as reading page one.
+     */
+    public AccountPage getAccounts(String after, int limit) {
+        PageRequest pageRequest = PageRequest.ofSize(limit).withoutTotal();
+        if (after != null && !after.isEmpty()) {
+            pageRequest = pageRequest.afterCursor(PageRequest.Cursor.forKey(decodeCursor(after)));
+        }
+        CursoredPage<Account> page = accountRepository.findPage(pageRequest);
+        List<Account> accounts = page.content();
+        String next = page.hasNext() && !accounts.isEmpty()
+                ? encodeCursor(accounts.getLast().getAccountNumber())
+                : null;
+        return new AccountPage(accounts, next);
     }
 
     @Transactional
@@ -47,62 +96,68 @@ public class BankingServiceBase implements BankingService {
 
     }
 
-    @Transactional
+    /**
+     * Updates the balance and records the transaction in one statement, see
+     * {@link AccountRepository#credit}, so concurrent deposits never lose each other. With
+     * group commit enabled, and no transaction already active, the deposit instead shares a
+     * transaction with other concurrent operations, see {@link GroupCommitExecutor}.
+     */
     public Account deposit(@NotEmpty String accountNumber, @DecimalMin("0.01") BigDecimal amount) {
-
-        Account account = findAccountByAccountNumber(accountNumber);
-        account.deposit(amount);
-        accountRepository.save(account);
-
-        transactionRepository.save(Transaction.builder()
-                .accountNumber(account.getAccountNumber())
-                .type(TransactionType.DEPOSIT)
-                .amount(amount)
-                .description("Deposit").build());
-
-        return account;
+        validateAmount(amount);
+        if (groupCommit()) {
+            return groupCommitExecutor.deposit(accountNumber, amount);
+        }
+        return QuarkusTransaction.joiningExisting().call(() ->
+                accountRepository.credit(accountNumber, amount, TransactionType.DEPOSIT, "Deposit")
+                        .orElseThrow(() -> AccountNotFoundException.builder().accountNumber(accountNumber).build()));
     }
 
-    @Transactional
+    /**
+     * Like {@link #deposit}; the balance check is part of the update, so concurrent withdrawals
+     * can never overdraw the account.
+     */
     public Account withdraw(@NotEmpty String accountNumber, @DecimalMin("0.01") BigDecimal amount) {
-        Account account = findAccountByAccountNumber(accountNumber);
-        account.withDraw(amount);
-        accountRepository.save(account);
-        transactionRepository.save(Transaction.builder()
-                .accountNumber(account.getAccountNumber())
-                .type(TransactionType.WITHDRAW)
-                .amount(amount)
-                .description("Withdraw").build());
-
-        return account;
+        validateAmount(amount);
+        if (groupCommit()) {
+            return groupCommitExecutor.withdraw(accountNumber, amount);
+        }
+        return QuarkusTransaction.joiningExisting().call(() ->
+                accountRepository.debit(accountNumber, amount, TransactionType.WITHDRAW, "Withdraw")
+                        .orElseThrow(() -> accountRepository.countByAccountNumber(accountNumber) > 0
+                                ? InsufficientBalanceException.builder().build()
+                                : AccountNotFoundException.builder().accountNumber(accountNumber).build()));
     }
 
-    @Transactional
+    /**
+     * Moves the money in one statement that locks both accounts in a fixed order, see
+     * {@link AccountRepository#transfer}, so concurrent transfers in opposite directions do
+     * not deadlock. Each attempt is its own transaction, and one that the database aborts as a
+     * serialization failure or deadlock is retried with jittered backoff. Called within a
+     * transaction, the transfer joins it instead and is not retried: once the database has
+     * aborted it, only the caller can start over.
+     */
     public void transfer(@NotEmpty String sourceAccountNumber, @NotEmpty String targetAccountNumber, @DecimalMin("0.01") BigDecimal amount) {
+        validateAmount(amount);
+        if (sourceAccountNumber.equals(targetAccountNumber)) {
+            throw InvalidOperationException.builder().reason("Source and target account must differ").build();
+        }
+        if (groupCommit()) {
+            groupCommitExecutor.transfer(sourceAccountNumber, targetAccountNumber, amount);
+            return;
+        }
 
-        Account sourceAccount = findAccountByAccountNumber(sourceAccountNumber);
-        Account targetAccount = findAccountByAccountNumber(targetAccountNumber);
+        AccountRepository.TransferOutcome outcome = inTransaction()
+                ? accountRepository.transfer(sourceAccountNumber, targetAccountNumber, amount)
+                : transferRetry.call(() -> QuarkusTransaction.requiringNew().call(() ->
+                        accountRepository.transfer(sourceAccountNumber, targetAccountNumber, amount)));
 
-        if (!sourceAccount.hasAvailableBalance(amount)) {
+        if (outcome.accountsFound() < 2) {
+            String missing = accountRepository.countByAccountNumber(sourceAccountNumber) == 0 ? sourceAccountNumber : targetAccountNumber;
+            throw AccountNotFoundException.builder().accountNumber(missing).build();
+        }
+        if (!outcome.transferred()) {
             throw InsufficientBalanceException.builder().build();
         }
-
-        sourceAccount.withDraw(amount);
-        accountRepository.save(sourceAccount);
-        transactionRepository.save(Transaction.builder()
-                .accountNumber(sourceAccount.getAccountNumber())
-                .type(TransactionType.TRANSFER_OUT)
-                .amount(amount)
-                .description("Transfer to " + targetAccount.getAccountNumber()).build());
-
-        targetAccount.deposit(amount);
-        accountRepository.save(targetAccount);
-        transactionRepository.save(Transaction.builder()
-                .accountNumber(targetAccount.getAccountNumber())
-                .type(TransactionType.TRANSFER_IN)
-                .amount(amount)
-                .description("Transfer from " + sourceAccount.getAccountNumber()).build());
-
     }
 
     public BigDecimal getBalance(@NotEmpty String accountNumber) {
@@ -118,6 +173,44 @@ public class BankingServiceBase implements BankingService {
         return (Account) accountRepository.findById(accountNumber).orElseThrow(() -> AccountNotFoundException.builder().accountNumber(accountNumber).build());
     }
 
+    private static String encodeCursor(String accountNumber) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(accountNumber.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw InvalidOperationException.builder().reason("Invalid cursor: " + cursor).build();
+        }
+    }
+
+    /**
+     * Whether to hand the operation to the group commit; a caller's own transaction is never
+     * bypassed.
+     */
+    private boolean groupCommit() {
+        return groupCommitExecutor.isEnabled() && !inTransaction();
+    }
+
+    private boolean inTransaction() {
+        try {
+            return transactionManager.getStatus() != Status.STATUS_NO_TRANSACTION;
+        } catch (SystemException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Refuses amounts the balance columns would round or overflow, as the group commit does.
+     */
+    private static void validateAmount(BigDecimal amount) {
+        String invalid = BatchLedger.validateAmount(amount);
+        if (invalid != null) {
+            throw InvalidOperationException.builder().reason(invalid).build();
+        }
+    }
+
     private void validateAccountExists(String accountNumber) {
         if (accountRepository.countByAccountNumber(accountNumber) > 0) {
             throw AccountAlreadyExistsException.builder()
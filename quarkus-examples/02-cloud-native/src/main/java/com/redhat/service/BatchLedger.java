@@ -0,0 +1,183 @@
+package com.redhat.service;
+
+import com.redhat.model.Account;
+import com.redhat.model.Transaction;
+import com.redhat.model.TransactionType;
+import com.redhat.rest.dto.OperationRequest;
+import com.redhat.rest.dto.OperationResult;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Applies the operations of one batch transaction in memory, in request order, to accounts
+ * that the caller has locked: every operation sees the balances left by the ones before it,
+ * exactly as if they had been sent one by one. An operation that is invalid or would
+ * overdraw its account is rejected and changes nothing. The caller then writes
+ * {@link #changedAccounts()} and {@link #transactions()} in one go.
+ */
+public final class BatchLedger {
+
+    /**
+     * Error of an operation rejected because its account lacks the amount.
+     */
+    public static final String INSUFFICIENT_BALANCE = "Insufficient balance";
+
+    /**
+     * Error of an operation whose transaction could not be committed; the cause is logged,
+     * not returned.
+     */
+    public static final String TRANSACTION_FAILED = "Transaction failed";
+
+    private static final BigDecimal MIN_AMOUNT = new BigDecimal("0.01");
+
+    /**
+     * Digits before the decimal point that fit the {@code NUMERIC(19,2)} columns.
+     */
+    private static final int MAX_INTEGER_DIGITS = 17;
+
+    private final Map<String, Account> accounts = new HashMap<>();
+    private final Map<String, Account> changed = new LinkedHashMap<>();
+    private final List<Transaction> transactions = new ArrayList<>();
+
+    public BatchLedger(Collection<Account> accounts) {
+        accounts.forEach(account -> this.accounts.put(account.getAccountNumber(), account));
+    }
+
+    /**
+     * Applies {@code operation}, the {@code index}th of the request.
+     */
+    public OperationResult apply(int index, OperationRequest operation) {
+        String invalid = validate(operation);
+        if (invalid != null) {
+            return OperationResult.rejected(index, invalid);
+        }
+        Account account = accounts.get(operation.accountNumber());
+        if (account == null) {
+            return OperationResult.rejected(index, notFound(operation.accountNumber()));
+        }
+        BigDecimal amount = operation.amount();
+        switch (operation.type()) {
+            case OperationRequest.DEPOSIT -> credit(account, amount, TransactionType.DEPOSIT, "Deposit");
+            case OperationRequest.WITHDRAW -> {
+                if (!account.hasAvailableBalance(amount)) {
+                    return OperationResult.rejected(index, INSUFFICIENT_BALANCE);
+                }
+                debit(account, amount, TransactionType.WITHDRAW, "Withdraw");
+            }
+            default -> {
+                Account target = accounts.get(operation.toAccountNumber());
+                if (target == null) {
+                    return OperationResult.rejected(index, notFound(operation.toAccountNumber()));
+                }
+                if (!account.hasAvailableBalance(amount)) {
+                    return OperationResult.rejected(index, INSUFFICIENT_BALANCE);
+                }
+                debit(account, amount, TransactionType.TRANSFER_OUT, "Transfer to " + target.getAccountNumber());
+                credit(target, amount, TransactionType.TRANSFER_IN, "Transfer from " + account.getAccountNumber());
+            }
+        }
+        return OperationResult.applied(index, account.getBalance());
+    }
+
+    /**
+     * Account {@code accountNumber} as locked and changed so far, if it exists.
+     */
+    public Optional<Account> account(String accountNumber) {
+        return Optional.ofNullable(accounts.get(accountNumber));
+    }
+
+    /**
+     * Accounts whose balance changed, in the order they were first changed.
+     */
+    public Collection<Account> changedAccounts() {
+        return changed.values();
+    }
+
+    /**
+     * Transactions to record, in the order they happened.
+     */
+    public List<Transaction> transactions() {
+        return transactions;
+    }
+
+    private void credit(Account account, BigDecimal amount, TransactionType type, String description) {
+        account.deposit(amount);
+        record(account, amount, type, description);
+    }
+
+    private void debit(Account account, BigDecimal amount, TransactionType type, String description) {
+        account.withDraw(amount);
+        record(account, amount, type, description);
+    }
+
+    private void record(Account account, BigDecimal amount, TransactionType type, String description) {
+        changed.putIfAbsent(account.getAccountNumber(), account);
+        transactions.add(Transaction.builder()
+                .accountNumber(account.getAccountNumber())
+                .type(type)
+                .amount(amount)
+                .description(description).build());
+    }
+
+    /**
+     * Why {@code operation} cannot be applied whatever the balances, or {@code null}. Amounts
+     * with more than two decimal places are refused rather than rounded by the column, and
+     * amounts too large for it rather than failing the whole transaction.
+     */
+    static String validate(OperationRequest operation) {
+        if (operation == null) {
+            return "Operation is required";
+        }
+        if (operation.type() == null) {
+            return "type is required";
+        }
+        if (!List.of(OperationRequest.DEPOSIT, OperationRequest.WITHDRAW, OperationRequest.TRANSFER).contains(operation.type())) {
+            return "Unknown type " + operation.type();
+        }
+        if (operation.accountNumber() == null || operation.accountNumber().isEmpty()) {
+            return "accountNumber is required";
+        }
+        String invalidAmount = validateAmount(operation.amount());
+        if (invalidAmount != null) {
+            return invalidAmount;
+        }
+        if (OperationRequest.TRANSFER.equals(operation.type())) {
+            if (operation.toAccountNumber() == null || operation.toAccountNumber().isEmpty()) {
+                return "toAccountNumber is required for a transfer";
+            }
+            if (operation.toAccountNumber().equals(operation.accountNumber())) {
+                return "Source and target account must differ";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Why {@code amount} cannot be posted, or {@code null}; shared with the single operations
+     * so that they accept the same amounts with or without group commit.
+     */
+    static String validateAmount(BigDecimal amount) {
+        if (amount == null || amount.compareTo(MIN_AMOUNT) < 0) {
+            return "amount must be at least " + MIN_AMOUNT;
+        }
+        BigDecimal stripped = amount.stripTrailingZeros();
+        if (stripped.scale() > 2) {
+            return "amount must have at most two decimal places";
+        }
+        if (stripped.precision() - stripped.scale() > MAX_INTEGER_DIGITS) {
+            return "amount must have at most " + MAX_INTEGER_DIGITS + " digits before the decimal point";
+        }
+        return null;
+    }
+
+    private static String notFound(String accountNumber) {
+        return String.format("Account number %s not found", accountNumber);
+    }
+}
@@ -0,0 +1,160 @@
+package com.redhat.service;
+
+import com.redhat.config.BankingConfig;
+import com.redhat.exception.InvalidOperationException;
+import com.redhat.model.Account;
+import com.redhat.repository.AccountRepository;
+import com.redhat.rest.dto.BatchOperationsResponse;
+import com.redhat.rest.dto.OperationRequest;
+import com.redhat.rest.dto.OperationResult;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.StatelessSession;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes many deposits, withdrawals and transfers per request. Operations are split into
+ * chunks of {@code banking.operations-chunk-size}, each one database transaction that:
+ * <ol>
+ *     <li>locks every account the chunk touches with one {@code SELECT ... FOR UPDATE}, in
+ *     account number order like {@link AccountRepository#transfer}, so it cannot deadlock
+ *     with single transfers or other batches;</li>
+ *     <li>applies the operations in memory with a {@link BatchLedger};</li>
+ *     <li>writes the changed balances and the new transactions as JDBC batches, with ids
+ *     taken from the pooled {@code transaction_id_seq} optimizer.</li>
+ * </ol>
+ * Operations are independent: one that is rejected does not affect the others. A chunk whose
+ * transaction cannot be committed, after retrying serialization failures and deadlocks, is
+ * reported as failed as a whole, with a fixed error while the cause is logged, and the
+ * following chunks still run; chunks committed before it stay committed. Retries are set with
+ * {@code banking.operations-max-attempts} and {@code banking.operations-retry-*}, apart from
+ * the ones of single transfers since a chunk holds its locks far longer.
+ */
+@Slf4j
+@ApplicationScoped
+public class BatchOperationService {
+
+    private static final String LOCK_ACCOUNTS = """
+            SELECT * FROM Account WHERE accountNumber IN (:accountNumbers)
+            ORDER BY accountNumber
+            FOR UPDATE""";
+
+    @Inject
+    AccountRepository accountRepository;
+
+    @Inject
+    BankingConfig bankingConfig;
+
+    private TransactionRetry retry;
+
+    @PostConstruct
+    void init() {
+        retry = new TransactionRetry(bankingConfig.operationsMaxAttempts(),
+                bankingConfig.operationsRetryBackoffMillis(), bankingConfig.operationsRetryMaxBackoffMillis());
+    }
+
+    public BatchOperationsResponse execute(List<OperationRequest> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw InvalidOperationException.builder().reason("At least one operation is required").build();
+        }
+        if (operations.size() > bankingConfig.operationsBatchMaxSize()) {
+            throw InvalidOperationException.builder()
+                    .reason("At most " + bankingConfig.operationsBatchMaxSize() + " operations are allowed per batch")
+                    .build();
+        }
+        long start = System.nanoTime();
+        int chunkSize = bankingConfig.operationsChunkSize();
+        List<OperationResult> results = new ArrayList<>(operations.size());
+        int transactions = 0;
+        for (int from = 0; from < operations.size(); from += chunkSize) {
+            int offset = from;
+            List<OperationRequest> chunk = operations.subList(from, Math.min(from + chunkSize, operations.size()));
+            transactions++;
+            try {
+                results.addAll(commit(offset, chunk).results());
+            } catch (RuntimeException e) {
+                log.error("Batch operations {} to {} failed", offset, offset + chunk.size() - 1, e);
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.add(OperationResult.failed(offset + i, BatchLedger.TRANSACTION_FAILED));
+                }
+            }
+        }
+
+        long durationNanos = System.nanoTime() - start;
+        int[] counts = new int[3];
+        for (OperationResult result : results) {
+            switch (result.status()) {
+                case OperationResult.APPLIED -> counts[0]++;
+                case OperationResult.REJECTED -> counts[1]++;
+                default -> counts[2]++;
+            }
+        }
+        log.info("Batch of {} operations: {} applied, {} rejected, {} failed in {} ms", operations.size(),
+                counts[0], counts[1], counts[2], TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        return new BatchOperationsResponse(counts[0], counts[1], counts[2], transactions,
+                TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                durationNanos > 0 ? (long) (operations.size() * 1e9 / durationNanos) : 0,
+                results);
+    }
+
+    /**
+     * Applies {@code operations}, the ones of the request from {@code offset} on, in a new
+     * transaction, retrying serialization failures and deadlocks.
+     *
+     * @throws RuntimeException if the transaction could not be committed
+     */
+    Chunk commit(int offset, List<OperationRequest> operations) {
+        return retry.call(() -> QuarkusTransaction.requiringNew().call(() -> executeChunk(offset, operations)));
+    }
+
+    private Chunk executeChunk(int offset, List<OperationRequest> operations) {
+        Set<String> accountNumbers = new TreeSet<>();
+        for (OperationRequest operation : operations) {
+            if (operation != null) {
+                addIfPresent(accountNumbers, operation.accountNumber());
+                if (OperationRequest.TRANSFER.equals(operation.type())) {
+                    addIfPresent(accountNumbers, operation.toAccountNumber());
+                }
+            }
+        }
+
+        StatelessSession session = accountRepository.session();
+        List<Account> accounts = accountNumbers.isEmpty() ? List.of()
+                : session.createNativeQuery(LOCK_ACCOUNTS, Account.class)
+                .setParameterList("accountNumbers", accountNumbers)
+                .getResultList();
+
+        BatchLedger ledger = new BatchLedger(accounts);
+        OperationResult[] results = new OperationResult[operations.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = ledger.apply(offset + i, operations.get(i));
+        }
+
+        if (!ledger.changedAccounts().isEmpty()) {
+            session.updateMultiple(new ArrayList<>(ledger.changedAccounts()));
+            session.insertMultiple(ledger.transactions());
+        }
+        return new Chunk(Arrays.asList(results), ledger);
+    }
+
+    private static void addIfPresent(Set<String> accountNumbers, String accountNumber) {
+        if (accountNumber != null && !accountNumber.isEmpty()) {
+            accountNumbers.add(accountNumber);
+        }
+    }
+
+    /**
+     * Committed outcome of one chunk, with the ledger holding the state of its accounts.
+     */
+    record Chunk(List<OperationResult> results, BatchLedger ledger) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.redhat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.config.BankingConfig;
+import com.redhat.data.Compression;
+import com.redhat.data.DataCache;
+import com.redhat.data.DataFiles;
+import com.redhat.data.DataItemFilter;
+import com.redhat.data.DataItemStream;
+import com.redhat.data.DataMetrics;
+import com.redhat.data.DataReadRecorder;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataLoadResponse;
+import com.redhat.rest.dto.DataReadStats;
+import com.redhat.rest.dto.TransactionData;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serves fully parsed data-load files from a {@link DataCache}, so repeated reads of an
+ * unchanged file skip both parsing and serialization. Compressed files are also cached
+ * re-encoded with their own compression, ready for clients that accept it.
+ */
+@Slf4j
+@ApplicationScoped
+public class CachedDataReader {
+
+    public static final String OPERATION = "read-traditional";
+
+    @Inject
+    DataFiles dataFiles;
+
+    @Inject
+    BankingConfig bankingConfig;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    DataMetrics dataMetrics;
+
+    private DataCache cache;
+
+    @PostConstruct
+    void init() {
+        cache = new DataCache(bankingConfig.dataCacheMaxBytes(), this::load);
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        cache.close();
+    }
+
+    public DataCache.Lookup read(String location) throws IOException {
+        return cache.get(location);
+    }
+
+    private DataCache.Entry load(String location) throws IOException {
+        String source = dataFiles.describeSource(location);
+        List<AccountData> accounts = new ArrayList<>();
+        List<TransactionData> transactions = new ArrayList<>();
+
+        DataReadStats[] stats = new DataReadStats[1];
+        DataReadRecorder recorder = dataMetrics.recorder(OPERATION, location, sample -> stats[0] = sample.toStats(OPERATION, 1));
+        try (DataItemStream reader = dataFiles.openItems(objectMapper, location, DataItemFilter.NONE, recorder)) {
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case AccountData account -> accounts.add(account);
+                    case TransactionData transaction -> transactions.add(transaction);
+                }
+            }
+        }
+
+        DataLoadResponse data = new DataLoadResponse(accounts, transactions);
+        log.info("Loaded {} accounts and {} transactions from {}", accounts.size(), transactions.size(), location);
+        byte[] json = objectMapper.writeValueAsBytes(data);
+        Compression compression = Compression.of(location);
+        if (compression == Compression.NONE) {
+            return new DataCache.Entry(data, json, source).withStats(stats[0]);
+        }
+        return new DataCache.Entry(data, json, source, compression.encoding(), compression.encode(json)).withStats(stats[0]);
+    }
+}
@@ -0,0 +1,140 @@
+package com.redhat.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.config.BankingConfig;
+import com.redhat.data.Compression;
+import com.redhat.data.DataLoadWriter;
+import com.redhat.rest.dto.DataExportResponse;
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.regex.Pattern;
+
+/**
+ * Exports the {@code Account} and {@code Transaction} tables as a data-load document, which the
+ * data-load readers accept unchanged.
+ * <p>
+ * Both tables are read in one read-only {@code REPEATABLE READ} transaction, so accounts and
+ * transactions come from the same snapshot, through forward-only cursors that fetch
+ * {@link BankingConfig#dataExportFetchSize()} rows at a time. Each row is written to the
+ * generator as soon as it is fetched, so heap use does not grow with the tables.
+ */
+@Slf4j
+@ApplicationScoped
+public class DataExportService {
+
+    private static final String SELECT_ACCOUNTS = "SELECT accountNumber, ownerId, balance FROM Account ORDER BY accountNumber";
+    private static final String SELECT_TRANSACTIONS = """
+            SELECT accountNumber, type, amount, description FROM Transaction ORDER BY transactionId""";
+
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*\\.json(\\.gz|\\.zst)?");
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    BankingConfig bankingConfig;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    /**
+     * Writes the export to {@code out}, which is flushed but left open. If reading the tables
+     * fails, what was written so far is left unterminated, see {@link DataLoadWriter}.
+     *
+     * @return the finished writer, for its counts
+     */
+    public DataLoadWriter export(OutputStream out) throws IOException {
+        long startTime = System.currentTimeMillis();
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (Connection connection = dataSource.getConnection();
+             DataLoadWriter writer = new DataLoadWriter(generator)) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try {
+                try (ResultSet rows = query(connection, SELECT_ACCOUNTS)) {
+                    while (rows.next()) {
+                        writer.writeAccount(rows.getString(1), rows.getString(2), rows.getBigDecimal(3));
+                    }
+                }
+                try (ResultSet rows = query(connection, SELECT_TRANSACTIONS)) {
+                    while (rows.next()) {
+                        writer.writeTransaction(rows.getString(1), rows.getString(2), rows.getBigDecimal(3), rows.getString(4));
+                    }
+                }
+                writer.finish();
+            } finally {
+                connection.rollback();
+            }
+            log.info("Exported {} accounts and {} transactions in {} ms",
+                    writer.accounts(), writer.transactions(), System.currentTimeMillis() - startTime);
+            return writer;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Export failed", e);
+        }
+    }
+
+    /**
+     * Writes the export to {@code name}, or to a timestamped file, in
+     * {@link BankingConfig#dataExportDirectory()}, compressed according to its extension. The
+     * file is written under a temporary name and moved into place, so readers never see a
+     * partial export.
+     */
+    public DataExportResponse exportToFile(String name) throws IOException {
+        if (name == null || name.isBlank()) {
+            name = "export-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".json";
+        } else if (!FILE_NAME.matcher(name).matches()) {
+            throw new BadRequestException("Export file name must be a plain name ending in .json, .json.gz or .json.zst: " + name);
+        }
+
+        long startTime = System.currentTimeMillis();
+        Path directory = Paths.get(bankingConfig.dataExportDirectory());
+        Files.createDirectories(directory);
+        Path target = directory.resolve(name);
+        Path temp = Files.createTempFile(directory, name, ".tmp");
+        DataLoadWriter writer;
+        try {
+            try (OutputStream out = Compression.of(name).encode(
+                    new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE))) {
+                writer = export(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("Wrote export {} in {} ms", target, duration);
+        return new DataExportResponse(target.toString(), writer.accounts(), writer.transactions(),
+                Files.size(target), duration);
+    }
+
+    private ResultSet query(Connection connection, String sql) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(bankingConfig.dataExportFetchSize());
+        statement.closeOnCompletion();
+        return statement.executeQuery();
+    }
+}
@@ -0,0 +1,130 @@
+package com.redhat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.config.BankingConfig;
+import com.redhat.data.DataFiles;
+import com.redhat.data.DataImportSession;
+import com.redhat.data.DataItemDeduplicator;
+import com.redhat.data.DataItemFilter;
+import com.redhat.data.DataItemStream;
+import com.redhat.data.DataMetrics;
+import com.redhat.data.MalformedItemException;
+import com.redhat.rest.dto.DataImportResponse;
+import com.redhat.rest.dto.DataItem;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@Slf4j
+@ApplicationScoped
+public class DataImportService {
+
+    public static final String OPERATION = "import";
+
+    @Inject
+    DataFiles dataFiles;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    BankingConfig bankingConfig;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    DataMetrics dataMetrics;
+
+    /**
+     * @param dedup drop items identical to an earlier one and report them in
+     *              {@link DataImportResponse#duplicates()}
+     */
+    @Transactional
+    @TransactionConfiguration(timeout = 3600)
+    public DataImportResponse importConfigured(boolean dedup) {
+        String location = dataFiles.configuredLocation();
+        if (!dedup) {
+            return importFile(location, DataItemFilter.NONE, null, () -> {
+            });
+        }
+        try (DataItemDeduplicator deduplicator = newDeduplicator();
+             DataItemDeduplicator.Scope duplicates = deduplicator.newScope()) {
+            DataImportResponse response = importFile(location, DataItemFilter.NONE, duplicates, () -> {
+            });
+            duplicates.commit();
+            return response.withDuplicates(deduplicator.stats());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Import of " + location + " failed", e);
+        }
+    }
+
+    /**
+     * Deduplicator within the configured memory budget that spills to the temporary directory.
+     */
+    public DataItemDeduplicator newDeduplicator() {
+        return new DataItemDeduplicator(bankingConfig.dataDedupMemoryBytes(), bankingConfig.dataDedupBloomBytes(),
+                Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Imports the items of one data file that match {@code filter} within one transaction;
+     * {@code onItem} runs after each item has been handed to the session. Items already seen
+     * by {@code duplicates} are skipped unless it is {@code null}; the caller commits the
+     * scope once the transaction has.
+     */
+    @Transactional
+    @TransactionConfiguration(timeout = 3600)
+    public DataImportResponse importFile(String location, DataItemFilter filter, DataItemDeduplicator.Scope duplicates,
+                                         Runnable onItem) {
+        try (DataItemStream items = dataFiles.parse(objectMapper, location, filter,
+                dataMetrics.recorder(OPERATION, location))) {
+            return importItems(location, duplicates != null ? duplicates.wrap(items) : items, onItem);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Import of " + location + " failed", e);
+        }
+    }
+
+    /**
+     * Imports items pulled from {@code items} within one transaction; {@code source} only
+     * names them in errors. Elements the stream reports as malformed are rejected like invalid
+     * items, without ending the import. The stream is not closed.
+     */
+    @Transactional
+    @TransactionConfiguration(timeout = 3600)
+    public DataImportResponse importItems(String source, DataItemStream items, Runnable onItem) {
+        try (Connection connection = dataSource.getConnection();
+             DataImportSession session = new DataImportSession(connection, bankingConfig.dataImportBatchSize())) {
+
+            while (true) {
+                DataItem item;
+                try {
+                    if (!items.hasNext()) {
+                        break;
+                    }
+                    item = items.next();
+                } catch (MalformedItemException e) {
+                    session.reject(e);
+                    continue;
+                }
+                session.accept(item);
+                onItem.run();
+            }
+
+            return session.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Import of " + source + " failed", e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Import of " + source + " failed", e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.redhat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.config.BankingConfig;
+import com.redhat.data.ByteSource;
+import com.redhat.data.Compression;
+import com.redhat.data.DataFiles;
+import com.redhat.data.DataIndex;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.DataPageResponse;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Maintains the {@link DataIndex} of the configured data-load file and serves pages of it.
+ * The index is loaded from its {@code .idx} sibling or built in the background at startup,
+ * and rebuilt on the next request once the file has changed.
+ */
+@Slf4j
+@ApplicationScoped
+public class DataIndexService {
+
+    @Inject
+    DataFiles dataFiles;
+
+    @Inject
+    BankingConfig bankingConfig;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private volatile CompletableFuture<DataIndex> index;
+
+    void onStart(@Observes StartupEvent event) {
+        indexing();
+    }
+
+    /**
+     * Whether the initial indexing has finished, successfully or not.
+     */
+    public boolean isIndexed() {
+        CompletableFuture<DataIndex> current = index;
+        return current != null && current.isDone();
+    }
+
+    public Optional<DataIndex> current() {
+        CompletableFuture<DataIndex> current = index;
+        if (current == null || !current.isDone() || current.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.of(current.join());
+    }
+
+    public <T extends DataItem> DataPageResponse<T> page(Class<T> type, long offset, int limit) throws IOException {
+        String location = dataFiles.configuredLocation();
+        DataIndex dataIndex = index(location);
+        long total = dataIndex.count(type);
+        if (offset >= total) {
+            return new DataPageResponse<>(offset, limit, total, List.of());
+        }
+
+        try (InputStream in = dataFiles.open(location)) {
+            return new DataPageResponse<>(offset, limit, total, dataIndex.read(objectMapper, in, type, offset, limit));
+        }
+    }
+
+    private DataIndex index(String location) throws IOException {
+        DataIndex current = await(indexing());
+        if (isStale(current, location)) {
+            synchronized (this) {
+                current = await(index);
+                if (isStale(current, location)) {
+                    current = loadOrBuild(location);
+                    index = CompletableFuture.completedFuture(current);
+                }
+            }
+        }
+        return current;
+    }
+
+    private synchronized CompletableFuture<DataIndex> indexing() {
+        CompletableFuture<DataIndex> current = index;
+        if (current == null || current.isCompletedExceptionally()) {
+            String location = dataFiles.configuredLocation();
+            current = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return loadOrBuild(location);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, Infrastructure.getDefaultWorkerPool());
+            current.whenComplete((built, failure) -> {
+                if (failure != null) {
+                    log.warn("Indexing {} failed: {}", location, failure.getMessage());
+                }
+            });
+            index = current;
+        }
+        return current;
+    }
+
+    private DataIndex loadOrBuild(String location) throws IOException {
+        if (DataFiles.isCsv(location)) {
+            throw new BadRequestException("Paging by index needs a JSON data file; " + location + " is CSV");
+        }
+        int stride = bankingConfig.dataIndexStride();
+        Path path = Paths.get(location);
+        if (!Files.isRegularFile(path)) {
+            try (InputStream in = dataFiles.open(location)) {
+                return DataIndex.build(in, -1, stride, -1);
+            }
+        }
+
+        long size = Files.size(path);
+        long modified = Files.getLastModifiedTime(path).toMillis();
+        Path indexPath = DataIndex.siblingOf(path);
+        try {
+            Optional<DataIndex> persisted = DataIndex.read(indexPath)
+                    .filter(existing -> existing.matches(size, modified) && existing.stride() == stride);
+            if (persisted.isPresent()) {
+                log.info("Loaded data index {}", indexPath);
+                return persisted.get();
+            }
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable data index {}: {}", indexPath, e.getMessage());
+        }
+
+        long startTime = System.currentTimeMillis();
+        DataIndex built;
+        if (Compression.of(location) == Compression.NONE) {
+            try (ByteSource source = ByteSource.of(path)) {
+                built = DataIndex.build(source, stride, modified);
+            }
+        } else {
+            try (InputStream in = dataFiles.open(location)) {
+                built = DataIndex.build(in, size, stride, modified);
+            }
+        }
+        log.info("Indexed {} accounts and {} transactions of {} in {} ms",
+                built.accounts(), built.transactions(), location, System.currentTimeMillis() - startTime);
+        try {
+            built.write(indexPath);
+        } catch (IOException e) {
+            log.warn("Cannot persist data index {}, keeping it in memory: {}", indexPath, e.getMessage());
+        }
+        return built;
+    }
+
+    private static boolean isStale(DataIndex dataIndex, String location) throws IOException {
+        Path path = Paths.get(location);
+        return Files.isRegularFile(path)
+                && !dataIndex.matches(Files.size(path), Files.getLastModifiedTime(path).toMillis());
+    }
+
+    private static DataIndex await(CompletableFuture<DataIndex> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+}
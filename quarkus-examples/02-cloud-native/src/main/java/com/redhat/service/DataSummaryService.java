@@ -0,0 +1,103 @@
+package com.redhat.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.data.DataFiles;
+import com.redhat.data.DataItemFilter;
+import com.redhat.data.DataItemStream;
+import com.redhat.data.LedgerSummary;
+import com.redhat.model.TransactionType;
+import com.redhat.rest.dto.AccountSummary;
+import com.redhat.rest.dto.BalanceBucket;
+import com.redhat.rest.dto.DataSummaryResponse;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Slf4j
+@ApplicationScoped
+public class DataSummaryService {
+
+    @Inject
+    DataFiles dataFiles;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    /**
+     * Replays the configured data file: JSON straight from its tokens, CSV through its decoder.
+     */
+    public DataSummaryResponse summarize(int top, int buckets, boolean details) throws IOException {
+        long startTime = System.currentTimeMillis();
+        String location = dataFiles.configuredLocation();
+        LedgerSummary ledger = new LedgerSummary();
+        if (DataFiles.isCsv(location)) {
+            try (DataItemStream items = dataFiles.parse(objectMapper, location, DataItemFilter.NONE)) {
+                ledger.read(items);
+            }
+        } else {
+            try (JsonParser parser = dataFiles.createParser(objectMapper, location)) {
+                ledger.readJson(parser);
+            }
+        }
+
+        List<AccountSummary> topBalances = Arrays.stream(ledger.topByEndingBalance(top))
+                .mapToObj(slot -> accountSummary(ledger, slot))
+                .toList();
+
+        long[] counts = ledger.histogram(buckets);
+        long[] bounds = ledger.histogramBounds(buckets);
+        List<BalanceBucket> histogram = new ArrayList<>(buckets);
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            long from = bounds[0] + bucket * bounds[1];
+            histogram.add(new BalanceBucket(amount(from), amount(from + bounds[1]), counts[bucket]));
+        }
+
+        List<AccountSummary> accountSummaries = null;
+        if (details) {
+            accountSummaries = new ArrayList<>(ledger.accounts());
+            for (int slot = 0; slot < ledger.accounts(); slot++) {
+                accountSummaries.add(accountSummary(ledger, slot));
+            }
+        }
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("Summarized {} accounts and {} transactions of {} in {} ms",
+                ledger.accounts(), ledger.transactions(), location, duration);
+        return new DataSummaryResponse(
+                ledger.accounts(),
+                ledger.transactions(),
+                ledger.rejected(),
+                amount(ledger.totalCents(TransactionType.DEPOSIT)),
+                amount(ledger.totalCents(TransactionType.WITHDRAW)),
+                amount(ledger.totalCents(TransactionType.TRANSFER_IN)),
+                amount(ledger.totalCents(TransactionType.TRANSFER_OUT)),
+                topBalances,
+                histogram,
+                accountSummaries,
+                duration);
+    }
+
+    private static AccountSummary accountSummary(LedgerSummary ledger, int slot) {
+        return new AccountSummary(
+                ledger.accountNumber(slot),
+                amount(ledger.openingCents(slot)),
+                amount(ledger.totalCents(slot, TransactionType.DEPOSIT)),
+                amount(ledger.totalCents(slot, TransactionType.WITHDRAW)),
+                amount(ledger.totalCents(slot, TransactionType.TRANSFER_IN)),
+                amount(ledger.totalCents(slot, TransactionType.TRANSFER_OUT)),
+                amount(ledger.endingCents(slot)),
+                ledger.transactionCount(slot),
+                ledger.isListed(slot));
+    }
+
+    private static BigDecimal amount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,183 @@
+package com.redhat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.config.BankingConfig;
+import com.redhat.data.Compression;
+import com.redhat.data.DataFiles;
+import com.redhat.data.DataImportSession;
+import com.redhat.data.DataItemReader;
+import com.redhat.data.Watermark;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataImportResponse;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.DeltaImportResponse;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Imports only what has been appended to the configured data file since the last run. The
+ * file is imported in segments of {@link BankingConfig#dataCheckpointItems()} items, each in
+ * its own transaction that also stores the new {@link Watermark}; a run that fails restarts
+ * from the last committed segment, and a later run parses and hashes only the bytes past it.
+ * <p>
+ * Runs of the same file are serialized by their checkpoints: each one replaces the watermark
+ * only if it is still the one its segment started from, see {@link Watermark#replace}, so
+ * when two runs import the same delta at once the second to commit rolls back its segment
+ * and fails instead of inserting the same rows again.
+ */
+@Slf4j
+@ApplicationScoped
+public class DeltaImportService {
+
+    private static final int MAX_REPORTED_REJECTS = 100;
+
+    @Inject
+    DataFiles dataFiles;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    BankingConfig bankingConfig;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    /**
+     * @param reset  import from the start even if the stored watermark no longer matches
+     * @param verify re-hash the whole ingested prefix instead of only its tail
+     * @throws ClientErrorException with status 409 if the ingested prefix has changed and
+     *                              {@code reset} is not set, or if another run moved the
+     *                              watermark meanwhile
+     */
+    public DeltaImportResponse importDelta(boolean reset, boolean verify) {
+        String location = dataFiles.configuredLocation();
+        Path path = Paths.get(location).toAbsolutePath().normalize();
+        if (!Files.isRegularFile(path) || Compression.of(location) != Compression.NONE) {
+            throw new BadRequestException("Incremental imports need an uncompressed data file on the filesystem: " + location);
+        }
+        if (DataFiles.isCsv(location)) {
+            throw new BadRequestException("Incremental imports need a JSON data file; " + location + " is CSV");
+        }
+        String source = path.toString();
+        long startTime = System.currentTimeMillis();
+
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            Optional<Watermark> stored = storedWatermark(source);
+            Watermark watermark = reset ? Watermark.start(source) : stored.orElseGet(() -> Watermark.start(source));
+            long storedOffset = stored.map(Watermark::offset).orElse(-1L);
+            if (!watermark.matches(file, verify)) {
+                throw new ClientErrorException(source + " changed before offset " + watermark.offset()
+                        + " since the last import; import with reset=true to start over", Response.Status.CONFLICT);
+            }
+            long resumedFrom = watermark.offset();
+            int checkpoints = 0;
+            List<DataImportResponse> segments = new ArrayList<>();
+
+            try (DataItemReader reader = new DataItemReader(objectMapper.getFactory().createParser(watermark.resume(file)))) {
+                if (watermark.hasPlaceholder() && reader.hasNext()) {
+                    reader.next();
+                }
+                while (reader.hasNext()) {
+                    Segment segment = importSegment(reader, watermark, storedOffset, file);
+                    watermark = segment.watermark();
+                    storedOffset = watermark.offset();
+                    segments.add(segment.imported());
+                    checkpoints++;
+                    log.info("Checkpoint {} of {} at offset {}: {} accounts, {} transactions",
+                            checkpoints, source, watermark.offset(), watermark.accounts(), watermark.transactions());
+                }
+            }
+
+            DataImportResponse imported = combine(segments, System.currentTimeMillis() - startTime);
+            log.info("Imported {} from offset {} to {} in {} ms", source, resumedFrom, watermark.offset(), imported.durationMs());
+            return new DeltaImportResponse(source, resumedFrom, watermark.offset(), watermark.accounts(),
+                    watermark.transactions(), checkpoints, imported);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Incremental import of " + location + " failed", e);
+        }
+    }
+
+    private Optional<Watermark> storedWatermark(String source) {
+        try (Connection connection = dataSource.getConnection()) {
+            return Watermark.load(connection, source);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Reading the watermark of " + source + " failed", e);
+        }
+    }
+
+    /**
+     * Imports the next segment and replaces the stored watermark, expected at
+     * {@code storedOffset}, in one transaction.
+     */
+    private Segment importSegment(DataItemReader reader, Watermark from, long storedOffset, FileChannel file) {
+        return QuarkusTransaction.requiringNew().timeout(3600).call(() -> {
+            try (Connection connection = dataSource.getConnection();
+                 DataImportSession session = new DataImportSession(connection, bankingConfig.dataImportBatchSize())) {
+                String section = from.section();
+                long accounts = from.accounts();
+                long transactions = from.transactions();
+                for (int items = 0; items < bankingConfig.dataCheckpointItems() && reader.hasNext(); items++) {
+                    DataItem item = reader.next();
+                    session.accept(item);
+                    if (item instanceof AccountData) {
+                        section = Watermark.ACCOUNTS;
+                        accounts++;
+                    } else {
+                        section = Watermark.TRANSACTIONS;
+                        transactions++;
+                    }
+                }
+                DataImportResponse imported = session.finish();
+                Watermark to = from.advance(file, reader.itemEnd() + from.shift(), section, accounts, transactions);
+                if (!to.replace(connection, storedOffset)) {
+                    throw new ClientErrorException("Another import of " + from.source() + " moved its watermark past offset "
+                            + from.offset() + "; run again to continue from it", Response.Status.CONFLICT);
+                }
+                return new Segment(to, imported);
+            }
+        });
+    }
+
+    private static DataImportResponse combine(List<DataImportResponse> segments, long durationMs) {
+        long accountsImported = 0;
+        long transactionsImported = 0;
+        long accountsRejected = 0;
+        long transactionsRejected = 0;
+        List<String> rejects = new ArrayList<>();
+        String mode = DataImportSession.MODE_COPY;
+        for (DataImportResponse segment : segments) {
+            mode = segment.mode();
+            accountsImported += segment.accountsImported();
+            transactionsImported += segment.transactionsImported();
+            accountsRejected += segment.accountsRejected();
+            transactionsRejected += segment.transactionsRejected();
+            segment.rejects().stream().limit(MAX_REPORTED_REJECTS - rejects.size()).forEach(rejects::add);
+        }
+        long rows = accountsImported + transactionsImported + accountsRejected + transactionsRejected;
+        return new DataImportResponse(mode, accountsImported, transactionsImported, accountsRejected,
+                transactionsRejected, durationMs, durationMs > 0 ? rows * 1000 / durationMs : rows, rejects, null);
+    }
+
+    private record Segment(Watermark watermark, DataImportResponse imported) {
+    }
+}
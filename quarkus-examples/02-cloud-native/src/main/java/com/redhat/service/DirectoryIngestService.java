@@ -0,0 +1,198 @@
+package com.redhat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.config.BankingConfig;
+import com.redhat.data.DataFiles;
+import com.redhat.data.DataItemDeduplicator;
+import com.redhat.data.DataItemFilter;
+import com.redhat.data.DataItemStream;
+import com.redhat.data.DataMetrics;
+import com.redhat.rest.dto.DataImportResponse;
+import com.redhat.rest.dto.DataItem;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads or imports every data file of the data directory, at most
+ * {@link BankingConfig#dataDirectoryParallelism()} files at a time. Files are processed
+ * independently: a failing file is recorded and skipped, and a slow one only holds its own
+ * slot. Progress of the recent jobs is kept for {@link #jobs()}.
+ * <p>
+ * An import runs in two passes, the accounts of every file and then the transactions of
+ * every file, so that a transaction is never dropped as an orphan because its account is in
+ * a shard that has not been committed yet.
+ */
+@Slf4j
+@ApplicationScoped
+public class DirectoryIngestService {
+
+    static final int MAX_JOBS = 16;
+    static final String READ_DIRECTORY = "read-directory";
+
+    @Inject
+    DataFiles dataFiles;
+
+    @Inject
+    DataImportService dataImportService;
+
+    @Inject
+    BankingConfig bankingConfig;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    DataMetrics dataMetrics;
+
+    private final AtomicLong ids = new AtomicLong();
+    private final Deque<DirectoryJob> jobs = new ArrayDeque<>();
+    private ExecutorService importPool;
+
+    @PostConstruct
+    void init() {
+        importPool = Executors.newFixedThreadPool(parallelism(),
+                Thread.ofPlatform().name("data-directory-import-", 0).daemon().factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        importPool.shutdownNow();
+    }
+
+    public int parallelism() {
+        return bankingConfig.dataDirectoryParallelism();
+    }
+
+    /**
+     * Merges the items of all files into one stream. Up to {@link #parallelism()} files are
+     * read concurrently on worker threads, so items of different files interleave.
+     */
+    public Multi<DataItem> read(DataItemFilter filter) throws IOException {
+        DirectoryJob job = register(DirectoryJob.READ, dataFiles.discover(), null);
+        List<Multi<DataItem>> streams = new ArrayList<>(job.files().size());
+        for (DirectoryJob.FileState file : job.files()) {
+            streams.add(DataItemStream.multi(() -> {
+                        file.start();
+                        return dataFiles.openItems(objectMapper, file.path(), filter,
+                                dataMetrics.recorder(READ_DIRECTORY, file.path()));
+                    })
+                    .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+                    .onItem().invoke(file::item)
+                    .onCompletion().invoke(() -> file.done(null))
+                    .onCancellation().invoke(file::cancel)
+                    .onFailure().invoke(e -> {
+                        log.warn("Skipping {} of directory read {}: {}", file.path(), job.id(), e.getMessage());
+                        file.fail(e);
+                    })
+                    .onFailure().recoverWithCompletion());
+        }
+        return Multi.createBy().merging().withConcurrency(parallelism()).streams(streams)
+                .onCancellation().invoke(() -> job.files().forEach(DirectoryJob.FileState::cancel));
+    }
+
+    /**
+     * Starts importing every file and returns immediately; only one import runs at a time.
+     * The accounts of each file are imported in one transaction and, once those of all files
+     * are, its transactions in another. A file whose accounts fail is not read again. With
+     * {@code dedup}, items identical to one already committed, or to an earlier one of the
+     * same transaction, are skipped; see {@link DataItemDeduplicator.Scope}.
+     *
+     * @throws ClientErrorException with status 409 if an import is still running
+     */
+    public synchronized DirectoryJob startImport(boolean dedup) throws IOException {
+        Optional<DirectoryJob> running = jobs.stream()
+                .filter(job -> DirectoryJob.IMPORT.equals(job.mode()) && job.isRunning())
+                .findFirst();
+        if (running.isPresent()) {
+            throw new ClientErrorException("Directory import " + running.get().id() + " is still running",
+                    Response.Status.CONFLICT);
+        }
+
+        List<Path> files = dataFiles.discover();
+        DirectoryJob job = register(DirectoryJob.IMPORT, files, dedup ? dataImportService.newDeduplicator() : null);
+        importAll(job, DataItemFilter.ACCOUNTS)
+                .thenCompose(ignored -> importAll(job, DataItemFilter.TRANSACTIONS))
+                .whenComplete((ignored, failure) -> closeDeduplicator(job));
+        return job;
+    }
+
+    /**
+     * Imports the items matching {@code filter} of every file still running, each in its own
+     * transaction; completes when all have.
+     */
+    private CompletableFuture<Void> importAll(DirectoryJob job, DataItemFilter filter) {
+        return CompletableFuture.allOf(job.files().stream()
+                .filter(DirectoryJob.FileState::isActive)
+                .map(file -> CompletableFuture.runAsync(() -> importPart(job, file, filter), importPool))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private void importPart(DirectoryJob job, DirectoryJob.FileState file, DataItemFilter filter) {
+        boolean accounts = filter == DataItemFilter.ACCOUNTS;
+        if (accounts) {
+            file.start();
+        }
+        try (DataItemDeduplicator.Scope duplicates = job.deduplicator() != null ? job.deduplicator().newScope() : null) {
+            DataImportResponse result = dataImportService.importFile(file.path(), filter, duplicates, file::item);
+            if (duplicates != null) {
+                duplicates.commit();
+            }
+            if (accounts) {
+                file.progress(result);
+            } else {
+                file.done(file.result().plus(result));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Import of {} in directory import {} failed", file.path(), job.id(), e);
+            file.fail(e);
+        }
+    }
+
+    public synchronized List<DirectoryJob> jobs() {
+        return List.copyOf(jobs);
+    }
+
+    public synchronized Optional<DirectoryJob> job(long id) {
+        return jobs.stream().filter(job -> job.id() == id).findFirst();
+    }
+
+    private static void closeDeduplicator(DirectoryJob job) {
+        try {
+            job.closeDeduplicator();
+        } catch (IOException e) {
+            log.warn("Deleting the deduplication files of directory import {} failed", job.id(), e);
+        }
+    }
+
+    private synchronized DirectoryJob register(String mode, List<Path> files, DataItemDeduplicator deduplicator)
+            throws IOException {
+        DirectoryJob job = new DirectoryJob(ids.incrementAndGet(), mode, Paths.get(bankingConfig.dataDirectory()),
+                parallelism(), files, deduplicator);
+        jobs.addFirst(job);
+        while (jobs.size() > MAX_JOBS) {
+            jobs.removeLast();
+        }
+        log.info("Started directory {} {} over {} files", mode.toLowerCase(), job.id(), files.size());
+        return job;
+    }
+}
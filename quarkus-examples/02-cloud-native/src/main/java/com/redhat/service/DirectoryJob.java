@@ -0,0 +1,178 @@
+package com.redhat.service;
+
+import com.redhat.data.DataItemDeduplicator;
+import com.redhat.rest.dto.DataImportResponse;
+import com.redhat.rest.dto.DeduplicationStats;
+import com.redhat.rest.dto.DirectoryJobResponse;
+import com.redhat.rest.dto.FileProgress;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live progress of one directory read or import. Each file is updated by the one thread
+ * processing it and may be read concurrently by the progress endpoint.
+ */
+public final class DirectoryJob {
+
+    public static final String READ = "READ";
+    public static final String IMPORT = "IMPORT";
+
+    public static final String PENDING = "PENDING";
+    public static final String RUNNING = "RUNNING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+    public static final String CANCELLED = "CANCELLED";
+
+    private final long id;
+    private final String mode;
+    private final Path directory;
+    private final int parallelism;
+    private final Instant startedAt = Instant.now();
+    private final List<FileState> files;
+    private final DataItemDeduplicator deduplicator;
+    private volatile DeduplicationStats duplicates;
+
+    DirectoryJob(long id, String mode, Path directory, int parallelism, List<Path> paths,
+                 DataItemDeduplicator deduplicator) throws IOException {
+        this.id = id;
+        this.mode = mode;
+        this.directory = directory;
+        this.parallelism = parallelism;
+        this.deduplicator = deduplicator;
+        this.files = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            files.add(new FileState(path.toString(), Files.size(path)));
+        }
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public String mode() {
+        return mode;
+    }
+
+    public List<FileState> files() {
+        return files;
+    }
+
+    /**
+     * Deduplicator shared by all files of the job, {@code null} without deduplication.
+     */
+    public DataItemDeduplicator deduplicator() {
+        return deduplicator;
+    }
+
+    /**
+     * Keeps the final duplicate counts and deletes the deduplicator's temporary files.
+     */
+    void closeDeduplicator() throws IOException {
+        if (deduplicator != null) {
+            duplicates = deduplicator.stats();
+            deduplicator.close();
+        }
+    }
+
+    public boolean isRunning() {
+        return files.stream().anyMatch(FileState::isActive);
+    }
+
+    public DirectoryJobResponse toResponse() {
+        List<FileProgress> progress = files.stream().map(FileState::toProgress).toList();
+        long finished = progress.stream().filter(file -> !PENDING.equals(file.status()) && !RUNNING.equals(file.status())).count();
+        String status = finished < progress.size() ? RUNNING
+                : progress.stream().anyMatch(file -> !DONE.equals(file.status())) ? FAILED
+                : DONE;
+        return new DirectoryJobResponse(id, mode, directory.toString(), parallelism, startedAt, status, finished,
+                progress.stream().mapToLong(FileProgress::items).sum(),
+                deduplicator == null ? null : duplicates != null ? duplicates : deduplicator.stats(), progress);
+    }
+
+    public static final class FileState {
+        private final String path;
+        private final long size;
+        private final AtomicLong items = new AtomicLong();
+        private volatile String status = PENDING;
+        private volatile long startNanos;
+        private volatile long endNanos;
+        private volatile DataImportResponse result;
+        private volatile String error;
+
+        FileState(String path, long size) {
+            this.path = path;
+            this.size = size;
+        }
+
+        public String path() {
+            return path;
+        }
+
+        boolean isActive() {
+            return PENDING.equals(status) || RUNNING.equals(status);
+        }
+
+        void start() {
+            startNanos = System.nanoTime();
+            status = RUNNING;
+        }
+
+        void item() {
+            items.incrementAndGet();
+        }
+
+        /**
+         * Result of the part of the work done so far, while the file is still running.
+         */
+        DataImportResponse result() {
+            return result;
+        }
+
+        void progress(DataImportResponse result) {
+            this.result = result;
+        }
+
+        void done(DataImportResponse result) {
+            this.result = result;
+            finish(DONE);
+        }
+
+        void fail(Throwable failure) {
+            error = failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName();
+            finish(FAILED);
+        }
+
+        void cancel() {
+            if (isActive()) {
+                finish(CANCELLED);
+            }
+        }
+
+        private void finish(String finalStatus) {
+            endNanos = System.nanoTime();
+            if (startNanos == 0) {
+                startNanos = endNanos;
+            }
+            status = finalStatus;
+        }
+
+        FileProgress toProgress() {
+            String current = status;
+            long start = startNanos;
+            long end = PENDING.equals(current) || RUNNING.equals(current) ? System.nanoTime() : endNanos;
+            long nanos = PENDING.equals(current) ? 0 : Math.max(end - start, 1);
+            long count = items.get();
+            long itemsPerSecond = nanos == 0 ? 0 : (long) (count * 1e9 / nanos);
+            Long bytesPerSecond = DONE.equals(current) ? (long) (size * 1e9 / nanos) : null;
+            return new FileProgress(path, size, current, count, TimeUnit.NANOSECONDS.toMillis(nanos),
+                    itemsPerSecond, bytesPerSecond, result, error);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.redhat.service;
+
+import com.redhat.config.BankingConfig;
+import com.redhat.exception.AccountNotFoundException;
+import com.redhat.exception.InsufficientBalanceException;
+import com.redhat.exception.InvalidOperationException;
+import com.redhat.model.Account;
+import com.redhat.rest.dto.GroupCommitStats;
+import com.redhat.rest.dto.OperationRequest;
+import com.redhat.rest.dto.OperationResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Group commit for single deposits, withdrawals and transfers, enabled with
+ * {@code banking.group-commit-enabled}. Callers queue their operation and wait; each of
+ * {@code banking.group-commit-threads} committers takes the oldest one, gathers the others
+ * arriving within {@code banking.group-commit-window-micros} of it, up to
+ * {@code banking.group-commit-max-batch-size}, and applies them all in one transaction with
+ * {@link BatchOperationService#commit}, so concurrent requests share one commit and one WAL
+ * flush instead of paying for their own.
+ * <p>
+ * Each caller still gets its own outcome: operations are applied in the order they were
+ * queued and one that is rejected, for a missing account or a low balance, throws the same
+ * exception as without grouping and does not affect the others. When the database refuses a
+ * transaction for the values in it, such as a deposit that overflows a balance, its halves
+ * are committed on their own, down to single operations, so only the offending one fails; a
+ * transaction that fails for any other reason fails every operation in it. Amounts that can
+ * never fit are rejected before they are queued. The batch sizes and latencies are kept as
+ * {@link Histogram}s, see {@link #stats()}, to tune the window against.
+ * <p>
+ * No caller waits forever: one that gets no outcome within
+ * {@code banking.group-commit-timeout-millis} fails, and its operation is dropped if it has
+ * not been picked up yet. Operations still queued when the application shuts down, or when
+ * the last committer dies, fail right away, and later ones are refused.
+ */
+@Slf4j
+@ApplicationScoped
+public class GroupCommitExecutor {
+
+    @Inject
+    BankingConfig bankingConfig;
+
+    @Inject
+    BatchOperationService batchOperationService;
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final List<Thread> committers = new ArrayList<>();
+    private final AtomicInteger liveCommitters = new AtomicInteger();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder operations = new LongAdder();
+    private final Histogram batchSizes = new Histogram();
+    private final Histogram latencies = new Histogram();
+    private volatile boolean running;
+
+    @PostConstruct
+    void init() {
+        if (!isEnabled()) {
+            return;
+        }
+        running = true;
+        liveCommitters.set(bankingConfig.groupCommitThreads());
+        for (int i = 0; i < bankingConfig.groupCommitThreads(); i++) {
+            committers.add(Thread.ofPlatform().name("group-commit-" + i).daemon().start(this::commitLoop));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stop("Shutting down");
+        committers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Refuses new operations and fails the queued ones. Queueing and stopping share a lock,
+     * so no operation can be queued after the queue has been emptied here.
+     */
+    private void stop(String reason) {
+        synchronized (queue) {
+            running = false;
+        }
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result.completeExceptionally(new IllegalStateException(reason));
+        }
+    }
+
+    public boolean isEnabled() {
+        return bankingConfig.groupCommitEnabled();
+    }
+
+    public Account deposit(String accountNumber, BigDecimal amount) {
+        return submit(new OperationRequest(OperationRequest.DEPOSIT, accountNumber, null, amount));
+    }
+
+    public Account withdraw(String accountNumber, BigDecimal amount) {
+        return submit(new OperationRequest(OperationRequest.WITHDRAW, accountNumber, null, amount));
+    }
+
+    /**
+     * @return the source account after the transfer
+     */
+    public Account transfer(String sourceAccountNumber, String targetAccountNumber, BigDecimal amount) {
+        return submit(new OperationRequest(OperationRequest.TRANSFER, sourceAccountNumber, targetAccountNumber, amount));
+    }
+
+    public GroupCommitStats stats() {
+        return new GroupCommitStats(isEnabled(), bankingConfig.groupCommitWindowMicros(),
+                bankingConfig.groupCommitMaxBatchSize(), batches.sum(), operations.sum(),
+                batchSizes.stats(), latencies.stats());
+    }
+
+    /**
+     * Queues {@code operation} and waits for the transaction it joins, at most
+     * {@code banking.group-commit-timeout-millis}.
+     */
+    private Account submit(OperationRequest operation) {
+        String invalid = BatchLedger.validate(operation);
+        if (invalid != null) {
+            throw InvalidOperationException.builder().reason(invalid).build();
+        }
+        Pending pending = new Pending(operation, System.nanoTime(), new CompletableFuture<>());
+        synchronized (queue) {
+            if (!running) {
+                throw new IllegalStateException("Group commit is not running");
+            }
+            queue.add(pending);
+        }
+        long timeoutMillis = bankingConfig.groupCommitTimeoutMillis();
+        try {
+            return pending.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            abandon(pending, new IllegalStateException("No group commit within " + timeoutMillis + " ms"));
+            throw new IllegalStateException("Operation not committed within " + timeoutMillis + " ms; it may still be applied");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandon(pending, new IllegalStateException("Interrupted while waiting for group commit"));
+            throw new IllegalStateException("Interrupted while waiting for group commit", e);
+        }
+    }
+
+    /**
+     * Gives up on {@code pending}: it is dropped if still queued, and skipped if a committer
+     * has taken it but not yet started its transaction.
+     */
+    private void abandon(Pending pending, RuntimeException reason) {
+        queue.remove(pending);
+        pending.result.completeExceptionally(reason);
+    }
+
+    /**
+     * Gathers and commits batches until shut down. A committer killed by an {@link Error}
+     * fails the batch it held, and the last one to die also fails and refuses everything
+     * else, since nobody is left to commit it.
+     */
+    private void commitLoop() {
+        long windowNanos = TimeUnit.MICROSECONDS.toNanos(bankingConfig.groupCommitWindowMicros());
+        int maxBatchSize = bankingConfig.groupCommitMaxBatchSize();
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running) {
+                batch.clear();
+                Pending first = queue.take();
+                batch.add(first);
+                long deadline = first.submittedNanos + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                try {
+                    commit(batch);
+                } catch (RuntimeException e) {
+                    log.error("Group commit of {} operations failed", batch.size(), e);
+                    batch.forEach(pending -> fail(pending, e));
+                }
+            }
+        } catch (InterruptedException e) {
+            batch.forEach(pending -> pending.result.completeExceptionally(new IllegalStateException("Shutting down")));
+            Thread.currentThread().interrupt();
+        } catch (Error e) {
+            log.error("Group committer {} died", Thread.currentThread().getName(), e);
+            batch.forEach(pending -> pending.result.completeExceptionally(new IllegalStateException("Group committer died", e)));
+            if (liveCommitters.decrementAndGet() == 0) {
+                stop("No group committer left");
+            }
+            throw e;
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        batch.removeIf(pending -> pending.result.isDone());
+        if (batch.isEmpty()) {
+            return;
+        }
+        batches.increment();
+        operations.add(batch.size());
+        batchSizes.record(batch.size());
+        commitOrSplit(batch);
+    }
+
+    /**
+     * Commits {@code batch} in one transaction or, if the database refuses one of its values,
+     * each half in its own.
+     */
+    private void commitOrSplit(List<Pending> batch) {
+        List<OperationRequest> requests = new ArrayList<>(batch.size());
+        batch.forEach(pending -> requests.add(pending.operation));
+        BatchOperationService.Chunk chunk;
+        try {
+            chunk = batchOperationService.commit(0, requests);
+        } catch (RuntimeException e) {
+            if (batch.size() > 1 && TransactionRetry.isDataError(e)) {
+                log.warn("Group commit of {} operations refused, committing them in halves: {}", batch.size(), e.getMessage());
+                int half = batch.size() / 2;
+                commitOrSplit(batch.subList(0, half));
+                commitOrSplit(batch.subList(half, batch.size()));
+            } else {
+                log.error("Group commit of {} operations failed", batch.size(), e);
+                batch.forEach(pending -> fail(pending, e));
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), chunk.results().get(i), chunk.ledger());
+        }
+    }
+
+    private void complete(Pending pending, OperationResult result, BatchLedger ledger) {
+        OperationRequest operation = pending.operation;
+        if (OperationResult.APPLIED.equals(result.status())) {
+            Account account = ledger.account(operation.accountNumber()).orElseThrow();
+            latencies.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - pending.submittedNanos));
+            pending.result.complete(Account.builder()
+                    .accountNumber(account.getAccountNumber())
+                    .ownerId(account.getOwnerId())
+                    .balance(result.balance())
+                    .build());
+        } else if (ledger.account(operation.accountNumber()).isEmpty()) {
+            fail(pending, AccountNotFoundException.builder().accountNumber(operation.accountNumber()).build());
+        } else if (OperationRequest.TRANSFER.equals(operation.type()) && ledger.account(operation.toAccountNumber()).isEmpty()) {
+            fail(pending, AccountNotFoundException.builder().accountNumber(operation.toAccountNumber()).build());
+        } else if (BatchLedger.INSUFFICIENT_BALANCE.equals(result.error())) {
+            fail(pending, InsufficientBalanceException.builder().build());
+        } else {
+            fail(pending, InvalidOperationException.builder().reason(result.error()).build());
+        }
+    }
+
+    private void fail(Pending pending, RuntimeException e) {
+        latencies.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - pending.submittedNanos));
+        pending.result.completeExceptionally(e);
+    }
+
+    private record Pending(OperationRequest operation, long submittedNanos, CompletableFuture<Account> result) {
+    }
+}
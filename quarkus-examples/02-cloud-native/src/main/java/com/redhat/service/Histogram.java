@@ -0,0 +1,76 @@
+package com.redhat.service;
+
+import com.redhat.rest.dto.HistogramStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative values in power-of-two buckets: bucket {@code b} counts
+ * the values below {@code 2^b} not counted by the previous one, so percentiles are accurate to
+ * within a factor of two, which is enough to tune a window or a batch size.
+ */
+public final class Histogram {
+
+    private final LongAdder[] buckets = new LongAdder[Long.SIZE];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public Histogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        buckets[Math.min(Long.SIZE - Long.numberOfLeadingZeros(clamped), buckets.length - 1)].increment();
+        count.increment();
+        sum.add(clamped);
+        max.accumulate(clamped);
+    }
+
+    /**
+     * Counts and percentiles so far; a percentile is the upper bound of the bucket it falls in,
+     * capped at the maximum. Only non-empty buckets are listed.
+     */
+    public HistogramStats stats() {
+        long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        long maximum = max.get();
+        List<HistogramStats.Bucket> nonEmpty = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                nonEmpty.add(new HistogramStats.Bucket(upperBound(i), counts[i]));
+            }
+        }
+        return new HistogramStats(total, total > 0 ? sum.sum() / total : 0,
+                percentile(counts, total, 0.50, maximum),
+                percentile(counts, total, 0.90, maximum),
+                percentile(counts, total, 0.99, maximum),
+                maximum, nonEmpty);
+    }
+
+    private static long percentile(long[] counts, long total, double fraction, long maximum) {
+        long rank = (long) Math.ceil(total * fraction);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return Math.min(upperBound(i), maximum);
+            }
+        }
+        return 0;
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
@@ -0,0 +1,221 @@
+package com.redhat.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.config.BankingConfig;
+import com.redhat.data.ByteSource;
+import com.redhat.data.DataFiles;
+import com.redhat.data.DataItemFilter;
+import com.redhat.data.DataItemStream;
+import com.redhat.data.ElementScanner;
+import com.redhat.data.ElementScanner.Chunk;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.DataLoadResponse;
+import com.redhat.rest.dto.TransactionData;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parses the {@code accounts} and {@code transactions} arrays in parallel: a cheap byte scan
+ * splits them into chunks of whole elements and the chunks are deserialized on a dedicated
+ * {@link ForkJoinPool}. Splitting only pays off with several processors and enough chunks to
+ * share out, see {@link #splits(String)}; otherwise {@link #readSequentially(String)} reads
+ * the file in one pass.
+ */
+@Slf4j
+@ApplicationScoped
+public class ParallelDataReader {
+
+    public static final long DEFAULT_CHUNK_BYTES = 1 << 20;
+
+    /**
+     * Files below this size have too few chunks to repay the scan and the hand-off to the pool.
+     */
+    public static final long MIN_SPLIT_BYTES = 4 * DEFAULT_CHUNK_BYTES;
+
+    @Inject
+    DataFiles dataFiles;
+
+    @Inject
+    BankingConfig bankingConfig;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    void init() {
+        pool = new ForkJoinPool(parallelism());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    public int parallelism() {
+        return bankingConfig.dataParallelism().orElse(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Whether {@code location} is worth splitting: more than one thread to parse on, on more
+     * than one processor, and an uncompressed file of at least {@link #MIN_SPLIT_BYTES}. On a
+     * single processor the chunks would only be parsed one after another, after an extra scan.
+     */
+    public boolean splits(String location) throws IOException {
+        Path path = Paths.get(location);
+        return parallelism() > 1 && Runtime.getRuntime().availableProcessors() > 1
+                && Files.isRegularFile(path) && Files.size(path) >= MIN_SPLIT_BYTES;
+    }
+
+    /**
+     * @throws BadRequestException for CSV files, which have no arrays to split
+     */
+    public DataLoadResponse read(String location, boolean ordered) throws IOException {
+        requireJson(location);
+        try (ByteSource source = dataFiles.openByteSource(location)) {
+            return read(objectMapper, source, pool, DEFAULT_CHUNK_BYTES, ordered);
+        }
+    }
+
+    /**
+     * Reads all items of {@code location} in one pass on the calling thread, from its snapshot
+     * when that is up to date, for files that {@link #splits(String) are not worth splitting}.
+     *
+     * @throws BadRequestException for CSV files, like {@link #read(String, boolean)}
+     */
+    public DataLoadResponse readSequentially(String location) throws IOException {
+        requireJson(location);
+        List<DataItem> items = new ArrayList<>();
+        try (DataItemStream stream = dataFiles.openItems(objectMapper, location, DataItemFilter.NONE)) {
+            stream.forEachRemaining(items::add);
+        }
+        List<AccountData> accounts = new ArrayList<>();
+        List<TransactionData> transactions = new ArrayList<>();
+        collect(items, accounts, transactions);
+        return new DataLoadResponse(accounts, transactions);
+    }
+
+    private static void requireJson(String location) {
+        if (DataFiles.isCsv(location)) {
+            throw new BadRequestException("Parallel reads need a JSON data file; " + location + " is CSV");
+        }
+    }
+
+    /**
+     * Reads all items from {@code source}. When {@code ordered} is {@code true} both lists keep
+     * document order; otherwise chunks are appended in completion order, which avoids holding
+     * finished chunks back behind slower predecessors.
+     */
+    public static DataLoadResponse read(ObjectMapper mapper, ByteSource source, ForkJoinPool pool,
+                                        long chunkBytes, boolean ordered) throws IOException {
+        List<Chunk> chunks = ElementScanner.scan(source, chunkBytes);
+
+        if (ordered) {
+            @SuppressWarnings("unchecked")
+            List<DataItem>[] results = new List[chunks.size()];
+            pool.invoke(new ChunkTask(mapper, source, chunks, 0, chunks.size(),
+                    (index, items) -> results[index] = items));
+
+            List<AccountData> accounts = new ArrayList<>();
+            List<TransactionData> transactions = new ArrayList<>();
+            for (List<DataItem> items : results) {
+                collect(items, accounts, transactions);
+            }
+            return new DataLoadResponse(accounts, transactions);
+        }
+
+        List<AccountData> accounts = Collections.synchronizedList(new ArrayList<>());
+        List<TransactionData> transactions = Collections.synchronizedList(new ArrayList<>());
+        pool.invoke(new ChunkTask(mapper, source, chunks, 0, chunks.size(),
+                (index, items) -> collect(items, accounts, transactions)));
+        return new DataLoadResponse(accounts, transactions);
+    }
+
+    private static void collect(List<DataItem> items, List<AccountData> accounts, List<TransactionData> transactions) {
+        List<AccountData> chunkAccounts = new ArrayList<>();
+        List<TransactionData> chunkTransactions = new ArrayList<>();
+        for (DataItem item : items) {
+            switch (item) {
+                case AccountData account -> chunkAccounts.add(account);
+                case TransactionData transaction -> chunkTransactions.add(transaction);
+            }
+        }
+        accounts.addAll(chunkAccounts);
+        transactions.addAll(chunkTransactions);
+    }
+
+    static List<DataItem> parse(ObjectMapper mapper, ByteSource source, Chunk chunk) throws IOException {
+        byte[] buffer = new byte[chunk.length() + 2];
+        buffer[0] = '[';
+        source.read(chunk.start(), buffer, 1, chunk.length());
+        buffer[buffer.length - 1] = ']';
+
+        List<DataItem> items = new ArrayList<>(chunk.count());
+        try (JsonParser parser = mapper.getFactory().createParser(buffer)) {
+            parser.nextToken();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                items.add(parser.readValueAs(chunk.type()));
+            }
+        }
+        return items;
+    }
+
+    private interface ChunkConsumer {
+        void accept(int index, List<DataItem> items);
+    }
+
+    private static class ChunkTask extends RecursiveAction {
+
+        private final ObjectMapper mapper;
+        private final ByteSource source;
+        private final List<Chunk> chunks;
+        private final int from;
+        private final int to;
+        private final ChunkConsumer consumer;
+
+        ChunkTask(ObjectMapper mapper, ByteSource source, List<Chunk> chunks, int from, int to, ChunkConsumer consumer) {
+            this.mapper = mapper;
+            this.source = source;
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (from < to) {
+                    try {
+                        consumer.accept(from, parse(mapper, source, chunks.get(from)));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkTask(mapper, source, chunks, from, middle, consumer),
+                    new ChunkTask(mapper, source, chunks, middle, to, consumer));
+        }
+    }
+}
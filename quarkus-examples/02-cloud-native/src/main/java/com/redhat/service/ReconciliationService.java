@@ -0,0 +1,218 @@
+package com.redhat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.config.BankingConfig;
+import com.redhat.data.AccountBalance;
+import com.redhat.data.BalanceReconciler;
+import com.redhat.data.DataFiles;
+import com.redhat.data.DataItemFilter;
+import com.redhat.data.DataItemStream;
+import com.redhat.data.SortedAccountBalances;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.BalanceMismatch;
+import io.agroal.api.AgroalDataSource;
+import io.smallrye.mutiny.Multi;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Compares the account balances of the data-load file with the database without holding
+ * either side in memory. The file's accounts are sorted externally, spilling runs of
+ * {@link BankingConfig#dataReconcileRunSize()} entries to disk, and merge-joined with a
+ * forward-only cursor over the account table in the same order.
+ */
+@Slf4j
+@ApplicationScoped
+public class ReconciliationService {
+
+    /**
+     * {@code "C"} orders by UTF-8 bytes, matching {@link AccountBalance#ORDER} whatever the
+     * database's default collation is.
+     */
+    private static final String SELECT_ACCOUNTS =
+            "SELECT accountNumber, balance FROM Account ORDER BY accountNumber COLLATE \"C\"";
+
+    @Inject
+    DataFiles dataFiles;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    BankingConfig bankingConfig;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    /**
+     * Emits the accounts that differ, on demand. The file is sorted when the stream is
+     * subscribed; the sort files and the database cursor are released on completion, failure
+     * or cancellation.
+     */
+    public Multi<BalanceMismatch> reconcile() {
+        String location = dataFiles.configuredLocation();
+        return Multi.createFrom().<Reconciliation, BalanceMismatch>resource(
+                        () -> openUnchecked(location),
+                        reconciliation -> Multi.createFrom().iterable(() -> reconciliation))
+                .withFinalizer(Reconciliation::close);
+    }
+
+    private Reconciliation openUnchecked(String location) {
+        try {
+            return open(location);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Reconciliation of " + location + " failed", e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Reconciliation of " + location + " failed", e);
+        }
+    }
+
+    private Reconciliation open(String location) throws IOException, SQLException {
+        long startTime = System.currentTimeMillis();
+        SortedAccountBalances sorted;
+        try (DataItemStream items = dataFiles.openItems(objectMapper, location,
+                DataItemFilter.accounts(DataItemFilter.ACCOUNT_NUMBER, DataItemFilter.BALANCE))) {
+            sorted = SortedAccountBalances.sort(new FileAccounts(items), bankingConfig.dataReconcileRunSize(),
+                    Path.of(System.getProperty("java.io.tmpdir")));
+        }
+        log.info("Sorted accounts of {} in {} ms using {} spilled runs", location, System.currentTimeMillis() - startTime, sorted.runs());
+
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            PreparedStatement statement = connection.prepareStatement(SELECT_ACCOUNTS,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(bankingConfig.dataReconcileFetchSize());
+            DatabaseAccounts database = new DatabaseAccounts(statement.executeQuery());
+            return new Reconciliation(location, startTime, sorted, connection, new BalanceReconciler(sorted, database));
+        } catch (SQLException | RuntimeException e) {
+            sorted.close();
+            if (connection != null) {
+                connection.close();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Accounts of the file, without entries the import would reject for a missing number.
+     */
+    private static final class FileAccounts implements Iterator<AccountBalance> {
+        private final DataItemStream items;
+        private AccountBalance next;
+
+        FileAccounts(DataItemStream items) {
+            this.items = items;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && items.hasNext()) {
+                if (items.next() instanceof AccountData account
+                        && account.accountNumber() != null && !account.accountNumber().isBlank()) {
+                    next = new AccountBalance(account.accountNumber(), account.balance());
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public AccountBalance next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            AccountBalance entry = next;
+            next = null;
+            return entry;
+        }
+    }
+
+    private static final class DatabaseAccounts implements Iterator<AccountBalance> {
+        private final ResultSet resultSet;
+        private Boolean hasNext;
+
+        DatabaseAccounts(ResultSet resultSet) {
+            this.resultSet = resultSet;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNext == null) {
+                try {
+                    hasNext = resultSet.next();
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Reading accounts failed", e);
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public AccountBalance next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = null;
+            try {
+                return new AccountBalance(resultSet.getString(1), resultSet.getBigDecimal(2));
+            } catch (SQLException e) {
+                throw new IllegalStateException("Reading accounts failed", e);
+            }
+        }
+    }
+
+    private static final class Reconciliation implements Iterator<BalanceMismatch>, Closeable {
+        private final String location;
+        private final long startTime;
+        private final SortedAccountBalances sorted;
+        private final Connection connection;
+        private final BalanceReconciler reconciler;
+
+        Reconciliation(String location, long startTime, SortedAccountBalances sorted, Connection connection,
+                       BalanceReconciler reconciler) {
+            this.location = location;
+            this.startTime = startTime;
+            this.sorted = sorted;
+            this.connection = connection;
+            this.reconciler = reconciler;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return reconciler.hasNext();
+        }
+
+        @Override
+        public BalanceMismatch next() {
+            return reconciler.next();
+        }
+
+        @Override
+        public void close() {
+            log.info("Reconciled {} in {} ms: {} matched, {} balance mismatches, {} missing in database, {} missing in file, {} duplicates",
+                    location, System.currentTimeMillis() - startTime, reconciler.matched(), reconciler.balanceMismatches(),
+                    reconciler.missingInDatabase(), reconciler.missingInFile(), reconciler.duplicates());
+            try (connection; sorted) {
+                connection.rollback();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Closing reconciliation cursor failed", e);
+            }
+        }
+    }
+}
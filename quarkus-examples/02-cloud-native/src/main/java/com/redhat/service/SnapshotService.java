@@ -0,0 +1,64 @@
+package com.redhat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.data.DataFiles;
+import com.redhat.data.DataItemFilter;
+import com.redhat.data.DataItemStream;
+import com.redhat.data.SnapshotFormat;
+import com.redhat.data.SnapshotWriter;
+import com.redhat.rest.dto.SnapshotResponse;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+@Slf4j
+@ApplicationScoped
+public class SnapshotService {
+
+    @Inject
+    DataFiles dataFiles;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    /**
+     * Converts a JSON or CSV data file into its {@code .bin} sibling. The snapshot is written to a
+     * temporary file and moved into place, so readers never see a partial snapshot.
+     */
+    public SnapshotResponse convert(String location) throws IOException {
+        Path source = Paths.get(location);
+        if (!Files.isRegularFile(source)) {
+            throw new BadRequestException("Snapshots can only be written next to a data file on the filesystem: " + location);
+        }
+
+        long startTime = System.currentTimeMillis();
+        Path target = SnapshotFormat.siblingOf(source);
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        long sourceSize = Files.size(source);
+        long sourceModified = Files.getLastModifiedTime(source).toMillis();
+        long items = 0;
+        try {
+            try (DataItemStream reader = dataFiles.parse(objectMapper, location, DataItemFilter.NONE);
+                 SnapshotWriter writer = new SnapshotWriter(Files.newOutputStream(temp), sourceSize, sourceModified)) {
+                while (reader.hasNext()) {
+                    writer.write(reader.next());
+                    items++;
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("Wrote snapshot {} with {} items in {} ms", target, items, duration);
+        return new SnapshotResponse(target.toString(), items, sourceSize, Files.size(target), duration);
+    }
+}
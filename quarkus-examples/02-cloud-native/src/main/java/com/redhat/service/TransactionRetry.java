@@ -0,0 +1,109 @@
+package com.redhat.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Runs a transaction again when the database aborted it because of a serialization failure
+ * or a deadlock, which only says that it lost a race and would succeed on its own. Attempts
+ * are separated by full-jitter exponential backoff: a random wait of up to
+ * {@code backoffMillis * 2^(attempt - 1)}, capped at {@code maxBackoffMillis}, so that the
+ * transactions that collided do not collide again.
+ * <p>
+ * Each attempt must be its own transaction; retrying inside a transaction that the database
+ * has aborted only fails again.
+ */
+@Slf4j
+public final class TransactionRetry {
+
+    /**
+     * SQLSTATE {@code serialization_failure} and {@code deadlock_detected}.
+     */
+    static final Set<String> RETRYABLE_STATES = Set.of("40001", "40P01");
+
+    /**
+     * SQLSTATE classes {@code data_exception} and {@code integrity_constraint_violation}.
+     */
+    static final Set<String> DATA_ERROR_CLASSES = Set.of("22", "23");
+
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+
+    public TransactionRetry(int maxAttempts, long backoffMillis, long maxBackoffMillis) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1: " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * Calls {@code transaction} until it returns, throws something that is not retryable, or
+     * {@code maxAttempts} have failed, in which case the last failure is thrown.
+     */
+    public <T> T call(Supplier<T> transaction) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.get();
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || !isRetryable(e)) {
+                    throw e;
+                }
+                long backoff = backoff(attempt);
+                log.debug("Attempt {} failed with {}, retrying in {} ms", attempt, e.getMessage(), backoff);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    e.addSuppressed(interrupted);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Random wait before attempt {@code attempt + 1}.
+     */
+    long backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, backoffMillis << Math.min(attempt - 1, 30));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Whether {@code failure}, or one of its causes, is an {@link SQLException} with a
+     * SQLSTATE that means the transaction can simply be run again.
+     */
+    static boolean isRetryable(Throwable failure) {
+        return hasSqlState(failure, RETRYABLE_STATES::contains);
+    }
+
+    /**
+     * Whether {@code failure}, or one of its causes, is an {@link SQLException} refusing the
+     * values of a statement, such as an amount that overflows its column: the same values
+     * fail every time, but a transaction without them can succeed.
+     */
+    static boolean isDataError(Throwable failure) {
+        return hasSqlState(failure, state -> state.length() >= 2 && DATA_ERROR_CLASSES.contains(state.substring(0, 2)));
+    }
+
+    private static boolean hasSqlState(Throwable failure, Predicate<String> matches) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql) {
+                for (SQLException next = sql; next != null; next = next.getNextException()) {
+                    if (next.getSQLState() != null && matches.test(next.getSQLState())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,92 @@
+package com.redhat.benchmark;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.data.DataItemReader;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.TransactionData;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared helpers for the benchmarks: builds a large data-load file by repeating
+ * {@code data-load-large.json} and measures wall time and allocation of a read.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    interface Workload {
+        long run() throws IOException;
+    }
+
+    record Result(String name, long items, long bytes, long millis, long cpuMillis, long allocatedBytes) {
+        @Override
+        public String toString() {
+            double seconds = Math.max(millis, 1) / 1000.0;
+            return String.format("%-12s items=%d time=%dms cpu=%dms read=%.1f MB throughput=%.1f MB/s %.0f items/s alloc/item=%d B",
+                    name, items, millis, cpuMillis, bytes / (1024.0 * 1024), bytes / seconds / (1024 * 1024), items / seconds,
+                    items == 0 ? 0 : allocatedBytes / items);
+        }
+    }
+
+    static Path largeDataFile(Path dir, int copies) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        List<AccountData> accounts = new ArrayList<>();
+        List<TransactionData> transactions = new ArrayList<>();
+        try (InputStream in = BenchmarkData.class.getClassLoader().getResourceAsStream("data-load-large.json");
+             DataItemReader reader = DataItemReader.open(mapper, in)) {
+            while (reader.hasNext()) {
+                DataItem item = reader.next();
+                if (item instanceof AccountData account) {
+                    accounts.add(account);
+                } else {
+                    transactions.add((TransactionData) item);
+                }
+            }
+        }
+
+        Path file = dir.resolve("data-load-xlarge.json");
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(file.toFile(), JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("accounts");
+            for (int copy = 0; copy < copies; copy++) {
+                for (AccountData account : accounts) {
+                    mapper.writeValue(generator, new AccountData(account.accountNumber() + "-" + copy, account.ownerId(), account.balance()));
+                }
+            }
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("transactions");
+            for (int copy = 0; copy < copies; copy++) {
+                for (TransactionData transaction : transactions) {
+                    mapper.writeValue(generator, new TransactionData(transaction.accountNumber() + "-" + copy,
+                            transaction.type(), transaction.amount(), transaction.description()));
+                }
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        return file;
+    }
+
+    static Result measure(String name, Path file, Workload workload) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        long start = System.nanoTime();
+        long items = workload.run();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        long cpuMillis = (threads.getCurrentThreadCpuTime() - cpuBefore) / 1_000_000;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Result(name, items, Files.size(file), millis, cpuMillis, allocated);
+    }
+}
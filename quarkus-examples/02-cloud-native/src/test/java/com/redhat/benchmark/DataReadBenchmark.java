@@ -0,0 +1,276 @@
+package com.redhat.benchmark;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.data.ByteSource;
+import com.redhat.data.Compression;
+import com.redhat.data.CsvDataDecoder;
+import com.redhat.data.DataDecoder;
+import com.redhat.data.DataItemFilter;
+import com.redhat.data.DataItemReader;
+import com.redhat.data.DataItemStream;
+import com.redhat.data.DataReadRecorder;
+import com.redhat.data.LedgerSummary;
+import com.redhat.data.MappedFileInputStream;
+import com.redhat.data.SnapshotFormat;
+import com.redhat.data.SnapshotReader;
+import com.redhat.data.SnapshotWriter;
+import com.redhat.rest.dto.DataLoadResponse;
+import com.redhat.rest.dto.TransactionData;
+import com.redhat.service.ParallelDataReader;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the data readers on a generated 500k-item file. Run with {@code -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+public class DataReadBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int ROUNDS = 10;
+
+    @TempDir
+    static Path tempDir;
+
+    static Path file;
+
+    @BeforeAll
+    static void generate() throws IOException {
+        file = BenchmarkData.largeDataFile(tempDir, 20);
+    }
+
+    @Test
+    void streamVersusMemoryMapped() throws IOException {
+        BenchmarkData.Result stream = null;
+        BenchmarkData.Result mmap = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            stream = BenchmarkData.measure("stream", file, () -> count(DataItemReader.open(MAPPER, Files.newInputStream(file))));
+            mmap = BenchmarkData.measure("mmap", file, () -> count(DataItemReader.open(MAPPER, new MappedFileInputStream(file))));
+        }
+
+        log.info("{}", stream);
+        log.info("{}", mmap);
+        assertThat(mmap.items()).isEqualTo(stream.items());
+    }
+
+    @Test
+    void sequentialVersusParallel() throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try (ByteSource source = ByteSource.of(file)) {
+            BenchmarkData.Result sequential = null;
+            BenchmarkData.Result parallel = null;
+            for (int round = 0; round < ROUNDS; round++) {
+                sequential = BenchmarkData.measure("sequential", file, () -> count(DataItemReader.open(MAPPER, new MappedFileInputStream(file))));
+                parallel = BenchmarkData.measure("parallel", file, () -> {
+                    DataLoadResponse data = ParallelDataReader.read(MAPPER, source, pool, ParallelDataReader.DEFAULT_CHUNK_BYTES, true);
+                    return data.accounts().size() + data.transactions().size();
+                });
+            }
+
+            log.info("{}", sequential);
+            log.info("{} (allocation of the calling thread only)", parallel);
+            assertThat(parallel.items()).isEqualTo(sequential.items());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void jsonVersusSnapshot() throws IOException {
+        Path snapshot = SnapshotFormat.siblingOf(file);
+        try (DataItemReader reader = DataItemReader.open(MAPPER, Files.newInputStream(file));
+             SnapshotWriter writer = new SnapshotWriter(Files.newOutputStream(snapshot))) {
+            while (reader.hasNext()) {
+                writer.write(reader.next());
+            }
+        }
+
+        BenchmarkData.Result json = null;
+        BenchmarkData.Result binary = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            json = BenchmarkData.measure("json", file, () -> count(DataItemReader.open(MAPPER, new MappedFileInputStream(file))));
+            binary = BenchmarkData.measure("snapshot", file, () -> count(new SnapshotReader(Files.newInputStream(snapshot))));
+        }
+
+        log.info("{}", json);
+        log.info("{} ({} of {} bytes)", binary, Files.size(snapshot), Files.size(file));
+        assertThat(binary.items()).isEqualTo(json.items());
+    }
+
+    @Test
+    void unfilteredVersusPushedDownFilter() throws IOException {
+        DataItemFilter oneAccount = DataItemFilter.of("ACC20042-7", null, null, null);
+        DataItemFilter projected = DataItemFilter.of(null, "DEPOSIT", null, "accountNumber,amount");
+        BenchmarkData.Result bound = null;
+        BenchmarkData.Result account = null;
+        BenchmarkData.Result deposits = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            bound = BenchmarkData.measure("bind+filter", file, () -> count(DataItemStream.filter(
+                    DataItemReader.open(MAPPER, new MappedFileInputStream(file)), oneAccount)));
+            account = BenchmarkData.measure("account", file, () -> count(new DataItemReader(
+                    MAPPER.getFactory().createParser(new MappedFileInputStream(file)), oneAccount)));
+            deposits = BenchmarkData.measure("deposits", file, () -> count(new DataItemReader(
+                    MAPPER.getFactory().createParser(new MappedFileInputStream(file)), projected)));
+        }
+
+        log.info("{}", bound);
+        log.info("{}", account);
+        log.info("{}", deposits);
+        assertThat(account.items()).isEqualTo(bound.items());
+        assertThat(deposits.items()).isPositive();
+    }
+
+    @Test
+    void plainVersusCompressed() throws IOException {
+        Path gzip = compress(Compression.GZIP);
+        Path zstd = compress(Compression.ZSTD);
+
+        BenchmarkData.Result plain = null;
+        BenchmarkData.Result gzipped = null;
+        BenchmarkData.Result zstded = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            plain = BenchmarkData.measure("json", file, () -> count(DataItemReader.open(MAPPER, Files.newInputStream(file))));
+            gzipped = BenchmarkData.measure("json.gz", gzip, () -> count(DataItemReader.open(MAPPER,
+                    Compression.GZIP.decode(Files.newInputStream(gzip)))));
+            zstded = BenchmarkData.measure("json.zst", zstd, () -> count(DataItemReader.open(MAPPER,
+                    Compression.ZSTD.decode(Files.newInputStream(zstd)))));
+        }
+
+        log.info("{}", plain);
+        log.info("{}", gzipped);
+        log.info("{}", zstded);
+        assertThat(gzipped.items()).isEqualTo(plain.items());
+        assertThat(zstded.items()).isEqualTo(plain.items());
+    }
+
+    @Test
+    void bindVersusLedgerSummary() throws IOException {
+        BenchmarkData.Result bound = null;
+        BenchmarkData.Result ledger = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            bound = BenchmarkData.measure("bind", file, () -> count(DataItemReader.open(MAPPER, new MappedFileInputStream(file))));
+            ledger = BenchmarkData.measure("ledger", file, () -> {
+                LedgerSummary summary = new LedgerSummary();
+                try (JsonParser parser = MAPPER.getFactory().createParser(new MappedFileInputStream(file))) {
+                    summary.readJson(parser);
+                }
+                return summary.transactions() + summary.accounts();
+            });
+        }
+
+        log.info("{}", bound);
+        log.info("{} (items = transactions + accounts)", ledger);
+        assertThat(ledger.items()).isEqualTo(bound.items());
+    }
+
+    /**
+     * Jackson's CSV module is not a dependency, so the hand-rolled decoder is measured against
+     * a line-splitting CSV reader and against Jackson binding the same transactions as JSON.
+     */
+    @Test
+    void csvVersusSplitAndJson() throws IOException {
+        Path csv = file.resolveSibling("transactions.csv");
+        Path json = file.resolveSibling("transactions.json");
+        try (DataItemReader reader = DataItemReader.open(MAPPER, Files.newInputStream(file));
+             BufferedWriter csvOut = Files.newBufferedWriter(csv);
+             JsonGenerator jsonOut = MAPPER.getFactory().createGenerator(json.toFile(), JsonEncoding.UTF8)) {
+            csvOut.write("# generated transactions\naccountNumber,type,amount,description\n");
+            jsonOut.writeStartObject();
+            jsonOut.writeArrayFieldStart("transactions");
+            while (reader.hasNext()) {
+                if (reader.next() instanceof TransactionData transaction) {
+                    csvOut.write(transaction.accountNumber() + "," + transaction.type() + "," + transaction.amount()
+                            + ",\"" + transaction.description().replace("\"", "\"\"") + "\"\n");
+                    MAPPER.writeValue(jsonOut, transaction);
+                }
+            }
+            jsonOut.writeEndArray();
+            jsonOut.writeEndObject();
+        }
+
+        BenchmarkData.Result decoder = null;
+        BenchmarkData.Result split = null;
+        BenchmarkData.Result jackson = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            decoder = BenchmarkData.measure("csv", csv, () -> count(DataDecoder.stream(Files.newInputStream(csv), new CsvDataDecoder())));
+            split = BenchmarkData.measure("csv-split", csv, () -> {
+                long items = 0;
+                try (BufferedReader lines = Files.newBufferedReader(csv)) {
+                    lines.readLine();
+                    lines.readLine();
+                    String line;
+                    while ((line = lines.readLine()) != null) {
+                        String[] fields = line.split(",", 4);
+                        String description = fields[3].substring(1, fields[3].length() - 1).replace("\"\"", "\"");
+                        if (new TransactionData(fields[0], fields[1], new BigDecimal(fields[2]), description) != null) {
+                            items++;
+                        }
+                    }
+                }
+                return items;
+            });
+            jackson = BenchmarkData.measure("json", json, () -> count(DataItemReader.open(MAPPER, Files.newInputStream(json))));
+        }
+
+        log.info("{}", decoder);
+        log.info("{}", split);
+        log.info("{}", jackson);
+        assertThat(decoder.items()).isEqualTo(jackson.items()).isEqualTo(split.items());
+    }
+
+    @Test
+    void plainVersusRecorded() throws IOException {
+        BenchmarkData.Result plain = null;
+        BenchmarkData.Result recorded = null;
+        DataReadRecorder.Sample[] sample = new DataReadRecorder.Sample[1];
+        for (int round = 0; round < ROUNDS; round++) {
+            plain = BenchmarkData.measure("plain", file, () -> count(DataItemReader.open(MAPPER, new MappedFileInputStream(file))));
+            recorded = BenchmarkData.measure("recorded", file, () -> {
+                DataReadRecorder recorder = new DataReadRecorder("benchmark", file.toString(), result -> sample[0] = result);
+                return count(recorder.record(DataItemReader.open(MAPPER, recorder.count(new MappedFileInputStream(file)))));
+            });
+        }
+
+        log.info("{}", plain);
+        log.info("{}", recorded);
+        log.info("{}", sample[0].toStats("benchmark", 1));
+        assertThat(recorded.items()).isEqualTo(plain.items());
+    }
+
+    private static Path compress(Compression compression) throws IOException {
+        Path target = file.resolveSibling(file.getFileName() + compression.suffix());
+        try (OutputStream out = compression.encode(Files.newOutputStream(target))) {
+            Files.copy(file, out);
+        }
+        return target;
+    }
+
+    private static long count(DataItemStream reader) throws IOException {
+        long items = 0;
+        try (reader) {
+            while (reader.hasNext()) {
+                reader.next();
+                items++;
+            }
+        }
+        return items;
+    }
+}
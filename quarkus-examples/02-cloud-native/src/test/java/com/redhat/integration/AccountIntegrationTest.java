@@ -226,4 +226,16 @@ public class AccountIntegrationTest {
                 .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
     }
 
+    @ParameterizedTest(name = "Amount: {0}")
+    @Order(15)
+    @CsvSource({"1.005", "100000000000000000.00"})
+    public void depositOfAnAmountTheBalanceCannotHoldShouldReturn400(String amount) {
+        given()
+                .contentType(ContentType.JSON)
+                .body(amount)
+                .when().post("/api/accounts/1001/deposit")
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+    }
+
 }
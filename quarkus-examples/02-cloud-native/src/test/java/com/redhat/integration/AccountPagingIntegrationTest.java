@@ -0,0 +1,81 @@
+package com.redhat.integration;
+
+import com.redhat.model.Account;
+import com.redhat.repository.AccountRepository;
+import com.redhat.service.BankingService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks {@code GET /api/accounts} page by page with the cursor of each page.
+ */
+@QuarkusTest
+public class AccountPagingIntegrationTest {
+
+    private static final int ACCOUNTS = 250;
+    private static final int LIMIT = 40;
+
+    @Inject
+    BankingService bankingService;
+
+    @Inject
+    AccountRepository accountRepository;
+
+    private final List<String> accounts = new ArrayList<>();
+
+    @AfterEach
+    void deleteAccounts() {
+        QuarkusTransaction.requiringNew().run(() -> accounts.forEach(accountRepository::deleteById));
+    }
+
+    @Test
+    void shouldReturnEveryAccountOnceAcrossPages() {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            String accountNumber = String.format("PAGE-%04d", i);
+            accounts.add(accountNumber);
+            bankingService.createAccount(accountNumber, "owner-" + accountNumber, BigDecimal.ONE);
+        }
+
+        List<String> listed = new ArrayList<>();
+        String after = null;
+        do {
+            var request = given().queryParam("limit", LIMIT);
+            if (after != null) {
+                request.queryParam("after", after);
+            }
+            ExtractableResponse<Response> response = request
+                    .when().get("/api/accounts")
+                    .then().statusCode(200)
+                    .extract();
+            List<Account> page = List.of(response.as(Account[].class));
+            assertThat(page).hasSizeLessThanOrEqualTo(LIMIT);
+            page.forEach(account -> listed.add(account.getAccountNumber()));
+            after = response.header("X-Next-Cursor");
+            if (after != null) {
+                assertThat(page).hasSize(LIMIT);
+                assertThat(response.header("Link")).contains("rel=\"next\"").contains("after=" + after);
+            }
+        } while (after != null);
+
+        assertThat(listed).isSorted().doesNotHaveDuplicates();
+        assertThat(listed).filteredOn(accountNumber -> accountNumber.startsWith("PAGE-")).containsExactlyElementsOf(accounts);
+    }
+
+    @Test
+    void shouldRejectAnInvalidCursorOrLimit() {
+        given().queryParam("after", "not base64!").when().get("/api/accounts").then().statusCode(400);
+        given().queryParam("limit", 0).when().get("/api/accounts").then().statusCode(400);
+    }
+}
@@ -0,0 +1,208 @@
+package com.redhat.integration;
+
+import com.redhat.exception.InsufficientBalanceException;
+import com.redhat.model.Account;
+import com.redhat.model.Transaction;
+import com.redhat.model.TransactionType;
+import com.redhat.repository.AccountRepository;
+import com.redhat.repository.TransactionRepository;
+import com.redhat.service.BankingService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many threads updating one hot account through the single-statement deposit and withdraw,
+ * and the update the read-modify-write they replaced loses when two of them overlap. The
+ * throughput of both is compared with {@code -Pbenchmark}.
+ */
+@Slf4j
+@QuarkusTest
+public class BalanceConcurrencyIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 100;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.00");
+    private static final BigDecimal DEPOSIT = new BigDecimal("2.00");
+    private static final BigDecimal WITHDRAWAL = new BigDecimal("1.00");
+
+    @Inject
+    BankingService bankingService;
+
+    @Inject
+    AccountRepository accountRepository;
+
+    @Inject
+    TransactionRepository transactionRepository;
+
+    private final List<String> accounts = new ArrayList<>();
+
+    @AfterEach
+    void deleteAccounts() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (String accountNumber : accounts) {
+                transactionRepository.deleteAll(transactionRepository.findByAccountNumber(accountNumber));
+                accountRepository.deleteById(accountNumber);
+            }
+        });
+    }
+
+    @Test
+    void shouldNotLoseUpdatesOnAHotAccount() throws Exception {
+        createAccount("HOT-ATOMIC", INITIAL_BALANCE);
+        concurrently(() -> {
+            bankingService.deposit("HOT-ATOMIC", DEPOSIT);
+            bankingService.withdraw("HOT-ATOMIC", WITHDRAWAL);
+        });
+
+        int operations = THREADS * OPERATIONS_PER_THREAD;
+        assertThat(bankingService.getBalance("HOT-ATOMIC")).isEqualByComparingTo(
+                INITIAL_BALANCE.add(DEPOSIT.subtract(WITHDRAWAL).multiply(BigDecimal.valueOf(operations))));
+        assertThat(bankingService.getTransactions("HOT-ATOMIC")).hasSize(operations * 2);
+    }
+
+    @Test
+    void shouldLoseAnUpdateWithReadModifyWrite() throws Exception {
+        createAccount("HOT-RMW", INITIAL_BALANCE);
+        CountDownLatch firstRead = new CountDownLatch(1);
+        CountDownLatch secondCommitted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> first = executor.submit(() -> readModifyWrite("HOT-RMW", DEPOSIT, TransactionType.DEPOSIT, () -> {
+                firstRead.countDown();
+                await(secondCommitted);
+            }));
+            await(firstRead);
+            readModifyWrite("HOT-RMW", DEPOSIT, TransactionType.DEPOSIT, () -> {
+            });
+            secondCommitted.countDown();
+            first.get(1, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(bankingService.getBalance("HOT-RMW")).isEqualByComparingTo(INITIAL_BALANCE.add(DEPOSIT));
+        assertThat(bankingService.getTransactions("HOT-RMW")).hasSize(2);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void atomicVersusReadModifyWrite() throws Exception {
+        createAccount("HOT-ATOMIC", INITIAL_BALANCE);
+        long atomicNanos = concurrently(() -> {
+            bankingService.deposit("HOT-ATOMIC", DEPOSIT);
+            bankingService.withdraw("HOT-ATOMIC", WITHDRAWAL);
+        });
+
+        createAccount("HOT-RMW", INITIAL_BALANCE);
+        long readModifyWriteNanos = concurrently(() -> {
+            readModifyWrite("HOT-RMW", DEPOSIT, TransactionType.DEPOSIT, () -> {
+            });
+            readModifyWrite("HOT-RMW", WITHDRAWAL.negate(), TransactionType.WITHDRAW, () -> {
+            });
+        });
+
+        int operations = THREADS * OPERATIONS_PER_THREAD;
+        BigDecimal expected = INITIAL_BALANCE.add(DEPOSIT.subtract(WITHDRAWAL).multiply(BigDecimal.valueOf(operations)));
+        log.info("atomic: {} operations/s, read-modify-write: {} operations/s with {} lost from the balance",
+                Math.round(operations * 2 * 1e9 / atomicNanos), Math.round(operations * 2 * 1e9 / readModifyWriteNanos),
+                expected.subtract(bankingService.getBalance("HOT-RMW")));
+        assertThat(bankingService.getBalance("HOT-ATOMIC")).isEqualByComparingTo(expected);
+    }
+
+    @Test
+    void shouldNeverOverdrawUnderConcurrentWithdrawals() throws Exception {
+        createAccount("HOT-OVERDRAW", new BigDecimal("100.00"));
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+
+        concurrently(() -> {
+            try {
+                bankingService.withdraw("HOT-OVERDRAW", new BigDecimal("10.00"));
+                succeeded.incrementAndGet();
+            } catch (InsufficientBalanceException e) {
+                refused.incrementAndGet();
+            }
+        });
+
+        assertThat(succeeded).hasValue(10);
+        assertThat(refused).hasValue(THREADS * OPERATIONS_PER_THREAD - 10);
+        assertThat(bankingService.getBalance("HOT-OVERDRAW")).isEqualByComparingTo("0.00");
+        assertThat(bankingService.getTransactions("HOT-OVERDRAW")).hasSize(10);
+    }
+
+    private void createAccount(String accountNumber, BigDecimal balance) {
+        accounts.add(accountNumber);
+        bankingService.createAccount(accountNumber, "owner-" + accountNumber, balance);
+    }
+
+    /**
+     * How deposit and withdraw used to work: load, change in Java, save. {@code afterRead}
+     * runs between the load and the save.
+     */
+    private void readModifyWrite(String accountNumber, BigDecimal delta, TransactionType type, Runnable afterRead) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Account account = accountRepository.findById(accountNumber).orElseThrow();
+            afterRead.run();
+            account.setBalance(account.getBalance().add(delta));
+            accountRepository.save(account);
+            transactionRepository.save(Transaction.builder()
+                    .accountNumber(accountNumber)
+                    .type(type)
+                    .amount(delta.abs())
+                    .description(type.name()).build());
+        });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(1, TimeUnit.MINUTES)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Runs {@code operation} {@link #OPERATIONS_PER_THREAD} times on each of {@link #THREADS}
+     * threads.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    private static long concurrently(Runnable operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        operation.run();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
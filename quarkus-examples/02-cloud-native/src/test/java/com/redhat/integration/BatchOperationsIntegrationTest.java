@@ -0,0 +1,149 @@
+package com.redhat.integration;
+
+import com.redhat.repository.AccountRepository;
+import com.redhat.repository.TransactionRepository;
+import com.redhat.rest.dto.BatchOperationsResponse;
+import com.redhat.rest.dto.OperationRequest;
+import com.redhat.rest.dto.OperationResult;
+import com.redhat.service.BankingService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code POST /api/operations/batch} against the same postings sent one request at a time.
+ * Their throughput is compared with {@code -Pbenchmark}.
+ */
+@Slf4j
+@QuarkusTest
+public class BatchOperationsIntegrationTest {
+
+    private static final int ACCOUNTS = 10;
+    private static final int OPERATIONS = 3000;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.00");
+
+    @Inject
+    BankingService bankingService;
+
+    @Inject
+    AccountRepository accountRepository;
+
+    @Inject
+    TransactionRepository transactionRepository;
+
+    private final List<String> accounts = new ArrayList<>();
+
+    @AfterEach
+    void deleteAccounts() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (String accountNumber : accounts) {
+                transactionRepository.deleteAll(transactionRepository.findByAccountNumber(accountNumber));
+                accountRepository.deleteById(accountNumber);
+            }
+        });
+    }
+
+    @Test
+    void shouldApplyABatchLikeTheSingleEndpoints() {
+        List<OperationRequest> operations = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            String account = "BATCH-" + (i % ACCOUNTS);
+            String other = "BATCH-" + ((i + 1) % ACCOUNTS);
+            operations.add(switch (i % 3) {
+                case 0 -> new OperationRequest(OperationRequest.DEPOSIT, account, null, new BigDecimal("2.00"));
+                case 1 -> new OperationRequest(OperationRequest.WITHDRAW, account, null, new BigDecimal("1.00"));
+                default -> new OperationRequest(OperationRequest.TRANSFER, account, other, new BigDecimal("3.00"));
+            });
+        }
+        operations.add(new OperationRequest(OperationRequest.WITHDRAW, "BATCH-0", null, new BigDecimal("1000000.00")));
+        operations.add(new OperationRequest(OperationRequest.DEPOSIT, "BATCH-MISSING", null, BigDecimal.ONE));
+        createAccounts();
+
+        BatchOperationsResponse response = given()
+                .contentType(ContentType.JSON)
+                .body(operations)
+                .when().post("/api/operations/batch")
+                .then().statusCode(200)
+                .header("X-Applied-Count", String.valueOf(OPERATIONS))
+                .extract().as(BatchOperationsResponse.class);
+
+        assertThat(response.applied()).isEqualTo(OPERATIONS);
+        assertThat(response.rejected()).isEqualTo(2);
+        assertThat(response.failed()).isZero();
+        assertThat(response.results()).extracting(OperationResult::index)
+                .containsExactlyElementsOf(IntStream.range(0, OPERATIONS + 2).boxed().toList());
+        assertThat(response.results().get(OPERATIONS).error()).isEqualTo("Insufficient balance");
+        assertThat(response.results().get(OPERATIONS + 1).error()).contains("BATCH-MISSING");
+
+        BigDecimal total = BigDecimal.ZERO;
+        int recorded = 0;
+        for (String accountNumber : accounts) {
+            total = total.add(bankingService.getBalance(accountNumber));
+            recorded += bankingService.getTransactions(accountNumber).size();
+        }
+        assertThat(total).isEqualByComparingTo(INITIAL_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS))
+                .add(BigDecimal.valueOf(OPERATIONS / 3)));
+        assertThat(recorded).isEqualTo(OPERATIONS / 3 * 4);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void batchVersusSingleRequests() {
+        List<OperationRequest> deposits = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            deposits.add(new OperationRequest(OperationRequest.DEPOSIT, "BATCH-" + (i % ACCOUNTS), null, new BigDecimal("2.00")));
+        }
+        createAccounts();
+
+        long start = System.nanoTime();
+        given().contentType(ContentType.JSON).body(deposits)
+                .when().post("/api/operations/batch")
+                .then().statusCode(200)
+                .header("X-Applied-Count", String.valueOf(OPERATIONS));
+        long batchNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (OperationRequest deposit : deposits) {
+            given().contentType(ContentType.JSON).body(deposit.amount().toPlainString())
+                    .when().post("/api/accounts/" + deposit.accountNumber() + "/deposit")
+                    .then().statusCode(200);
+        }
+        long singleNanos = System.nanoTime() - start;
+
+        log.info("batch: {} operations/s, one request each: {} operations/s",
+                Math.round(OPERATIONS * 1e9 / batchNanos), Math.round(OPERATIONS * 1e9 / singleNanos));
+        BigDecimal total = BigDecimal.ZERO;
+        for (String accountNumber : accounts) {
+            total = total.add(bankingService.getBalance(accountNumber));
+        }
+        assertThat(total).isEqualByComparingTo(INITIAL_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS))
+                .add(new BigDecimal("4.00").multiply(BigDecimal.valueOf(OPERATIONS))));
+    }
+
+    @Test
+    void shouldRejectAnEmptyBatch() {
+        given().contentType(ContentType.JSON).body("[]")
+                .when().post("/api/operations/batch")
+                .then().statusCode(400);
+    }
+
+    private void createAccounts() {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts.add("BATCH-" + i);
+            bankingService.createAccount("BATCH-" + i, "owner-BATCH-" + i, INITIAL_BALANCE);
+        }
+    }
+}
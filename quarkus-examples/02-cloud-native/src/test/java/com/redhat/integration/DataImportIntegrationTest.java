@@ -0,0 +1,104 @@
+package com.redhat.integration;
+
+import com.redhat.model.Transaction;
+import com.redhat.repository.AccountRepository;
+import com.redhat.repository.TransactionRepository;
+import com.redhat.rest.dto.DataImportResponse;
+import com.redhat.service.BankingService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code POST /api/data/import} of a file with items the tables cannot take: they are rejected
+ * one by one while the rest is imported, with ids in file order.
+ */
+@QuarkusTest
+@TestProfile(DataImportIntegrationTest.ImportFileProfile.class)
+public class DataImportIntegrationTest {
+
+    private static final Path FILE = Path.of("target", "data-import", "ledger.json");
+    private static final int TRANSACTIONS = 200;
+
+    @Inject
+    BankingService bankingService;
+
+    @Inject
+    AccountRepository accountRepository;
+
+    @Inject
+    TransactionRepository transactionRepository;
+
+    @AfterEach
+    void deleteAccounts() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            transactionRepository.deleteAll(transactionRepository.findByAccountNumber("IMPORT-1"));
+            accountRepository.deleteById("IMPORT-1");
+        });
+    }
+
+    @Test
+    void shouldRejectUnfitItemsAndImportTheRest() throws IOException {
+        StringBuilder json = new StringBuilder("""
+                {"accounts":[
+                  {"accountNumber":"IMPORT-1","ownerId":"OWNER","balance":100.00},
+                  {"accountNumber":"IMPORT-2","ownerId":"OWNER","balance":"a lot"},
+                  {"accountNumber":"IMPORT-3","ownerId":"OWNER","balance":1.005},
+                  {"accountNumber":"IMPORT-4","ownerId":"OWNER","balance":100000000000000000.00}],
+                 "transactions":[
+                  {"accountNumber":"IMPORT-1","type":"DEPOSIT","amount":{"value":1}},
+                  {"accountNumber":"IMPORT-1","type":"DEPOSIT","amount":0.001}""");
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            json.append(",\n  {\"accountNumber\":\"IMPORT-1\",\"type\":\"DEPOSIT\",\"amount\":1.00,\"description\":\"")
+                    .append(i).append("\"}");
+        }
+        Files.createDirectories(FILE.getParent());
+        Files.writeString(FILE, json.append("]}"));
+
+        DataImportResponse response = given()
+                .when().post("/api/data/import")
+                .then().statusCode(200)
+                .extract().as(DataImportResponse.class);
+
+        assertThat(response.accountsImported()).isEqualTo(1);
+        assertThat(response.accountsRejected()).isEqualTo(3);
+        assertThat(response.transactionsImported()).isEqualTo(TRANSACTIONS);
+        assertThat(response.transactionsRejected()).isEqualTo(2);
+        assertThat(response.rejects()).hasSize(5)
+                .anyMatch(reject -> reject.startsWith("accounts[1]"))
+                .anyMatch(reject -> reject.startsWith("accounts[2]") && reject.contains("decimal places"))
+                .anyMatch(reject -> reject.startsWith("accounts[3]") && reject.contains("digits"))
+                .anyMatch(reject -> reject.startsWith("transactions[0]"))
+                .anyMatch(reject -> reject.startsWith("transactions[1]") && reject.contains("decimal places"));
+
+        assertThat(bankingService.getBalance("IMPORT-1")).isEqualByComparingTo(new BigDecimal("100.00"));
+        List<String> descriptions = bankingService.getTransactions("IMPORT-1").stream()
+                .sorted(Comparator.comparing(Transaction::getTransactionId))
+                .map(Transaction::getDescription)
+                .toList();
+        assertThat(descriptions).isEqualTo(IntStream.range(0, TRANSACTIONS).mapToObj(String::valueOf).toList());
+    }
+
+    public static class ImportFileProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("banking.data-load-example", FILE.toString());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.redhat.integration;
+
+import com.redhat.rest.DataRawRoute;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code GET|HEAD /api/data/raw} over HTTP: ranges, conditional requests and {@code If-Range}
+ * against a data file on disk, so that the body goes through {@code sendFile}.
+ */
+@QuarkusTest
+@TestProfile(DataRawRouteIntegrationTest.RawProfile.class)
+public class DataRawRouteIntegrationTest {
+
+    private static final Path FILE = Path.of("target", "raw", "ledger.json");
+    private static final String CONTENT = "{\"accounts\":[{\"accountNumber\":\"RAW-1\",\"ownerId\":\"O\",\"balance\":1.00}],"
+            + "\"transactions\":[]}";
+
+    @BeforeEach
+    void writeFile() throws IOException {
+        Files.createDirectories(FILE.getParent());
+        if (!Files.isRegularFile(FILE) || !Files.readString(FILE).equals(CONTENT)) {
+            Files.writeString(FILE, CONTENT);
+        }
+    }
+
+    @Test
+    void shouldServeTheWholeFileWithValidators() {
+        ExtractableResponse<Response> response = get(Map.of(), 200);
+
+        assertThat(response.asString()).isEqualTo(CONTENT);
+        assertThat(response.header("Accept-Ranges")).isEqualTo("bytes");
+        assertThat(response.header("ETag")).startsWith("\"");
+        assertThat(response.header("Last-Modified")).isNotNull();
+        assertThat(response.header("Content-Type")).startsWith("application/json");
+    }
+
+    @Test
+    void shouldServeASingleRange() {
+        ExtractableResponse<Response> response = get(Map.of("Range", "bytes=2-9"), 206);
+
+        assertThat(response.asString()).isEqualTo(CONTENT.substring(2, 10));
+        assertThat(response.header("Content-Range")).isEqualTo("bytes 2-9/" + CONTENT.length());
+
+        ExtractableResponse<Response> suffix = get(Map.of("Range", "bytes=-5"), 206);
+        assertThat(suffix.asString()).isEqualTo(CONTENT.substring(CONTENT.length() - 5));
+    }
+
+    @Test
+    void shouldRefuseARangeBeyondTheEnd() {
+        ExtractableResponse<Response> response = get(Map.of("Range", "bytes=" + CONTENT.length() + "-"), 416);
+
+        assertThat(response.header("Content-Range")).isEqualTo("bytes */" + CONTENT.length());
+        assertThat(response.asString()).isEmpty();
+    }
+
+    @Test
+    void shouldAnswerNotModifiedToMatchingValidators() {
+        ExtractableResponse<Response> full = get(Map.of(), 200);
+
+        get(Map.of("If-None-Match", full.header("ETag")), 304);
+        get(Map.of("If-None-Match", "W/" + full.header("ETag")), 304);
+        get(Map.of("If-Modified-Since", full.header("Last-Modified")), 304);
+        get(Map.of("If-None-Match", "\"other\"", "If-Modified-Since", full.header("Last-Modified")), 200);
+    }
+
+    @Test
+    void shouldOnlyHonourARangeForTheVersionNamedByIfRange() {
+        ExtractableResponse<Response> full = get(Map.of(), 200);
+
+        assertThat(get(Map.of("Range", "bytes=0-3", "If-Range", full.header("ETag")), 206).asString())
+                .isEqualTo(CONTENT.substring(0, 4));
+        assertThat(get(Map.of("Range", "bytes=0-3", "If-Range", full.header("Last-Modified")), 206).asString())
+                .isEqualTo(CONTENT.substring(0, 4));
+        assertThat(get(Map.of("Range", "bytes=0-3", "If-Range", "\"other\""), 200).asString())
+                .isEqualTo(CONTENT);
+        assertThat(get(Map.of("Range", "bytes=0-3", "If-Range", "W/" + full.header("ETag")), 200).asString())
+                .isEqualTo(CONTENT);
+    }
+
+    @Test
+    void shouldAnswerHeadWithTheWholeLengthIgnoringRanges() {
+        ExtractableResponse<Response> response = given().headers(Map.of("Range", "bytes=0-9"))
+                .when().head(DataRawRoute.PATH)
+                .then().statusCode(200)
+                .extract();
+
+        assertThat(response.header("Content-Length")).isEqualTo(String.valueOf(CONTENT.length()));
+        assertThat(response.header("Content-Range")).isNull();
+    }
+
+    private static ExtractableResponse<Response> get(Map<String, String> headers, int status) {
+        return given().headers(headers)
+                .when().get(DataRawRoute.PATH)
+                .then().statusCode(status)
+                .extract();
+    }
+
+    public static class RawProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("banking.data-load-example", FILE.toString());
+        }
+    }
+}
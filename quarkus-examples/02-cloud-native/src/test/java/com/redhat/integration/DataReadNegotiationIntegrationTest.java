@@ -0,0 +1,109 @@
+package com.redhat.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+
+/**
+ * {@code GET /api/data/read-reactive} in each of the media types it negotiates, against the
+ * bundled data-load example of 5 accounts and 8 transactions.
+ */
+@QuarkusTest
+public class DataReadNegotiationIntegrationTest {
+
+    private static final int ITEMS = 13;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void shouldReturnAJsonArray() throws IOException {
+        JsonNode items = readJson(Map.of());
+
+        assertThat(items).hasSize(ITEMS);
+        assertThat(items.get(0).has("ownerId")).isTrue();
+    }
+
+    @Test
+    void shouldReturnOneItemPerNdjsonLineWhateverTheBatchSize() throws IOException {
+        for (int batchSize : new int[]{1, 4, 100}) {
+            String body = given().accept("application/x-ndjson").queryParam("batchSize", batchSize)
+                    .when().get("/api/data/read-reactive")
+                    .then().statusCode(200)
+                    .header("Content-Type", startsWith("application/x-ndjson"))
+                    .extract().asString();
+
+            List<JsonNode> items = new ArrayList<>();
+            for (String line : body.split("\n")) {
+                if (!line.isBlank()) {
+                    items.add(mapper.readTree(line));
+                }
+            }
+            assertThat(items).as("batchSize %d", batchSize).hasSize(ITEMS);
+        }
+    }
+
+    @Test
+    void shouldSendItemsOrBatchesAsServerSentEvents() throws IOException {
+        List<JsonNode> single = events(1);
+        List<JsonNode> batched = events(4);
+
+        assertThat(single).hasSize(ITEMS).allMatch(JsonNode::isObject);
+        assertThat(batched).hasSize((ITEMS + 3) / 4).allMatch(JsonNode::isArray);
+        assertThat(batched.stream().mapToInt(JsonNode::size).sum()).isEqualTo(ITEMS);
+    }
+
+    @Test
+    void shouldWriteOnlyTheProjectedFields() throws IOException {
+        JsonNode items = readJson(Map.of("type", "DEPOSIT", "fields", "accountNumber,amount"));
+
+        assertThat(items).isNotEmpty().allSatisfy(item -> {
+            assertThat(item.has("amount")).isTrue();
+            assertThat(item.has("description")).isFalse();
+            assertThat(item.has("ownerId")).isFalse();
+        });
+    }
+
+    @Test
+    void shouldRejectInvalidParameters() {
+        given().accept("application/x-ndjson").queryParam("batchSize", 0)
+                .when().get("/api/data/read-reactive")
+                .then().statusCode(400);
+        given().accept("application/json").queryParam("fields", "unknown")
+                .when().get("/api/data/read-reactive")
+                .then().statusCode(400);
+    }
+
+    private JsonNode readJson(Map<String, String> parameters) throws IOException {
+        String body = given().accept("application/json").queryParams(parameters)
+                .when().get("/api/data/read-reactive")
+                .then().statusCode(200)
+                .header("Content-Type", startsWith("application/json"))
+                .extract().asString();
+        return mapper.readTree(body);
+    }
+
+    private List<JsonNode> events(int batchSize) throws IOException {
+        String body = given().accept("text/event-stream").queryParam("batchSize", batchSize)
+                .when().get("/api/data/read-reactive")
+                .then().statusCode(200)
+                .header("Content-Type", startsWith("text/event-stream"))
+                .extract().asString();
+        List<JsonNode> events = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (line.startsWith("data:")) {
+                events.add(mapper.readTree(line.substring("data:".length())));
+            }
+        }
+        return events;
+    }
+}
@@ -0,0 +1,79 @@
+package com.redhat.integration;
+
+import com.redhat.rest.DataStreamRoute;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The body limits of {@code POST /api/data/stream} against the global one: uploads above
+ * {@code quarkus.http.limits.max-body-size} are accepted there only, up to
+ * {@code banking.data-stream-max-body-bytes}.
+ */
+@QuarkusTest
+@TestProfile(DataStreamLimitIntegrationTest.SmallLimitsProfile.class)
+public class DataStreamLimitIntegrationTest {
+
+    private static final int GLOBAL_LIMIT = 4 * 1024;
+    private static final int STREAM_LIMIT = 64 * 1024;
+
+    @Test
+    void shouldStreamAnUploadAboveTheGlobalLimit() {
+        String body = document(250);
+        assertThat(body.length()).isBetween(GLOBAL_LIMIT, STREAM_LIMIT);
+
+        String items = given()
+                .contentType(ContentType.JSON)
+                .body(body)
+                .when().post(DataStreamRoute.PATH)
+                .then().statusCode(200)
+                .extract().asString();
+
+        assertThat(items.lines()).hasSize(250);
+    }
+
+    @Test
+    void shouldRefuseAnUploadAboveTheStreamLimit() {
+        String body = document(1000);
+        assertThat(body.length()).isGreaterThan(STREAM_LIMIT);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(body)
+                .when().post(DataStreamRoute.PATH + "?mode=import")
+                .then().statusCode(413);
+    }
+
+    @Test
+    void shouldKeepTheGlobalLimitOnOtherRoutes() {
+        given()
+                .contentType(ContentType.JSON)
+                .body("[" + "{\"type\":\"DEPOSIT\",\"accountNumber\":\"LIMIT-1\",\"amount\":1.00},".repeat(100) + "{}]")
+                .when().post("/api/operations/batch")
+                .then().statusCode(413);
+    }
+
+    private static String document(int transactions) {
+        StringBuilder json = new StringBuilder("{\"accounts\":[],\"transactions\":[");
+        for (int i = 0; i < transactions; i++) {
+            json.append(i > 0 ? "," : "").append("{\"accountNumber\":\"LIMIT-1\",\"type\":\"DEPOSIT\",\"amount\":1.00,")
+                    .append("\"description\":\"Upload ").append(i).append("\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    public static class SmallLimitsProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("quarkus.http.limits.max-body-size", GLOBAL_LIMIT / 1024 + "K",
+                    "banking.data-stream-max-body-bytes", String.valueOf(STREAM_LIMIT));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.redhat.integration;
+
+import com.redhat.repository.AccountRepository;
+import com.redhat.repository.TransactionRepository;
+import com.redhat.rest.dto.DeltaImportResponse;
+import com.redhat.service.DeltaImportService;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.ClientErrorException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Incremental imports of a growing file against the database: re-runs import only the delta,
+ * and runs racing over the same delta import it once.
+ */
+@QuarkusTest
+@TestProfile(DeltaImportIntegrationTest.DeltaProfile.class)
+public class DeltaImportIntegrationTest {
+
+    private static final Path FILE = Path.of("target", "delta-import", "ledger.json");
+    private static final int ACCOUNTS = 5;
+    private static final int CHECKPOINT_ITEMS = 25;
+
+    @Inject
+    DeltaImportService deltaImportService;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    AccountRepository accountRepository;
+
+    @Inject
+    TransactionRepository transactionRepository;
+
+    @BeforeEach
+    void resetWatermark() throws IOException, SQLException {
+        Files.createDirectories(FILE.getParent());
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("DELETE FROM IngestWatermark WHERE source = ?")) {
+            statement.setString(1, FILE.toAbsolutePath().normalize().toString());
+            statement.executeUpdate();
+        }
+    }
+
+    @AfterEach
+    void deleteAccounts() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (int i = 0; i < ACCOUNTS; i++) {
+                transactionRepository.deleteAll(transactionRepository.findByAccountNumber(accountNumber(i)));
+                accountRepository.deleteById(accountNumber(i));
+            }
+        });
+    }
+
+    @Test
+    void shouldImportOnlyWhatWasAppended() throws IOException {
+        writeLedger(100);
+        DeltaImportResponse first = deltaImportService.importDelta(false, false);
+
+        assertThat(first.resumedFrom()).isZero();
+        assertThat(first.offset()).isPositive();
+        assertThat(first.imported().accountsImported()).isEqualTo(ACCOUNTS);
+        assertThat(first.imported().transactionsImported()).isEqualTo(100);
+        assertThat(transactions()).isEqualTo(100);
+
+        DeltaImportResponse rerun = deltaImportService.importDelta(false, true);
+
+        assertThat(rerun.resumedFrom()).isEqualTo(first.offset());
+        assertThat(rerun.checkpoints()).isZero();
+        assertThat(transactions()).isEqualTo(100);
+
+        writeLedger(160);
+        DeltaImportResponse delta = deltaImportService.importDelta(false, false);
+
+        assertThat(delta.resumedFrom()).isEqualTo(first.offset());
+        assertThat(delta.imported().accountsImported()).isZero();
+        assertThat(delta.imported().transactionsImported()).isEqualTo(60);
+        assertThat(delta.transactions()).isEqualTo(160);
+        assertThat(transactions()).isEqualTo(160);
+    }
+
+    @Test
+    void shouldImportADeltaOnceWhenRunsOverlap() throws Exception {
+        writeLedger(2_000);
+        Callable<Boolean> run = () -> {
+            try {
+                deltaImportService.importDelta(false, false);
+                return true;
+            } catch (ClientErrorException e) {
+                assertThat(e.getResponse().getStatus()).isEqualTo(409);
+                return false;
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Boolean> finished = new ArrayList<>();
+        try {
+            List<Future<Boolean>> runs = List.of(executor.submit(run), executor.submit(run));
+            for (Future<Boolean> future : runs) {
+                finished.add(future.get(5, TimeUnit.MINUTES));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(finished).contains(true);
+        long imported = transactions();
+        if (imported < 2_000) {
+            deltaImportService.importDelta(false, false);
+        }
+        assertThat(transactions()).isEqualTo(2_000);
+    }
+
+    private long transactions() {
+        long count = 0;
+        for (int i = 0; i < ACCOUNTS; i++) {
+            count += transactionRepository.findByAccountNumber(accountNumber(i)).size();
+        }
+        return count;
+    }
+
+    /**
+     * Writes the ledger with its first {@code transactions} transactions; a longer one only
+     * appends to the shorter.
+     */
+    private static void writeLedger(int transactions) throws IOException {
+        StringBuilder json = new StringBuilder("{\"accounts\":[");
+        for (int i = 0; i < ACCOUNTS; i++) {
+            json.append(i > 0 ? "," : "").append("{\"accountNumber\":\"").append(accountNumber(i))
+                    .append("\",\"ownerId\":\"OWNER\",\"balance\":100.00}");
+        }
+        json.append("],\"transactions\":[");
+        for (int i = 0; i < transactions; i++) {
+            json.append(i > 0 ? "," : "").append("{\"accountNumber\":\"").append(accountNumber(i % ACCOUNTS))
+                    .append("\",\"type\":\"DEPOSIT\",\"amount\":1.00,\"description\":\"Delta ").append(i).append("\"}");
+        }
+        Files.writeString(FILE, json.append("]}"));
+    }
+
+    private static String accountNumber(int i) {
+        return "DELTA-" + i;
+    }
+
+    public static class DeltaProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("banking.data-load-example", FILE.toString(),
+                    "banking.data-checkpoint-items", String.valueOf(CHECKPOINT_ITEMS));
+        }
+    }
+}
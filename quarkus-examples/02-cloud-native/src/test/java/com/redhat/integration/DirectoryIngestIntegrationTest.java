@@ -0,0 +1,139 @@
+package com.redhat.integration;
+
+import com.redhat.repository.AccountRepository;
+import com.redhat.repository.TransactionRepository;
+import com.redhat.rest.dto.DirectoryJobResponse;
+import com.redhat.rest.dto.FileProgress;
+import com.redhat.service.BankingService;
+import com.redhat.service.DirectoryIngestService;
+import com.redhat.service.DirectoryJob;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Directory import of shards whose transactions belong to accounts of other shards, which
+ * must all be imported whatever order the shards commit in.
+ */
+@QuarkusTest
+@TestProfile(DirectoryIngestIntegrationTest.DirectoryProfile.class)
+public class DirectoryIngestIntegrationTest {
+
+    private static final Path DIRECTORY = Path.of("target", "directory-ingest");
+    private static final int SHARDS = 4;
+    private static final int TRANSACTIONS_PER_SHARD = 50;
+
+    @Inject
+    DirectoryIngestService directoryIngestService;
+
+    @Inject
+    BankingService bankingService;
+
+    @Inject
+    AccountRepository accountRepository;
+
+    @Inject
+    TransactionRepository transactionRepository;
+
+    @BeforeEach
+    void writeShards() throws IOException {
+        Files.createDirectories(DIRECTORY);
+        for (int shard = 0; shard < SHARDS; shard++) {
+            String other = accountNumber((shard + 1) % SHARDS);
+            StringBuilder json = new StringBuilder("{\"accounts\":[{\"accountNumber\":\"")
+                    .append(accountNumber(shard)).append("\",\"ownerId\":\"OWNER\",\"balance\":100.00}],\"transactions\":[");
+            for (int i = 0; i < TRANSACTIONS_PER_SHARD; i++) {
+                json.append(i > 0 ? "," : "").append("{\"accountNumber\":\"").append(other)
+                        .append("\",\"type\":\"DEPOSIT\",\"amount\":").append(i + 1).append(",\"description\":\"Shard ")
+                        .append(shard).append("\"}");
+            }
+            Files.writeString(DIRECTORY.resolve("shard-" + shard + ".json"), json.append("]}"));
+        }
+        Files.writeString(DIRECTORY.resolve("notes.txt"), "not a data file");
+    }
+
+    @AfterEach
+    void deleteAccounts() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (int shard = 0; shard < SHARDS; shard++) {
+                transactionRepository.deleteAll(transactionRepository.findByAccountNumber(accountNumber(shard)));
+                accountRepository.deleteById(accountNumber(shard));
+            }
+        });
+    }
+
+    @Test
+    void shouldImportTransactionsWhoseAccountIsInAnotherShard() throws Exception {
+        DirectoryJob job = directoryIngestService.startImport(false);
+        DirectoryJobResponse response = await(job);
+
+        assertThat(response.status()).isEqualTo(DirectoryJob.DONE);
+        assertThat(response.files()).extracting(FileProgress::path)
+                .containsExactly(shardPaths());
+        assertThat(response.files()).allSatisfy(file -> {
+            assertThat(file.result().accountsImported()).isEqualTo(1);
+            assertThat(file.result().transactionsImported()).isEqualTo(TRANSACTIONS_PER_SHARD);
+            assertThat(file.result().transactionsRejected()).isZero();
+        });
+        for (int shard = 0; shard < SHARDS; shard++) {
+            assertThat(bankingService.getTransactions(accountNumber(shard))).hasSize(TRANSACTIONS_PER_SHARD);
+        }
+    }
+
+    @Test
+    void shouldSkipIdenticalAccountsOfOtherShardsWithDedup() throws Exception {
+        Files.copy(DIRECTORY.resolve("shard-0.json"), DIRECTORY.resolve("shard-0-copy.json"));
+        try {
+            DirectoryJobResponse response = await(directoryIngestService.startImport(true));
+
+            assertThat(response.status()).isEqualTo(DirectoryJob.DONE);
+            assertThat(response.duplicates().accountsDuplicate() + response.files().stream()
+                    .mapToLong(file -> file.result().accountsRejected()).sum()).isEqualTo(1);
+            assertThat(bankingService.getTransactions(accountNumber(1))).hasSizeGreaterThanOrEqualTo(TRANSACTIONS_PER_SHARD);
+        } finally {
+            Files.delete(DIRECTORY.resolve("shard-0-copy.json"));
+        }
+    }
+
+    private DirectoryJobResponse await(DirectoryJob job) throws InterruptedException {
+        for (int i = 0; i < 600 && job.isRunning(); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(job.isRunning()).isFalse();
+        return job.toResponse();
+    }
+
+    private static String[] shardPaths() {
+        List<String> paths = new ArrayList<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            paths.add(DIRECTORY.resolve("shard-" + shard + ".json").toString());
+        }
+        return paths.toArray(String[]::new);
+    }
+
+    private static String accountNumber(int shard) {
+        return "SHARD-" + shard;
+    }
+
+    public static class DirectoryProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("banking.data-directory", DIRECTORY.toString(),
+                    "banking.data-directory-parallelism", String.valueOf(SHARDS));
+        }
+    }
+}
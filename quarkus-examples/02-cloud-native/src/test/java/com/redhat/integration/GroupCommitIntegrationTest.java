@@ -0,0 +1,176 @@
+package com.redhat.integration;
+
+import com.redhat.exception.AccountNotFoundException;
+import com.redhat.exception.InsufficientBalanceException;
+import com.redhat.exception.InvalidOperationException;
+import com.redhat.repository.AccountRepository;
+import com.redhat.repository.TransactionRepository;
+import com.redhat.rest.dto.GroupCommitStats;
+import com.redhat.service.BankingService;
+import com.redhat.service.GroupCommitExecutor;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Concurrent single operations with group commit enabled: they share transactions, and each
+ * caller still sees its own result.
+ */
+@QuarkusTest
+@TestProfile(GroupCommitIntegrationTest.GroupCommitProfile.class)
+public class GroupCommitIntegrationTest {
+
+    private static final int THREADS = 64;
+    private static final int OPERATIONS_PER_THREAD = 20;
+
+    @Inject
+    BankingService bankingService;
+
+    @Inject
+    GroupCommitExecutor groupCommitExecutor;
+
+    @Inject
+    AccountRepository accountRepository;
+
+    @Inject
+    TransactionRepository transactionRepository;
+
+    private final List<String> accounts = new ArrayList<>();
+
+    @AfterEach
+    void deleteAccounts() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (String accountNumber : accounts) {
+                transactionRepository.deleteAll(transactionRepository.findByAccountNumber(accountNumber));
+                accountRepository.deleteById(accountNumber);
+            }
+        });
+    }
+
+    @Test
+    void shouldGroupConcurrentOperationsAndReportEachOutcome() throws Exception {
+        createAccount("GROUP-A", new BigDecimal("1000.00"));
+        createAccount("GROUP-B", new BigDecimal("10.00"));
+        AtomicInteger refused = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        bankingService.deposit("GROUP-A", new BigDecimal("1.00"));
+                        bankingService.transfer("GROUP-A", "GROUP-B", new BigDecimal("0.50"));
+                        try {
+                            bankingService.withdraw("GROUP-B", new BigDecimal("5.00"));
+                        } catch (InsufficientBalanceException e) {
+                            refused.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int operations = THREADS * OPERATIONS_PER_THREAD;
+        int withdrawn = operations - refused.get();
+        assertThat(refused.get()).isPositive();
+        assertThat(bankingService.getBalance("GROUP-A")).isEqualByComparingTo(
+                new BigDecimal("1000.00").add(new BigDecimal("0.50").multiply(BigDecimal.valueOf(operations))));
+        assertThat(bankingService.getBalance("GROUP-B")).isEqualByComparingTo(new BigDecimal("10.00")
+                .add(new BigDecimal("0.50").multiply(BigDecimal.valueOf(operations)))
+                .subtract(new BigDecimal("5.00").multiply(BigDecimal.valueOf(withdrawn))));
+        assertThat(bankingService.getTransactions("GROUP-A")).hasSize(operations * 2);
+        assertThat(bankingService.getTransactions("GROUP-B")).hasSize(operations + withdrawn);
+
+        GroupCommitStats stats = groupCommitExecutor.stats();
+        assertThat(stats.operations()).isGreaterThanOrEqualTo(operations * 3L);
+        assertThat(stats.batches()).isLessThan(stats.operations());
+        assertThat(stats.batchSize().count()).isEqualTo(stats.batches());
+        assertThat(stats.latencyMicros().count()).isEqualTo(stats.operations());
+    }
+
+    @Test
+    void shouldThrowTheCallersOwnException() {
+        createAccount("GROUP-C", new BigDecimal("1.00"));
+
+        assertThatThrownBy(() -> bankingService.withdraw("GROUP-C", new BigDecimal("2.00")))
+                .isInstanceOf(InsufficientBalanceException.class);
+        assertThatThrownBy(() -> bankingService.deposit("GROUP-MISSING", BigDecimal.ONE))
+                .isInstanceOf(AccountNotFoundException.class);
+        assertThatThrownBy(() -> bankingService.deposit("GROUP-C", new BigDecimal("1.005")))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThat(bankingService.deposit("GROUP-C", BigDecimal.ONE).getBalance()).isEqualByComparingTo("2.00");
+    }
+
+    @Test
+    void shouldFailOnlyTheOperationTheDatabaseRefuses() throws Exception {
+        createAccount("GROUP-D", new BigDecimal("10.00"));
+        createAccount("GROUP-FULL", new BigDecimal("99999999999999999.00"));
+        AtomicInteger overflowed = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                boolean overflowing = thread == THREADS / 2;
+                futures.add(executor.submit(() -> {
+                    if (overflowing) {
+                        try {
+                            bankingService.deposit("GROUP-FULL", new BigDecimal("1.00"));
+                        } catch (RuntimeException e) {
+                            overflowed.incrementAndGet();
+                        }
+                    } else {
+                        bankingService.deposit("GROUP-D", new BigDecimal("1.00"));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(overflowed).hasValue(1);
+        assertThat(bankingService.getBalance("GROUP-FULL")).isEqualByComparingTo("99999999999999999.00");
+        assertThat(bankingService.getBalance("GROUP-D")).isEqualByComparingTo(
+                new BigDecimal("10.00").add(BigDecimal.valueOf(THREADS - 1)));
+        assertThat(bankingService.getTransactions("GROUP-D")).hasSize(THREADS - 1);
+    }
+
+    private void createAccount(String accountNumber, BigDecimal balance) {
+        accounts.add(accountNumber);
+        bankingService.createAccount(accountNumber, "owner-" + accountNumber, balance);
+    }
+
+    public static class GroupCommitProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("banking.group-commit-enabled", "true",
+                    "banking.group-commit-window-micros", "5000");
+        }
+    }
+}
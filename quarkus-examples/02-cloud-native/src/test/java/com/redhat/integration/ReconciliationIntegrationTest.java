@@ -0,0 +1,95 @@
+package com.redhat.integration;
+
+import com.redhat.repository.AccountRepository;
+import com.redhat.rest.dto.BalanceMismatch;
+import com.redhat.service.BankingService;
+import com.redhat.service.ReconciliationService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reconciliation of a data-load file against the account table, with runs small enough that
+ * the file's accounts are spilled and merged, and account numbers whose byte order differs
+ * from the usual collations.
+ */
+@QuarkusTest
+@TestProfile(ReconciliationIntegrationTest.ReconcileProfile.class)
+public class ReconciliationIntegrationTest {
+
+    private static final Path FILE = Path.of("target", "reconcile", "ledger.json");
+
+    @Inject
+    ReconciliationService reconciliationService;
+
+    @Inject
+    BankingService bankingService;
+
+    @Inject
+    AccountRepository accountRepository;
+
+    private final List<String> accounts = new ArrayList<>();
+
+    @AfterEach
+    void deleteAccounts() {
+        QuarkusTransaction.requiringNew().run(() -> accounts.forEach(accountRepository::deleteById));
+    }
+
+    @Test
+    void shouldReportEveryDifferenceBetweenFileAndDatabase() throws IOException {
+        createAccount("RECON-1", "100.00");
+        createAccount("RECON-2", "40.00");
+        createAccount("RECON-4", "7.00");
+        createAccount("RECON-a", "1.00");
+        createAccount("RECON-\uFF21", "2.00");
+        createAccount("RECON-B", "3.00");
+        Files.createDirectories(FILE.getParent());
+        Files.writeString(FILE, """
+                {"accounts":[
+                  {"accountNumber":"RECON-\uFF21","ownerId":"O","balance":2.00},
+                  {"accountNumber":"RECON-3","ownerId":"O","balance":30.00},
+                  {"accountNumber":"RECON-a","ownerId":"O","balance":1.0},
+                  {"accountNumber":"RECON-2","ownerId":"O","balance":50.00},
+                  {"accountNumber":"RECON-B","ownerId":"O","balance":3.00},
+                  {"accountNumber":"RECON-1","ownerId":"O","balance":100.00}
+                ],"transactions":[]}""");
+
+        List<BalanceMismatch> mismatches = reconciliationService.reconcile()
+                .select().where(mismatch -> mismatch.accountNumber().startsWith("RECON-"))
+                .collect().asList()
+                .await().indefinitely();
+
+        assertThat(mismatches).containsExactly(
+                new BalanceMismatch("RECON-2", BalanceMismatch.BALANCE, new BigDecimal("50.00"), new BigDecimal("40.00")),
+                new BalanceMismatch("RECON-3", BalanceMismatch.MISSING_IN_DATABASE, new BigDecimal("30.00"), null),
+                new BalanceMismatch("RECON-4", BalanceMismatch.MISSING_IN_FILE, null, new BigDecimal("7.00")));
+    }
+
+    private void createAccount(String accountNumber, String balance) {
+        accounts.add(accountNumber);
+        bankingService.createAccount(accountNumber, "owner-" + accountNumber, new BigDecimal(balance));
+    }
+
+    public static class ReconcileProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("banking.data-load-example", FILE.toString(),
+                    "banking.data-reconcile-run-size", "2",
+                    "banking.data-reconcile-fetch-size", "2");
+        }
+    }
+}
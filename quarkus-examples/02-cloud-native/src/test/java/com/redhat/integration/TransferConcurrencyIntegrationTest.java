@@ -0,0 +1,153 @@
+package com.redhat.integration;
+
+import com.redhat.exception.InsufficientBalanceException;
+import com.redhat.exception.InvalidOperationException;
+import com.redhat.model.Transaction;
+import com.redhat.model.TransactionType;
+import com.redhat.repository.AccountRepository;
+import com.redhat.repository.TransactionRepository;
+import com.redhat.service.BankingService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Hundreds of concurrent transfers in both directions between a handful of accounts, the
+ * pattern that deadlocked when each transfer locked its accounts in caller order.
+ */
+@QuarkusTest
+public class TransferConcurrencyIntegrationTest {
+
+    private static final int ACCOUNTS = 4;
+    private static final int CONCURRENT_TRANSFERS = 200;
+    private static final int TRANSFERS_PER_THREAD = 10;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("100.00");
+
+    @Inject
+    BankingService bankingService;
+
+    @Inject
+    AccountRepository accountRepository;
+
+    @Inject
+    TransactionRepository transactionRepository;
+
+    private final List<String> accounts = new ArrayList<>();
+
+    @AfterEach
+    void deleteAccounts() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (String accountNumber : accounts) {
+                transactionRepository.deleteAll(transactionRepository.findByAccountNumber(accountNumber));
+                accountRepository.deleteById(accountNumber);
+            }
+        });
+    }
+
+    @Test
+    void shouldConserveMoneyUnderOpposingConcurrentTransfers() throws Exception {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts.add("XFER-" + i);
+            bankingService.createAccount("XFER-" + i, "owner-XFER-" + i, INITIAL_BALANCE);
+        }
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_TRANSFERS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < CONCURRENT_TRANSFERS; thread++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                        int source = random.nextInt(ACCOUNTS);
+                        int target = (source + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                        try {
+                            bankingService.transfer(accounts.get(source), accounts.get(target),
+                                    BigDecimal.valueOf(1 + random.nextInt(20)));
+                            succeeded.incrementAndGet();
+                        } catch (InsufficientBalanceException e) {
+                            refused.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        int transfersOut = 0;
+        int transfersIn = 0;
+        for (String accountNumber : accounts) {
+            BigDecimal balance = bankingService.getBalance(accountNumber);
+            assertThat(balance).isGreaterThanOrEqualTo(BigDecimal.ZERO);
+            total = total.add(balance);
+            for (Transaction transaction : bankingService.getTransactions(accountNumber)) {
+                if (transaction.getType() == TransactionType.TRANSFER_OUT) {
+                    transfersOut++;
+                } else if (transaction.getType() == TransactionType.TRANSFER_IN) {
+                    transfersIn++;
+                }
+            }
+        }
+        assertThat(total).isEqualByComparingTo(INITIAL_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)));
+        assertThat(succeeded.get() + refused.get()).isEqualTo(CONCURRENT_TRANSFERS * TRANSFERS_PER_THREAD);
+        assertThat(transfersOut).isEqualTo(succeeded.get());
+        assertThat(transfersIn).isEqualTo(succeeded.get());
+    }
+
+    @Test
+    void shouldReportTheMissingAccount() {
+        accounts.add("XFER-ONLY");
+        bankingService.createAccount("XFER-ONLY", "owner-XFER-ONLY", INITIAL_BALANCE);
+
+        assertThatThrownBy(() ->
+                        bankingService.transfer("XFER-ONLY", "XFER-MISSING", BigDecimal.ONE))
+                .hasMessageContaining("XFER-MISSING");
+        assertThat(bankingService.getBalance("XFER-ONLY")).isEqualByComparingTo(INITIAL_BALANCE);
+    }
+
+    @Test
+    void shouldRefuseATransferToTheSameAccount() {
+        accounts.add("XFER-SELF");
+        bankingService.createAccount("XFER-SELF", "owner-XFER-SELF", INITIAL_BALANCE);
+
+        assertThatThrownBy(() -> bankingService.transfer("XFER-SELF", "XFER-SELF", BigDecimal.ONE))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    @Test
+    void shouldJoinTheCallersTransaction() {
+        for (int i = 0; i < 2; i++) {
+            accounts.add("XFER-TX-" + i);
+            bankingService.createAccount("XFER-TX-" + i, "owner-XFER-TX-" + i, INITIAL_BALANCE);
+        }
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            bankingService.transfer("XFER-TX-0", "XFER-TX-1", BigDecimal.TEN);
+            QuarkusTransaction.setRollbackOnly();
+        });
+
+        assertThat(bankingService.getBalance("XFER-TX-0")).isEqualByComparingTo(INITIAL_BALANCE);
+        assertThat(bankingService.getTransactions("XFER-TX-0")).isEmpty();
+    }
+}
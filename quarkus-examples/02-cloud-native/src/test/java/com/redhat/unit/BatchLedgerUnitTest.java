@@ -0,0 +1,73 @@
+package com.redhat.unit;
+
+import com.redhat.model.Account;
+import com.redhat.model.Transaction;
+import com.redhat.model.TransactionType;
+import com.redhat.rest.dto.OperationRequest;
+import com.redhat.rest.dto.OperationResult;
+import com.redhat.service.BatchLedger;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class BatchLedgerUnitTest {
+
+    private final Account first = Account.builder().accountNumber("ACC001").ownerId("OWNER1").balance(new BigDecimal("100.00")).build();
+    private final Account second = Account.builder().accountNumber("ACC002").ownerId("OWNER2").balance(new BigDecimal("10.00")).build();
+    private final BatchLedger ledger = new BatchLedger(List.of(first, second));
+
+    @Test
+    void shouldApplyOperationsInRequestOrder() {
+        List<OperationResult> results = List.of(
+                ledger.apply(0, operation(OperationRequest.WITHDRAW, "ACC002", null, "15.00")),
+                ledger.apply(1, operation(OperationRequest.TRANSFER, "ACC001", "ACC002", "30.00")),
+                ledger.apply(2, operation(OperationRequest.WITHDRAW, "ACC002", null, "15.00")),
+                ledger.apply(3, operation(OperationRequest.DEPOSIT, "ACC001", null, "5.50")));
+
+        assertThat(results).extracting(OperationResult::status).containsExactly(
+                OperationResult.REJECTED, OperationResult.APPLIED, OperationResult.APPLIED, OperationResult.APPLIED);
+        assertThat(results.get(0).error()).isEqualTo("Insufficient balance");
+        assertThat(results.get(2).balance()).isEqualByComparingTo("25.00");
+        assertThat(results.get(3).balance()).isEqualByComparingTo("75.50");
+
+        assertThat(ledger.changedAccounts()).containsExactly(first, second);
+        assertThat(ledger.transactions()).extracting(Transaction::getAccountNumber, Transaction::getType, Transaction::getDescription)
+                .containsExactly(
+                        tuple("ACC001", TransactionType.TRANSFER_OUT, "Transfer to ACC002"),
+                        tuple("ACC002", TransactionType.TRANSFER_IN, "Transfer from ACC001"),
+                        tuple("ACC002", TransactionType.WITHDRAW, "Withdraw"),
+                        tuple("ACC001", TransactionType.DEPOSIT, "Deposit"));
+    }
+
+    @Test
+    void shouldRejectInvalidOperationsWithoutEffect() {
+        List<OperationResult> results = List.of(
+                ledger.apply(0, operation(null, "ACC001", null, "1.00")),
+                ledger.apply(1, operation("REFUND", "ACC001", null, "1.00")),
+                ledger.apply(2, operation(OperationRequest.DEPOSIT, "ACC999", null, "1.00")),
+                ledger.apply(3, operation(OperationRequest.DEPOSIT, "ACC001", null, "0.00")),
+                ledger.apply(4, operation(OperationRequest.DEPOSIT, "ACC001", null, "1.005")),
+                ledger.apply(5, operation(OperationRequest.TRANSFER, "ACC001", null, "1.00")),
+                ledger.apply(6, operation(OperationRequest.TRANSFER, "ACC001", "ACC001", "1.00")),
+                ledger.apply(7, operation(OperationRequest.TRANSFER, "ACC001", "ACC999", "1.00")),
+                ledger.apply(8, null),
+                ledger.apply(9, operation(OperationRequest.DEPOSIT, "ACC001", null, "100000000000000000.00")));
+
+        assertThat(results).extracting(OperationResult::status).containsOnly(OperationResult.REJECTED);
+        assertThat(results).extracting(OperationResult::index).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(results.get(2).error()).isEqualTo("Account number ACC999 not found");
+        assertThat(results.get(7).error()).isEqualTo("Account number ACC999 not found");
+        assertThat(results.get(9).error()).isEqualTo("amount must have at most 17 digits before the decimal point");
+        assertThat(ledger.changedAccounts()).isEmpty();
+        assertThat(ledger.transactions()).isEmpty();
+        assertThat(first.getBalance()).isEqualByComparingTo("100.00");
+    }
+
+    private static OperationRequest operation(String type, String accountNumber, String toAccountNumber, String amount) {
+        return new OperationRequest(type, accountNumber, toAccountNumber, new BigDecimal(amount));
+    }
+}
@@ -0,0 +1,92 @@
+package com.redhat.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.data.ByteSource;
+import com.redhat.data.Compression;
+import com.redhat.data.DataCache;
+import com.redhat.data.DataFiles;
+import com.redhat.data.DataIndex;
+import com.redhat.data.DataItemReader;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.DataLoadResponse;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompressionUnitTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static byte[] json;
+
+    @BeforeAll
+    static void readJson() throws IOException {
+        try (InputStream in = CompressionUnitTest.class.getClassLoader().getResourceAsStream("data-load-large.json")) {
+            json = in.readAllBytes();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = Compression.class, names = {"GZIP", "ZSTD"})
+    void shouldReadCompressedFileLikeThePlainOne(Compression compression) throws IOException {
+        byte[] compressed = compression.encode(json);
+
+        assertThat(compressed.length).isLessThan(json.length / 5);
+        assertThat(read(compression.decode(new ByteArrayInputStream(compressed))))
+                .isEqualTo(read(new ByteArrayInputStream(json)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = Compression.class, names = {"GZIP", "ZSTD"})
+    void shouldIndexTheDecodedStream(Compression compression) throws IOException {
+        byte[] compressed = compression.encode(json);
+
+        DataIndex plain = DataIndex.build(ByteSource.of(json), 128, 1L);
+        DataIndex decoded = DataIndex.build(compression.decode(new ByteArrayInputStream(compressed)), compressed.length, 128, 1L);
+
+        assertThat(decoded.accountOffsets()).isEqualTo(plain.accountOffsets());
+        assertThat(decoded.transactionOffsets()).isEqualTo(plain.transactionOffsets());
+        assertThat(decoded.matches(compressed.length, 1L)).isTrue();
+    }
+
+    @Test
+    void shouldDetectCompressionAndDeriveSiblingsFromTheName() {
+        assertThat(Compression.of("/app/data/data.json.gz")).isEqualTo(Compression.GZIP);
+        assertThat(Compression.of("/app/data/data.json.zst")).isEqualTo(Compression.ZSTD);
+        assertThat(Compression.of("data-load-example.json")).isEqualTo(Compression.NONE);
+        assertThat(DataFiles.siblingOf(Path.of("/app/data/data.json.zst"), ".idx")).isEqualTo(Path.of("/app/data/data.idx"));
+        assertThat(DataFiles.siblingOf(Path.of("/app/data/data.json"), ".bin")).isEqualTo(Path.of("/app/data/data.bin"));
+    }
+
+    @Test
+    void shouldOnlyServeEncodedBodyWhenTheClientAcceptsIt() {
+        DataCache.Entry entry = new DataCache.Entry(new DataLoadResponse(List.of(), List.of()), new byte[]{'{', '}'}, "MMAP_GZIP",
+                "gzip", new byte[]{1});
+
+        assertThat(entry.isEncodedFor("gzip, deflate, br")).isTrue();
+        assertThat(entry.isEncodedFor("br;q=1.0, gzip;q=0.5")).isTrue();
+        assertThat(entry.isEncodedFor("gzip;q=0")).isFalse();
+        assertThat(entry.isEncodedFor("zstd")).isFalse();
+        assertThat(entry.isEncodedFor(null)).isFalse();
+        assertThat(entry.etag("gzip")).isNotEqualTo(entry.etag(null));
+        assertThat(entry.matches("\"" + entry.etag("gzip") + "\"")).isTrue();
+    }
+
+    private static List<DataItem> read(InputStream in) throws IOException {
+        List<DataItem> items = new ArrayList<>();
+        try (DataItemReader reader = DataItemReader.open(MAPPER, in)) {
+            reader.forEachRemaining(items::add);
+        }
+        return items;
+    }
+}
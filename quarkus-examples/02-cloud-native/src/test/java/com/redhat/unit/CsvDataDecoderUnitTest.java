@@ -0,0 +1,99 @@
+package com.redhat.unit;
+
+import com.redhat.data.CsvDataDecoder;
+import com.redhat.data.DataDecoder;
+import com.redhat.data.DataFiles;
+import com.redhat.data.DataItemStream;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.TransactionData;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CsvDataDecoderUnitTest {
+
+    @Test
+    void shouldReadTheAccountsFeedWithCommentsAndHeader() throws IOException {
+        List<DataItem> items = new ArrayList<>();
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("accounts.csv");
+             DataItemStream stream = DataDecoder.stream(in, new CsvDataDecoder())) {
+            stream.forEachRemaining(items::add);
+        }
+
+        assertThat(items).containsExactly(
+                new AccountData("97720-6", "xyz444", new BigDecimal("50.0")),
+                new AccountData("1028-6", "wpx2224", new BigDecimal("100.0")),
+                new AccountData("7711-22", "pui5533", new BigDecimal("1000.0")));
+        assertThat(DataFiles.isCsv("/app/data/accounts.csv.gz")).isTrue();
+        assertThat(DataFiles.isCsv("/app/data/data-load.json")).isFalse();
+    }
+
+    @Test
+    void shouldDecodeQuotedFieldsAndDecimalsInChunksOfAnySize() throws IOException {
+        String csv = """
+                # transactions feed\r
+                amount,accountNumber,type,description,batch\r
+                \r
+                -12.50,ACC1,WITHDRAW,"Rent, March",7\r
+                +0.5,ACC1,DEPOSIT,"He said ""hi""
+                twice",7
+                123456789012345678901.25,ACC2,DEPOSIT,,8
+                1E+3,ACC2,DEPOSIT,""
+                ,ACC3,,\u00dcn\u00efcode""";
+        List<DataItem> expected = List.of(
+                new TransactionData("ACC1", "WITHDRAW", new BigDecimal("-12.50"), "Rent, March"),
+                new TransactionData("ACC1", "DEPOSIT", new BigDecimal("0.5"), "He said \"hi\"\ntwice"),
+                new TransactionData("ACC2", "DEPOSIT", new BigDecimal("123456789012345678901.25"), null),
+                new TransactionData("ACC2", "DEPOSIT", new BigDecimal("1E+3"), ""),
+                new TransactionData("ACC3", null, null, "\u00dcn\u00efcode"));
+        byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+
+        for (int chunk = 1; chunk <= bytes.length; chunk++) {
+            List<DataItem> items = new ArrayList<>();
+            CsvDataDecoder decoder = new CsvDataDecoder();
+            for (int offset = 0; offset < bytes.length; offset += chunk) {
+                decoder.feed(bytes, offset, Math.min(chunk, bytes.length - offset), items::add);
+            }
+            decoder.end(items::add);
+
+            assertThat(items).as("chunk size %d", chunk).isEqualTo(expected);
+            assertThat(decoder.items()).isEqualTo(expected.size());
+        }
+    }
+
+    @Test
+    void shouldRejectMalformedInput() {
+        assertThatThrownBy(() -> decode("accountNumber,amount\nACC1,\"12\"x\n"))
+                .isInstanceOf(IOException.class).hasMessageContaining("line 2");
+        assertThatThrownBy(() -> decode("accountNumber,amount\nACC1,5.x\n"))
+                .isInstanceOf(IOException.class).hasMessageContaining("line 2");
+        assertThatThrownBy(() -> decode("accountNumber,amount\nACC1,\"12\n"))
+                .isInstanceOf(IOException.class).hasMessageContaining("Unterminated");
+        assertThatThrownBy(() -> decode("accountNumber,ownerId,amount\n"))
+                .isInstanceOf(IOException.class).hasMessageContaining("mixes");
+        assertThatThrownBy(() -> decode("# only a comment\n"))
+                .isInstanceOf(IOException.class).hasMessageContaining("no header");
+    }
+
+    private static List<DataItem> decode(String csv) throws IOException {
+        List<DataItem> items = new ArrayList<>();
+        try (DataItemStream stream = DataDecoder.stream(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                new CsvDataDecoder())) {
+            stream.forEachRemaining(items::add);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return items;
+    }
+}
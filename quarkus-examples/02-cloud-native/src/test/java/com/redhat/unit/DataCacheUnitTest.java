@@ -0,0 +1,112 @@
+package com.redhat.unit;
+
+import com.redhat.data.DataCache;
+import com.redhat.rest.dto.DataLoadResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DataCacheUnitTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private DataCache.Entry load(String location) throws IOException {
+        loads.incrementAndGet();
+        byte[] json = Files.exists(Path.of(location))
+                ? Files.readAllBytes(Path.of(location))
+                : location.getBytes(StandardCharsets.UTF_8);
+        return new DataCache.Entry(new DataLoadResponse(List.of(), List.of()), json, "STREAM");
+    }
+
+    @Test
+    void shouldServeUnchangedFileFromMemoryAndReloadWhenItChanges() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("data.json"), "{\"accounts\":[]}");
+        try (DataCache cache = new DataCache(1 << 20, this::load)) {
+            DataCache.Lookup first = cache.get(file.toString());
+            DataCache.Lookup second = cache.get(file.toString());
+
+            assertThat(first.hit()).isFalse();
+            assertThat(second.hit()).isTrue();
+            assertThat(second.entry()).isSameAs(first.entry());
+
+            Files.writeString(file, "{\"accounts\":[],\"transactions\":[]}");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+            DataCache.Lookup third = cache.get(file.toString());
+
+            assertThat(third.hit()).isFalse();
+            assertThat(third.entry().etag()).isNotEqualTo(first.entry().etag());
+            assertThat(loads).hasValue(2);
+        }
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntriesOverBudget() throws IOException {
+        // each entry weighs 3 * 100 bytes, so the budget fits two of them
+        try (DataCache cache = new DataCache(700, this::load)) {
+            String a = "a".repeat(100);
+            String b = "b".repeat(100);
+            String c = "c".repeat(100);
+            cache.get(a);
+            cache.get(b);
+            cache.get(a);
+            cache.get(c);
+
+            assertThat(cache.size()).isEqualTo(2);
+            assertThat(cache.weight()).isEqualTo(600);
+            assertThat(cache.get(a).hit()).isTrue();
+            assertThat(cache.get(b).hit()).isFalse();
+        }
+    }
+
+    @Test
+    void shouldNotCacheEntriesLargerThanTheBudget() throws IOException {
+        try (DataCache cache = new DataCache(100, this::load)) {
+            cache.get("x".repeat(100));
+
+            assertThat(cache.size()).isZero();
+            assertThat(cache.get("x".repeat(100)).hit()).isFalse();
+        }
+    }
+
+    @Test
+    void shouldDropEntryWhenWatchedFileIsModified() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("watched.json"), "{}");
+        try (DataCache cache = new DataCache(1 << 20, this::load)) {
+            cache.get(file.toString());
+            assertThat(cache.size()).isEqualTo(1);
+
+            Files.writeString(file, "{\"accounts\":[]}");
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (cache.size() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertThat(cache.size()).isZero();
+        }
+    }
+
+    @Test
+    void shouldMatchIfNoneMatchValues() {
+        DataCache.Entry entry = new DataCache.Entry(new DataLoadResponse(List.of(), List.of()), new byte[]{'{', '}'}, "STREAM");
+        String quoted = "\"" + entry.etag() + "\"";
+
+        assertThat(entry.matches(quoted)).isTrue();
+        assertThat(entry.matches("W/" + quoted)).isTrue();
+        assertThat(entry.matches("\"other\", " + quoted)).isTrue();
+        assertThat(entry.matches("*")).isTrue();
+        assertThat(entry.matches("\"other\"")).isFalse();
+        assertThat(entry.matches(null)).isFalse();
+    }
+}
@@ -0,0 +1,108 @@
+package com.redhat.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.data.Compression;
+import com.redhat.data.DataItemReader;
+import com.redhat.data.DataLoadWriter;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.DataLoadResponse;
+import com.redhat.rest.dto.TransactionData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DataExportUnitTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void shouldRoundTripThroughTheDataLoadReaders(@TempDir Path directory) throws IOException {
+        List<DataItem> items = new ArrayList<>();
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("data-load-large.json");
+             DataItemReader reader = DataItemReader.open(mapper, in)) {
+            reader.forEachRemaining(items::add);
+        }
+
+        Path file = directory.resolve("export.json.zst");
+        try (OutputStream out = Compression.ZSTD.encode(Files.newOutputStream(file));
+             DataLoadWriter writer = new DataLoadWriter(mapper.getFactory().createGenerator(out))) {
+            for (DataItem item : items) {
+                writer.write(item);
+            }
+            writer.finish();
+            assertThat(writer.accounts() + writer.transactions()).isEqualTo(items.size());
+        }
+
+        List<DataItem> exported = new ArrayList<>();
+        try (InputStream in = Compression.ZSTD.decode(Files.newInputStream(file));
+             DataItemReader reader = DataItemReader.open(mapper, in)) {
+            reader.forEachRemaining(exported::add);
+        }
+        assertThat(exported).isEqualTo(items);
+
+        try (InputStream in = Compression.ZSTD.decode(Files.newInputStream(file))) {
+            DataLoadResponse data = mapper.readValue(in, DataLoadResponse.class);
+            assertThat(data.accounts().size() + data.transactions().size()).isEqualTo(items.size());
+        }
+    }
+
+    @Test
+    void shouldWriteBothArraysAndPlainDecimalsWhateverWasWritten() throws IOException {
+        assertThat(export(writer -> {
+        })).isEqualTo("{\"accounts\":[],\"transactions\":[]}");
+
+        assertThat(export(writer -> writer.writeTransaction("ACC1", "DEPOSIT", new BigDecimal("1E+3"), null)))
+                .isEqualTo("{\"accounts\":[],\"transactions\":[{\"accountNumber\":\"ACC1\",\"type\":\"DEPOSIT\",\"amount\":1000}]}");
+
+        assertThat(export(writer -> writer.write(new AccountData("ACC1", null, new BigDecimal("10.50")))))
+                .isEqualTo("{\"accounts\":[{\"accountNumber\":\"ACC1\",\"balance\":10.50}],\"transactions\":[]}");
+    }
+
+    @Test
+    void shouldRejectAccountsAfterTransactions() throws IOException {
+        try (DataLoadWriter writer = new DataLoadWriter(mapper.getFactory().createGenerator(new ByteArrayOutputStream()))) {
+            writer.write(new TransactionData("ACC1", "DEPOSIT", BigDecimal.ONE, "first"));
+
+            assertThatThrownBy(() -> writer.writeAccount("ACC2", "OWNER", BigDecimal.TEN))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void shouldLeaveAnUnfinishedDocumentUnterminated() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DataLoadWriter writer = new DataLoadWriter(mapper.getFactory().createGenerator(out))) {
+            writer.writeAccount("ACC1", "OWNER", BigDecimal.TEN);
+        }
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"accounts\":[{\"accountNumber\":\"ACC1\",\"ownerId\":\"OWNER\",\"balance\":10}");
+        assertThatThrownBy(() -> mapper.readTree(out.toByteArray())).isInstanceOf(IOException.class);
+    }
+
+    private String export(WriterAction action) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DataLoadWriter writer = new DataLoadWriter(mapper.getFactory().createGenerator(out))) {
+            action.accept(writer);
+            writer.finish();
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private interface WriterAction {
+        void accept(DataLoadWriter writer) throws IOException;
+    }
+}
@@ -0,0 +1,91 @@
+package com.redhat.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.data.ByteSource;
+import com.redhat.data.DataIndex;
+import com.redhat.data.DataItemReader;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.TransactionData;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DataIndexUnitTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static byte[] json;
+    private static List<AccountData> accounts;
+    private static List<TransactionData> transactions;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void readAll() throws IOException {
+        try (InputStream in = DataIndexUnitTest.class.getClassLoader().getResourceAsStream("data-load-large.json")) {
+            json = in.readAllBytes();
+        }
+        accounts = new ArrayList<>();
+        transactions = new ArrayList<>();
+        try (DataItemReader reader = DataItemReader.open(MAPPER, new ByteArrayInputStream(json))) {
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case AccountData account -> accounts.add(account);
+                    case TransactionData transaction -> transactions.add(transaction);
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldCountElementsAndRecordEveryStrideOffset() throws IOException {
+        DataIndex index = DataIndex.build(ByteSource.of(json), 100, -1);
+
+        assertThat(index.accounts()).isEqualTo(accounts.size());
+        assertThat(index.transactions()).isEqualTo(transactions.size());
+        assertThat(index.accountOffsets()).hasSize((accounts.size() + 99) / 100);
+        assertThat(json[(int) index.seekOffset(TransactionData.class, 250)]).isEqualTo((byte) '{');
+    }
+
+    @Test
+    void shouldReadTheSameWindowAsAFullParse() throws IOException {
+        DataIndex index = DataIndex.build(ByteSource.of(json), 64, -1);
+
+        assertThat(page(index, AccountData.class, 0, 10)).isEqualTo(accounts.subList(0, 10));
+        assertThat(page(index, AccountData.class, 63, 3)).isEqualTo(accounts.subList(63, 66));
+        assertThat(page(index, TransactionData.class, 1000, 200)).isEqualTo(transactions.subList(1000, 1200));
+        assertThat(page(index, TransactionData.class, transactions.size() - 5, 100))
+                .isEqualTo(transactions.subList(transactions.size() - 5, transactions.size()));
+        assertThat(page(index, AccountData.class, accounts.size(), 10)).isEmpty();
+    }
+
+    @Test
+    void shouldPersistAndReloadIndex() throws IOException {
+        DataIndex index = DataIndex.build(ByteSource.of(json), 32, 1234L);
+        Path file = DataIndex.siblingOf(tempDir.resolve("data-load-large.json"));
+
+        index.write(file);
+        DataIndex reloaded = DataIndex.read(file).orElseThrow();
+
+        assertThat(file.getFileName().toString()).isEqualTo("data-load-large.idx");
+        assertThat(reloaded.matches(json.length, 1234L)).isTrue();
+        assertThat(reloaded.stride()).isEqualTo(32);
+        assertThat(reloaded.transactionOffsets()).isEqualTo(index.transactionOffsets());
+        assertThat(page(reloaded, TransactionData.class, 77, 5)).isEqualTo(transactions.subList(77, 82));
+    }
+
+    private static <T extends DataItem> List<T> page(DataIndex index, Class<T> type, long offset, int limit) throws IOException {
+        return index.read(MAPPER, new ByteArrayInputStream(json), type, offset, limit);
+    }
+}
@@ -0,0 +1,90 @@
+package com.redhat.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.data.DataItemDecoder;
+import com.redhat.data.DataItemQueue;
+import com.redhat.data.DataItemReader;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DataItemDecoderUnitTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void shouldDecodeArbitrarilySplitChunksLikeTheBlockingReader() throws IOException {
+        byte[] json;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("data-load-large.json")) {
+            json = in.readAllBytes();
+        }
+        List<DataItem> expected = new ArrayList<>();
+        try (DataItemReader reader = DataItemReader.open(mapper, new ByteArrayInputStream(json))) {
+            reader.forEachRemaining(expected::add);
+        }
+
+        List<DataItem> decoded = new ArrayList<>();
+        Random random = new Random(7);
+        try (DataItemDecoder decoder = new DataItemDecoder(mapper)) {
+            for (int offset = 0; offset < json.length; ) {
+                int length = Math.min(1 + random.nextInt(4096), json.length - offset);
+                decoder.feed(json, offset, length, decoded::add);
+                offset += length;
+            }
+            decoder.end(decoded::add);
+        }
+
+        assertThat(decoded).isEqualTo(expected);
+    }
+
+    @Test
+    void shouldSkipUnknownFieldsAndRejectTruncatedInput() throws IOException {
+        byte[] json = """
+                {"meta": {"accounts": [1, 2]}, "accounts": [{"accountNumber": "A1", "ownerId": "O1", "balance": 10.50}, null],
+                 "transactions": [""".getBytes(StandardCharsets.UTF_8);
+        List<DataItem> decoded = new ArrayList<>();
+
+        try (DataItemDecoder decoder = new DataItemDecoder(mapper)) {
+            decoder.feed(json, 0, json.length, decoded::add);
+            assertThatThrownBy(() -> decoder.end(decoded::add)).isInstanceOf(IOException.class);
+        }
+
+        assertThat(decoded).containsExactly(new AccountData("A1", "O1", new BigDecimal("10.50")));
+    }
+
+    @Test
+    void shouldAskTheProducerToResumeOnceHalfDrained() {
+        DataItemQueue queue = new DataItemQueue(4);
+        AccountData account = new AccountData("A1", "O1", BigDecimal.ONE);
+        for (int i = 0; i < 5; i++) {
+            queue.add(account);
+        }
+        queue.complete();
+        AtomicBoolean resumed = new AtomicBoolean();
+
+        assertThat(queue.isFull()).isTrue();
+        queue.onDrained(() -> resumed.set(true));
+        for (int i = 0; i < 3; i++) {
+            queue.next();
+        }
+        assertThat(resumed).isFalse();
+        queue.next();
+        assertThat(resumed).isTrue();
+
+        queue.next();
+        assertThat(queue.hasNext()).isFalse();
+    }
+}
@@ -0,0 +1,199 @@
+package com.redhat.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.data.DataItemFilter;
+import com.redhat.data.DataItemReader;
+import com.redhat.data.MalformedItemException;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.DataItemView;
+import com.redhat.rest.dto.TransactionData;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import org.junit.jupiter.api.Test;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DataItemReaderUnitTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final Callable<InputStream> source = () -> {
+        opened.incrementAndGet();
+        return new FilterInputStream(getClass().getClassLoader().getResourceAsStream("data-load-example.json")) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+    };
+
+    @Test
+    void shouldEmitAccountsThenTransactionsOpeningTheFileOnce() {
+        AssertSubscriber<DataItem> subscriber = DataItemReader.stream(mapper, source)
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        List<DataItem> items = subscriber.awaitCompletion().getItems();
+
+        assertThat(opened).hasValue(1);
+        assertThat(closed).isTrue();
+        assertThat(items).hasSize(13);
+        assertThat(items.subList(0, 5)).allMatch(AccountData.class::isInstance);
+        assertThat(items.subList(5, 13)).allMatch(TransactionData.class::isInstance);
+        assertThat(((AccountData) items.get(0)).accountNumber()).isEqualTo("ACC10001");
+        assertThat(((TransactionData) items.get(12)).description()).isEqualTo("Refund");
+    }
+
+    @Test
+    void shouldOnlyEmitRequestedItemsAndCloseOnCancel() {
+        AssertSubscriber<DataItem> subscriber = DataItemReader.stream(mapper, source)
+                .subscribe().withSubscriber(AssertSubscriber.create(2));
+
+        subscriber.assertItems(
+                new AccountData("ACC10001", "OWNER001", new BigDecimal("5000.00")),
+                new AccountData("ACC10002", "OWNER002", new BigDecimal("15000.00")));
+        assertThat(closed).isFalse();
+
+        subscriber.request(4);
+        assertThat(subscriber.getItems()).hasSize(6);
+        assertThat(subscriber.getItems().get(5)).isInstanceOf(TransactionData.class);
+
+        subscriber.cancel();
+        assertThat(closed).isTrue();
+        assertThat(opened).hasValue(1);
+    }
+
+    @Test
+    void shouldOnlyBindItemsOfTheRequestedAccount() throws IOException {
+        List<DataItem> items = read("data-load-example.json", DataItemFilter.of("ACC10002", null, null, null));
+
+        assertThat(items).containsExactly(
+                new AccountData("ACC10002", "OWNER002", new BigDecimal("15000.00")),
+                new TransactionData("ACC10002", "DEPOSIT", new BigDecimal("5000.00"), "Salary payment"),
+                new TransactionData("ACC10002", "WITHDRAW", new BigDecimal("150.00"), "Online purchase"));
+    }
+
+    @Test
+    void shouldSkipAccountsWhenFilteringTransactionsByTypeAndAmount() throws IOException {
+        List<DataItem> items = read("data-load-example.json", DataItemFilter.of(null, "DEPOSIT", new BigDecimal("2500.50"), null));
+
+        assertThat(items).extracting(item -> ((TransactionData) item).amount())
+                .containsExactly(new BigDecimal("5000.00"), new BigDecimal("2500.50"), new BigDecimal("10000.00"));
+    }
+
+    @Test
+    void shouldProjectRequestedFieldsOnly() throws IOException {
+        List<DataItem> items = read("data-load-example.json", DataItemFilter.of("ACC10005", null, null, "accountNumber, amount"));
+
+        assertThat(items).containsExactly(
+                new AccountData("ACC10005", null, null),
+                new TransactionData("ACC10005", null, new BigDecimal("1200.75"), null));
+    }
+
+    @Test
+    void shouldWriteOnlyProjectedFieldsOfAView() throws IOException {
+        AccountData account = new AccountData("ACC10005", null, null);
+        TransactionData transaction = new TransactionData("ACC10005", null, new BigDecimal("1200.75"), null);
+
+        assertThat(mapper.writeValueAsString(DataItemView.of(account))).isEqualTo("{\"accountNumber\":\"ACC10005\"}");
+        assertThat(mapper.writeValueAsString(DataItemView.of(transaction)))
+                .isEqualTo("{\"accountNumber\":\"ACC10005\",\"amount\":1200.75}");
+        assertThat(mapper.writeValueAsString(account))
+                .isEqualTo("{\"accountNumber\":\"ACC10005\",\"ownerId\":null,\"balance\":null}");
+    }
+
+    @Test
+    void shouldMatchFilteringAfterBinding() throws IOException {
+        List<DataItem> all = read("data-load-large.json", DataItemFilter.NONE);
+
+        for (DataItemFilter filter : List.of(
+                DataItemFilter.of("ACC20042", null, null, null),
+                DataItemFilter.of(null, "WITHDRAW", null, "accountNumber,type"),
+                DataItemFilter.of(null, null, new BigDecimal("1000"), "amount"),
+                DataItemFilter.accounts(DataItemFilter.ACCOUNT_NUMBER, DataItemFilter.BALANCE),
+                DataItemFilter.ACCOUNTS,
+                DataItemFilter.TRANSACTIONS)) {
+            List<DataItem> expected = all.stream().map(filter::apply).filter(Objects::nonNull).toList();
+
+            assertThat(read("data-load-large.json", filter)).isNotEmpty().isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void shouldSkipElementsThatCannotBeBoundAndReadOn() throws IOException {
+        String json = """
+                {"accounts":[{"accountNumber":"A1","ownerId":"O1","balance":{"value":1}},
+                             {"accountNumber":"A2","ownerId":"O2","balance":2.00}],
+                 "transactions":["A2",
+                                 {"accountNumber":"A2","type":"DEPOSIT","amount":"ten"},
+                                 {"accountNumber":"A2","type":"DEPOSIT","amount":3.00}]}""";
+
+        Map<DataItemFilter, List<String>> expectedMalformed = Map.of(
+                DataItemFilter.NONE, List.of("accounts", "transactions", "transactions"),
+                DataItemFilter.of("A2", null, null, null), List.of("transactions"));
+        for (DataItemFilter filter : expectedMalformed.keySet()) {
+            List<DataItem> items = new ArrayList<>();
+            List<String> malformed = new ArrayList<>();
+            try (DataItemReader reader = new DataItemReader(mapper.getFactory().createParser(json), filter)) {
+                while (true) {
+                    try {
+                        if (!reader.hasNext()) {
+                            break;
+                        }
+                        items.add(reader.next());
+                    } catch (MalformedItemException e) {
+                        malformed.add(e.section());
+                    }
+                }
+            }
+
+            assertThat(items).containsExactly(
+                    new AccountData("A2", "O2", new BigDecimal("2.00")),
+                    new TransactionData("A2", "DEPOSIT", new BigDecimal("3.00"), null));
+            assertThat(malformed).isEqualTo(expectedMalformed.get(filter));
+        }
+    }
+
+    @Test
+    void shouldStillFailOnSyntaxErrors() {
+        assertThatThrownBy(() -> {
+            try (DataItemReader reader = new DataItemReader(mapper.getFactory().createParser(
+                    "{\"accounts\":[{\"accountNumber\":\"A1\",,}]}"))) {
+                reader.forEachRemaining(item -> {
+                });
+            }
+        }).isInstanceOf(UncheckedIOException.class).isNotInstanceOf(MalformedItemException.class);
+    }
+
+    @Test
+    void shouldRejectUnknownFields() {
+        assertThatThrownBy(() -> DataItemFilter.of(null, null, null, "accountNumber,iban"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("iban");
+    }
+
+    private List<DataItem> read(String resource, DataItemFilter filter) throws IOException {
+        List<DataItem> items = new ArrayList<>();
+        try (DataItemReader reader = new DataItemReader(
+                mapper.getFactory().createParser(getClass().getClassLoader().getResourceAsStream(resource)), filter)) {
+            reader.forEachRemaining(items::add);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,134 @@
+package com.redhat.unit;
+
+import com.redhat.data.DataItemStream;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DataItemStreamUnitTest {
+
+    private final AtomicInteger pulled = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private DataItemStream items(int count, long delayMillis) {
+        return new DataItemStream() {
+            @Override
+            public boolean hasNext() {
+                return pulled.get() < count;
+            }
+
+            @Override
+            public DataItem next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (delayMillis > 0) {
+                    try {
+                        Thread.sleep(delayMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return new AccountData("ACC" + pulled.incrementAndGet(), "OWNER", BigDecimal.ONE);
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+    }
+
+    @Test
+    void shouldPullOneBatchPerRequest() {
+        AssertSubscriber<List<DataItem>> subscriber = DataItemStream.batches(() -> items(25, 0), 10, Duration.ofSeconds(10))
+                .subscribe().withSubscriber(AssertSubscriber.create(1));
+
+        assertThat(subscriber.getItems()).hasSize(1);
+        assertThat(subscriber.getItems().get(0)).hasSize(10);
+        assertThat(pulled).hasValue(10);
+
+        subscriber.request(5).awaitCompletion();
+
+        assertThat(subscriber.getItems()).extracting(List::size).containsExactly(10, 10, 5);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void shouldCutBatchShortAfterMaxDelay() {
+        AssertSubscriber<List<DataItem>> subscriber = DataItemStream.batches(() -> items(6, 30), 100, Duration.ofMillis(50))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        List<List<DataItem>> batches = subscriber.awaitCompletion().getItems();
+
+        assertThat(batches.size()).isGreaterThan(1);
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThan(6));
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(6);
+    }
+
+    @Test
+    void shouldEmitBatchWhileSourceStalls() throws InterruptedException {
+        CountDownLatch resume = new CountDownLatch(1);
+        DataItemStream stalling = new DataItemStream() {
+            @Override
+            public boolean hasNext() {
+                if (pulled.get() == 3) {
+                    try {
+                        resume.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return pulled.get() < 5;
+            }
+
+            @Override
+            public DataItem next() {
+                return new AccountData("ACC" + pulled.incrementAndGet(), "OWNER", BigDecimal.ONE);
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        AssertSubscriber<List<DataItem>> subscriber = DataItemStream.batches(() -> stalling, 100, Duration.ofMillis(50))
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        subscriber.awaitItems(1, Duration.ofSeconds(10));
+        assertThat(subscriber.getItems().get(0)).hasSize(3);
+        assertThat(resume.await(0, TimeUnit.MILLISECONDS)).isFalse();
+
+        resume.countDown();
+        subscriber.awaitCompletion();
+
+        assertThat(subscriber.getItems()).extracting(List::size).containsExactly(3, 2);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void shouldCloseSourceWhenCancelledMidStream() {
+        AssertSubscriber<List<DataItem>> subscriber = DataItemStream.batches(() -> items(1000, 0), 10, Duration.ofSeconds(10))
+                .subscribe().withSubscriber(AssertSubscriber.create(2));
+
+        subscriber.cancel();
+
+        assertThat(closed).isTrue();
+        assertThat(pulled).hasValue(20);
+    }
+}
@@ -0,0 +1,95 @@
+package com.redhat.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.data.DataItemReader;
+import com.redhat.data.DataItemStream;
+import com.redhat.data.DataReadRecorder;
+import com.redhat.rest.dto.DataReadStats;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DataReadRecorderUnitTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void shouldSplitTheReadIntoStorageParserAndConsumerTime() throws Exception {
+        List<DataReadRecorder.Sample> samples = new ArrayList<>();
+        DataReadRecorder recorder = new DataReadRecorder("read-reactive", "data-load-example.json", samples::add);
+        long size;
+        try (InputStream in = resource()) {
+            size = in.readAllBytes().length;
+        }
+
+        try (DataItemStream items = recorder.record(DataItemReader.open(mapper, recorder.count(resource())))) {
+            while (items.hasNext()) {
+                items.next();
+                Thread.sleep(2);
+            }
+        }
+
+        assertThat(samples).hasSize(1);
+        DataReadRecorder.Sample sample = samples.get(0);
+        DataReadStats stats = sample.toStats("read-reactive", 1);
+        assertThat(stats.accounts()).isEqualTo(5);
+        assertThat(stats.transactions()).isEqualTo(8);
+        assertThat(stats.bytesRead()).isEqualTo(size);
+        assertThat(sample.downstreamNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(2 * 13));
+        assertThat(sample.downstreamNanos() + sample.producerNanos()).isLessThanOrEqualTo(sample.durationNanos());
+        assertThat(sample.accountNanos()).isPositive();
+        assertThat(sample.transactionNanos()).isPositive();
+        assertThat(stats.itemsPerSecond()).isPositive();
+        assertThat(stats.allocatedBytesPerItem()).isNotNull().isPositive();
+    }
+
+    @Test
+    void shouldRecordOneJfrEventPerRead(@TempDir Path directory) throws IOException {
+        Path dump = directory.resolve("reads.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.redhat.data.DataRead").withThreshold(Duration.ZERO);
+            recording.start();
+            DataReadRecorder recorder = new DataReadRecorder("import", "data-load-example.json", sample -> {
+            });
+            try (DataItemStream items = recorder.record(DataItemReader.open(mapper, recorder.count(resource())))) {
+                items.forEachRemaining(item -> {
+                });
+            }
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().equals("com.redhat.data.DataRead"))
+                .toList();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("operation")).isEqualTo("import");
+        assertThat(events.get(0).getLong("transactions")).isEqualTo(8);
+        assertThat(events.get(0).getLong("bytesRead")).isPositive();
+    }
+
+    @Test
+    void shouldLeaveStreamsUnwrappedWhenDisabled() throws IOException {
+        try (InputStream in = resource();
+             DataItemReader reader = DataItemReader.open(mapper, in)) {
+            assertThat(DataReadRecorder.NONE.count(in)).isSameAs(in);
+            assertThat(DataReadRecorder.NONE.record(reader)).isSameAs(reader);
+        }
+    }
+
+    private InputStream resource() {
+        return getClass().getClassLoader().getResourceAsStream("data-load-example.json");
+    }
+}
@@ -0,0 +1,155 @@
+package com.redhat.unit;
+
+import com.redhat.data.DataItemDeduplicator;
+import com.redhat.data.DataItemStream;
+import com.redhat.data.FingerprintSet;
+import com.redhat.data.LongHashSet;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.DeduplicationStats;
+import com.redhat.rest.dto.TransactionData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeduplicationUnitTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldKeepDistinctLongsAndDrainThemSorted() {
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            long value = i % 1000 == 0 ? 0 : random.nextInt(30_000) - 15_000L;
+            assertThat(set.add(value)).isEqualTo(expected.add(value));
+        }
+        assertThat(set.size()).isEqualTo(expected.size());
+        assertThat(set.contains(0)).isTrue();
+
+        List<Long> drained = new ArrayList<>();
+        set.drainSorted(drained::add);
+
+        assertThat(drained).isSorted().containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(set.size()).isZero();
+        assertThat(set.contains(0)).isFalse();
+    }
+
+    @Test
+    void shouldFindDuplicatesAcrossSpilledRunsAndDeleteThem() throws IOException {
+        Random random = new Random(42);
+        Set<Long> expected = new HashSet<>();
+        try (FingerprintSet set = new FingerprintSet(1024, 4096, directory)) {
+            for (int i = 0; i < 20_000; i++) {
+                long fingerprint = random.nextInt(8_000) * 0x9E3779B97F4A7C15L;
+                assertThat(set.add(fingerprint)).isEqualTo(expected.add(fingerprint));
+            }
+            assertThat(set.size()).isEqualTo(expected.size());
+            assertThat(set.spills()).isGreaterThan(8);
+            assertThat(set.memoryBytes()).isLessThanOrEqualTo(1024);
+            assertThat(set.diskBytes()).isPositive();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldDropIdenticalItemsAcrossStreams() throws IOException {
+        List<DataItem> shard1 = List.of(
+                new AccountData("ACC1", "OWN1", new BigDecimal("100.00")),
+                new TransactionData("ACC1", "DEPOSIT", new BigDecimal("5"), "Salary"),
+                new TransactionData("ACC1", "DEPOSIT", new BigDecimal("5.00"), "Salary"),
+                new TransactionData("ACC1", "DEPOSIT", new BigDecimal("5"), null));
+        List<DataItem> shard2 = List.of(
+                new AccountData("ACC1", "OWN1", new BigDecimal("100")),
+                new AccountData("ACC2", "OWN1", new BigDecimal("100")),
+                new TransactionData("ACC1", "DEPOSIT", new BigDecimal("5"), ""),
+                new TransactionData("ACC1", "DEPOSIT", new BigDecimal("5"), "Salary"));
+
+        List<DataItem> kept = new ArrayList<>();
+        DeduplicationStats stats;
+        try (DataItemDeduplicator deduplicator = new DataItemDeduplicator(1 << 20, 4096, directory)) {
+            deduplicator.wrap(stream(shard1)).forEachRemaining(kept::add);
+            deduplicator.wrap(stream(shard2)).forEachRemaining(kept::add);
+            stats = deduplicator.stats();
+        }
+
+        assertThat(kept).containsExactly(shard1.get(0), shard1.get(1), shard1.get(3), shard2.get(1), shard2.get(2));
+        assertThat(stats.accountsDuplicate()).isEqualTo(1);
+        assertThat(stats.transactionsDuplicate()).isEqualTo(2);
+        assertThat(stats.fingerprints()).isEqualTo(5);
+        assertThat(stats.diskBytes()).isZero();
+    }
+
+    @Test
+    void shouldOnlyRememberItemsOfCommittedScopes() throws IOException {
+        List<DataItem> items = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            items.add(new TransactionData("ACC" + (i % 10), "DEPOSIT", BigDecimal.valueOf(i), "Salary"));
+        }
+
+        List<DataItem> rolledBack = new ArrayList<>();
+        List<DataItem> committed = new ArrayList<>();
+        List<DataItem> again = new ArrayList<>();
+        DeduplicationStats stats;
+        try (DataItemDeduplicator deduplicator = new DataItemDeduplicator(1024, 4096, directory)) {
+            try (DataItemDeduplicator.Scope scope = deduplicator.newScope()) {
+                scope.wrap(stream(items)).forEachRemaining(rolledBack::add);
+            }
+            try (DataItemDeduplicator.Scope scope = deduplicator.newScope()) {
+                scope.wrap(stream(items)).forEachRemaining(committed::add);
+                scope.wrap(stream(items.subList(0, 10))).forEachRemaining(committed::add);
+                scope.commit();
+            }
+            try (DataItemDeduplicator.Scope scope = deduplicator.newScope()) {
+                scope.wrap(stream(items)).forEachRemaining(again::add);
+                scope.commit();
+            }
+            stats = deduplicator.stats();
+        }
+
+        assertThat(rolledBack).isEqualTo(items);
+        assertThat(committed).isEqualTo(items);
+        assertThat(again).isEmpty();
+        assertThat(stats.transactionsDuplicate()).isEqualTo(10 + items.size());
+        assertThat(stats.fingerprints()).isEqualTo(items.size());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private static DataItemStream stream(List<DataItem> items) {
+        Iterator<DataItem> iterator = items.iterator();
+        return new DataItemStream() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public DataItem next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.redhat.unit;
+
+import com.redhat.rest.dto.HistogramStats;
+import com.redhat.service.Histogram;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HistogramUnitTest {
+
+    @Test
+    void shouldBucketByPowersOfTwo() {
+        Histogram histogram = new Histogram();
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        histogram.record(0);
+        histogram.record(-5);
+
+        HistogramStats stats = histogram.stats();
+
+        assertThat(stats.count()).isEqualTo(102);
+        assertThat(stats.max()).isEqualTo(100);
+        assertThat(stats.mean()).isEqualTo(5050 / 102);
+        assertThat(stats.buckets()).containsExactly(
+                new HistogramStats.Bucket(0, 2),
+                new HistogramStats.Bucket(1, 1),
+                new HistogramStats.Bucket(3, 2),
+                new HistogramStats.Bucket(7, 4),
+                new HistogramStats.Bucket(15, 8),
+                new HistogramStats.Bucket(31, 16),
+                new HistogramStats.Bucket(63, 32),
+                new HistogramStats.Bucket(127, 37));
+        assertThat(stats.p50()).isEqualTo(63);
+        assertThat(stats.p90()).isEqualTo(100);
+        assertThat(stats.p99()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldReportNothingWhenEmpty() {
+        HistogramStats stats = new Histogram().stats();
+
+        assertThat(stats.count()).isZero();
+        assertThat(stats.p99()).isZero();
+        assertThat(stats.buckets()).isEmpty();
+    }
+}
@@ -0,0 +1,176 @@
+package com.redhat.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.data.AccountIds;
+import com.redhat.data.DataItemReader;
+import com.redhat.data.LedgerSummary;
+import com.redhat.model.TransactionType;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.TransactionData;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LedgerSummaryUnitTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void shouldReplayLedgerLikeBigDecimalArithmetic() throws IOException {
+        Map<String, BigDecimal> expected = new HashMap<>();
+        BigDecimal deposits = BigDecimal.ZERO;
+        try (DataItemReader reader = DataItemReader.open(mapper, resource("data-load-large.json"))) {
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case AccountData account -> expected.merge(account.accountNumber(), account.balance(), BigDecimal::add);
+                    case TransactionData transaction -> {
+                        BigDecimal signed = transaction.type().equals("DEPOSIT") ? transaction.amount() : transaction.amount().negate();
+                        deposits = transaction.type().equals("DEPOSIT") ? deposits.add(transaction.amount()) : deposits;
+                        expected.merge(transaction.accountNumber(), signed, BigDecimal::add);
+                    }
+                }
+            }
+        }
+
+        LedgerSummary ledger = read("data-load-large.json");
+
+        assertThat(ledger.accounts()).isEqualTo(expected.size());
+        assertThat(ledger.rejected()).isZero();
+        assertThat(BigDecimal.valueOf(ledger.totalCents(TransactionType.DEPOSIT), 2)).isEqualByComparingTo(deposits);
+        for (int slot = 0; slot < ledger.accounts(); slot++) {
+            assertThat(BigDecimal.valueOf(ledger.endingCents(slot), 2))
+                    .isEqualByComparingTo(expected.get(ledger.accountNumber(slot)));
+        }
+    }
+
+    @Test
+    void shouldRankTopBalancesAndCoverAllAccountsInHistogram() throws IOException {
+        LedgerSummary ledger = read("data-load-large.json");
+
+        int[] top = ledger.topByEndingBalance(5);
+        long[] histogram = ledger.histogram(7);
+
+        assertThat(top).hasSize(5);
+        for (int i = 1; i < top.length; i++) {
+            assertThat(ledger.endingCents(top[i - 1])).isGreaterThanOrEqualTo(ledger.endingCents(top[i]));
+        }
+        for (int slot = 0; slot < ledger.accounts(); slot++) {
+            assertThat(ledger.endingCents(slot)).isLessThanOrEqualTo(ledger.endingCents(top[0]));
+        }
+        assertThat(Arrays.stream(histogram).sum()).isEqualTo(ledger.accounts());
+        assertThat(histogram[6]).isPositive();
+    }
+
+    @Test
+    void shouldParseAmountsToCentsAndRejectInvalidElements() throws IOException {
+        String json = """
+                {"accounts": [
+                   {"accountNumber": "A", "ownerId": "O", "balance": "10"},
+                   {"accountNumber": "B", "ownerId": " ", "balance": 5},
+                   {"accountNumber": "C", "ownerId": "O", "balance": -1}
+                 ],
+                 "meta": {"ignored": [1, 2]},
+                 "transactions": [
+                   {"accountNumber": "A", "type": "DEPOSIT", "amount": 0.125},
+                   {"accountNumber": "A", "type": "DEPOSIT", "amount": 1.5E1},
+                   {"accountNumber": "A", "type": "WITHDRAW", "amount": 2.1},
+                   {"accountNumber": "A", "type": "TRANSFER_IN", "amount": "3"},
+                   {"accountNumber": "A", "type": "TRANSFER_OUT", "amount": 1.01},
+                   {"accountNumber": "A", "type": "REFUND", "amount": 1},
+                   {"accountNumber": "A", "type": "DEPOSIT", "amount": null},
+                   {"accountNumber": null, "type": "DEPOSIT", "amount": 1},
+                   {"accountNumber": "D", "type": "DEPOSIT", "amount": 7, "description": {"nested": true}},
+                   42
+                 ]}
+                """;
+
+        LedgerSummary ledger = new LedgerSummary();
+        ledger.readJson(mapper.getFactory().createParser(json));
+
+        assertThat(ledger.rejected()).isEqualTo(6);
+        assertThat(ledger.transactions()).isEqualTo(6);
+        assertThat(ledger.accounts()).as("rejected accounts B and C get no slot").isEqualTo(2);
+        int a = slotOf(ledger, "A");
+        assertThat(ledger.openingCents(a)).isEqualTo(1000);
+        assertThat(ledger.totalCents(a, TransactionType.DEPOSIT)).isEqualTo(12 + 1500);
+        assertThat(ledger.endingCents(a)).isEqualTo(1000 + 1512 - 210 + 300 - 101);
+        int d = slotOf(ledger, "D");
+        assertThat(ledger.isListed(d)).isFalse();
+        assertThat(ledger.endingCents(d)).isEqualTo(700);
+    }
+
+    @Test
+    void shouldReplayBoundItemsLikeTheTokens() throws IOException {
+        LedgerSummary tokens = read("data-load-large.json");
+        LedgerSummary items = new LedgerSummary();
+        try (DataItemReader reader = DataItemReader.open(mapper, resource("data-load-large.json"))) {
+            items.read(reader);
+        }
+
+        assertThat(items.accounts()).isEqualTo(tokens.accounts());
+        assertThat(items.transactions()).isEqualTo(tokens.transactions());
+        assertThat(items.rejected()).isEqualTo(tokens.rejected());
+        for (int slot = 0; slot < tokens.accounts(); slot++) {
+            assertThat(items.accountNumber(slot)).isEqualTo(tokens.accountNumber(slot));
+            assertThat(items.endingCents(slot)).isEqualTo(tokens.endingCents(slot));
+        }
+    }
+
+    @Test
+    void shouldRejectAmountsTooLargeForCentsInsteadOfOverflowing() throws IOException {
+        String json = """
+                {"transactions": [
+                   {"accountNumber": "A", "type": "DEPOSIT", "amount": 999999999999999999},
+                   {"accountNumber": "B", "type": "DEPOSIT", "amount": 99999999999999.99},
+                   {"accountNumber": "C", "type": "DEPOSIT", "amount": 9999999999999999}
+                 ]}
+                """;
+
+        LedgerSummary ledger = new LedgerSummary();
+        ledger.readJson(mapper.getFactory().createParser(json));
+
+        assertThat(ledger.rejected()).isEqualTo(1);
+        assertThat(ledger.accounts()).isEqualTo(2);
+        assertThat(ledger.endingCents(slotOf(ledger, "B"))).isEqualTo(9_999_999_999_999_999L);
+        assertThat(ledger.endingCents(slotOf(ledger, "C"))).isEqualTo(999_999_999_999_999_900L);
+    }
+
+    @Test
+    void shouldInternAccountIdsIntoStableSlots() {
+        AccountIds ids = new AccountIds();
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(ids.slot("ACC" + i)).isEqualTo(i);
+        }
+        char[] buffer = "xxACC4242yy".toCharArray();
+
+        assertThat(ids.slot(buffer, 2, 7)).isEqualTo(4242);
+        assertThat(ids.size()).isEqualTo(10_000);
+        assertThat(ids.name(4242)).isEqualTo("ACC4242");
+    }
+
+    private LedgerSummary read(String resource) throws IOException {
+        LedgerSummary ledger = new LedgerSummary();
+        ledger.readJson(mapper.getFactory().createParser(resource(resource)));
+        return ledger;
+    }
+
+    private InputStream resource(String name) {
+        return getClass().getClassLoader().getResourceAsStream(name);
+    }
+
+    private static int slotOf(LedgerSummary ledger, String accountNumber) {
+        for (int slot = 0; slot < ledger.accounts(); slot++) {
+            if (ledger.accountNumber(slot).equals(accountNumber)) {
+                return slot;
+            }
+        }
+        throw new AssertionError("No slot for " + accountNumber);
+    }
+}
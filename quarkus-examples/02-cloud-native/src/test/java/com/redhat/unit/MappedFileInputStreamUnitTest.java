@@ -0,0 +1,67 @@
+package com.redhat.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.data.DataItemReader;
+import com.redhat.data.MappedFileInputStream;
+import com.redhat.rest.dto.DataItem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MappedFileInputStreamUnitTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldReadSameItemsAsStreamAcrossWindowBoundaries() throws IOException {
+        Path file = tempDir.resolve("data-load-example.json");
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("data-load-example.json")) {
+            Files.copy(in, file);
+        }
+
+        List<DataItem> streamed = readAll(DataItemReader.open(mapper, Files.newInputStream(file)));
+
+        for (long window : new long[]{1, 7, 64, Files.size(file)}) {
+            List<DataItem> mapped = readAll(DataItemReader.open(mapper, new MappedFileInputStream(file, window)));
+            assertThat(mapped).as("window %d", window).containsExactlyElementsOf(streamed);
+        }
+        assertThat(streamed).hasSize(13);
+    }
+
+    @Test
+    void shouldSeekToAbsoluteOffsets() throws IOException {
+        Path file = tempDir.resolve("bytes.bin");
+        Files.write(file, "0123456789abcdef".getBytes());
+
+        try (MappedFileInputStream in = new MappedFileInputStream(file, 4)) {
+            in.seek(10);
+            assertThat(in.read()).isEqualTo('a');
+            in.seek(2);
+            assertThat(in.read()).isEqualTo('2');
+            assertThat(in.skip(5)).isEqualTo(5);
+            assertThat(in.read()).isEqualTo('8');
+            assertThat(in.position()).isEqualTo(9);
+            in.seek(16);
+            assertThat(in.read()).isEqualTo(-1);
+        }
+    }
+
+    private static List<DataItem> readAll(DataItemReader reader) throws IOException {
+        List<DataItem> items = new ArrayList<>();
+        try (reader) {
+            reader.forEachRemaining(items::add);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,85 @@
+package com.redhat.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.data.ByteSource;
+import com.redhat.data.DataItemReader;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.DataLoadResponse;
+import com.redhat.rest.dto.TransactionData;
+import com.redhat.service.ParallelDataReader;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParallelDataReaderUnitTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private static byte[] bytes;
+    private static List<AccountData> expectedAccounts;
+    private static List<TransactionData> expectedTransactions;
+
+    @BeforeAll
+    static void readSequentially() throws IOException {
+        try (InputStream in = ParallelDataReaderUnitTest.class.getClassLoader().getResourceAsStream("data-load-large.json")) {
+            bytes = in.readAllBytes();
+        }
+        expectedAccounts = new ArrayList<>();
+        expectedTransactions = new ArrayList<>();
+        try (DataItemReader reader = DataItemReader.open(MAPPER, new ByteArrayInputStream(bytes))) {
+            while (reader.hasNext()) {
+                DataItem item = reader.next();
+                if (item instanceof AccountData account) {
+                    expectedAccounts.add(account);
+                } else {
+                    expectedTransactions.add((TransactionData) item);
+                }
+            }
+        }
+    }
+
+    @AfterAll
+    static void shutdown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    void shouldKeepDocumentOrderWhenOrdered() throws IOException {
+        DataLoadResponse data = ParallelDataReader.read(MAPPER, ByteSource.of(bytes), POOL, 16 * 1024, true);
+
+        assertThat(data.accounts()).containsExactlyElementsOf(expectedAccounts);
+        assertThat(data.transactions()).containsExactlyElementsOf(expectedTransactions);
+    }
+
+    @Test
+    void shouldReturnSameItemsWhenUnordered() throws IOException {
+        DataLoadResponse data = ParallelDataReader.read(MAPPER, ByteSource.of(bytes), POOL, 16 * 1024, false);
+
+        assertThat(data.accounts()).containsExactlyInAnyOrderElementsOf(expectedAccounts);
+        assertThat(data.transactions()).containsExactlyInAnyOrderElementsOf(expectedTransactions);
+    }
+
+    @Test
+    void shouldHandleScalarsStringsAndNestedValues() throws IOException {
+        String json = """
+                {"meta": {"accounts": [1, 2]}, "note": "a \\"quoted\\" ] }",
+                 "accounts": [{"accountNumber": "A,1", "ownerId": "O}1", "balance": 1.5}, {"accountNumber": "A2", "ownerId": "O2", "balance": 2}],
+                 "transactions": []}""";
+
+        DataLoadResponse data = ParallelDataReader.read(MAPPER, ByteSource.of(json.getBytes()), POOL, 1, true);
+
+        assertThat(data.accounts()).extracting(AccountData::accountNumber).containsExactly("A,1", "A2");
+        assertThat(data.transactions()).isEmpty();
+    }
+}
@@ -0,0 +1,81 @@
+package com.redhat.unit;
+
+import com.redhat.data.ByteRange;
+import com.redhat.data.RawFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RawFileUnitTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldResolveSingleByteRanges() {
+        assertThat(ByteRange.parse("bytes=0-99", 1000)).isEqualTo(new ByteRange(0, 99));
+        assertThat(ByteRange.parse("bytes=900-", 1000)).isEqualTo(new ByteRange(900, 999));
+        assertThat(ByteRange.parse("bytes=990-2000", 1000)).isEqualTo(new ByteRange(990, 999));
+        assertThat(ByteRange.parse("bytes=-100", 1000)).isEqualTo(new ByteRange(900, 999));
+        assertThat(ByteRange.parse("bytes=-5000", 1000)).isEqualTo(new ByteRange(0, 999));
+        assertThat(ByteRange.parse("bytes=10-19", 1000).contentRange(1000)).isEqualTo("bytes 10-19/1000");
+
+        assertThat(ByteRange.parse("bytes=1000-", 1000)).isEqualTo(ByteRange.UNSATISFIABLE);
+        assertThat(ByteRange.parse("bytes=-0", 1000)).isEqualTo(ByteRange.UNSATISFIABLE);
+        assertThat(ByteRange.UNSATISFIABLE.contentRange(1000)).isEqualTo("bytes */1000");
+
+        assertThat(ByteRange.parse(null, 1000)).isNull();
+        assertThat(ByteRange.parse("items=0-1", 1000)).isNull();
+        assertThat(ByteRange.parse("bytes=0-1,5-6", 1000)).isNull();
+        assertThat(ByteRange.parse("bytes=9-3", 1000)).isNull();
+        assertThat(ByteRange.parse("bytes=x-3", 1000)).isNull();
+    }
+
+    @Test
+    void shouldPreferAnAcceptedPrecompressedSiblingThatIsUpToDate() throws IOException {
+        Path json = Files.writeString(directory.resolve("data.json"), "{\"accounts\":[]}");
+        Path gzip = Files.write(directory.resolve("data.json.gz"), new byte[]{1, 2, 3});
+        Files.setLastModifiedTime(json, FileTime.fromMillis(1_000_000));
+        Files.setLastModifiedTime(gzip, FileTime.fromMillis(2_000_000));
+
+        RawFile encoded = RawFile.of(json, "br, gzip;q=0.8");
+        assertThat(encoded.path()).isEqualTo(gzip);
+        assertThat(encoded.encoding()).isEqualTo("gzip");
+        assertThat(encoded.contentType()).isEqualTo("application/json");
+        assertThat(encoded.size()).isEqualTo(3);
+        assertThat(encoded.negotiated()).isTrue();
+
+        RawFile plain = RawFile.of(json, "gzip;q=0");
+        assertThat(plain.path()).isEqualTo(json);
+        assertThat(plain.encoding()).isNull();
+        assertThat(plain.negotiated()).isTrue();
+        assertThat(plain.etag()).isNotEqualTo(encoded.etag());
+        assertThat(plain.matches("W/" + plain.quotedEtag())).isTrue();
+        assertThat(plain.matches(encoded.quotedEtag())).isFalse();
+
+        Files.setLastModifiedTime(gzip, FileTime.fromMillis(500_000));
+        RawFile stale = RawFile.of(json, "gzip");
+        assertThat(stale.path()).isEqualTo(json);
+        assertThat(stale.negotiated()).isFalse();
+    }
+
+    @Test
+    void shouldSendACompressedFileAsDownloadWhenItsCodingIsNotAccepted() throws IOException {
+        Path zstd = Files.write(directory.resolve("feed.csv.zst"), new byte[]{1, 2, 3, 4});
+
+        assertThat(RawFile.of(zstd, "zstd")).satisfies(file -> {
+            assertThat(file.encoding()).isEqualTo("zstd");
+            assertThat(file.contentType()).isEqualTo("text/csv");
+        });
+        assertThat(RawFile.of(zstd, null)).satisfies(file -> {
+            assertThat(file.encoding()).isNull();
+            assertThat(file.contentType()).isEqualTo("application/zstd");
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package com.redhat.unit;
+
+import com.redhat.data.AccountBalance;
+import com.redhat.data.BalanceReconciler;
+import com.redhat.data.SortedAccountBalances;
+import com.redhat.rest.dto.BalanceMismatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReconciliationUnitTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldSortThroughSpilledRunsStablyAndDeleteThem() throws IOException {
+        List<AccountBalance> input = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            input.add(new AccountBalance("ACC" + (i * 7919 % 5000), BigDecimal.valueOf(i, 2)));
+        }
+        Collections.shuffle(input, new Random(42));
+        input.add(new AccountBalance("ACC-null", null));
+
+        List<AccountBalance> expected = new ArrayList<>(input);
+        expected.sort(AccountBalance.ORDER);
+
+        List<AccountBalance> sorted = new ArrayList<>();
+        try (SortedAccountBalances accounts = SortedAccountBalances.sort(input.iterator(), 100, directory)) {
+            assertThat(accounts.runs()).isPositive().isLessThanOrEqualTo(64);
+            accounts.forEachRemaining(sorted::add);
+        }
+
+        assertThat(sorted).isEqualTo(expected);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldOrderByCodePointsLikeTheCCollation() {
+        assertThat(AccountBalance.compareCodePoints("ACC\uD83D\uDE00", "ACC\uFF21")).isPositive();
+        assertThat(AccountBalance.compareCodePoints("ACC1", "ACC10")).isNegative();
+        assertThat(AccountBalance.compareCodePoints("acc1", "ACC1")).isPositive();
+    }
+
+    @Test
+    void shouldEmitOnlyMismatches() {
+        List<AccountBalance> file = List.of(
+                account("A1", "10.5"),
+                account("A2", "20.00"),
+                account("A2", "99.00"),
+                account("A3", "30.00"),
+                account("A5", "50.00"));
+        List<AccountBalance> database = List.of(
+                account("A1", "10.50"),
+                account("A2", "20.00"),
+                account("A3", "31.00"),
+                account("A4", "40.00"));
+
+        BalanceReconciler reconciler = new BalanceReconciler(file.iterator(), database.iterator());
+        List<BalanceMismatch> mismatches = new ArrayList<>();
+        reconciler.forEachRemaining(mismatches::add);
+
+        assertThat(mismatches).containsExactly(
+                new BalanceMismatch("A3", BalanceMismatch.BALANCE, new BigDecimal("30.00"), new BigDecimal("31.00")),
+                new BalanceMismatch("A4", BalanceMismatch.MISSING_IN_FILE, null, new BigDecimal("40.00")),
+                new BalanceMismatch("A5", BalanceMismatch.MISSING_IN_DATABASE, new BigDecimal("50.00"), null));
+        assertThat(reconciler.matched()).isEqualTo(2);
+        assertThat(reconciler.duplicates()).isEqualTo(1);
+    }
+
+    private static AccountBalance account(String accountNumber, String balance) {
+        return new AccountBalance(accountNumber, new BigDecimal(balance));
+    }
+}
@@ -0,0 +1,116 @@
+package com.redhat.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.data.DataItemReader;
+import com.redhat.data.SnapshotFormat;
+import com.redhat.data.SnapshotReader;
+import com.redhat.data.SnapshotWriter;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.TransactionData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SnapshotUnitTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void shouldRoundTripDataLoadFile() throws IOException {
+        byte[] json;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("data-load-large.json")) {
+            json = in.readAllBytes();
+        }
+        List<DataItem> items = new ArrayList<>();
+        try (DataItemReader reader = DataItemReader.open(mapper, new ByteArrayInputStream(json))) {
+            reader.forEachRemaining(items::add);
+        }
+
+        byte[] snapshot = write(items);
+
+        assertThat(read(snapshot)).containsExactlyElementsOf(items);
+        assertThat(snapshot.length).isLessThan(json.length / 3);
+    }
+
+    @Test
+    void shouldKeepNullsScalesAndInterleavedOrder() throws IOException {
+        List<DataItem> items = List.of(
+                new AccountData("A1", null, new BigDecimal("10.5")),
+                new TransactionData("A1", "DEPOSIT", new BigDecimal("-0.125"), null),
+                new AccountData(null, "O2", null),
+                new TransactionData("A1", "DEPOSIT", new BigDecimal("7"), "caf\u00e9"),
+                new AccountData("A3", "O3", new BigDecimal("1E+3")));
+
+        assertThat(read(write(items))).containsExactly(
+                new AccountData("A1", null, new BigDecimal("10.5")),
+                new TransactionData("A1", "DEPOSIT", new BigDecimal("-0.125"), null),
+                new AccountData(null, "O2", null),
+                new TransactionData("A1", "DEPOSIT", new BigDecimal("7"), "caf\u00e9"),
+                new AccountData("A3", "O3", new BigDecimal("1E+3")));
+    }
+
+    @Test
+    void shouldKeepScalesAndUnscaledValuesBeyondOneByteAndOneLong() throws IOException {
+        List<DataItem> items = List.of(
+                new AccountData("A1", "O1", new BigDecimal("1E-300")),
+                new AccountData("A2", "O2", new BigDecimal("5E+200")),
+                new AccountData("A3", "O3", new BigDecimal("-123456789012345678901234567890.5")),
+                new TransactionData("A1", "DEPOSIT", new BigDecimal("9223372036854775807"), null),
+                new TransactionData("A1", "DEPOSIT", new BigDecimal("-9223372036854775808"), null));
+
+        assertThat(read(write(items))).containsExactlyElementsOf(items);
+    }
+
+    @Test
+    void shouldResetTheDictionaryOnceFull() throws IOException {
+        List<DataItem> items = new ArrayList<>();
+        for (int i = 0; i < SnapshotFormat.MAX_DICTIONARY_ENTRIES + 2 * SnapshotFormat.BLOCK_ROWS; i++) {
+            items.add(new TransactionData("A" + (i % 10), "DEPOSIT", BigDecimal.ONE, "d" + i));
+        }
+
+        assertThat(read(write(items))).isEqualTo(items);
+    }
+
+    @Test
+    void shouldOnlyMatchTheSourceItWasWrittenFrom(@TempDir Path dir) throws IOException {
+        Path snapshot = dir.resolve("data.bin");
+        try (SnapshotWriter writer = new SnapshotWriter(Files.newOutputStream(snapshot), 100, 42)) {
+            writer.write(new AccountData("A1", "O1", BigDecimal.TEN));
+        }
+
+        assertThat(SnapshotFormat.isSnapshotOf(snapshot, 100, 42)).isTrue();
+        assertThat(SnapshotFormat.isSnapshotOf(snapshot, 101, 42)).isFalse();
+        assertThat(SnapshotFormat.isSnapshotOf(snapshot, 100, 43)).isFalse();
+        assertThat(SnapshotFormat.isSnapshotOf(dir.resolve("missing.bin"), 100, 42)).isFalse();
+    }
+
+    private static byte[] write(List<DataItem> items) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (SnapshotWriter writer = new SnapshotWriter(out)) {
+            for (DataItem item : items) {
+                writer.write(item);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static List<DataItem> read(byte[] snapshot) throws IOException {
+        List<DataItem> items = new ArrayList<>();
+        try (SnapshotReader reader = new SnapshotReader(new ByteArrayInputStream(snapshot))) {
+            reader.forEachRemaining(items::add);
+        }
+        return items;
+    }
+}
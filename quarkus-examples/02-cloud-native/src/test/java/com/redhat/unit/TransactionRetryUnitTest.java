@@ -0,0 +1,55 @@
+package com.redhat.unit;
+
+import com.redhat.service.TransactionRetry;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TransactionRetryUnitTest {
+
+    private final TransactionRetry retry = new TransactionRetry(4, 1, 2);
+
+    @Test
+    void shouldRetryDeadlocksAndSerializationFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retry.call(() -> switch (attempts.incrementAndGet()) {
+            case 1 -> throw failure("40P01");
+            case 2 -> throw new IllegalStateException("wrapped", failure("40001"));
+            default -> "done";
+        });
+
+        assertThat(result).isEqualTo("done");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void shouldNotRetryOtherFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.call(() -> {
+            attempts.incrementAndGet();
+            throw failure("23505");
+        })).hasMessageContaining("23505");
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.call(() -> {
+            throw failure("40P01 attempt " + attempts.incrementAndGet());
+        })).hasMessageContaining("attempt 4");
+        assertThat(attempts).hasValue(4);
+    }
+
+    private static RuntimeException failure(String state) {
+        String sqlState = state.substring(0, 5);
+        return new RuntimeException("could not execute statement: " + state, new SQLException(state, sqlState));
+    }
+}
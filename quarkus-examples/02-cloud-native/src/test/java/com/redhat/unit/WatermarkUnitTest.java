@@ -0,0 +1,116 @@
+package com.redhat.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.data.DataItemReader;
+import com.redhat.data.Watermark;
+import com.redhat.rest.dto.AccountData;
+import com.redhat.rest.dto.DataItem;
+import com.redhat.rest.dto.TransactionData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WatermarkUnitTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<AccountData> accounts = new ArrayList<>();
+    private final List<TransactionData> transactions = new ArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void readExample() throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("data-load-large.json");
+             DataItemReader reader = DataItemReader.open(mapper, in)) {
+            reader.forEachRemaining(item -> {
+                switch (item) {
+                    case AccountData account -> accounts.add(account);
+                    case TransactionData transaction -> transactions.add(transaction);
+                }
+            });
+        }
+    }
+
+    @Test
+    void shouldResumeAfterTheWatermarkOnceTransactionsAreAppended() throws IOException {
+        Path file = directory.resolve("data.json");
+        write(file, transactions.size() / 2);
+
+        Watermark watermark = Watermark.start(file.toString());
+        for (int checkpoint = 0; checkpoint < 2; checkpoint++) {
+            watermark = ingest(file, watermark, accounts.size() / 2 + transactions.size() / 8, new ArrayList<>());
+        }
+        assertThat(watermark.section()).isEqualTo(Watermark.TRANSACTIONS);
+
+        write(file, transactions.size());
+        List<DataItem> rest = new ArrayList<>();
+        Watermark end = ingest(file, watermark, Integer.MAX_VALUE, rest);
+
+        assertThat(rest).isEqualTo(List.copyOf(transactions.subList((int) watermark.transactions(), transactions.size())));
+        assertThat(end.transactions()).isEqualTo(transactions.size());
+        try (FileChannel channel = FileChannel.open(file)) {
+            assertThat(end.matches(channel, true)).isTrue();
+            assertThat(end.prefixHash()).isEqualTo(Watermark.start(file.toString())
+                    .advance(channel, end.offset(), end.section(), 0, 0).prefixHash());
+        }
+    }
+
+    @Test
+    void shouldNotMatchOnceTheIngestedPrefixChanged() throws IOException {
+        Path file = directory.resolve("data.json");
+        write(file, transactions.size());
+        Watermark watermark = ingest(file, Watermark.start(file.toString()), accounts.size() + 10, new ArrayList<>());
+
+        transactions.set(3, new TransactionData("ACC20001", "DEPOSIT", transactions.get(3).amount().add(transactions.get(3).amount()), "changed"));
+        write(file, transactions.size());
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            assertThat(watermark.matches(channel, false)).isFalse();
+        }
+    }
+
+    private Watermark ingest(Path file, Watermark from, int limit, List<DataItem> items) throws IOException {
+        try (FileChannel channel = FileChannel.open(file);
+             DataItemReader reader = new DataItemReader(mapper.getFactory().createParser(from.resume(channel)))) {
+            assertThat(from.matches(channel, true)).isTrue();
+            if (from.hasPlaceholder()) {
+                reader.next();
+            }
+            String section = from.section();
+            long accountCount = from.accounts();
+            long transactionCount = from.transactions();
+            for (int i = 0; i < limit && reader.hasNext(); i++) {
+                DataItem item = reader.next();
+                items.add(item);
+                if (item instanceof AccountData) {
+                    section = Watermark.ACCOUNTS;
+                    accountCount++;
+                } else {
+                    section = Watermark.TRANSACTIONS;
+                    transactionCount++;
+                }
+            }
+            return from.advance(channel, reader.itemEnd() + from.shift(), section, accountCount, transactionCount);
+        }
+    }
+
+    private void write(Path file, int transactionCount) throws IOException {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("accounts", accounts);
+        document.put("transactions", transactions.subList(0, transactionCount));
+        Files.write(file, mapper.writeValueAsBytes(document));
+    }
+}
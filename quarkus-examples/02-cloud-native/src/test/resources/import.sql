@@ -0,0 +1,2 @@
+-- Tables used through plain JDBC only, so not created from the entities; see sql/01-schema.sql
+CREATE TABLE IF NOT EXISTS IngestWatermark (source VARCHAR(1024) PRIMARY KEY, section VARCHAR(20), byteOffset BIGINT NOT NULL, accounts BIGINT NOT NULL, transactions BIGINT NOT NULL, prefixHash BIGINT NOT NULL, tailHash BIGINT NOT NULL, updatedAt TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP);